@@ -1,46 +1,155 @@
 package com.acs560.HW1_DATA_ANALYZER;
 
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Scanner;
 
+import com.acs560.HW1_DATA_ANALYZER.analysis.AdditionsTimeline;
+import com.acs560.HW1_DATA_ANALYZER.analysis.ApproximateAggregates;
+import com.acs560.HW1_DATA_ANALYZER.analysis.ApproximateAnalyzer;
+import com.acs560.HW1_DATA_ANALYZER.analysis.BatchAnalyzer;
+import com.acs560.HW1_DATA_ANALYZER.analysis.CastGraph;
+import com.acs560.HW1_DATA_ANALYZER.analysis.DatasetCache;
+import com.acs560.HW1_DATA_ANALYZER.analysis.DurationStats;
+import com.acs560.HW1_DATA_ANALYZER.analysis.GenreMatrix;
+import com.acs560.HW1_DATA_ANALYZER.analysis.NameCounter;
+import com.acs560.HW1_DATA_ANALYZER.analysis.NetflixAggregates;
+import com.acs560.HW1_DATA_ANALYZER.analysis.PartialMerger;
+import com.acs560.HW1_DATA_ANALYZER.analysis.TailFollower;
+import com.acs560.HW1_DATA_ANALYZER.analysis.YearHistogram;
+import com.acs560.HW1_DATA_ANALYZER.dedupe.Deduplicator;
+import com.acs560.HW1_DATA_ANALYZER.export.NormalizedExporter;
+import com.acs560.HW1_DATA_ANALYZER.generator.DatasetGenerator;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.MeteredInputStream;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.Phase;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.PhaseRecorder;
+import com.acs560.HW1_DATA_ANALYZER.query.QueryRepl;
+import com.acs560.HW1_DATA_ANALYZER.reports.ReportFormat;
+import com.acs560.HW1_DATA_ANALYZER.reports.ReportSink;
+import com.acs560.HW1_DATA_ANALYZER.search.KeywordSearch;
+import com.acs560.HW1_DATA_ANALYZER.sketches.CountMinSketch;
+import com.acs560.HW1_DATA_ANALYZER.sketches.HyperLogLog;
+import com.acs560.HW1_DATA_ANALYZER.sort.ExternalSorter;
+import com.acs560.Time.Time;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
 
 /**
  * Application for analyzing Netflix data from a CSV file. Provides functionalities 
  * to count movies vs TV shows, calculate the average number of movies per year, 
- * and count unique countries and their occurrences. Results are saved in separate 
- * text files for each analysis.
+ * count unique countries and their occurrences, summarize release years and
+ * count genres listed together, map which cast members work together, chart
+ * titles added per month and week, summarize movie runtimes and TV show seasons,
+ * plus fixed-memory estimates of distinct directors, cast and countries.
+ * Results are saved in separate text files for each analysis; ad-hoc counts
+ * can be asked for in the query mode.
  */
 public class Application {
-    static final String FILE_NAME = "netflix_data.csv";
-    static final String COUNT_FILE = "count_movies_vs_tv_shows.txt";
-    static final String AVG_FILE = "average_movies_per_year.txt";
-    static final String COUNTRIES_FILE = "unique_countries_counts.txt";
+    public static final String FILE_NAME = "netflix_data.csv";
+    public static final String COUNT_FILE = "count_movies_vs_tv_shows.txt";
+    public static final String AVG_FILE = "average_movies_per_year.txt";
+    public static final String COUNTRIES_FILE = "unique_countries_counts.txt";
+    public static final String YEAR_STATS_FILE = "release_year_statistics.txt";
+    public static final String APPROXIMATE_FILE = "approximate_statistics.txt";
+    public static final String GENRES_FILE = "genre_cooccurrence.txt";
+    public static final String CAST_GRAPH_FILE = "cast_collaboration_graph.txt";
+    public static final String ADDITIONS_FILE = "titles_added_over_time.txt";
+    public static final String RUNTIME_FILE = "runtime_statistics.txt";
+
+    private static final int RUNTIME_BUCKET_MINUTES = 30;
+
+    private static final int QUERY_CHOICE = 10;
 
     private static final String[] MENU_OPTIONS = {
         "1. Count of Movies vs TV Shows",
         "2. Average number of Movies per year",
         "3. Unique Countries and their Counts",
-        "4. Exit"
+        "4. Release Year Statistics",
+        "5. Approximate Distinct Directors, Cast and Countries",
+        "6. Genre Counts and Co-occurrence",
+        "7. Cast Collaboration Graph",
+        "8. Titles Added per Month and Week",
+        "9. Runtime Statistics",
+        QUERY_CHOICE + ". Query the Dataset",
+        "11. Exit"
     };
 
+    private static final DatasetCache DATASET_CACHE = new DatasetCache();
+
     private static final String EXIT_MESSAGE = "Exiting the application. Goodbye!";
     private static final String INVALID_CHOICE_MESSAGE = "Invalid choice. Please try again.\n";
     private static final String WELCOME_MESSAGE = "Welcome! To the Netflix Analyzer.";
 
     /**
-     * Main entry point for the application. Displays a menu for the user to select 
-     * different data analysis options.
+     * Main entry point for the application. Without arguments, displays a menu for
+     * the user to select different data analysis options. With arguments, runs
+     * headless in batch mode; see {@link BatchAnalyzer#run(String[])}. A first
+     * argument of {@code --approximate} runs the approximate mode instead; see
+     * {@link ApproximateAnalyzer#run(String[])}. A first argument of
+     * {@code --merge} combines partial states written by batch mode into the
+     * reports; see {@link PartialMerger#run(String[])}. A first argument of
+     * {@code --query} starts the query mode; see {@link QueryRepl#run(String[])}.
+     * A first argument of {@code --search} searches the descriptions; see
+     * {@link KeywordSearch#run(String[])}. A first argument of {@code --export}
+     * writes normalized tables; see {@link NormalizedExporter#run(String[])}.
+     * A first argument of {@code --sort} sorts a file by release year and
+     * title; see {@link ExternalSorter#run(String[])}. A first argument of
+     * {@code --generate} writes a synthetic dataset; see
+     * {@link DatasetGenerator#run(String[])}. A first argument of
+     * {@code --dedupe} drops repeated titles before computing the reports; see
+     * {@link Deduplicator#run(String[])}. A first argument of {@code --follow}
+     * keeps the reports up to date as rows are appended to a file; see
+     * {@link TailFollower#run(String[])}. When the {@value PhaseRecorder#PROPERTY}
+     * system property is set, a per-phase timing summary is printed before
+     * exiting.
      * 
-     * @param args Command-line arguments (not used).
+     * @param args Command-line arguments for batch, approximate, merge, query,
+     *             search, export, sort, generate, dedupe or follow mode, or
+     *             none for the menu.
      */
     public static void main(String[] args) {
+        try {
+            if (args.length > 0 && args[0].equals("--approximate")) {
+                ApproximateAnalyzer.run(Arrays.copyOfRange(args, 1, args.length));
+            } else if (args.length > 0 && args[0].equals("--merge")) {
+                PartialMerger.run(Arrays.copyOfRange(args, 1, args.length));
+            } else if (args.length > 0 && args[0].equals("--query")) {
+                QueryRepl.run(Arrays.copyOfRange(args, 1, args.length));
+            } else if (args.length > 0 && args[0].equals("--search")) {
+                KeywordSearch.run(Arrays.copyOfRange(args, 1, args.length));
+            } else if (args.length > 0 && args[0].equals("--export")) {
+                NormalizedExporter.run(Arrays.copyOfRange(args, 1, args.length));
+            } else if (args.length > 0 && args[0].equals("--sort")) {
+                ExternalSorter.run(Arrays.copyOfRange(args, 1, args.length));
+            } else if (args.length > 0 && args[0].equals("--generate")) {
+                DatasetGenerator.run(Arrays.copyOfRange(args, 1, args.length));
+            } else if (args.length > 0 && args[0].equals("--dedupe")) {
+                Deduplicator.run(Arrays.copyOfRange(args, 1, args.length));
+            } else if (args.length > 0 && args[0].equals("--follow")) {
+                TailFollower.run(Arrays.copyOfRange(args, 1, args.length));
+            } else if (args.length > 0) {
+                BatchAnalyzer.run(args);
+            } else {
+                runMenu();
+            }
+        } finally {
+            PhaseRecorder.get().printSummaryIfEnabled();
+        }
+    }
+
+    /**
+     * Shows the menu and processes choices until the user exits.
+     */
+    private static void runMenu() {
         Scanner scanner = new Scanner(System.in);
         System.out.println(WELCOME_MESSAGE);
 
@@ -54,8 +163,7 @@ public class Application {
                 continue;
             }
 
-            List<String[]> allData = readCSV(FILE_NAME);
-            exit = processChoice(choice, allData);
+            exit = processChoice(choice, scanner);
         }
         scanner.close();
     }
@@ -87,32 +195,127 @@ public class Application {
     }
 
     /**
-     * Processes the user's choice and executes the corresponding analysis.
+     * Processes the user's choice and executes the corresponding analysis. The
+     * data file is parsed once and reused until it changes on disk.
      * 
      * @param choice  The user's choice from the menu.
-     * @param allData List of CSV rows where each row represents a data entry.
+     * @param scanner The menu's input, which the query mode reads from too.
      * @return True if the user chose to exit, false otherwise.
      */
-    private static boolean processChoice(int choice, List<String[]> allData) {
+    private static boolean processChoice(int choice, Scanner scanner) {
+        if (choice == MENU_OPTIONS.length) {
+            System.out.println(EXIT_MESSAGE);
+            return true;
+        }
+        if (choice < 1 || choice > MENU_OPTIONS.length) {
+            return false;
+        }
+        if (choice == 5) {
+            estimateDataFile();
+            return false;
+        }
+        if (choice == 7) {
+            graphDataFile();
+            return false;
+        }
+        if (choice == QUERY_CHOICE) {
+            queryDataFile(scanner);
+            return false;
+        }
+
+        NetflixAggregates aggregates = analyzeDataFile();
+        if (aggregates == null) {
+            return false;
+        }
+
         switch (choice) {
             case 1:
-                countMoviesVsTVShows(allData);
+                writeCountReport(aggregates.getMovieCount(), aggregates.getTvShowCount());
                 break;
             case 2:
-                avgMovies(allData);
+                writeAverageReport(aggregates.getMovieCount(), aggregates.getMovieYears().distinctYears());
                 break;
             case 3:
-                countUniqueCountries(allData);
+                writeCountriesReport(aggregates.getCountryCounts());
                 break;
             case 4:
-                System.out.println(EXIT_MESSAGE);
-                return true;
+                writeYearStatisticsReport(aggregates.getMovieYears(), aggregates.getTvShowYears());
+                break;
+            case 6:
+                writeGenreReport(aggregates.getGenres());
+                break;
+            case 8:
+                writeAdditionsReport(aggregates.getAdditions());
+                break;
+            case 9:
+                writeRuntimeReport(aggregates.getDurations());
+                break;
             default:
-                return false;
+                break;
         }
         return false;
     }
 
+    /**
+     * Returns the aggregates for {@link #FILE_NAME}. The file is streamed on the
+     * first request and again only after its content changes; otherwise the
+     * cached result is reused.
+     * 
+     * @return The aggregated report data, or null if the file could not be read.
+     */
+    private static NetflixAggregates analyzeDataFile() {
+        try {
+            return DATASET_CACHE.get(FILE_NAME);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Runs the query mode over the columns of {@link #FILE_NAME} until the user
+     * types {@code exit}. The columns are loaded once and reused until the file
+     * changes on disk.
+     * 
+     * @param scanner The menu's input; the rest of the line holding the menu
+     *                choice is skipped.
+     */
+    private static void queryDataFile(Scanner scanner) {
+        if (scanner.hasNextLine()) {
+            scanner.nextLine();
+        }
+        try {
+            new QueryRepl(DATASET_CACHE.getColumnar(FILE_NAME)).run(scanner, System.out);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Estimates the distinct directors, cast and countries of {@link #FILE_NAME}
+     * with the default sketch sizes and writes {@link #APPROXIMATE_FILE}. The
+     * sketches are cheap to rebuild, so nothing is cached.
+     */
+    private static void estimateDataFile() {
+        try {
+            writeApproximateReport(ApproximateAnalyzer.analyze(FILE_NAME, new ApproximateAnalyzer.Settings()));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Builds the cast collaboration graph of {@link #FILE_NAME} and writes
+     * {@link #CAST_GRAPH_FILE}.
+     */
+    private static void graphDataFile() {
+        try {
+            writeCastGraphReport(CastGraph.read(FILE_NAME));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * Counts the number of movies and TV shows from the provided data and writes
      * the result to a text file.
@@ -132,12 +335,42 @@ public class Application {
                 tvShowCount++;
             }
         }
-        StringBuilder textResult = new StringBuilder("=== Count of Movies vs TV Shows ===\n");
-        textResult.append(String.format("%-25s %s%n", "Type", "Count"));
-        textResult.append("==============================\n");
-        textResult.append(String.format("%-25s %d%n", "Movies", movieCount));
-        textResult.append(String.format("%-25s %d%n", "TV Shows", tvShowCount));
-        writeToTextFile(COUNT_FILE, textResult.toString());
+        writeCountReport(movieCount, tvShowCount);
+    }
+
+    /**
+     * Writes the movies vs TV shows report to {@link #COUNT_FILE}.
+     * 
+     * @param movieCount  The number of movies.
+     * @param tvShowCount The number of TV shows.
+     */
+    public static void writeCountReport(long movieCount, long tvShowCount) {
+        writeCountReport(COUNT_FILE, movieCount, tvShowCount);
+    }
+
+    /**
+     * Writes the movies vs TV shows report to the given file.
+     * 
+     * @param fileName    The name of the file to which the report will be written.
+     * @param movieCount  The number of movies.
+     * @param tvShowCount The number of TV shows.
+     */
+    public static void writeCountReport(String fileName, long movieCount, long tvShowCount) {
+        writeReport(fileName, sink -> writeCountReport(sink, movieCount, tvShowCount));
+    }
+
+    /**
+     * Writes the movies vs TV shows report to a sink.
+     * 
+     * @param sink        The sink that receives the report.
+     * @param movieCount  The number of movies.
+     * @param tvShowCount The number of TV shows.
+     * @throws IOException if the sink cannot be written.
+     */
+    public static void writeCountReport(ReportSink sink, long movieCount, long tvShowCount) throws IOException {
+        sink.beginSection("Count of Movies vs TV Shows", "Type", "Count");
+        sink.cell("Movies").cell(movieCount).endRow();
+        sink.cell("TV Shows").cell(tvShowCount).endRow();
     }
 
     /**
@@ -149,63 +382,453 @@ public class Application {
      *                release year is expected to be in column index 7.
      */
     public static void avgMovies(List<String[]> allData) {
-        Map<String, Integer> moviesPerYear = new HashMap<>();
+        YearHistogram moviesPerYear = new YearHistogram();
         int totalMovies = 0;
 
         for (String[] row : allData) {
             String type = row[1];
-            String releaseYear = row[7];
+            int releaseYear = YearHistogram.parseYear(row[7]);
 
             if (type != null && type.equalsIgnoreCase("Movie")) {
                 totalMovies++;
-                moviesPerYear.put(releaseYear, moviesPerYear.getOrDefault(releaseYear, 0) + 1);
+                if (releaseYear >= 0) {
+                    moviesPerYear.add(releaseYear);
+                }
             }
         }
 
-        StringBuilder textResult = new StringBuilder("=== Average Movies per Year ===\n");
-        textResult.append(String.format("%-25s %s%n", "Total Movies:", "Average Movies per Year"));
-        textResult.append("==============================\n");
+        writeAverageReport(totalMovies, moviesPerYear.distinctYears());
+    }
 
-        if (moviesPerYear.size() > 0) {
-            double average = (double) totalMovies / moviesPerYear.size();
-            textResult.append(String.format("%-25d %.2f%n", totalMovies, average));
+    /**
+     * Writes the average movies per year report to {@link #AVG_FILE}.
+     * 
+     * @param totalMovies The total number of movies.
+     * @param yearCount   The number of distinct release years among those movies.
+     */
+    public static void writeAverageReport(long totalMovies, int yearCount) {
+        writeAverageReport(AVG_FILE, totalMovies, yearCount);
+    }
+
+    /**
+     * Writes the average movies per year report to the given file.
+     * 
+     * @param fileName    The name of the file to which the report will be written.
+     * @param totalMovies The total number of movies.
+     * @param yearCount   The number of distinct release years among those movies.
+     */
+    public static void writeAverageReport(String fileName, long totalMovies, int yearCount) {
+        writeReport(fileName, sink -> writeAverageReport(sink, totalMovies, yearCount));
+    }
+
+    /**
+     * Writes the average movies per year report to a sink.
+     * 
+     * @param sink        The sink that receives the report.
+     * @param totalMovies The total number of movies.
+     * @param yearCount   The number of distinct release years among those movies.
+     * @throws IOException if the sink cannot be written.
+     */
+    public static void writeAverageReport(ReportSink sink, long totalMovies, int yearCount) throws IOException {
+        sink.beginSection("Average Movies per Year", "Total Movies:", "Average Movies per Year");
+
+        if (yearCount > 0) {
+            double average = (double) totalMovies / yearCount;
+            sink.cell(totalMovies).cell(average, 2).endRow();
         } else {
-            textResult.append(String.format("%-25s %s%n", "No movies found.", ""));
+            sink.cell("No movies found.").cell("").endRow();
         }
+    }
 
-        writeToTextFile(AVG_FILE, textResult.toString());
+    /**
+     * Writes the release year statistics report to {@link #YEAR_STATS_FILE}.
+     * 
+     * @param movieYears  Movie counts by release year.
+     * @param tvShowYears TV show counts by release year.
+     */
+    public static void writeYearStatisticsReport(YearHistogram movieYears, YearHistogram tvShowYears) {
+        writeYearStatisticsReport(YEAR_STATS_FILE, movieYears, tvShowYears);
+    }
+
+    /**
+     * Writes the release year statistics report to the given file: the
+     * earliest, latest, median and 10th/90th percentile release years of movies
+     * and TV shows, followed by the number of each released per year.
+     * 
+     * @param fileName    The name of the file to which the report will be written.
+     * @param movieYears  Movie counts by release year.
+     * @param tvShowYears TV show counts by release year.
+     */
+    public static void writeYearStatisticsReport(String fileName, YearHistogram movieYears,
+            YearHistogram tvShowYears) {
+        writeReport(fileName, sink -> writeYearStatisticsReport(sink, movieYears, tvShowYears));
+    }
+
+    /**
+     * Writes the release year statistics report to a sink.
+     * 
+     * @param sink        The sink that receives the report.
+     * @param movieYears  Movie counts by release year.
+     * @param tvShowYears TV show counts by release year.
+     * @throws IOException if the sink cannot be written.
+     */
+    public static void writeYearStatisticsReport(ReportSink sink, YearHistogram movieYears,
+            YearHistogram tvShowYears) throws IOException {
+        sink.beginSection("Release Year Statistics", "Statistic", "Movies", "TV Shows");
+        writeYearRow(sink, "Earliest", movieYears.minYear(), tvShowYears.minYear());
+        writeYearRow(sink, "Latest", movieYears.maxYear(), tvShowYears.maxYear());
+        writeYearRow(sink, "Median", movieYears.median(), tvShowYears.median());
+        writeYearRow(sink, "10th Percentile", movieYears.percentile(10), tvShowYears.percentile(10));
+        writeYearRow(sink, "90th Percentile", movieYears.percentile(90), tvShowYears.percentile(90));
+
+        sink.beginSection(null, "Year", "Movies", "TV Shows");
+        YearHistogram allYears = new YearHistogram().merge(movieYears).merge(tvShowYears);
+        if (allYears.getTotal() > 0) {
+            for (int year = allYears.minYear(); year <= allYears.maxYear(); year++) {
+                if (allYears.count(year) > 0) {
+                    sink.cell(year).cell(movieYears.count(year)).cell(tvShowYears.count(year)).endRow();
+                }
+            }
+        }
+    }
+
+    private static void writeYearRow(ReportSink sink, String label, int movieYear, int tvShowYear)
+            throws IOException {
+        sink.cell(label);
+        writeYearCell(sink, movieYear);
+        writeYearCell(sink, tvShowYear);
+        sink.endRow();
+    }
+
+    private static void writeYearCell(ReportSink sink, int year) throws IOException {
+        if (year == YearHistogram.NO_YEAR) {
+            sink.cell("n/a");
+        } else {
+            sink.cell(year);
+        }
     }
 
     /**
      * Counts the occurrences of movies and TV shows by country and writes the
-     * result to a text file.
+     * result to a text file, the most frequent country first.
      * 
      * @param allData List of CSV rows where each row represents a data entry. The
      *                countries are expected to be in column index 5.
      */
     public static void countUniqueCountries(List<String[]> allData) {
-        Map<String, Integer> countryCounts = new HashMap<>();
+        NameCounter countryCounts = new NameCounter();
 
         for (String[] row : allData) {
-            String countries = row[5];
+            countryCounts.addAll(row[5]);
+        }
 
-            if (countries != null && !countries.trim().isEmpty()) {
-                String[] countryList = countries.split(",");
-                for (String country : countryList) {
-                    country = country.trim();
-                    countryCounts.put(country, countryCounts.getOrDefault(country, 0) + 1);
-                }
+        writeCountriesReport(countryCounts.toMap());
+    }
+
+    /**
+     * Writes the unique countries report to {@link #COUNTRIES_FILE}.
+     * 
+     * @param countryCounts Title counts keyed by country name.
+     */
+    public static void writeCountriesReport(Map<String, ? extends Number> countryCounts) {
+        writeCountriesReport(COUNTRIES_FILE, countryCounts);
+    }
+
+    /**
+     * Writes the unique countries report to the given file.
+     * 
+     * @param fileName      The name of the file to which the report will be written.
+     * @param countryCounts Title counts keyed by country name.
+     */
+    public static void writeCountriesReport(String fileName, Map<String, ? extends Number> countryCounts) {
+        writeReport(fileName, sink -> writeCountriesReport(sink, countryCounts));
+    }
+
+    /**
+     * Writes the unique countries report to a sink.
+     * 
+     * @param sink          The sink that receives the report.
+     * @param countryCounts Title counts keyed by country name.
+     * @throws IOException if the sink cannot be written.
+     */
+    public static void writeCountriesReport(ReportSink sink, Map<String, ? extends Number> countryCounts)
+            throws IOException {
+        sink.beginSection("Unique Countries and their Counts", "Country", "Count");
+        for (Map.Entry<String, ? extends Number> entry : countryCounts.entrySet()) {
+            sink.cell(entry.getKey()).cell(entry.getValue().longValue()).endRow();
+        }
+    }
+
+    /**
+     * Writes the genre report to {@link #GENRES_FILE}.
+     * 
+     * @param genres Title counts per genre and per pair of genres.
+     */
+    public static void writeGenreReport(GenreMatrix genres) {
+        writeGenreReport(GENRES_FILE, genres);
+    }
+
+    /**
+     * Writes the genre report to the given file: the number of titles in each
+     * genre, then every pair of genres listed together on at least one title,
+     * the most frequent first.
+     * 
+     * @param fileName The name of the file to which the report will be written.
+     * @param genres   Title counts per genre and per pair of genres.
+     */
+    public static void writeGenreReport(String fileName, GenreMatrix genres) {
+        writeReport(fileName, sink -> writeGenreReport(sink, genres, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Writes the genre report to a sink.
+     * 
+     * @param sink     The sink that receives the report.
+     * @param genres   Title counts per genre and per pair of genres.
+     * @param maxPairs The number of genre pairs to write.
+     * @throws IOException if the sink cannot be written.
+     */
+    public static void writeGenreReport(ReportSink sink, GenreMatrix genres, int maxPairs) throws IOException {
+        sink.beginSection("Genre Counts", "Genre", "Count");
+        for (Map.Entry<String, Long> entry : genres.getGenreCounts().entrySet()) {
+            sink.cell(entry.getKey()).cell(entry.getValue()).endRow();
+        }
+
+        sink.beginSection("Genre Co-occurrence", "Genre Pair", "Count");
+        for (GenreMatrix.GenrePair pair : genres.topPairs(maxPairs)) {
+            sink.cell(pair.getFirst() + " + " + pair.getSecond()).cell(pair.getCount()).endRow();
+        }
+    }
+
+    /**
+     * Writes the titles added over time report to {@link #ADDITIONS_FILE}.
+     * 
+     * @param additions Movies and TV shows added per month and week.
+     */
+    public static void writeAdditionsReport(AdditionsTimeline additions) {
+        writeAdditionsReport(ADDITIONS_FILE, additions);
+    }
+
+    /**
+     * Writes the titles added over time report to the given file: movies and
+     * TV shows added in every month, then in every week starting on Monday,
+     * from the first addition to the last.
+     * 
+     * @param fileName  The name of the file to which the report will be written.
+     * @param additions Movies and TV shows added per month and week.
+     */
+    public static void writeAdditionsReport(String fileName, AdditionsTimeline additions) {
+        writeReport(fileName, sink -> writeAdditionsReport(sink, additions));
+    }
+
+    /**
+     * Writes the titles added over time report to a sink.
+     * 
+     * @param sink      The sink that receives the report.
+     * @param additions Movies and TV shows added per month and week.
+     * @throws IOException if the sink cannot be written.
+     */
+    public static void writeAdditionsReport(ReportSink sink, AdditionsTimeline additions) throws IOException {
+        sink.beginSection("Titles Added per Month", "Month", "Movies", "TV Shows");
+        if (additions.getTotal() > 0) {
+            for (int month = additions.firstMonth(); month <= additions.lastMonth(); month++) {
+                YearMonth yearMonth = YearMonth.of(month / 12, month % 12 + 1);
+                int year = yearMonth.getYear();
+                int monthValue = yearMonth.getMonthValue();
+                sink.cell(yearMonth.toString()).cell(additions.monthCount(year, monthValue, true))
+                        .cell(additions.monthCount(year, monthValue, false)).endRow();
+            }
+        }
+
+        sink.beginSection("Titles Added per Week", "Week Starting", "Movies", "TV Shows");
+        if (additions.getTotal() > 0) {
+            for (int day = additions.firstWeekStart(); day <= additions.lastWeekStart(); day += 7) {
+                sink.cell(LocalDate.ofEpochDay(day).toString()).cell(additions.weekCount(day, true))
+                        .cell(additions.weekCount(day, false)).endRow();
+            }
+        }
+
+        sink.beginSection(null, "Date Added", "Titles");
+        sink.cell("Missing or Invalid").cell(additions.getUndated()).endRow();
+    }
+
+    /**
+     * Writes the runtime statistics report to {@link #RUNTIME_FILE}.
+     * 
+     * @param durations Movie runtimes and TV show season counts.
+     */
+    public static void writeRuntimeReport(DurationStats durations) {
+        writeRuntimeReport(RUNTIME_FILE, durations);
+    }
+
+    /**
+     * Writes the runtime statistics report to the given file: the mean,
+     * median, 90th percentile, shortest and longest movie runtimes as
+     * H:MM:SS, a histogram of runtimes in half-hour buckets, and the number of
+     * TV shows per season count.
+     * 
+     * @param fileName  The name of the file to which the report will be written.
+     * @param durations Movie runtimes and TV show season counts.
+     */
+    public static void writeRuntimeReport(String fileName, DurationStats durations) {
+        writeReport(fileName, sink -> writeRuntimeReport(sink, durations));
+    }
+
+    /**
+     * Writes the runtime statistics report to a sink.
+     * 
+     * @param sink      The sink that receives the report.
+     * @param durations Movie runtimes and TV show season counts.
+     * @throws IOException if the sink cannot be written.
+     */
+    public static void writeRuntimeReport(ReportSink sink, DurationStats durations) throws IOException {
+        sink.beginSection("Movie Runtime Statistics", "Statistic", "Runtime");
+        sink.cell("Movies").cell(durations.getMovieCount()).endRow();
+        if (durations.getMovieCount() > 0) {
+            sink.cell("Mean").cell(formatRuntime(durations.meanMinutes())).endRow();
+            sink.cell("Median").cell(formatRuntime(durations.medianMinutes())).endRow();
+            sink.cell("90th Percentile").cell(formatRuntime(durations.percentileMinutes(90))).endRow();
+            sink.cell("Shortest").cell(formatRuntime(durations.minMinutes())).endRow();
+            sink.cell("Longest").cell(formatRuntime(durations.maxMinutes())).endRow();
+        }
+
+        sink.beginSection("Movie Runtime Histogram", "Runtime", "Movies");
+        for (int from = 0; from <= durations.maxMinutes(); from += RUNTIME_BUCKET_MINUTES) {
+            int to = from + RUNTIME_BUCKET_MINUTES;
+            sink.cell(formatRuntime(from) + " - " + formatRuntime(to)).cell(durations.countMovies(from, to)).endRow();
+        }
+
+        sink.beginSection("TV Show Seasons", "Seasons", "TV Shows");
+        for (int seasons = 1; seasons <= durations.maxSeasons(); seasons++) {
+            sink.cell(Integer.toString(seasons)).cell(durations.countTvShows(seasons)).endRow();
+        }
+
+        sink.beginSection(null, "Duration", "Titles");
+        sink.cell("Missing or Invalid").cell(durations.getUnparsed()).endRow();
+    }
+
+    /**
+     * Formats a number of minutes as H:MM:SS through {@link Time}. The value is
+     * rounded to whole seconds first so that {@link Time} never rounds 59.5
+     * seconds up into a 60th second.
+     * 
+     * @param minutes The duration in minutes.
+     * @return The duration, for example "1:39:30" for 99.5 minutes.
+     */
+    static String formatRuntime(double minutes) {
+        Time time = new Time(Math.round(minutes * 60) / 60.0);
+        return String.format(Locale.ROOT, "%d:%02d:%02d", time.getHours(), time.getMinutes(), time.getSeconds());
+    }
+
+    /**
+     * Writes the cast collaboration report to {@link #CAST_GRAPH_FILE}.
+     * 
+     * @param graph The cast collaboration graph.
+     */
+    public static void writeCastGraphReport(CastGraph graph) {
+        writeCastGraphReport(CAST_GRAPH_FILE, graph);
+    }
+
+    /**
+     * Writes the cast collaboration report to the given file: the size of the
+     * graph, the cast members with the most collaborators, and the frequent
+     * collaborators of the most connected one.
+     * 
+     * @param fileName The name of the file to which the report will be written.
+     * @param graph    The cast collaboration graph.
+     */
+    public static void writeCastGraphReport(String fileName, CastGraph graph) {
+        writeReport(fileName, sink -> writeCastGraphReport(sink, graph, 10));
+    }
+
+    /**
+     * Writes the cast collaboration report to a sink.
+     * 
+     * @param sink  The sink that receives the report.
+     * @param graph The cast collaboration graph.
+     * @param k     The number of cast members and collaborators listed.
+     * @throws IOException if the sink cannot be written.
+     */
+    public static void writeCastGraphReport(ReportSink sink, CastGraph graph, int k) throws IOException {
+        sink.beginSection("Cast Collaboration Graph", "Statistic", "Value");
+        sink.cell("Cast Members").cell(graph.actorCount()).endRow();
+        sink.cell("Collaborating Pairs").cell(graph.edgeCount()).endRow();
+        sink.cell("Components").cell(graph.componentCount()).endRow();
+        sink.cell("Largest Component").cell(graph.largestComponentSize()).endRow();
+
+        Map<String, Long> mostConnected = graph.topByDegree(k);
+        sink.beginSection("Most Connected Cast Members", "Cast Member", "Collaborators", "Component Size");
+        for (Map.Entry<String, Long> entry : mostConnected.entrySet()) {
+            sink.cell(entry.getKey()).cell(entry.getValue()).cell(graph.componentSize(entry.getKey())).endRow();
+        }
+
+        if (!mostConnected.isEmpty()) {
+            String actor = mostConnected.keySet().iterator().next();
+            sink.beginSection("Top Collaborators of " + actor, "Cast Member", "Shared Titles");
+            for (Map.Entry<String, Long> entry : graph.topCollaborators(actor, k).entrySet()) {
+                sink.cell(entry.getKey()).cell(entry.getValue()).endRow();
             }
         }
+    }
+
+    /**
+     * Writes the approximate statistics report to {@link #APPROXIMATE_FILE}.
+     * 
+     * @param aggregates The sketches of a file.
+     */
+    public static void writeApproximateReport(ApproximateAggregates aggregates) {
+        writeApproximateReport(APPROXIMATE_FILE, aggregates);
+    }
+
+    /**
+     * Writes the approximate statistics report to the given file: the estimated
+     * distinct directors, cast members and countries, each with its 95% error
+     * margin, the most frequent cast members with the most they may be
+     * overcounted by, and the sketch sizes behind those bounds.
+     * 
+     * @param fileName   The name of the file to which the report will be written.
+     * @param aggregates The sketches of a file.
+     */
+    public static void writeApproximateReport(String fileName, ApproximateAggregates aggregates) {
+        writeReport(fileName, sink -> writeApproximateReport(sink, aggregates));
+    }
+
+    /**
+     * Writes the approximate statistics report to a sink.
+     * 
+     * @param sink       The sink that receives the report.
+     * @param aggregates The sketches of a file.
+     * @throws IOException if the sink cannot be written.
+     */
+    public static void writeApproximateReport(ReportSink sink, ApproximateAggregates aggregates)
+            throws IOException {
+        sink.beginSection("Approximate Distinct Counts", "Column", "Estimate", "Error (95%)");
+        writeDistinctRow(sink, "Directors", aggregates.getDirectors());
+        writeDistinctRow(sink, "Cast Members", aggregates.getCast());
+        writeDistinctRow(sink, "Countries", aggregates.getCountries());
 
-        StringBuilder textResult = new StringBuilder("=== Unique Countries and their Counts ===\n");
-        textResult.append(String.format("%-25s %s%n", "Country", "Count"));
-        textResult.append("==============================\n");
-        for (Map.Entry<String, Integer> entry : countryCounts.entrySet()) {
-            textResult.append(String.format("%-25s %d%n", entry.getKey(), entry.getValue()));
+        CountMinSketch castSketch = aggregates.getTopCast().getSketch();
+        long overcount = castSketch.errorBound();
+        sink.beginSection("Approximate Top Cast Members", "Cast Member", "Estimate", "Overcount");
+        for (Map.Entry<String, Long> entry : aggregates.getTopCastCounts().entrySet()) {
+            sink.cell(entry.getKey()).cell(entry.getValue()).cell(overcount).endRow();
         }
 
-        writeToTextFile(COUNTRIES_FILE, textResult.toString());
+        sink.beginSection("Sketch Settings", "Setting", "Value");
+        sink.cell("Rows").cell(aggregates.getRowCount()).endRow();
+        sink.cell("HyperLogLog Precision").cell(aggregates.getSettings().getPrecision()).endRow();
+        sink.cell("Count-Min Width").cell(castSketch.getWidth()).endRow();
+        sink.cell("Count-Min Depth").cell(castSketch.getDepth()).endRow();
+        sink.cell("Overcount Confidence").cell(castSketch.confidence(), 4).endRow();
+        sink.cell("Memory (bytes)").cell(aggregates.sizeInBytes()).endRow();
+    }
+
+    /**
+     * Writes a distinct count with a margin of two standard errors.
+     */
+    private static void writeDistinctRow(ReportSink sink, String label, HyperLogLog sketch) throws IOException {
+        long estimate = sketch.estimate();
+        sink.cell(label).cell(estimate).cell(Math.round(2 * sketch.relativeStandardError() * estimate)).endRow();
     }
 
     /**
@@ -217,16 +840,36 @@ public class Application {
     public static List<String[]> readCSV(String file) {
         List<String[]> allData = null;
 
+        PhaseRecorder recorder = PhaseRecorder.get();
+        recorder.enter(Phase.PARSE);
         try {
-            FileReader fileReader = new FileReader(file);
+            InputStreamReader fileReader = new InputStreamReader(new MeteredInputStream(new FileInputStream(file),
+                    recorder));
             CSVReader reader = new CSVReaderBuilder(fileReader).withSkipLines(1).build();
             allData = reader.readAll();
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            recorder.exit(allData == null ? 0 : allData.size(), 0);
         }
         return allData;
     }
 
+    /**
+     * Streams a report to a text file.
+     * 
+     * @param fileName The name of the file to which the report will be written.
+     * @param content  Writes the report to the file's sink.
+     */
+    private static void writeReport(String fileName, ReportSink.Content content) {
+        try {
+            ReportFormat.TEXT.write(Path.of(fileName), null, content);
+            System.out.println("Results written to " + fileName + "\n");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * Writes the specified content to a text file.
      * 
@@ -234,11 +877,15 @@ public class Application {
      * @param content  The content to be written to the file.
      */
     static void writeToTextFile(String fileName, String content) {
+        PhaseRecorder recorder = PhaseRecorder.get();
+        recorder.enter(Phase.WRITE);
         try (FileWriter writer = new FileWriter(fileName)) {
             writer.write(content);
             System.out.println("Results written to " + fileName + "\n");
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            recorder.exit(0, content.length());
         }
     }
 }
@@ -0,0 +1,223 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import com.acs560.HW1_DATA_ANALYZER.parsers.DateAddedParser;
+
+/**
+ * Titles added per month and per week, split into movies and TV shows, from
+ * date_added epoch days.
+ * <p>
+ * Each series is a primitive array indexed by month or week number, where
+ * consecutive months or weeks have consecutive numbers, and widened on demand
+ * like {@link YearHistogram}. Weeks start on Monday. Titles added before
+ * {@value #MIN_YEAR} or after {@value #MAX_YEAR}, which can only be typos, are
+ * counted in {@link #getUndated()} together with titles without a parsable
+ * date. The rule depends on the title alone, not on the dates seen before it,
+ * so a stray date cannot push later ones out, and sequential, parallel and
+ * merged timelines always agree.
+ * </p>
+ */
+public class AdditionsTimeline {
+    /**
+     * Returned by the period bounds when nothing is dated.
+     */
+    public static final int NO_PERIOD = Integer.MIN_VALUE;
+
+    static final int MIN_YEAR = 1900;
+    static final int MAX_YEAR = 2199;
+
+    private final Series movieMonths = new Series();
+    private final Series tvShowMonths = new Series();
+    private final Series movieWeeks = new Series();
+    private final Series tvShowWeeks = new Series();
+    private long undated;
+
+    /**
+     * Counts one title.
+     *
+     * @param epochDay The day the title was added, or
+     *                 {@link DateAddedParser#INVALID} if unknown.
+     * @param movie    True for a movie, false for a TV show.
+     */
+    public void add(int epochDay, boolean movie) {
+        add(epochDay, movie, 1);
+    }
+
+    /**
+     * Counts several titles added on the same day.
+     *
+     * @param epochDay The day the titles were added, or
+     *                 {@link DateAddedParser#INVALID} if unknown.
+     * @param movie    True for movies, false for TV shows.
+     * @param count    The number of titles.
+     */
+    public void add(int epochDay, boolean movie, long count) {
+        int month = epochDay == DateAddedParser.INVALID ? 0 : DateAddedParser.toEpochMonth(epochDay);
+        if (month < MIN_YEAR * 12 || month >= (MAX_YEAR + 1) * 12) {
+            undated += count;
+            return;
+        }
+        (movie ? movieMonths : tvShowMonths).add(month, count);
+        (movie ? movieWeeks : tvShowWeeks).add(weekOf(epochDay), count);
+    }
+
+    /**
+     * Adds the counts of another timeline to this one.
+     *
+     * @param other The timeline to fold into this one.
+     * @return This timeline, for chaining.
+     */
+    public AdditionsTimeline merge(AdditionsTimeline other) {
+        undated += other.undated;
+        movieMonths.merge(other.movieMonths);
+        tvShowMonths.merge(other.tvShowMonths);
+        movieWeeks.merge(other.movieWeeks);
+        tvShowWeeks.merge(other.tvShowWeeks);
+        return this;
+    }
+
+    /**
+     * @param year  The year.
+     * @param month The month, 1 to 12.
+     * @param movie True for movies, false for TV shows.
+     * @return The number of titles added in that month.
+     */
+    public long monthCount(int year, int month, boolean movie) {
+        return (movie ? movieMonths : tvShowMonths).count(year * 12 + month - 1);
+    }
+
+    /**
+     * @param epochDay Any day of the week.
+     * @param movie    True for movies, false for TV shows.
+     * @return The number of titles added in the Monday-to-Sunday week holding that day.
+     */
+    public long weekCount(int epochDay, boolean movie) {
+        return (movie ? movieWeeks : tvShowWeeks).count(weekOf(epochDay));
+    }
+
+    /**
+     * @return The number of titles without a usable date.
+     */
+    public long getUndated() {
+        return undated;
+    }
+
+    /**
+     * @return The number of dated titles.
+     */
+    public long getTotal() {
+        return movieMonths.total + tvShowMonths.total;
+    }
+
+    /**
+     * @return The first month with an addition as {@code year * 12 + month - 1},
+     *         or {@link #NO_PERIOD} if nothing is dated.
+     */
+    public int firstMonth() {
+        return getTotal() == 0 ? NO_PERIOD : Math.min(movieMonths.first(), tvShowMonths.first());
+    }
+
+    /**
+     * @return The last month with an addition as {@code year * 12 + month - 1},
+     *         or {@link #NO_PERIOD} if nothing is dated.
+     */
+    public int lastMonth() {
+        return getTotal() == 0 ? NO_PERIOD : Math.max(movieMonths.last(), tvShowMonths.last());
+    }
+
+    /**
+     * @return The epoch day of the Monday starting the first week with an
+     *         addition, or {@link #NO_PERIOD} if nothing is dated.
+     */
+    public int firstWeekStart() {
+        return getTotal() == 0 ? NO_PERIOD : weekStart(Math.min(movieWeeks.first(), tvShowWeeks.first()));
+    }
+
+    /**
+     * @return The epoch day of the Monday starting the last week with an
+     *         addition, or {@link #NO_PERIOD} if nothing is dated.
+     */
+    public int lastWeekStart() {
+        return getTotal() == 0 ? NO_PERIOD : weekStart(Math.max(movieWeeks.last(), tvShowWeeks.last()));
+    }
+
+    /**
+     * Numbers weeks so that each starts on a Monday; 1970-01-01 was a Thursday.
+     */
+    private static int weekOf(int epochDay) {
+        return Math.floorDiv(epochDay + 3, 7);
+    }
+
+    private static int weekStart(int week) {
+        return week * 7 - 3;
+    }
+
+    /**
+     * Counts per bucket over a window of consecutive bucket numbers. Callers
+     * only pass buckets within the plausible years, which bounds the window.
+     */
+    private static class Series {
+        private long[] counts = new long[0];
+        private int offset;
+        private long total;
+
+        boolean covers(int index) {
+            return index - offset >= 0 && index - offset < counts.length;
+        }
+
+        private void widenTo(int index) {
+            if (counts.length == 0) {
+                counts = new long[64];
+                offset = index - 32;
+                return;
+            }
+            int newOffset = Math.min(offset, index);
+            int newEnd = Math.max(offset + counts.length, index + 1);
+            int length = Math.max(newEnd - newOffset, counts.length * 2);
+            if (index < offset) {
+                newOffset = newEnd - length;
+            }
+            long[] widened = new long[length];
+            System.arraycopy(counts, 0, widened, offset - newOffset, counts.length);
+            counts = widened;
+            offset = newOffset;
+        }
+
+        void add(int index, long count) {
+            if (!covers(index)) {
+                widenTo(index);
+            }
+            counts[index - offset] += count;
+            total += count;
+        }
+
+        long count(int index) {
+            return covers(index) ? counts[index - offset] : 0;
+        }
+
+        void merge(Series other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0) {
+                    add(other.offset + i, other.counts[i]);
+                }
+            }
+        }
+
+        int first() {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    return offset + i;
+                }
+            }
+            return Integer.MAX_VALUE;
+        }
+
+        int last() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] != 0) {
+                    return offset + i;
+                }
+            }
+            return Integer.MIN_VALUE;
+        }
+    }
+}
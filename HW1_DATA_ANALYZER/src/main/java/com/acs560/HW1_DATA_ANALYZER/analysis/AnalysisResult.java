@@ -0,0 +1,35 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+/**
+ * The outcome of a single analysis pass: the aggregated report data together
+ * with the throughput and memory figures for the pass.
+ */
+public class AnalysisResult {
+    private final NetflixAggregates aggregates;
+    private final RunStats stats;
+
+    /**
+     * Constructor
+     *
+     * @param aggregates The totals collected during the pass.
+     * @param stats      Throughput and memory figures for the pass.
+     */
+    public AnalysisResult(NetflixAggregates aggregates, RunStats stats) {
+        this.aggregates = aggregates;
+        this.stats = stats;
+    }
+
+    /**
+     * @return The totals collected during the pass.
+     */
+    public NetflixAggregates getAggregates() {
+        return aggregates;
+    }
+
+    /**
+     * @return Throughput and memory figures for the pass.
+     */
+    public RunStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,178 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.util.Map;
+
+import com.acs560.HW1_DATA_ANALYZER.parsers.CsvTokenizer;
+import com.acs560.HW1_DATA_ANALYZER.parsers.ListSplitter;
+import com.acs560.HW1_DATA_ANALYZER.sketches.Hashing;
+import com.acs560.HW1_DATA_ANALYZER.sketches.HeavyHitters;
+import com.acs560.HW1_DATA_ANALYZER.sketches.HyperLogLog;
+
+/**
+ * Fixed-memory estimates for exports too large to count exactly: the number
+ * of distinct directors, cast members and countries, and the most frequent
+ * cast members.
+ * <p>
+ * Distinct names are estimated by one {@link HyperLogLog} per column and cast
+ * frequencies by a {@link HeavyHitters} tracker, so the memory held here is
+ * set by the {@link ApproximateAnalyzer.Settings} alone and does not grow
+ * with rows or names. List fields are split in place and each name is hashed
+ * straight from the record, so accepting a row allocates nothing unless a cast
+ * member enters the top list. Instances built with the same settings over
+ * different parts of a file can be combined with
+ * {@link #merge(ApproximateAggregates)}.
+ * </p>
+ */
+public class ApproximateAggregates {
+    static final int DIRECTOR_COLUMN = 3;
+    static final int CAST_COLUMN = 4;
+
+    /**
+     * The only columns read by {@link #accept(CsvTokenizer)}; pass these to the
+     * tokenizer so that no other column is decoded.
+     */
+    public static final int[] PROJECTION = { DIRECTOR_COLUMN, CAST_COLUMN, NetflixAggregates.COUNTRY_COLUMN };
+
+    private final ApproximateAnalyzer.Settings settings;
+    private final ListSplitter splitter = new ListSplitter();
+    private final HyperLogLog directors;
+    private final HyperLogLog cast;
+    private final HyperLogLog countries;
+    private final HeavyHitters topCast;
+    private long rowCount;
+
+    /**
+     * Constructor
+     *
+     * @param settings The sketch sizes.
+     */
+    public ApproximateAggregates(ApproximateAnalyzer.Settings settings) {
+        this.settings = settings;
+        this.directors = new HyperLogLog(settings.getPrecision());
+        this.cast = new HyperLogLog(settings.getPrecision());
+        this.countries = new HyperLogLog(settings.getPrecision());
+        this.topCast = new HeavyHitters(settings.getTopCast(), settings.getWidth(), settings.getDepth());
+    }
+
+    /**
+     * Adds a parsed CSV row to the estimates.
+     *
+     * @param row The row's fields, with directors, cast and countries in
+     *            columns 3, 4 and 5.
+     */
+    public void accept(String[] row) {
+        rowCount++;
+        addAll(directors, row[DIRECTOR_COLUMN]);
+        addCast(row[CAST_COLUMN]);
+        addAll(countries, row[NetflixAggregates.COUNTRY_COLUMN]);
+    }
+
+    /**
+     * Adds the current record of a tokenizer to the estimates, reading every
+     * field in place. The tokenizer reuses one view for every column, so each
+     * field is consumed before the next is read.
+     *
+     * @param record A tokenizer positioned on a record and projecting at least
+     *               the columns in {@link #PROJECTION}.
+     */
+    public void accept(CsvTokenizer record) {
+        rowCount++;
+        addAll(directors, record.chars(DIRECTOR_COLUMN));
+        addCast(record.chars(CAST_COLUMN));
+        addAll(countries, record.chars(NetflixAggregates.COUNTRY_COLUMN));
+    }
+
+    private void addCast(CharSequence field) {
+        splitter.reset(field);
+        while (splitter.next()) {
+            if (splitter.start() < splitter.end()) {
+                cast.add(Hashing.hash64(field, splitter.start(), splitter.end()));
+                topCast.add(field, splitter.start(), splitter.end());
+            }
+        }
+    }
+
+    /**
+     * Records every non-empty name of a list field in a sketch.
+     */
+    private void addAll(HyperLogLog sketch, CharSequence field) {
+        splitter.reset(field);
+        while (splitter.next()) {
+            if (splitter.start() < splitter.end()) {
+                sketch.add(Hashing.hash64(field, splitter.start(), splitter.end()));
+            }
+        }
+    }
+
+    /**
+     * Adds the estimates of another instance to this one.
+     *
+     * @param other Aggregates built with the same settings.
+     * @return This instance, for chaining.
+     */
+    public ApproximateAggregates merge(ApproximateAggregates other) {
+        rowCount += other.rowCount;
+        directors.merge(other.directors);
+        cast.merge(other.cast);
+        countries.merge(other.countries);
+        topCast.merge(other.topCast);
+        return this;
+    }
+
+    /**
+     * @return The number of rows accepted so far.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return The sketch of distinct directors.
+     */
+    public HyperLogLog getDirectors() {
+        return directors;
+    }
+
+    /**
+     * @return The sketch of distinct cast members.
+     */
+    public HyperLogLog getCast() {
+        return cast;
+    }
+
+    /**
+     * @return The sketch of distinct countries.
+     */
+    public HyperLogLog getCountries() {
+        return countries;
+    }
+
+    /**
+     * @return The tracker of the most frequent cast members.
+     */
+    public HeavyHitters getTopCast() {
+        return topCast;
+    }
+
+    /**
+     * @return The most frequent cast members and their estimated title counts,
+     *         by descending count.
+     */
+    public Map<String, Long> getTopCastCounts() {
+        return topCast.top();
+    }
+
+    /**
+     * @return The settings these aggregates were built with.
+     */
+    public ApproximateAnalyzer.Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * @return The memory held by the sketches, in bytes.
+     */
+    public long sizeInBytes() {
+        return directors.sizeInBytes() + cast.sizeInBytes() + countries.sizeInBytes() + topCast.sizeInBytes();
+    }
+}
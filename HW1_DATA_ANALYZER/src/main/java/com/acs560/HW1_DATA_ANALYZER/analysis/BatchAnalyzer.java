@@ -0,0 +1,544 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.reports.ReportFormat;
+import com.opencsv.CSVWriter;
+
+/**
+ * Headless batch mode that analyzes many CSV files without the interactive menu.
+ * <p>
+ * Files are analyzed concurrently on a fixed-size executor, and each file is
+ * itself parsed in parallel by {@link ParallelAnalyzer} on a shared pool of the
+ * same size, so the total number of threads stays bounded however many files
+ * are given. Gzip-compressed files and standard input ({@code -}) cannot be
+ * split up front and go through the {@link PipelineAnalyzer} instead, whose
+ * workers block on its ring buffers and so cannot share that pool; the thread
+ * budget is divided among the files analyzed at once instead, giving each
+ * pipeline at least one worker. For every input, the reports are written
+ * together with a JSON and a CSV file holding the same results in
+ * machine-readable form, and a per-file timing summary is printed at the end. With
+ * {@code --partial}, each file's partial state is written as well, for
+ * {@link PartialMerger} to combine with the states of other shards.
+ * </p>
+ */
+public class BatchAnalyzer {
+    static final String JSON_SUFFIX = "_results.json";
+    static final String CSV_SUFFIX = "_results.csv";
+
+    private static final String USAGE = "Usage: Application [--threads N] [--out DIR] [--top N] [--format text|csv|jsonl]"
+            + " [--partial] <file.csv | file.csv.gz | - | directory>...";
+
+    private BatchAnalyzer() {
+    }
+
+    /**
+     * Parses the command line, analyzes every input and prints the summary.
+     *
+     * @param args {@code [--threads N] [--out DIR] [--top N] [--format text|csv|jsonl]
+     *             [--partial] <file.csv | file.csv.gz | - | directory>...}. Directories
+     *             contribute every {@code .csv} and {@code .csv.gz} file
+     *             directly inside them; {@code -} reads standard input. See {@link Options}
+     *             for the defaults.
+     */
+    public static void run(String[] args) {
+        Options options = new Options();
+        List<String> inputs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--threads") && i + 1 < args.length) {
+                    options.threads(Integer.parseInt(args[++i]));
+                } else if (args[i].equals("--out") && i + 1 < args.length) {
+                    options.outputDir(Path.of(args[++i]));
+                } else if (args[i].equals("--top") && i + 1 < args.length) {
+                    options.topCountries(Integer.parseInt(args[++i]));
+                } else if (args[i].equals("--format") && i + 1 < args.length) {
+                    options.reportFormat(parseFormat(args[++i]));
+                } else if (args[i].equals("--partial")) {
+                    options.partialState(true);
+                } else {
+                    inputs.add(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + "\n" + USAGE);
+            return;
+        }
+
+        try {
+            List<Path> files = resolveInputs(inputs);
+            if (files.isEmpty()) {
+                System.out.println(USAGE);
+                return;
+            }
+            Files.createDirectories(options.getOutputDir().toAbsolutePath());
+            printSummary(analyzeAll(files, options));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static ReportFormat parseFormat(String name) {
+        for (ReportFormat format : ReportFormat.values()) {
+            if (format.getExtension().equalsIgnoreCase(name) || format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown report format: " + name);
+    }
+
+    /**
+     * Expands directories into the CSV files, plain or gzip-compressed, they
+     * contain.
+     *
+     * @param inputs File and directory paths.
+     * @return The CSV files to analyze, in the order given.
+     * @throws IOException if a directory cannot be listed.
+     */
+    static List<Path> resolveInputs(List<String> inputs) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String input : inputs) {
+            Path path = Path.of(input);
+            if (Files.isDirectory(path)) {
+                try (DirectoryStream<Path> csvFiles = Files.newDirectoryStream(path, "*.{csv,csv.gz}")) {
+                    List<Path> sorted = new ArrayList<>();
+                    csvFiles.forEach(sorted::add);
+                    sorted.sort(null);
+                    files.addAll(sorted);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Analyzes every file concurrently and writes its results to the output
+     * directory.
+     *
+     * @param files     The CSV files to analyze.
+     * @param outputDir The directory that receives the reports.
+     * @param threads   The maximum number of files analyzed at once, and the
+     *                  parallelism of the shared parsing pool.
+     * @return One result per file, in input order.
+     */
+    public static List<FileResult> analyzeAll(List<Path> files, Path outputDir, int threads) {
+        return analyzeAll(files, new Options().outputDir(outputDir).threads(threads));
+    }
+
+    /**
+     * Analyzes every file concurrently and writes its results as the options
+     * ask. Report files are written on a dedicated output thread, so a file's
+     * reports are being written while the next file is still being parsed.
+     *
+     * @param files   The CSV files to analyze.
+     * @param options Where and how to write the results.
+     * @return One result per file, in input order.
+     */
+    public static List<FileResult> analyzeAll(List<Path> files, Options options) {
+        ExecutorService fileExecutor = Executors.newFixedThreadPool(options.getThreads());
+        ForkJoinPool parsePool = new ForkJoinPool(options.getThreads());
+        ExecutorService outputExecutor = Executors.newSingleThreadExecutor();
+        int pipelineWorkers = pipelineWorkers(options.getThreads(), files.size());
+        try {
+            List<Future<FileResult>> futures = new ArrayList<>();
+            for (Path file : files) {
+                futures.add(fileExecutor.submit(
+                        () -> analyzeFile(file, options, parsePool, pipelineWorkers, outputExecutor)));
+            }
+
+            List<FileResult> results = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(new FileResult(files.get(i), 0, null, e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.add(new FileResult(files.get(i), 0, null, e));
+                }
+            }
+            return results;
+        } finally {
+            fileExecutor.shutdown();
+            parsePool.shutdown();
+            outputExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Divides the thread budget among the files analyzed at once, so that the
+     * {@link PipelineAnalyzer} runs in flight together start no more workers
+     * than the budget.
+     *
+     * @param threads   The thread budget, which is also the number of files
+     *                  analyzed at once.
+     * @param fileCount The number of files to analyze.
+     * @return The number of workers for each pipeline, at least 1.
+     */
+    static int pipelineWorkers(int threads, int fileCount) {
+        int concurrentFiles = Math.max(1, Math.min(threads, fileCount));
+        return Math.max(1, threads / concurrentFiles);
+    }
+
+    private static FileResult analyzeFile(Path file, Options options, ForkJoinPool parsePool, int pipelineWorkers,
+            Executor outputExecutor) {
+        try {
+            AnalysisResult result;
+            long bytes;
+            if (PipelineAnalyzer.isStream(file)) {
+                bytes = file.toString().equals(PipelineAnalyzer.STDIN) ? 0 : Files.size(file);
+                result = PipelineAnalyzer.analyze(file.toString(), pipelineWorkers);
+            } else {
+                bytes = Files.size(file);
+                result = ParallelAnalyzer.analyze(file.toString(), parsePool);
+            }
+            writeResults(file, options, result, outputExecutor);
+            return new FileResult(file, bytes, result, null);
+        } catch (IOException e) {
+            return new FileResult(file, 0, null, e);
+        }
+    }
+
+    /**
+     * Writes the reports in the chosen format plus the JSON and CSV results for
+     * one file, and its partial state if asked for. Every output name is
+     * prefixed with the input's name without its extension, or with
+     * {@code stdin} for standard input.
+     */
+    static void writeResults(Path file, Options options, AnalysisResult result, Executor outputExecutor)
+            throws IOException {
+        String stem = file.toString().equals(PipelineAnalyzer.STDIN) ? "stdin"
+                : file.getFileName().toString().replaceFirst("(\\.csv)?(\\.gz)?$", "");
+        Path outputDir = options.getOutputDir();
+        ReportFormat format = options.getReportFormat();
+        NetflixAggregates aggregates = result.getAggregates();
+        Map<String, Long> countries = aggregates.getTopCountries(options.getTopCountries());
+
+        format.write(outputDir.resolve(stem + "_" + format.fileName(Application.COUNT_FILE)), outputExecutor,
+                sink -> Application.writeCountReport(sink, aggregates.getMovieCount(), aggregates.getTvShowCount()));
+        format.write(outputDir.resolve(stem + "_" + format.fileName(Application.AVG_FILE)), outputExecutor,
+                sink -> Application.writeAverageReport(sink, aggregates.getMovieCount(),
+                        aggregates.getMovieYears().distinctYears()));
+        format.write(outputDir.resolve(stem + "_" + format.fileName(Application.COUNTRIES_FILE)), outputExecutor,
+                sink -> Application.writeCountriesReport(sink, countries));
+        format.write(outputDir.resolve(stem + "_" + format.fileName(Application.YEAR_STATS_FILE)), outputExecutor,
+                sink -> Application.writeYearStatisticsReport(sink, aggregates.getMovieYears(),
+                        aggregates.getTvShowYears()));
+        format.write(outputDir.resolve(stem + "_" + format.fileName(Application.GENRES_FILE)), outputExecutor,
+                sink -> Application.writeGenreReport(sink, aggregates.getGenres(), Integer.MAX_VALUE));
+        format.write(outputDir.resolve(stem + "_" + format.fileName(Application.ADDITIONS_FILE)), outputExecutor,
+                sink -> Application.writeAdditionsReport(sink, aggregates.getAdditions()));
+        format.write(outputDir.resolve(stem + "_" + format.fileName(Application.RUNTIME_FILE)), outputExecutor,
+                sink -> Application.writeRuntimeReport(sink, aggregates.getDurations()));
+
+        writeJson(outputDir.resolve(stem + JSON_SUFFIX), file, result, countries);
+        writeCsv(outputDir.resolve(stem + CSV_SUFFIX), aggregates, countries);
+        if (options.isPartialState()) {
+            PartialStateFile.write(aggregates, outputDir.resolve(stem + PartialStateFile.EXTENSION));
+        }
+    }
+
+    private static void writeJson(Path target, Path file, AnalysisResult result, Map<String, Long> countries)
+            throws IOException {
+        NetflixAggregates aggregates = result.getAggregates();
+        YearHistogram movieYears = aggregates.getMovieYears();
+        int yearCount = movieYears.distinctYears();
+        double average = yearCount == 0 ? 0 : (double) aggregates.getMovieCount() / yearCount;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write("{\n");
+            writer.write("  \"file\": " + jsonString(file.toString()) + ",\n");
+            writer.write("  \"rows\": " + aggregates.getRowCount() + ",\n");
+            writer.write("  \"elapsedMillis\": " + result.getStats().getElapsedNanos() / 1_000_000 + ",\n");
+            writer.write("  \"movies\": " + aggregates.getMovieCount() + ",\n");
+            writer.write("  \"tvShows\": " + aggregates.getTvShowCount() + ",\n");
+            writer.write("  \"averageMoviesPerYear\": " + String.format(Locale.ROOT, "%.2f", average) + ",\n");
+            writer.write("  \"movieYears\": ");
+            writeYearStatistics(writer, movieYears);
+            writer.write(",\n  \"tvShowYears\": ");
+            writeYearStatistics(writer, aggregates.getTvShowYears());
+            writer.write(",\n  \"moviesPerYear\": ");
+            writeJsonObject(writer, movieYears);
+            writer.write(",\n  \"tvShowsPerYear\": ");
+            writeJsonObject(writer, aggregates.getTvShowYears());
+            writer.write(",\n  \"countries\": ");
+            writeJsonObject(writer, countries);
+            writer.write(",\n  \"genres\": ");
+            writeJsonObject(writer, aggregates.getGenres().getGenreCounts());
+            writer.write("\n}\n");
+        }
+    }
+
+    private static void writeJsonObject(BufferedWriter writer, Map<String, Long> counts) throws IOException {
+        writer.write('{');
+        boolean first = true;
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            writer.write(first ? "" : ", ");
+            writer.write(jsonString(entry.getKey()));
+            writer.write(": ");
+            writer.write(Long.toString(entry.getValue()));
+            first = false;
+        }
+        writer.write('}');
+    }
+
+    private static void writeJsonObject(BufferedWriter writer, YearHistogram years) throws IOException {
+        StringBuilder json = new StringBuilder("{");
+        years.forEach((year, count) -> json.append(json.length() > 1 ? ", \"" : "\"").append(year).append("\": ")
+                .append(count));
+        writer.write(json.append('}').toString());
+    }
+
+    private static void writeYearStatistics(BufferedWriter writer, YearHistogram years) throws IOException {
+        writer.write("{\"min\": " + jsonYear(years.minYear()));
+        writer.write(", \"max\": " + jsonYear(years.maxYear()));
+        writer.write(", \"median\": " + jsonYear(years.median()));
+        writer.write(", \"p10\": " + jsonYear(years.percentile(10)));
+        writer.write(", \"p90\": " + jsonYear(years.percentile(90)) + "}");
+    }
+
+    private static String jsonYear(int year) {
+        return year == YearHistogram.NO_YEAR ? "null" : Integer.toString(year);
+    }
+
+    /**
+     * Writes one {@code report,key,value} row per result, so every report can
+     * be loaded into a single table.
+     */
+    private static void writeCsv(Path target, NetflixAggregates aggregates, Map<String, Long> countries)
+            throws IOException {
+        try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(target, StandardCharsets.UTF_8))) {
+            writer.writeNext(new String[] { "report", "key", "value" });
+            writer.writeNext(new String[] { "type", "Movie", Long.toString(aggregates.getMovieCount()) });
+            writer.writeNext(new String[] { "type", "TV Show", Long.toString(aggregates.getTvShowCount()) });
+            aggregates.getMovieYears().forEach((year, count) -> writer
+                    .writeNext(new String[] { "movies_per_year", Integer.toString(year), Long.toString(count) }));
+            aggregates.getTvShowYears().forEach((year, count) -> writer
+                    .writeNext(new String[] { "tv_shows_per_year", Integer.toString(year), Long.toString(count) }));
+            for (Map.Entry<String, Long> entry : countries.entrySet()) {
+                writer.writeNext(new String[] { "country", entry.getKey(), entry.getValue().toString() });
+            }
+            for (Map.Entry<String, Long> entry : aggregates.getGenres().getGenreCounts().entrySet()) {
+                writer.writeNext(new String[] { "genre", entry.getKey(), entry.getValue().toString() });
+            }
+        }
+    }
+
+    static String jsonString(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    private static void printSummary(List<FileResult> results) {
+        System.out.println("=== Batch Summary ===");
+        System.out.println(String.format("%-40s %12s %10s %14s %10s", "File", "Rows", "Millis", "Rows/sec",
+                "MB/sec"));
+        System.out.println("==============================");
+        for (FileResult result : results) {
+            if (result.getError() != null) {
+                System.out.println(String.format("%-40s FAILED: %s", result.getFile(), result.getError()));
+                continue;
+            }
+            RunStats stats = result.getAnalysis().getStats();
+            double seconds = stats.getElapsedNanos() / 1_000_000_000.0;
+            double megabytesPerSecond = seconds == 0 ? 0 : result.getBytes() / (1024.0 * 1024.0) / seconds;
+            System.out.println(String.format("%-40s %12d %10.1f %14.0f %10.1f", result.getFile(), stats.getRows(),
+                    stats.getElapsedNanos() / 1_000_000.0, stats.getRowsPerSecond(), megabytesPerSecond));
+        }
+    }
+
+    /**
+     * Settings for a batch run.
+     */
+    public static class Options {
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private Path outputDir = Path.of("");
+        private int topCountries = Integer.MAX_VALUE;
+        private ReportFormat reportFormat = ReportFormat.TEXT;
+        private boolean partialState;
+
+        /**
+         * @param threads The maximum number of files analyzed at once, and the
+         *                parallelism of the shared parsing pool. Defaults to the
+         *                number of available processors.
+         * @return These options, for chaining.
+         * @throws IllegalArgumentException if the count is not positive.
+         */
+        public Options threads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("Thread count must be positive: " + threads);
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * @param outputDir The directory that receives the results. Defaults to
+         *                  the current directory.
+         * @return These options, for chaining.
+         */
+        public Options outputDir(Path outputDir) {
+            this.outputDir = outputDir;
+            return this;
+        }
+
+        /**
+         * @param topCountries The number of countries written per file. Defaults
+         *                     to every country.
+         * @return These options, for chaining.
+         * @throws IllegalArgumentException if the count is not positive.
+         */
+        public Options topCountries(int topCountries) {
+            if (topCountries < 1) {
+                throw new IllegalArgumentException("Country count must be positive: " + topCountries);
+            }
+            this.topCountries = topCountries;
+            return this;
+        }
+
+        /**
+         * @param reportFormat The format of the per-report files. Defaults to text.
+         * @return These options, for chaining.
+         */
+        public Options reportFormat(ReportFormat reportFormat) {
+            this.reportFormat = reportFormat;
+            return this;
+        }
+
+        /**
+         * @param partialState Whether to also write each file's partial state,
+         *                     for merging with other shards. Defaults to false.
+         * @return These options, for chaining.
+         */
+        public Options partialState(boolean partialState) {
+            this.partialState = partialState;
+            return this;
+        }
+
+        /**
+         * @return The number of files analyzed at once.
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * @return The directory that receives the results.
+         */
+        public Path getOutputDir() {
+            return outputDir;
+        }
+
+        /**
+         * @return The number of countries written per file.
+         */
+        public int getTopCountries() {
+            return topCountries;
+        }
+
+        /**
+         * @return The format of the per-report files.
+         */
+        public ReportFormat getReportFormat() {
+            return reportFormat;
+        }
+
+        /**
+         * @return Whether each file's partial state is written.
+         */
+        public boolean isPartialState() {
+            return partialState;
+        }
+    }
+
+    /**
+     * The outcome of analyzing one file in a batch.
+     */
+    public static class FileResult {
+        private final Path file;
+        private final long bytes;
+        private final AnalysisResult analysis;
+        private final Throwable error;
+
+        FileResult(Path file, long bytes, AnalysisResult analysis, Throwable error) {
+            this.file = file;
+            this.bytes = bytes;
+            this.analysis = analysis;
+            this.error = error;
+        }
+
+        /**
+         * @return The input file.
+         */
+        public Path getFile() {
+            return file;
+        }
+
+        /**
+         * @return The size of the input file in bytes, compressed for gzip input
+         *         and 0 for standard input.
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return The analysis result, or null if the file failed.
+         */
+        public AnalysisResult getAnalysis() {
+            return analysis;
+        }
+
+        /**
+         * @return The failure, or null if the file was analyzed.
+         */
+        public Throwable getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import com.acs560.HW1_DATA_ANALYZER.parsers.CsvTokenizer;
+import com.acs560.HW1_DATA_ANALYZER.parsers.ListSplitter;
+import com.acs560.HW1_DATA_ANALYZER.parsers.RecordSplitter;
+
+/**
+ * Graph of cast members who appeared in the same titles, built from the cast
+ * column.
+ * <p>
+ * Cast members are interned as dense ids by a {@link NameDictionary}. The
+ * edges are stored in compressed sparse row form: the collaborators of id
+ * {@code a} are {@code neighbors[offsets[a]]} up to
+ * {@code neighbors[offsets[a + 1]]}, sorted by id, and {@code weights} holds
+ * the number of titles shared with each. That is three int arrays in total,
+ * about 16 bytes per collaborating pair, instead of a set of boxed names per
+ * cast member. Connected components are resolved once when the graph is
+ * built, so every query is a lookup or a scan of one row.
+ * </p>
+ */
+public class CastGraph {
+    static final int CAST_COLUMN = 4;
+    private static final long MAX_RANGE_BYTES = 1L << 30;
+
+    private final NameDictionary names;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final int[] weights;
+    private final int[] components;
+    private final int[] componentSizes;
+    private final int componentCount;
+
+    private CastGraph(NameDictionary names, int[] offsets, int[] neighbors, int[] weights, int[] components,
+            int[] componentSizes, int componentCount) {
+        this.names = names;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.weights = weights;
+        this.components = components;
+        this.componentSizes = componentSizes;
+        this.componentCount = componentCount;
+    }
+
+    /**
+     * Builds the graph of a CSV file, reading only the cast column.
+     *
+     * @param file The path to the CSV file.
+     * @return The graph of every cast member in the file.
+     * @throws IOException if the file cannot be read.
+     */
+    public static CastGraph read(String file) throws IOException {
+        Builder builder = new Builder();
+        try (FileChannel channel = FileChannel.open(Path.of(file), StandardOpenOption.READ)) {
+            int rangeCount = (int) Math.max(1, (channel.size() + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES);
+            long[] boundaries = RecordSplitter.split(channel, rangeCount, ForkJoinPool.commonPool());
+            for (int range = 0; range < rangeCount; range++) {
+                if (boundaries[range] == boundaries[range + 1]) {
+                    continue;
+                }
+                CsvTokenizer tokenizer = new CsvTokenizer(
+                        RecordSplitter.map(channel, boundaries[range], boundaries[range + 1]), CAST_COLUMN);
+                if (range == 0) {
+                    tokenizer.next();
+                }
+                while (tokenizer.next()) {
+                    builder.addAll(tokenizer.chars(CAST_COLUMN));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return The number of distinct cast members.
+     */
+    public int actorCount() {
+        return names.size();
+    }
+
+    /**
+     * @return The number of distinct pairs of cast members who share a title.
+     */
+    public long edgeCount() {
+        return neighbors.length / 2;
+    }
+
+    /**
+     * @param actor A cast member.
+     * @return The number of distinct collaborators, 0 if the name is unknown.
+     */
+    public int degree(String actor) {
+        int id = names.find(actor);
+        return id < 0 ? 0 : offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * @param first  A cast member.
+     * @param second Another cast member.
+     * @return The number of titles both appeared in.
+     */
+    public long sharedTitles(String first, String second) {
+        int a = names.find(first);
+        int b = names.find(second);
+        if (a < 0 || b < 0) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(neighbors, offsets[a], offsets[a + 1], b);
+        return index < 0 ? 0 : weights[index];
+    }
+
+    /**
+     * @param actor A cast member.
+     * @param k     The maximum number of collaborators to return.
+     * @return The collaborators sharing the most titles with the cast member
+     *         and the number of titles shared, by descending count. Empty if
+     *         the name is unknown.
+     */
+    public Map<String, Long> topCollaborators(String actor, int k) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        int id = names.find(actor);
+        if (id < 0) {
+            return top;
+        }
+
+        int start = offsets[id];
+        Integer[] order = new Integer[offsets[id + 1] - start];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = start + i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(weights[b], weights[a]));
+        for (int i = 0; i < Math.min(k, order.length); i++) {
+            top.put(names.name(neighbors[order[i]]), (long) weights[order[i]]);
+        }
+        return top;
+    }
+
+    /**
+     * @param k The maximum number of cast members to return.
+     * @return The cast members with the most distinct collaborators and their
+     *         number of collaborators, by descending count.
+     */
+    public Map<String, Long> topByDegree(int k) {
+        NameCounter degrees = new NameCounter();
+        for (int id = 0; id < actorCount(); id++) {
+            degrees.add(names.name(id), offsets[id + 1] - offsets[id]);
+        }
+        return degrees.top(k);
+    }
+
+    /**
+     * @param actor A cast member.
+     * @return The number of cast members reachable from this one through
+     *         shared titles, itself included; 0 if the name is unknown.
+     */
+    public int componentSize(String actor) {
+        int id = names.find(actor);
+        return id < 0 ? 0 : componentSizes[components[id]];
+    }
+
+    /**
+     * @return The number of connected components, counting cast members
+     *         without any collaborator as components of their own.
+     */
+    public int componentCount() {
+        return componentCount;
+    }
+
+    /**
+     * @return The number of cast members in the largest connected component.
+     */
+    public int largestComponentSize() {
+        int largest = 0;
+        for (int size : componentSizes) {
+            largest = Math.max(largest, size);
+        }
+        return largest;
+    }
+
+    /**
+     * Collects cast lists into an edge list and freezes it into a
+     * {@link CastGraph}.
+     * <p>
+     * Each title contributes one edge per pair of its cast members, packed
+     * into a single {@code long} as {@code smallerId << 32 | largerId}, with a
+     * weight of 1 in a parallel array. When the buffer fills up, the edges
+     * appended since the last time are sorted and merged into the sorted
+     * prefix, adding up the weights of repeated pairs; the buffer only grows
+     * if that frees less than half of it. Memory therefore follows the number
+     * of distinct pairs rather than the number of pair occurrences. Building
+     * merges what is left and lays the edges out by row.
+     * </p>
+     */
+    public static class Builder {
+        private static final int MAX_EDGES = Integer.MAX_VALUE - 8;
+
+        private final NameDictionary names = new NameDictionary();
+        private final ListSplitter splitter = new ListSplitter();
+        private long[] edges = new long[1024];
+        private int[] edgeWeights = new int[1024];
+        private int edgeCount;
+        private int sortedCount;
+        private int[] titleIds = new int[16];
+
+        /**
+         * Adds the cast of one title. Blank fields are ignored and a name
+         * listed twice counts once.
+         *
+         * @param field The cast list, for example {@code "Om Puri, Anupam Kher"}.
+         * @return This builder, for chaining.
+         * @throws IllegalStateException if the distinct pairs no longer fit
+         *                               in an array.
+         */
+        public Builder addAll(CharSequence field) {
+            if (ListSplitter.isBlank(field)) {
+                return this;
+            }
+
+            int count = 0;
+            splitter.reset(field);
+            while (splitter.next()) {
+                if (splitter.start() == splitter.end()) {
+                    continue;
+                }
+                if (count == titleIds.length) {
+                    titleIds = Arrays.copyOf(titleIds, count * 2);
+                }
+                titleIds[count++] = names.idOf(field, splitter.start(), splitter.end());
+            }
+
+            Arrays.sort(titleIds, 0, count);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (distinct == 0 || titleIds[distinct - 1] != titleIds[i]) {
+                    titleIds[distinct++] = titleIds[i];
+                }
+            }
+
+            long pairs = (long) distinct * (distinct - 1) / 2;
+            if (edgeCount + pairs > edges.length) {
+                makeRoom(pairs);
+            }
+            for (int i = 1; i < distinct; i++) {
+                for (int j = 0; j < i; j++) {
+                    edges[edgeCount] = (long) titleIds[j] << 32 | titleIds[i];
+                    edgeWeights[edgeCount++] = 1;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Merges the buffered edges, growing the buffer if that leaves it more
+         * than half full once the new pairs are added.
+         */
+        private void makeRoom(long pairs) {
+            int bound = collapseUnsorted();
+            long needed = bound + pairs;
+            long capacity = needed > edges.length / 2 ? Math.max(needed, (long) edges.length * 2) : edges.length;
+            merge(bound, (int) Math.min(capacity, MAX_EDGES));
+            if (edgeCount + pairs > edges.length) {
+                throw new IllegalStateException("Too many distinct cast pairs for one graph: " + (edgeCount + pairs));
+            }
+        }
+
+        /**
+         * Sorts the edges appended since the last merge and adds up the
+         * weights of repeated pairs among them, in place.
+         *
+         * @return The end of the collapsed edges.
+         */
+        private int collapseUnsorted() {
+            Arrays.sort(edges, sortedCount, edgeCount);
+            int end = sortedCount;
+            for (int i = sortedCount; i < edgeCount; i++) {
+                if (end > sortedCount && edges[end - 1] == edges[i]) {
+                    edgeWeights[end - 1] += edgeWeights[i];
+                } else {
+                    edges[end] = edges[i];
+                    edgeWeights[end++] = edgeWeights[i];
+                }
+            }
+            return end;
+        }
+
+        /**
+         * Merges the sorted prefix with the collapsed edges up to {@code end}
+         * into new arrays of the given capacity, adding up the weights of
+         * pairs found in both.
+         */
+        private void merge(int end, int capacity) {
+            long[] mergedEdges = new long[capacity];
+            int[] mergedWeights = new int[capacity];
+            int count = 0;
+            int i = 0;
+            int j = sortedCount;
+            while (i < sortedCount || j < end) {
+                if (j == end || i < sortedCount && edges[i] < edges[j]) {
+                    mergedEdges[count] = edges[i];
+                    mergedWeights[count++] = edgeWeights[i++];
+                } else if (i == sortedCount || edges[j] < edges[i]) {
+                    mergedEdges[count] = edges[j];
+                    mergedWeights[count++] = edgeWeights[j++];
+                } else {
+                    mergedEdges[count] = edges[i];
+                    mergedWeights[count++] = edgeWeights[i++] + edgeWeights[j++];
+                }
+            }
+            edges = mergedEdges;
+            edgeWeights = mergedWeights;
+            edgeCount = count;
+            sortedCount = count;
+        }
+
+        /**
+         * @return The number of edges the buffer holds before it is merged.
+         */
+        int capacity() {
+            return edges.length;
+        }
+
+        /**
+         * Freezes the collected edges. The builder should not be used
+         * afterwards.
+         *
+         * @return The graph.
+         */
+        public CastGraph build() {
+            if (edgeCount > sortedCount) {
+                int end = collapseUnsorted();
+                merge(end, end);
+            }
+            int unique = edgeCount;
+            int[] runLengths = edgeWeights;
+
+            int actors = names.size();
+            int[] offsets = new int[actors + 1];
+            for (int i = 0; i < unique; i++) {
+                offsets[(int) (edges[i] >>> 32) + 1]++;
+                offsets[(int) edges[i] + 1]++;
+            }
+            for (int id = 0; id < actors; id++) {
+                offsets[id + 1] += offsets[id];
+            }
+
+            int[] neighbors = new int[unique * 2];
+            int[] weights = new int[unique * 2];
+            int[] cursor = Arrays.copyOf(offsets, actors);
+            int[] parents = new int[actors];
+            for (int id = 0; id < actors; id++) {
+                parents[id] = id;
+            }
+            for (int i = 0; i < unique; i++) {
+                int a = (int) (edges[i] >>> 32);
+                int b = (int) edges[i];
+                neighbors[cursor[a]] = b;
+                weights[cursor[a]++] = runLengths[i];
+                neighbors[cursor[b]] = a;
+                weights[cursor[b]++] = runLengths[i];
+                union(parents, a, b);
+            }
+
+            int[] components = new int[actors];
+            int[] componentSizes = new int[actors];
+            int componentCount = 0;
+            for (int id = 0; id < actors; id++) {
+                components[id] = find(parents, id);
+                if (componentSizes[components[id]]++ == 0) {
+                    componentCount++;
+                }
+            }
+            edges = null;
+            edgeWeights = null;
+            return new CastGraph(names, offsets, neighbors, weights, components, componentSizes, componentCount);
+        }
+
+        private static int find(int[] parents, int id) {
+            while (parents[id] != id) {
+                parents[id] = parents[parents[id]];
+                id = parents[id];
+            }
+            return id;
+        }
+
+        private static void union(int[] parents, int a, int b) {
+            int rootA = find(parents, a);
+            int rootB = find(parents, b);
+            if (rootA != rootB) {
+                parents[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+            }
+        }
+    }
+}
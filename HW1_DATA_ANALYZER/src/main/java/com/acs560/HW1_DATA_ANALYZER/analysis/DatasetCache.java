@@ -0,0 +1,138 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+
+import com.acs560.HW1_DATA_ANALYZER.columnar.ColumnarDataset;
+import com.acs560.HW1_DATA_ANALYZER.columnar.SnapshotConverter;
+import com.acs560.HW1_DATA_ANALYZER.columnar.SnapshotFile;
+
+/**
+ * Keeps the aggregates of each analyzed file in memory so that repeated
+ * analyses of an unchanged file skip the parse entirely.
+ * <p>
+ * A cached entry is identified by a {@link FileFingerprint}: the file's size,
+ * last-modified time and a CRC32C hash of its content. The hash is computed
+ * while the file is being parsed, so loading costs no extra read. On lookup,
+ * size and mtime are checked first; only when the mtime differs is the content
+ * re-hashed, and the entry is dropped only if the size or hash actually
+ * changed. Touching a file without changing it therefore keeps the cached
+ * result.
+ * </p>
+ * <p>
+ * When an up-to-date columnar snapshot sits next to the CSV (see
+ * {@link SnapshotFile}), the aggregates are built from the snapshot instead of
+ * parsing the CSV.
+ * </p>
+ * <p>
+ * The columnar dataset itself, which the query mode runs on, is cached the
+ * same way by {@link #getColumnar(String)}: read from the snapshot when it is
+ * up to date, converted from the CSV otherwise.
+ * </p>
+ */
+public class DatasetCache {
+    private final Map<Path, Entry> entries = new HashMap<>();
+    private final Map<Path, ColumnarDataset> datasets = new HashMap<>();
+
+    /**
+     * Returns the aggregates for a file, loading them only if they are not cached
+     * or the file's content has changed since they were cached.
+     *
+     * @param file The path to the CSV file.
+     * @return The aggregated report data for the current content of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    public synchronized NetflixAggregates get(String file) throws IOException {
+        Path path = Path.of(file).toAbsolutePath();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+        Entry entry = entries.get(path);
+        if (entry != null && entry.fingerprint.matches(path)) {
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            if (lastModified != entry.fingerprint.getLastModifiedMillis()) {
+                entry.fingerprint = new FileFingerprint(attributes.size(), lastModified,
+                        entry.fingerprint.getContentHash());
+            }
+            return entry.aggregates;
+        }
+
+        entry = load(path, attributes);
+        entries.put(path, entry);
+        return entry.aggregates;
+    }
+
+    /**
+     * Returns the columnar dataset for a file, loading it only if it is not
+     * cached or the file's content has changed since it was cached.
+     *
+     * @param file The path to the CSV file.
+     * @return The columns of the current content of the file.
+     * @throws IOException if the file or its snapshot cannot be read.
+     */
+    public synchronized ColumnarDataset getColumnar(String file) throws IOException {
+        Path path = Path.of(file).toAbsolutePath();
+        ColumnarDataset dataset = datasets.get(path);
+        if (dataset != null && dataset.getSource().matches(path)) {
+            return dataset;
+        }
+
+        Path snapshot = SnapshotFile.pathFor(path);
+        dataset = SnapshotFile.isUpToDate(snapshot, path) ? SnapshotFile.read(snapshot)
+                : SnapshotConverter.convert(path);
+        datasets.put(path, dataset);
+        return dataset;
+    }
+
+    /**
+     * Drops the cached entries for a file, forcing the next lookup to reload it.
+     *
+     * @param file The path to the CSV file.
+     */
+    public synchronized void invalidate(String file) {
+        entries.remove(Path.of(file).toAbsolutePath());
+        datasets.remove(Path.of(file).toAbsolutePath());
+    }
+
+    /**
+     * @return The number of files currently cached.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static Entry load(Path path, BasicFileAttributes attributes) throws IOException {
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        Path snapshot = SnapshotFile.pathFor(path);
+        if (SnapshotFile.isUpToDate(snapshot, path)) {
+            ColumnarDataset dataset = SnapshotFile.read(snapshot);
+            FileFingerprint fingerprint = new FileFingerprint(attributes.size(), lastModified,
+                    dataset.getSource().getContentHash());
+            return new Entry(fingerprint, NetflixAggregates.of(dataset));
+        }
+
+        CRC32C crc = new CRC32C();
+        InputStream in = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(path)), crc);
+        AnalysisResult result = StreamingAnalyzer.analyze(in);
+        FileFingerprint fingerprint = new FileFingerprint(attributes.size(), lastModified, crc.getValue());
+        return new Entry(fingerprint, result.getAggregates());
+    }
+
+    private static class Entry {
+        private FileFingerprint fingerprint;
+        private final NetflixAggregates aggregates;
+
+        private Entry(FileFingerprint fingerprint, NetflixAggregates aggregates) {
+            this.fingerprint = fingerprint;
+            this.aggregates = aggregates;
+        }
+    }
+}
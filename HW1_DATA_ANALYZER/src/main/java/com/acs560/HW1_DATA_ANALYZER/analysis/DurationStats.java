@@ -0,0 +1,221 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.util.Arrays;
+
+import com.acs560.HW1_DATA_ANALYZER.parsers.DurationParser;
+
+/**
+ * Movie runtimes and TV show season counts, from the duration column.
+ * <p>
+ * Runtimes are counted per whole minute and seasons per season count in
+ * primitive arrays that grow to the largest value seen, up to
+ * {@value #MAX_VALUE}; a value beyond that, or one that could not be parsed,
+ * is counted in {@link #getUnparsed()}. The median and percentiles are read
+ * off the counts by nearest rank, like {@link YearHistogram}, so no runtime
+ * is ever stored individually.
+ * </p>
+ */
+public class DurationStats {
+    /**
+     * Returned by the runtime statistics when no movie runtime was counted.
+     */
+    public static final int NO_VALUE = -1;
+
+    static final int MAX_VALUE = 100_000;
+
+    private long[] movieMinutes = new long[256];
+    private long[] tvShowSeasons = new long[32];
+    private long movieCount;
+    private long totalMinutes;
+    private long tvShowCount;
+    private long unparsed;
+
+    /**
+     * Counts a movie's runtime.
+     *
+     * @param minutes The runtime, or {@link DurationParser#INVALID}.
+     */
+    public void addMovie(int minutes) {
+        addMovie(minutes, 1);
+    }
+
+    /**
+     * Counts several movies with the same runtime.
+     *
+     * @param minutes The runtime, or {@link DurationParser#INVALID}.
+     * @param count   The number of movies.
+     */
+    public void addMovie(int minutes, long count) {
+        if (minutes < 0 || minutes > MAX_VALUE) {
+            unparsed += count;
+            return;
+        }
+        movieMinutes = ensure(movieMinutes, minutes);
+        movieMinutes[minutes] += count;
+        movieCount += count;
+        totalMinutes += minutes * count;
+    }
+
+    /**
+     * Counts a TV show's number of seasons.
+     *
+     * @param seasons The number of seasons, or {@link DurationParser#INVALID}.
+     */
+    public void addTvShow(int seasons) {
+        addTvShow(seasons, 1);
+    }
+
+    /**
+     * Counts several TV shows with the same number of seasons.
+     *
+     * @param seasons The number of seasons, or {@link DurationParser#INVALID}.
+     * @param count   The number of TV shows.
+     */
+    public void addTvShow(int seasons, long count) {
+        if (seasons < 0 || seasons > MAX_VALUE) {
+            unparsed += count;
+            return;
+        }
+        tvShowSeasons = ensure(tvShowSeasons, seasons);
+        tvShowSeasons[seasons] += count;
+        tvShowCount += count;
+    }
+
+    /**
+     * Adds the counts of another instance to this one.
+     *
+     * @param other The statistics to fold into this instance.
+     * @return This instance, for chaining.
+     */
+    public DurationStats merge(DurationStats other) {
+        for (int minutes = 0; minutes < other.movieMinutes.length; minutes++) {
+            if (other.movieMinutes[minutes] != 0) {
+                addMovie(minutes, other.movieMinutes[minutes]);
+            }
+        }
+        for (int seasons = 0; seasons < other.tvShowSeasons.length; seasons++) {
+            if (other.tvShowSeasons[seasons] != 0) {
+                addTvShow(seasons, other.tvShowSeasons[seasons]);
+            }
+        }
+        unparsed += other.unparsed;
+        return this;
+    }
+
+    /**
+     * @return The number of movies with a runtime.
+     */
+    public long getMovieCount() {
+        return movieCount;
+    }
+
+    /**
+     * @return The number of TV shows with a season count.
+     */
+    public long getTvShowCount() {
+        return tvShowCount;
+    }
+
+    /**
+     * @return The number of durations that could not be parsed.
+     */
+    public long getUnparsed() {
+        return unparsed;
+    }
+
+    /**
+     * @return The mean movie runtime in minutes, or 0 if there are none.
+     */
+    public double meanMinutes() {
+        return movieCount == 0 ? 0 : (double) totalMinutes / movieCount;
+    }
+
+    /**
+     * @return The median movie runtime in minutes, or {@link #NO_VALUE}.
+     */
+    public int medianMinutes() {
+        return percentileMinutes(50);
+    }
+
+    /**
+     * Finds the nearest-rank percentile runtime: the shortest runtime such that
+     * at least {@code percentile} percent of movies run that long or shorter.
+     *
+     * @param percentile A value between 0 and 100.
+     * @return The percentile runtime in minutes, or {@link #NO_VALUE}.
+     */
+    public int percentileMinutes(double percentile) {
+        if (movieCount == 0) {
+            return NO_VALUE;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * movieCount));
+        long seen = 0;
+        for (int minutes = 0; minutes < movieMinutes.length; minutes++) {
+            seen += movieMinutes[minutes];
+            if (seen >= rank) {
+                return minutes;
+            }
+        }
+        return maxMinutes();
+    }
+
+    /**
+     * @return The shortest movie runtime in minutes, or {@link #NO_VALUE}.
+     */
+    public int minMinutes() {
+        return movieCount == 0 ? NO_VALUE : percentileMinutes(0);
+    }
+
+    /**
+     * @return The longest movie runtime in minutes, or {@link #NO_VALUE}.
+     */
+    public int maxMinutes() {
+        for (int minutes = movieMinutes.length - 1; minutes >= 0; minutes--) {
+            if (movieMinutes[minutes] != 0) {
+                return minutes;
+            }
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * @param from The shortest runtime included, in minutes.
+     * @param to   The runtime just past the longest included, in minutes.
+     * @return The number of movies running at least {@code from} and less than
+     *         {@code to} minutes.
+     */
+    public long countMovies(int from, int to) {
+        long count = 0;
+        for (int minutes = Math.max(0, from); minutes < Math.min(to, movieMinutes.length); minutes++) {
+            count += movieMinutes[minutes];
+        }
+        return count;
+    }
+
+    /**
+     * @param seasons A number of seasons.
+     * @return The number of TV shows with exactly that many seasons.
+     */
+    public long countTvShows(int seasons) {
+        return seasons < 0 || seasons >= tvShowSeasons.length ? 0 : tvShowSeasons[seasons];
+    }
+
+    /**
+     * @return The largest number of seasons of any TV show, or {@link #NO_VALUE}.
+     */
+    public int maxSeasons() {
+        for (int seasons = tvShowSeasons.length - 1; seasons >= 0; seasons--) {
+            if (tvShowSeasons[seasons] != 0) {
+                return seasons;
+            }
+        }
+        return NO_VALUE;
+    }
+
+    private static long[] ensure(long[] counts, int index) {
+        if (index < counts.length) {
+            return counts;
+        }
+        return Arrays.copyOf(counts, Math.min(MAX_VALUE + 1, Math.max(index + 1, counts.length * 2)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32C;
+
+/**
+ * Identifies a version of a file by its size, last-modified time and a CRC32C
+ * hash of its content.
+ * <p>
+ * Size and mtime are cheap to read, the hash is not. {@link #matches(Path)}
+ * therefore only hashes the file when its size is unchanged but its mtime is
+ * not, so a file that was merely touched still matches.
+ * </p>
+ */
+public class FileFingerprint {
+    private static final long MAX_MAP_BYTES = 1L << 30;
+
+    private final long size;
+    private final long lastModifiedMillis;
+    private final long contentHash;
+
+    /**
+     * Constructor
+     *
+     * @param size               The file size in bytes.
+     * @param lastModifiedMillis The last-modified time in epoch milliseconds.
+     * @param contentHash        The CRC32C of the file content.
+     */
+    public FileFingerprint(long size, long lastModifiedMillis, long contentHash) {
+        this.size = size;
+        this.lastModifiedMillis = lastModifiedMillis;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Reads the size and mtime of a file and hashes its content.
+     *
+     * @param file The file to fingerprint.
+     * @return The fingerprint of the file as it is now.
+     * @throws IOException if the file cannot be read.
+     */
+    public static FileFingerprint of(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return new FileFingerprint(attributes.size(), attributes.lastModifiedTime().toMillis(), contentHash(file));
+    }
+
+    /**
+     * Computes the CRC32C of a file's content, mapping it in slices of up to 1 GB.
+     *
+     * @param file The file to hash.
+     * @return The CRC32C value.
+     * @throws IOException if the file cannot be read.
+     */
+    public static long contentHash(Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAX_MAP_BYTES) {
+                long length = Math.min(MAX_MAP_BYTES, size - position);
+                MappedByteBuffer slice = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                crc.update(slice);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Checks whether a file still has the content this fingerprint was taken from.
+     *
+     * @param file The file to check.
+     * @return True if the size matches and either the mtime or the content hash matches.
+     * @throws IOException if the file cannot be read.
+     */
+    public boolean matches(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        if (attributes.size() != size) {
+            return false;
+        }
+        return attributes.lastModifiedTime().toMillis() == lastModifiedMillis || contentHash(file) == contentHash;
+    }
+
+    /**
+     * @return The file size in bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return The last-modified time in epoch milliseconds.
+     */
+    public long getLastModifiedMillis() {
+        return lastModifiedMillis;
+    }
+
+    /**
+     * @return The CRC32C of the file content.
+     */
+    public long getContentHash() {
+        return contentHash;
+    }
+}
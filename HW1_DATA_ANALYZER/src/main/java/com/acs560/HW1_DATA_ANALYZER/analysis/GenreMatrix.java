@@ -0,0 +1,242 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.acs560.HW1_DATA_ANALYZER.parsers.ListSplitter;
+
+/**
+ * Counts titles per genre and per pair of genres listed together, from list
+ * fields such as the {@code listed_in} column.
+ * <p>
+ * Genres are interned as dense ids by a {@link NameDictionary} and counted in
+ * a primitive array indexed by id. Pair counts live in one primitive array holding the
+ * lower triangle of the genre-by-genre matrix, row by row: the pair of ids
+ * {@code a > b} is at {@code a * (a - 1) / 2 + b}. A new genre only appends a
+ * row, so the array grows by copying without reindexing. A genre listed twice
+ * in the same field is counted once.
+ * </p>
+ */
+public class GenreMatrix {
+    private final NameDictionary ids = new NameDictionary();
+    private final ListSplitter splitter = new ListSplitter();
+    private long[] counts = new long[0];
+    private long[] pairs = new long[0];
+    private int[] rowIds = new int[8];
+
+    /**
+     * Counts the genres of one title.
+     *
+     * @param field The list field, for example {@code "Dramas, International Movies"}.
+     */
+    public void addAll(CharSequence field) {
+        addAll(field, 1);
+    }
+
+    /**
+     * Counts the genres of several titles sharing the same field.
+     *
+     * @param field The list field.
+     * @param times How many titles hold this field.
+     */
+    public void addAll(CharSequence field, long times) {
+        if (ListSplitter.isBlank(field)) {
+            return;
+        }
+
+        int count = 0;
+        splitter.reset(field);
+        while (splitter.next()) {
+            if (splitter.start() == splitter.end()) {
+                continue;
+            }
+            if (count == rowIds.length) {
+                rowIds = Arrays.copyOf(rowIds, count * 2);
+            }
+            rowIds[count++] = idOf(field, splitter.start(), splitter.end());
+        }
+
+        Arrays.sort(rowIds, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || rowIds[distinct - 1] != rowIds[i]) {
+                rowIds[distinct++] = rowIds[i];
+            }
+        }
+
+        for (int i = 0; i < distinct; i++) {
+            counts[rowIds[i]] += times;
+            int base = triangleRow(rowIds[i]);
+            for (int j = 0; j < i; j++) {
+                pairs[base + rowIds[j]] += times;
+            }
+        }
+    }
+
+    /**
+     * Adds the counts of another matrix to this one. Ids are local to each
+     * matrix, so the other's genres are looked up here by name first.
+     *
+     * @param other The matrix to fold into this one.
+     * @return This matrix, for chaining.
+     */
+    public GenreMatrix merge(GenreMatrix other) {
+        int[] remap = new int[other.size()];
+        for (int id = 0; id < remap.length; id++) {
+            String name = other.ids.name(id);
+            remap[id] = idOf(name, 0, name.length());
+            counts[remap[id]] += other.counts[id];
+        }
+
+        for (int a = 1; a < remap.length; a++) {
+            int otherBase = triangleRow(a);
+            for (int b = 0; b < a; b++) {
+                long count = other.pairs[otherBase + b];
+                if (count != 0) {
+                    pairs[index(remap[a], remap[b])] += count;
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @param genre The genre.
+     * @return The number of titles listed in the genre.
+     */
+    public long count(String genre) {
+        int id = ids.find(genre);
+        return id < 0 ? 0 : counts[id];
+    }
+
+    /**
+     * @param first  One genre.
+     * @param second Another genre.
+     * @return The number of titles listed in both genres, 0 if either is
+     *         unknown or they are the same genre.
+     */
+    public long pairCount(String first, String second) {
+        int a = ids.find(first);
+        int b = ids.find(second);
+        if (a < 0 || b < 0 || a == b) {
+            return 0;
+        }
+        return pairs[index(a, b)];
+    }
+
+    /**
+     * @return The number of distinct genres.
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * @return Title counts keyed by genre, by descending count.
+     */
+    public Map<String, Long> getGenreCounts() {
+        Integer[] order = new Integer[size()];
+        for (int id = 0; id < order.length; id++) {
+            order[id] = id;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(counts[b], counts[a]));
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int id : order) {
+            result.put(ids.name(id), counts[id]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the pairs of genres most often listed together.
+     *
+     * @param k The maximum number of pairs to return.
+     * @return Pairs with a non-zero count, by descending count; ties keep the
+     *         order in which the genres were first seen.
+     */
+    public List<GenrePair> topPairs(int k) {
+        List<GenrePair> result = new ArrayList<>();
+        for (int a = 1; a < size(); a++) {
+            int base = triangleRow(a);
+            for (int b = 0; b < a; b++) {
+                if (pairs[base + b] != 0) {
+                    result.add(new GenrePair(ids.name(b), ids.name(a), pairs[base + b]));
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(GenrePair::getCount).reversed());
+        return result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+    }
+
+    private int idOf(CharSequence text, int start, int end) {
+        int id = ids.idOf(text, start, end);
+        if (id >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+        }
+        int cells = triangleRow(ids.size());
+        if (cells > pairs.length) {
+            pairs = Arrays.copyOf(pairs, Math.max(cells, pairs.length * 2));
+        }
+        return id;
+    }
+
+    private static int index(int a, int b) {
+        return a > b ? triangleRow(a) + b : triangleRow(b) + a;
+    }
+
+    /**
+     * @return The index of the first cell of an id's row in the triangle,
+     *         which is also the number of cells in all the rows before it.
+     */
+    private static int triangleRow(int id) {
+        return id * (id - 1) / 2;
+    }
+
+    /**
+     * Two genres and the number of titles listed in both.
+     */
+    public static class GenrePair {
+        private final String first;
+        private final String second;
+        private final long count;
+
+        /**
+         * Constructor
+         *
+         * @param first  The genre seen first.
+         * @param second The genre seen second.
+         * @param count  The number of titles listed in both.
+         */
+        public GenrePair(String first, String second, long count) {
+            this.first = first;
+            this.second = second;
+            this.count = count;
+        }
+
+        /**
+         * @return The genre seen first.
+         */
+        public String getFirst() {
+            return first;
+        }
+
+        /**
+         * @return The genre seen second.
+         */
+        public String getSecond() {
+            return second;
+        }
+
+        /**
+         * @return The number of titles listed in both genres.
+         */
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import com.acs560.HW1_DATA_ANALYZER.parsers.ListSplitter;
+
+/**
+ * Counts the names found in comma-separated list fields, such as the country
+ * column.
+ * <p>
+ * Names are interned in a {@link NameDictionary} and counted in a primitive
+ * array indexed by id. Fields are split and trimmed in place by a
+ * {@link ListSplitter}, so counting a name that has been seen before creates
+ * no objects. Results come out sorted by descending count, with ties kept in
+ * the order the names were first seen.
+ * </p>
+ */
+public class NameCounter {
+    private final NameDictionary dictionary = new NameDictionary();
+    private final ListSplitter splitter = new ListSplitter();
+    private long[] counts = new long[64];
+
+    /**
+     * Counts every name in a list field once. Blank fields are ignored.
+     *
+     * @param field The field, for example {@code "United States, India"}.
+     */
+    public void addAll(CharSequence field) {
+        addAll(field, 1);
+    }
+
+    /**
+     * Counts every name in a list field several times.
+     *
+     * @param field The field.
+     * @param times How many rows hold this field.
+     */
+    public void addAll(CharSequence field, long times) {
+        if (ListSplitter.isBlank(field)) {
+            return;
+        }
+        splitter.reset(field);
+        while (splitter.next()) {
+            add(dictionary.idOf(field, splitter.start(), splitter.end()), times);
+        }
+    }
+
+    /**
+     * Adds to the count of a single name.
+     *
+     * @param name  The name.
+     * @param count The amount to add.
+     */
+    public void add(String name, long count) {
+        add(dictionary.idOf(name), count);
+    }
+
+    private void add(int id, long count) {
+        if (id >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+        }
+        counts[id] += count;
+    }
+
+    /**
+     * @param name The name.
+     * @return The number of times the name was counted.
+     */
+    public long count(String name) {
+        int id = dictionary.find(name);
+        return id < 0 ? 0 : counts[id];
+    }
+
+    /**
+     * @return The number of distinct names counted.
+     */
+    public int size() {
+        return dictionary.size();
+    }
+
+    /**
+     * Adds the counts of another counter to this one.
+     *
+     * @param other The counter to fold into this one.
+     * @return This counter, for chaining.
+     */
+    public NameCounter merge(NameCounter other) {
+        for (int id = 0; id < other.size(); id++) {
+            add(other.dictionary.name(id), other.counts[id]);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the counter in compact binary form: the number of names, then
+     * each name as UTF-8 followed by its count, in the order the names were
+     * first seen.
+     *
+     * @param out The destination.
+     * @throws IOException if the destination cannot be written.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        Varints.writeUnsigned(out, size());
+        for (int id = 0; id < size(); id++) {
+            Varints.writeString(out, dictionary.name(id));
+            Varints.writeUnsigned(out, counts[id]);
+        }
+    }
+
+    /**
+     * Reads a counter written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in The source.
+     * @return The counter.
+     * @throws IOException if the source cannot be read or is malformed.
+     */
+    public static NameCounter readFrom(DataInput in) throws IOException {
+        NameCounter counter = new NameCounter();
+        int size = Varints.readSize(in);
+        for (int id = 0; id < size; id++) {
+            counter.add(Varints.readString(in), Varints.readUnsigned(in));
+        }
+        return counter;
+    }
+
+    /**
+     * Returns the most frequent names. Only a heap of {@code k} ids is kept
+     * while scanning, so asking for a few names out of many is cheap.
+     *
+     * @param k The maximum number of names to return.
+     * @return The names and their counts, by descending count.
+     */
+    public Map<String, Long> top(int k) {
+        Comparator<Integer> byRank = (a, b) -> counts[a] != counts[b] ? Long.compare(counts[b], counts[a])
+                : Integer.compare(a, b);
+
+        int limit = Math.min(k, size());
+        Integer[] ids = new Integer[limit];
+        if (limit == size()) {
+            for (int id = 0; id < limit; id++) {
+                ids[id] = id;
+            }
+        } else if (limit > 0) {
+            PriorityQueue<Integer> heap = new PriorityQueue<>(limit, byRank.reversed());
+            for (int id = 0; id < size(); id++) {
+                if (heap.size() < limit) {
+                    heap.add(id);
+                } else if (byRank.compare(id, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(id);
+                }
+            }
+            heap.toArray(ids);
+        }
+        Arrays.sort(ids, byRank);
+
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            top.put(dictionary.name(id), counts[id]);
+        }
+        return top;
+    }
+
+    /**
+     * @return Every name and its count, by descending count.
+     */
+    public Map<String, Long> toMap() {
+        return top(size());
+    }
+}
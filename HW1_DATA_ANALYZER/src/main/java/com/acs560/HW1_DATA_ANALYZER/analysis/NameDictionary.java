@@ -0,0 +1,153 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Interns names, such as countries, as dense int ids: the first distinct name
+ * gets id 0, the next id 1, and so on.
+ * <p>
+ * Names are looked up straight from a range of any {@link CharSequence} in an
+ * open-addressing table, so looking up a name that is already known does not
+ * allocate. A {@code String} is created only the first time a name is seen.
+ * </p>
+ */
+public class NameDictionary {
+    private static final int EMPTY = -1;
+
+    private String[] names = new String[16];
+    private int[] hashes = new int[16];
+    private int[] slots = newSlots(32);
+    private int size;
+
+    /**
+     * Returns the id of a name, adding the name if it is new.
+     *
+     * @param text  The characters holding the name.
+     * @param start The index of the name's first character.
+     * @param end   The index just past the name's last character.
+     * @return The name's id.
+     */
+    public int idOf(CharSequence text, int start, int end) {
+        int hash = hash(text, start, end);
+        int mask = slots.length - 1;
+        for (int slot = mix(hash) & mask;; slot = (slot + 1) & mask) {
+            int id = slots[slot];
+            if (id == EMPTY) {
+                return add(text.subSequence(start, end).toString(), hash, slot);
+            }
+            if (hashes[id] == hash && matches(names[id], text, start, end)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Returns the id of a name, adding the name if it is new.
+     *
+     * @param name The name.
+     * @return The name's id.
+     */
+    public int idOf(String name) {
+        return idOf(name, 0, name.length());
+    }
+
+    /**
+     * Looks up a name without adding it.
+     *
+     * @param name The name.
+     * @return The name's id, or -1 if the name is not in the dictionary.
+     */
+    public int find(String name) {
+        int hash = hash(name, 0, name.length());
+        int mask = slots.length - 1;
+        for (int slot = mix(hash) & mask;; slot = (slot + 1) & mask) {
+            int id = slots[slot];
+            if (id == EMPTY) {
+                return -1;
+            }
+            if (hashes[id] == hash && names[id].equals(name)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * @param id An id returned by this dictionary.
+     * @return The name with that id.
+     */
+    public String name(int id) {
+        return names[id];
+    }
+
+    /**
+     * @return The number of distinct names, which is also the next id.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int add(String name, int hash, int slot) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        int id = size++;
+        names[id] = name;
+        hashes[id] = hash;
+        slots[slot] = id;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return id;
+    }
+
+    private void rehash(int capacity) {
+        slots = newSlots(capacity);
+        int mask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(hashes[id]) & mask;
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id;
+        }
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    /**
+     * Same value as {@link String#hashCode()} of the range.
+     */
+    private static int hash(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Spreads the bits of a hash so that names differing only in their last
+     * characters do not land in neighbouring slots.
+     */
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(String name, CharSequence text, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
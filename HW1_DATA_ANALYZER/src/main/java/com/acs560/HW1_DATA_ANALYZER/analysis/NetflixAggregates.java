@@ -0,0 +1,348 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import com.acs560.HW1_DATA_ANALYZER.columnar.ColumnarDataset;
+import com.acs560.HW1_DATA_ANALYZER.columnar.DictionaryColumn;
+import com.acs560.HW1_DATA_ANALYZER.columnar.IntColumn;
+import com.acs560.HW1_DATA_ANALYZER.parsers.CsvTokenizer;
+import com.acs560.HW1_DATA_ANALYZER.parsers.DateAddedParser;
+import com.acs560.HW1_DATA_ANALYZER.parsers.DurationParser;
+
+/**
+ * Running totals for the Netflix reports: movies vs TV shows, movies and TV
+ * shows per release year, title counts per country, title counts per genre
+ * and pair of genres, titles added per month and week, and movie runtimes and
+ * TV show season counts.
+ * <p>
+ * Rows are fed one at a time through {@link #accept(String[])}, so the memory
+ * held here grows with the number of distinct countries, never with the
+ * number of rows. Release years are counted in {@link YearHistogram}s,
+ * countries in a {@link NameCounter}, genres in a {@link GenreMatrix},
+ * addition dates in an {@link AdditionsTimeline} and durations in
+ * {@link DurationStats}, none of which allocates per row once a name has
+ * been seen. Two instances built over different parts of a file can
+ * be combined with {@link #merge(NetflixAggregates)}.
+ * </p>
+ */
+public class NetflixAggregates {
+    static final int TYPE_COLUMN = 1;
+    static final int COUNTRY_COLUMN = 5;
+    static final int DATE_ADDED_COLUMN = 6;
+    static final int RELEASE_YEAR_COLUMN = 7;
+    static final int DURATION_COLUMN = 9;
+    static final int LISTED_IN_COLUMN = 10;
+
+    /**
+     * The only columns read by {@link #accept(CsvTokenizer)}; pass these to the
+     * tokenizer so that no other column is decoded.
+     */
+    public static final int[] PROJECTION = { TYPE_COLUMN, COUNTRY_COLUMN, DATE_ADDED_COLUMN,
+            RELEASE_YEAR_COLUMN, DURATION_COLUMN, LISTED_IN_COLUMN };
+
+    private static final byte[] MOVIE = "Movie".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TV_SHOW = "TV Show".getBytes(StandardCharsets.US_ASCII);
+
+    private long rowCount;
+    private long movieCount;
+    private long tvShowCount;
+    private final YearHistogram movieYears = new YearHistogram();
+    private final YearHistogram tvShowYears = new YearHistogram();
+    private final NameCounter countries = new NameCounter();
+    private final GenreMatrix genres = new GenreMatrix();
+    private final AdditionsTimeline additions = new AdditionsTimeline();
+    private final DurationStats durations = new DurationStats();
+
+    /**
+     * Builds the totals from a columnar dataset without touching the CSV.
+     * <p>
+     * Types, durations, countries and genres are resolved once per dictionary
+     * entry rather than once per row: movie rows are picked out by code, each
+     * distinct duration is parsed only once, and each distinct country or
+     * genre string is split only once and credited with the number of rows
+     * holding it.
+     * </p>
+     *
+     * @param dataset The dataset, for example one loaded from a snapshot.
+     * @return The aggregates of every row in the dataset.
+     */
+    public static NetflixAggregates of(ColumnarDataset dataset) {
+        NetflixAggregates aggregates = new NetflixAggregates();
+        int rowCount = dataset.getRowCount();
+        aggregates.rowCount = rowCount;
+
+        DictionaryColumn types = dataset.getDictionaryColumn(ColumnarDataset.TYPE);
+        List<String> typeValues = types.dictionary();
+        boolean[] isMovie = new boolean[typeValues.size()];
+        for (int code = 0; code < isMovie.length; code++) {
+            isMovie[code] = typeValues.get(code).equalsIgnoreCase("Movie");
+        }
+        long[] typeCounts = types.countByCode();
+        for (int code = 0; code < typeCounts.length; code++) {
+            if (isMovie[code]) {
+                aggregates.movieCount += typeCounts[code];
+            } else if (typeValues.get(code).equalsIgnoreCase("TV Show")) {
+                aggregates.tvShowCount += typeCounts[code];
+            }
+        }
+
+        int[] typeCodes = types.codes();
+        int[] years = dataset.getIntColumn(ColumnarDataset.RELEASE_YEAR).values();
+        int[] datesAdded = dataset.getIntColumn(ColumnarDataset.DATE_ADDED).values();
+        boolean[] isTvShow = new boolean[typeValues.size()];
+        for (int code = 0; code < isTvShow.length; code++) {
+            isTvShow[code] = typeValues.get(code).equalsIgnoreCase("TV Show");
+        }
+
+        DictionaryColumn durations = dataset.getDictionaryColumn(ColumnarDataset.DURATION);
+        List<String> durationValues = durations.dictionary();
+        int[] minutesByCode = new int[durationValues.size()];
+        int[] seasonsByCode = new int[durationValues.size()];
+        for (int code = 0; code < minutesByCode.length; code++) {
+            minutesByCode[code] = DurationParser.parseMinutes(durationValues.get(code));
+            seasonsByCode[code] = DurationParser.parseSeasons(durationValues.get(code));
+        }
+        int[] durationCodes = durations.codes();
+        for (int row = 0; row < rowCount; row++) {
+            boolean movie = isMovie[typeCodes[row]];
+            if (movie || isTvShow[typeCodes[row]]) {
+                int dateAdded = datesAdded[row];
+                aggregates.additions.add(dateAdded == IntColumn.MISSING ? DateAddedParser.INVALID : dateAdded, movie);
+                if (movie) {
+                    aggregates.durations.addMovie(minutesByCode[durationCodes[row]]);
+                } else {
+                    aggregates.durations.addTvShow(seasonsByCode[durationCodes[row]]);
+                }
+            }
+
+            int year = years[row];
+            if (year == IntColumn.MISSING || year < 0) {
+                continue;
+            }
+            if (isMovie[typeCodes[row]]) {
+                aggregates.movieYears.add(year);
+            } else if (isTvShow[typeCodes[row]]) {
+                aggregates.tvShowYears.add(year);
+            }
+        }
+
+        DictionaryColumn countries = dataset.getDictionaryColumn(ColumnarDataset.COUNTRY);
+        long[] countryCounts = countries.countByCode();
+        for (int code = 0; code < countryCounts.length; code++) {
+            if (countryCounts[code] > 0) {
+                aggregates.countries.addAll(countries.dictionary().get(code), countryCounts[code]);
+            }
+        }
+
+        DictionaryColumn genres = dataset.getDictionaryColumn(ColumnarDataset.LISTED_IN);
+        long[] genreCounts = genres.countByCode();
+        for (int code = 0; code < genreCounts.length; code++) {
+            if (genreCounts[code] > 0) {
+                aggregates.genres.addAll(genres.dictionary().get(code), genreCounts[code]);
+            }
+        }
+        return aggregates;
+    }
+
+    /**
+     * Adds a single CSV row to the running totals. Columns missing from a short
+     * row are ignored.
+     *
+     * @param row The CSV row. Type is expected in column index 1, country in
+     *            column index 5, date added in column index 6, release year in
+     *            column index 7, duration in column index 9 and genres in
+     *            column index 10.
+     */
+    public void accept(String[] row) {
+        rowCount++;
+        String type = column(row, TYPE_COLUMN);
+        if (type != null) {
+            int year = YearHistogram.parseYear(column(row, RELEASE_YEAR_COLUMN));
+            if (type.equalsIgnoreCase("Movie")) {
+                movieCount++;
+                if (year >= 0) {
+                    movieYears.add(year);
+                }
+                additions.add(DateAddedParser.parseEpochDay(column(row, DATE_ADDED_COLUMN)), true);
+                durations.addMovie(DurationParser.parseMinutes(column(row, DURATION_COLUMN)));
+            } else if (type.equalsIgnoreCase("TV Show")) {
+                tvShowCount++;
+                if (year >= 0) {
+                    tvShowYears.add(year);
+                }
+                additions.add(DateAddedParser.parseEpochDay(column(row, DATE_ADDED_COLUMN)), false);
+                durations.addTvShow(DurationParser.parseSeasons(column(row, DURATION_COLUMN)));
+            }
+        }
+
+        countries.addAll(column(row, COUNTRY_COLUMN));
+        genres.addAll(column(row, LISTED_IN_COLUMN));
+    }
+
+    /**
+     * Adds the current record of a tokenizer to the running totals. Every field
+     * is read in place; a {@code String} is only built for a country or genre
+     * seen for the first time or holding non-ASCII characters.
+     *
+     * @param record A tokenizer positioned on a record and projecting at least
+     *               the columns in {@link #PROJECTION}.
+     */
+    public void accept(CsvTokenizer record) {
+        rowCount++;
+        int year = record.parseInt(RELEASE_YEAR_COLUMN, -1);
+        if (record.equalsIgnoreCase(TYPE_COLUMN, MOVIE)) {
+            movieCount++;
+            if (year >= 0) {
+                movieYears.add(year);
+            }
+            additions.add(DateAddedParser.parseEpochDay(record.chars(DATE_ADDED_COLUMN)), true);
+            durations.addMovie(DurationParser.parseMinutes(record.chars(DURATION_COLUMN)));
+        } else if (record.equalsIgnoreCase(TYPE_COLUMN, TV_SHOW)) {
+            tvShowCount++;
+            if (year >= 0) {
+                tvShowYears.add(year);
+            }
+            additions.add(DateAddedParser.parseEpochDay(record.chars(DATE_ADDED_COLUMN)), false);
+            durations.addTvShow(DurationParser.parseSeasons(record.chars(DURATION_COLUMN)));
+        }
+
+        countries.addAll(record.chars(COUNTRY_COLUMN));
+        genres.addAll(record.chars(LISTED_IN_COLUMN));
+    }
+
+    /**
+     * Adds the totals of another instance to this one.
+     *
+     * @param other The aggregates to fold into this instance.
+     * @return This instance, for chaining.
+     */
+    public NetflixAggregates merge(NetflixAggregates other) {
+        rowCount += other.rowCount;
+        movieCount += other.movieCount;
+        tvShowCount += other.tvShowCount;
+        movieYears.merge(other.movieYears);
+        tvShowYears.merge(other.tvShowYears);
+        countries.merge(other.countries);
+        genres.merge(other.genres);
+        additions.merge(other.additions);
+        durations.merge(other.durations);
+        return this;
+    }
+
+    /**
+     * Writes the type, release year and country totals in compact binary form;
+     * see {@link PartialStateFile}. Genres, additions and durations are not
+     * included.
+     *
+     * @param out The destination.
+     * @throws IOException if the destination cannot be written.
+     */
+    void writePartial(DataOutput out) throws IOException {
+        Varints.writeUnsigned(out, rowCount);
+        Varints.writeUnsigned(out, movieCount);
+        Varints.writeUnsigned(out, tvShowCount);
+        movieYears.writeTo(out);
+        tvShowYears.writeTo(out);
+        countries.writeTo(out);
+    }
+
+    /**
+     * Reads totals written by {@link #writePartial(DataOutput)}. The sections
+     * that are not written come back empty, so they merge as a no-op.
+     *
+     * @param in The source.
+     * @return The aggregates.
+     * @throws IOException if the source cannot be read or is malformed.
+     */
+    static NetflixAggregates readPartial(DataInput in) throws IOException {
+        NetflixAggregates aggregates = new NetflixAggregates();
+        aggregates.rowCount = Varints.readUnsigned(in);
+        aggregates.movieCount = Varints.readUnsigned(in);
+        aggregates.tvShowCount = Varints.readUnsigned(in);
+        aggregates.movieYears.merge(YearHistogram.readFrom(in));
+        aggregates.tvShowYears.merge(YearHistogram.readFrom(in));
+        aggregates.countries.merge(NameCounter.readFrom(in));
+        return aggregates;
+    }
+
+    /**
+     * @return The number of rows accepted so far.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return The number of rows whose type is "Movie".
+     */
+    public long getMovieCount() {
+        return movieCount;
+    }
+
+    /**
+     * @return The number of rows whose type is "TV Show".
+     */
+    public long getTvShowCount() {
+        return tvShowCount;
+    }
+
+    /**
+     * @return Movie counts by release year. Movies without a numeric release
+     *         year are counted in {@link #getMovieCount()} only.
+     */
+    public YearHistogram getMovieYears() {
+        return movieYears;
+    }
+
+    /**
+     * @return TV show counts by release year.
+     */
+    public YearHistogram getTvShowYears() {
+        return tvShowYears;
+    }
+
+    /**
+     * @return Title counts keyed by trimmed country name, by descending count.
+     */
+    public Map<String, Long> getCountryCounts() {
+        return countries.toMap();
+    }
+
+    /**
+     * @param k The maximum number of countries to return.
+     * @return The {@code k} countries with the most titles, by descending count.
+     */
+    public Map<String, Long> getTopCountries(int k) {
+        return countries.top(k);
+    }
+
+    /**
+     * @return Title counts per genre and per pair of genres listed together.
+     */
+    public GenreMatrix getGenres() {
+        return genres;
+    }
+
+    /**
+     * @return Movies and TV shows added per month and per week.
+     */
+    public AdditionsTimeline getAdditions() {
+        return additions;
+    }
+
+    /**
+     * @return Movie runtimes and TV show season counts.
+     */
+    public DurationStats getDurations() {
+        return durations;
+    }
+
+    private static String column(String[] row, int index) {
+        return index < row.length ? row[index] : null;
+    }
+}
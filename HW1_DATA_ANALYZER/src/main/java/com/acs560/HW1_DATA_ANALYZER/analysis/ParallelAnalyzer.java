@@ -0,0 +1,189 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.Phase;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.PhaseRecorder;
+import com.acs560.HW1_DATA_ANALYZER.parsers.CsvTokenizer;
+import com.acs560.HW1_DATA_ANALYZER.parsers.RecordSplitter;
+
+/**
+ * Multi-threaded counterpart of {@link StreamingAnalyzer}.
+ * <p>
+ * The file is cut into record-aligned byte ranges by {@link RecordSplitter},
+ * each range is memory-mapped and walked by a {@link CsvTokenizer} that only
+ * decodes the type, country, release year and genre columns, and every range
+ * fills its own {@link NetflixAggregates} on a {@link ForkJoinPool}. The
+ * partial aggregates, genre matrix included, are merged pairwise as the
+ * fork/join tree completes. Ranges
+ * share nothing while parsing, so throughput scales with the number of cores
+ * until the disk becomes the limit.
+ * </p>
+ */
+public class ParallelAnalyzer {
+    private static final int RANGES_PER_THREAD = 4;
+    private static final long MIN_RANGE_BYTES = 1024 * 1024;
+    private static final String USAGE = "Usage: ParallelAnalyzer [file.csv] [threads]";
+
+    private ParallelAnalyzer() {
+    }
+
+    /**
+     * Analyzes a CSV file on the common fork/join pool.
+     *
+     * @param file The path to the CSV file to be analyzed.
+     * @return The aggregated report data along with throughput and peak heap figures.
+     * @throws IOException if the file cannot be read.
+     */
+    public static AnalysisResult analyze(String file) throws IOException {
+        return analyze(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Analyzes a CSV file on the given pool, cutting it into a few ranges per
+     * worker thread so that uneven ranges still balance out, and into more on
+     * files too large to map in that many pieces.
+     *
+     * @param file The path to the CSV file to be analyzed.
+     * @param pool The pool on which ranges are parsed.
+     * @return The aggregated report data along with throughput and peak heap figures.
+     * @throws IOException if the file cannot be read.
+     */
+    public static AnalysisResult analyze(String file, ForkJoinPool pool) throws IOException {
+        long size = Path.of(file).toFile().length();
+        int rangeCount = RecordSplitter.rangeCount(size, MIN_RANGE_BYTES, pool.getParallelism() * RANGES_PER_THREAD);
+        return analyze(file, pool, rangeCount);
+    }
+
+    /**
+     * Analyzes a CSV file on the given pool using a fixed number of ranges.
+     *
+     * @param file       The path to the CSV file to be analyzed.
+     * @param pool       The pool on which ranges are parsed.
+     * @param rangeCount The number of byte ranges to cut the file into.
+     * @return The aggregated report data along with throughput and peak heap figures.
+     * @throws IOException if the file cannot be read.
+     */
+    public static AnalysisResult analyze(String file, ForkJoinPool pool, int rangeCount) throws IOException {
+        RunStats.resetPeakHeapUsage();
+        long start = System.nanoTime();
+
+        NetflixAggregates aggregates;
+        try (FileChannel channel = FileChannel.open(Path.of(file), StandardOpenOption.READ)) {
+            long[] boundaries = RecordSplitter.split(channel, rangeCount, pool);
+            aggregates = pool.invoke(new RangeTask(channel, boundaries, 0, rangeCount));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        RunStats stats = new RunStats(aggregates.getRowCount(), System.nanoTime() - start,
+                RunStats.peakHeapUsage());
+        return new AnalysisResult(aggregates, stats);
+    }
+
+    /**
+     * Tokenizes a single record-aligned range in place, decoding only the
+     * projected columns. The first range also holds the header row, which is
+     * skipped. Mapping, tokenizing and aggregating the range are all charged
+     * to {@link Phase#PARSE}.
+     */
+    private static NetflixAggregates parseRange(FileChannel channel, long start, long end) throws IOException {
+        NetflixAggregates aggregates = new NetflixAggregates();
+        if (start == end) {
+            return aggregates;
+        }
+
+        PhaseRecorder recorder = PhaseRecorder.get();
+        recorder.enter(Phase.PARSE);
+        try {
+            CsvTokenizer tokenizer = new CsvTokenizer(RecordSplitter.map(channel, start, end),
+                    NetflixAggregates.PROJECTION);
+            if (start == 0) {
+                tokenizer.next();
+            }
+            while (tokenizer.next()) {
+                aggregates.accept(tokenizer);
+            }
+        } finally {
+            recorder.exit(aggregates.getRowCount(), end - start);
+        }
+        return aggregates;
+    }
+
+    /**
+     * Splits a run of ranges in half until a single range is left, then parses
+     * it and merges the two halves on the way back up.
+     */
+    private static class RangeTask extends RecursiveTask<NetflixAggregates> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long[] boundaries;
+        private final int from;
+        private final int to;
+
+        private RangeTask(FileChannel channel, long[] boundaries, int from, int to) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected NetflixAggregates compute() {
+            if (to - from == 1) {
+                try {
+                    return parseRange(channel, boundaries[from], boundaries[to]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            int middle = (from + to) >>> 1;
+            RangeTask left = new RangeTask(channel, boundaries, from, middle);
+            left.fork();
+            NetflixAggregates right = new RangeTask(channel, boundaries, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Analyzes a CSV file in parallel, writes all reports and prints the
+     * throughput and peak heap of the pass.
+     *
+     * @param args Optional path to the CSV file, defaulting to
+     *             {@link Application#FILE_NAME}, and optional thread count,
+     *             defaulting to the number of available processors.
+     */
+    public static void main(String[] args) {
+        String file = args.length > 0 ? args[0] : Application.FILE_NAME;
+        int threads;
+        try {
+            threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+            if (threads < 1) {
+                throw new IllegalArgumentException("Thread count must be positive: " + threads);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + "\n" + USAGE);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            AnalysisResult result = analyze(file, pool);
+            StreamingAnalyzer.writeReports(result.getAggregates());
+            System.out.println(file + " (" + threads + " threads): " + result.getStats());
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
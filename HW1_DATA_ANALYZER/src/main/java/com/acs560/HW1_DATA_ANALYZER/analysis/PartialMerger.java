@@ -0,0 +1,124 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+
+/**
+ * The reduce step for sharded runs: combines the partial states written by
+ * batch mode's {@code --partial} option into the final reports.
+ * <p>
+ * Only the partial states are read, never the CSV shards, so reducing is
+ * proportional to the number of distinct countries and years, not to the
+ * number of rows. Because merging is associative, a merged state can itself
+ * be saved and merged again, which allows reducing in several rounds.
+ * </p>
+ */
+public class PartialMerger {
+    private static final String USAGE = "Usage: Application --merge [--out DIR] [--save FILE.partial]"
+            + " <file.partial | directory>...";
+
+    private PartialMerger() {
+    }
+
+    /**
+     * Merges partial state files in order.
+     *
+     * @param files The partial states to combine.
+     * @return The combined type, release year and country totals.
+     * @throws IOException if a file cannot be read or is not a valid partial state.
+     */
+    public static NetflixAggregates merge(List<Path> files) throws IOException {
+        NetflixAggregates merged = new NetflixAggregates();
+        for (Path file : files) {
+            merged.merge(PartialStateFile.read(file));
+        }
+        return merged;
+    }
+
+    /**
+     * Parses the command line, merges the partial states and writes the count,
+     * average, countries and release year reports.
+     *
+     * @param args {@code [--out DIR] [--save FILE.partial] <file.partial | directory>...}.
+     *             Directories contribute every {@code .partial} file directly
+     *             inside them. Reports go to the current directory unless
+     *             {@code --out} is given; {@code --save} also writes the merged
+     *             state.
+     */
+    public static void run(String[] args) {
+        Path outputDir = Path.of("");
+        Path save = null;
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--out") && i + 1 < args.length) {
+                outputDir = Path.of(args[++i]);
+            } else if (args[i].equals("--save") && i + 1 < args.length) {
+                save = Path.of(args[++i]);
+            } else {
+                inputs.add(args[i]);
+            }
+        }
+
+        try {
+            List<Path> files = resolveInputs(inputs);
+            if (files.isEmpty()) {
+                System.out.println(USAGE);
+                return;
+            }
+            long start = System.nanoTime();
+            NetflixAggregates merged = merge(files);
+            long elapsedNanos = System.nanoTime() - start;
+
+            Files.createDirectories(outputDir.toAbsolutePath());
+            writeReports(merged, outputDir);
+            if (save != null) {
+                PartialStateFile.write(merged, save);
+            }
+            System.out.println("Merged " + files.size() + " partial states (" + merged.getRowCount() + " rows) in "
+                    + elapsedNanos / 1_000_000 + " ms");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes the reports that can be built from a partial state.
+     *
+     * @param merged    The combined totals.
+     * @param outputDir The directory that receives the reports.
+     */
+    static void writeReports(NetflixAggregates merged, Path outputDir) {
+        Application.writeCountReport(outputDir.resolve(Application.COUNT_FILE).toString(), merged.getMovieCount(),
+                merged.getTvShowCount());
+        Application.writeAverageReport(outputDir.resolve(Application.AVG_FILE).toString(), merged.getMovieCount(),
+                merged.getMovieYears().distinctYears());
+        Application.writeCountriesReport(outputDir.resolve(Application.COUNTRIES_FILE).toString(),
+                merged.getCountryCounts());
+        Application.writeYearStatisticsReport(outputDir.resolve(Application.YEAR_STATS_FILE).toString(),
+                merged.getMovieYears(), merged.getTvShowYears());
+    }
+
+    private static List<Path> resolveInputs(List<String> inputs) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String input : inputs) {
+            Path path = Path.of(input);
+            if (Files.isDirectory(path)) {
+                try (DirectoryStream<Path> partials = Files.newDirectoryStream(path, "*" + PartialStateFile.EXTENSION)) {
+                    List<Path> sorted = new ArrayList<>();
+                    partials.forEach(sorted::add);
+                    sorted.sort(null);
+                    files.addAll(sorted);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        return files;
+    }
+}
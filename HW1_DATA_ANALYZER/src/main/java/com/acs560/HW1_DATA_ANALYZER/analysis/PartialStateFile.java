@@ -0,0 +1,87 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Reads and writes partial aggregate states, so that shards of an export can
+ * be analyzed on different machines and combined afterwards.
+ * <p>
+ * A partial state holds the type, release year and country totals of a
+ * {@link NetflixAggregates}. Those totals form a monoid: an empty instance is
+ * the identity and {@link NetflixAggregates#merge(NetflixAggregates)} is
+ * associative and commutative, so partial states can be reduced in any order
+ * or grouping and give the same final reports as a single pass over all the
+ * rows. The file is a small binary encoding:
+ * </p>
+ * <pre>
+ * header:     magic, version (4 bytes each, big-endian)
+ * totals:     rows, movies, TV shows
+ * years:      movie years, then TV show years, each as out-of-range count,
+ *             year count, then (gap from previous year, count) pairs
+ * countries:  name count, then (UTF-8 name, count) pairs
+ * </pre>
+ * <p>
+ * Every number after the header is a variable-length integer, so a shard of
+ * the Netflix export takes a few kilobytes whatever its row count.
+ * </p>
+ */
+public class PartialStateFile {
+    /**
+     * The extension given to partial state files.
+     */
+    public static final String EXTENSION = ".partial";
+
+    static final int MAGIC = 0x4E465850; // "NFXP"
+    static final int VERSION = 1;
+
+    private PartialStateFile() {
+    }
+
+    /**
+     * Writes the partial state of a set of aggregates. The file is written
+     * under a temporary name and moved into place, so a reducer never picks up
+     * a half-written state.
+     *
+     * @param aggregates The aggregates of one shard.
+     * @param file       The partial state path.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(NetflixAggregates aggregates, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            aggregates.writePartial(out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a partial state.
+     *
+     * @param file The partial state path.
+     * @return Aggregates holding the type, release year and country totals of
+     *         the shard; the other sections are empty.
+     * @throws IOException if the file cannot be read or is not a valid partial
+     *                     state.
+     */
+    public static NetflixAggregates read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + " is not a supported partial state");
+            }
+            NetflixAggregates aggregates = NetflixAggregates.readPartial(in);
+            if (in.read() != -1) {
+                throw new IOException(file + " has trailing data");
+            }
+            return aggregates;
+        }
+    }
+}
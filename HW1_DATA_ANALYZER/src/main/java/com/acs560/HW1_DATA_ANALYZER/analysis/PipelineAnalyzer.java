@@ -0,0 +1,371 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.Phase;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.PhaseRecorder;
+import com.acs560.HW1_DATA_ANALYZER.parsers.CsvTokenizer;
+
+/**
+ * Multi-threaded analysis of CSV input that cannot be seeked, such as
+ * standard input or a gzip-compressed file.
+ * <p>
+ * {@link ParallelAnalyzer} needs random access to cut a file into ranges up
+ * front. Here the input is read once, front to back, by a three-stage
+ * pipeline:
+ * </p>
+ * <ol>
+ * <li>The reader, on the calling thread, decompresses the input if it starts
+ * with the gzip magic number and fills fixed-size blocks. Each block is cut
+ * after its last line break outside quotes; the partial record after it is
+ * carried over to the front of the next block, so every block holds whole
+ * records only.</li>
+ * <li>Worker threads take filled blocks, tokenize them in place with a
+ * {@link CsvTokenizer} and fold the records into their own
+ * {@link NetflixAggregates}, then hand the emptied block back to the
+ * reader.</li>
+ * <li>The aggregator, again on the calling thread once the input is
+ * exhausted, merges the workers' partial aggregates as they come in.</li>
+ * </ol>
+ * <p>
+ * The stages are connected by {@link RingBuffer}s and all blocks are
+ * allocated before reading starts, so memory is bounded by the block size
+ * times the number of blocks whatever the length of the input. Only a single
+ * record longer than a block makes that block grow. Countries and genres with
+ * equal counts may be listed in a different order than a sequential pass
+ * would give, since blocks are not merged in input order.
+ * </p>
+ */
+public class PipelineAnalyzer {
+    /**
+     * The source name that stands for standard input.
+     */
+    public static final String STDIN = "-";
+
+    static final int DEFAULT_BLOCK_BYTES = 1 << 20;
+
+    private static final int BLOCKS_PER_WORKER = 2;
+    private static final int READ_BUFFER_BYTES = 1 << 16;
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+    private static final byte QUOTE = '"';
+    private static final byte NEWLINE = '\n';
+    private static final Block END = new Block(0);
+    private static final String USAGE = "Usage: PipelineAnalyzer [file.csv | file.csv.gz | -] [workers]";
+
+    private PipelineAnalyzer() {
+    }
+
+    /**
+     * Tells inputs that need this pipeline from plain files that
+     * {@link ParallelAnalyzer} can split.
+     *
+     * @param file An input path.
+     * @return True for {@link #STDIN} and for {@code .gz} files.
+     */
+    public static boolean isStream(Path file) {
+        String name = file.toString();
+        return name.equals(STDIN) || name.toLowerCase().endsWith(".gz");
+    }
+
+    /**
+     * Analyzes a file or standard input with one worker per available
+     * processor besides the reader.
+     *
+     * @param source A file path, plain or gzip-compressed, or {@link #STDIN}.
+     * @return The aggregated report data along with throughput and peak heap figures.
+     * @throws IOException if the input cannot be read.
+     */
+    public static AnalysisResult analyze(String source) throws IOException {
+        return analyze(source, defaultWorkers());
+    }
+
+    /**
+     * Analyzes a file or standard input. Standard input is left open.
+     *
+     * @param source  A file path, plain or gzip-compressed, or {@link #STDIN}.
+     * @param workers The number of worker threads that parse blocks.
+     * @return The aggregated report data along with throughput and peak heap figures.
+     * @throws IOException if the input cannot be read.
+     */
+    public static AnalysisResult analyze(String source, int workers) throws IOException {
+        if (source.equals(STDIN)) {
+            return analyze(System.in, workers, DEFAULT_BLOCK_BYTES);
+        }
+        try (InputStream input = Files.newInputStream(Path.of(source))) {
+            return analyze(input, workers, DEFAULT_BLOCK_BYTES);
+        }
+    }
+
+    /**
+     * Analyzes CSV bytes from a stream, skipping the header row. The stream is
+     * read to the end but not closed.
+     *
+     * @param input      The CSV bytes, plain or gzip-compressed.
+     * @param workers    The number of worker threads that parse blocks.
+     * @param blockBytes The size of each block; {@code workers * 2 + 2} blocks
+     *                   are allocated.
+     * @return The aggregated report data along with throughput and peak heap figures.
+     * @throws IOException if the input cannot be read or a worker fails.
+     * @throws IllegalArgumentException if there are no workers.
+     */
+    public static AnalysisResult analyze(InputStream input, int workers, int blockBytes) throws IOException {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Worker count must be positive: " + workers);
+        }
+        RunStats.resetPeakHeapUsage();
+        long start = System.nanoTime();
+
+        int blockCount = workers * BLOCKS_PER_WORKER + 2;
+        RingBuffer<Block> free = new RingBuffer<>(blockCount);
+        RingBuffer<Block> filled = new RingBuffer<>(blockCount);
+        RingBuffer<NetflixAggregates> results = new RingBuffer<>(workers);
+        try {
+            for (int i = 0; i < blockCount; i++) {
+                free.put(new Block(blockBytes));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while allocating blocks", e);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        NetflixAggregates aggregates = new NetflixAggregates();
+        try {
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> work(filled, free, results, failure));
+            }
+            read(decompress(input), free, filled, workers);
+            for (int i = 0; i < workers; i++) {
+                aggregates.merge(results.take());
+            }
+        } catch (CancellationException e) {
+            throw new IOException("Worker failed", failure.get() != null ? failure.get() : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading input", e);
+        } finally {
+            free.abort();
+            filled.abort();
+            results.abort();
+            executor.shutdownNow();
+        }
+
+        RunStats stats = new RunStats(aggregates.getRowCount(), System.nanoTime() - start,
+                RunStats.peakHeapUsage());
+        return new AnalysisResult(aggregates, stats);
+    }
+
+    /**
+     * Wraps the input in a gzip decoder if it starts with the gzip magic
+     * number, so that compressed input is recognized by content, not by name.
+     */
+    static InputStream decompress(InputStream input) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input, READ_BUFFER_BYTES);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        if (first == GZIP_MAGIC_FIRST && second == GZIP_MAGIC_SECOND) {
+            return new GZIPInputStream(buffered, READ_BUFFER_BYTES);
+        }
+        return buffered;
+    }
+
+    /**
+     * The reader stage: fills blocks, cuts each after its last complete
+     * record and carries the rest over, then tells every worker to stop.
+     */
+    private static void read(InputStream input, RingBuffer<Block> free, RingBuffer<Block> filled, int workers)
+            throws IOException, InterruptedException {
+        Block block = free.take();
+        block.header = true;
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            endOfInput = block.fill(input);
+            int end = endOfInput ? block.length : block.lastRecordEnd();
+            if (end == 0 && !endOfInput) {
+                block.grow(); // a single record fills the whole block
+                continue;
+            }
+
+            Block next = null;
+            if (!endOfInput) {
+                next = free.take();
+                next.carryOver(block, end);
+            }
+            block.length = end;
+            filled.put(block);
+            block = next;
+        }
+        for (int i = 0; i < workers; i++) {
+            filled.put(END);
+        }
+    }
+
+    /**
+     * The worker stage: parses blocks into one set of aggregates until told to
+     * stop, then hands the aggregates to the aggregator. A failure is recorded
+     * and aborts the rings so that the reader does not wait forever.
+     */
+    private static void work(RingBuffer<Block> filled, RingBuffer<Block> free,
+            RingBuffer<NetflixAggregates> results, AtomicReference<Throwable> failure) {
+        try {
+            NetflixAggregates aggregates = new NetflixAggregates();
+            for (Block block = filled.take(); block != END; block = filled.take()) {
+                block.parseInto(aggregates);
+                free.put(block);
+            }
+            results.put(aggregates);
+        } catch (CancellationException | InterruptedException e) {
+            // the pipeline was shut down by another stage
+        } catch (RuntimeException | Error e) {
+            failure.compareAndSet(null, e);
+            free.abort();
+            filled.abort();
+            results.abort();
+        }
+    }
+
+    private static int defaultWorkers() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * A reusable chunk of input holding whole records only.
+     */
+    private static class Block {
+        private byte[] bytes;
+        private int length;
+        private boolean header;
+
+        private Block(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        /**
+         * Reads until the block is full or the input ends, charging the reads
+         * and any decompression to {@link Phase#READ}.
+         *
+         * @return True at the end of the input.
+         */
+        private boolean fill(InputStream input) throws IOException {
+            PhaseRecorder recorder = PhaseRecorder.get();
+            int before = length;
+            recorder.enter(Phase.READ);
+            try {
+                while (length < bytes.length) {
+                    int read = input.read(bytes, length, bytes.length - length);
+                    if (read < 0) {
+                        return true;
+                    }
+                    length += read;
+                }
+                return false;
+            } finally {
+                recorder.exit(0, length - before);
+            }
+        }
+
+        /**
+         * Finds the end of the last record terminated in this block. The block
+         * always starts on a record boundary, so the scan starts outside quotes.
+         */
+        private int lastRecordEnd() {
+            boolean inQuotes = false;
+            int end = 0;
+            for (int i = 0; i < length; i++) {
+                byte b = bytes[i];
+                if (b == QUOTE) {
+                    inQuotes = !inQuotes;
+                } else if (b == NEWLINE && !inQuotes) {
+                    end = i + 1;
+                }
+            }
+            return end;
+        }
+
+        private void grow() {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+
+        /**
+         * Starts this block with the bytes of another block past {@code from}.
+         */
+        private void carryOver(Block previous, int from) {
+            int carried = previous.length - from;
+            if (bytes.length <= carried) {
+                bytes = new byte[previous.bytes.length];
+            }
+            System.arraycopy(previous.bytes, from, bytes, 0, carried);
+            length = carried;
+            header = false;
+        }
+
+        /**
+         * Tokenizes and aggregates the block, charged to {@link Phase#PARSE}.
+         */
+        private void parseInto(NetflixAggregates aggregates) {
+            PhaseRecorder recorder = PhaseRecorder.get();
+            long rowsBefore = aggregates.getRowCount();
+            recorder.enter(Phase.PARSE);
+            try {
+                CsvTokenizer tokenizer = new CsvTokenizer(ByteBuffer.wrap(bytes, 0, length),
+                        NetflixAggregates.PROJECTION);
+                if (header) {
+                    tokenizer.next();
+                }
+                while (tokenizer.next()) {
+                    aggregates.accept(tokenizer);
+                }
+            } finally {
+                recorder.exit(aggregates.getRowCount() - rowsBefore, length);
+            }
+        }
+    }
+
+    /**
+     * Analyzes a file, gzip-compressed file or standard input through the
+     * pipeline, writes all reports and prints the throughput and peak heap of
+     * the pass.
+     *
+     * @param args Optional input, defaulting to {@link Application#FILE_NAME}
+     *             ({@value #STDIN} reads standard input), and optional worker
+     *             count, defaulting to one less than the number of available
+     *             processors.
+     */
+    public static void main(String[] args) {
+        String source = args.length > 0 ? args[0] : Application.FILE_NAME;
+        int workers;
+        try {
+            workers = args.length > 1 ? Integer.parseInt(args[1]) : defaultWorkers();
+            if (workers < 1) {
+                throw new IllegalArgumentException("Worker count must be positive: " + workers);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + "\n" + USAGE);
+            return;
+        }
+        try {
+            AnalysisResult result = analyze(source, workers);
+            StreamingAnalyzer.writeReports(result.getAggregates());
+            System.out.println(source + " (" + workers + " workers): " + result.getStats());
+            PhaseRecorder.get().printSummaryIfEnabled();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded first-in first-out hand-off between pipeline stages, backed by a
+ * fixed array used as a ring.
+ * <p>
+ * The slot array is allocated once, so passing an element through the ring
+ * does not allocate. {@link #put(Object)} waits while the ring is full and
+ * {@link #take()} waits while it is empty, which is what keeps a fast stage
+ * from running ahead of a slow one. If a stage fails, {@link #abort()} wakes
+ * every waiting thread so that no stage is left blocked on a partner that
+ * will never come.
+ * </p>
+ *
+ * @param <T> The type of the elements passed between stages.
+ */
+class RingBuffer<T> {
+    private final Object[] slots;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private int head;
+    private int count;
+    private boolean aborted;
+
+    /**
+     * Constructor
+     *
+     * @param capacity The maximum number of elements held at once.
+     */
+    RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.slots = new Object[capacity];
+    }
+
+    /**
+     * Appends an element, waiting for a free slot if the ring is full.
+     *
+     * @param element The element to hand to the next stage.
+     * @throws InterruptedException  if the thread is interrupted while waiting.
+     * @throws CancellationException if the ring has been aborted.
+     */
+    void put(T element) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == slots.length && !aborted) {
+                notFull.await();
+            }
+            checkAborted();
+            slots[(head + count) % slots.length] = element;
+            count++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the oldest element, waiting for one if the ring is empty.
+     *
+     * @return The element.
+     * @throws InterruptedException  if the thread is interrupted while waiting.
+     * @throws CancellationException if the ring has been aborted.
+     */
+    @SuppressWarnings("unchecked")
+    T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0 && !aborted) {
+                notEmpty.await();
+            }
+            checkAborted();
+            T element = (T) slots[head];
+            slots[head] = null;
+            head = (head + 1) % slots.length;
+            count--;
+            notFull.signal();
+            return element;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Makes every current and future {@link #put(Object)} and {@link #take()}
+     * fail with a {@link CancellationException}.
+     */
+    void abort() {
+        lock.lock();
+        try {
+            aborted = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkAborted() {
+        if (aborted) {
+            throw new CancellationException("Pipeline aborted");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Throughput and memory figures for a single pass over a CSV file.
+ * <p>
+ * Peak heap is taken from the JVM heap memory pools, which are reset when
+ * the pass starts, so the figure reflects only what the pass itself needed.
+ * Comparing it across inputs of different sizes shows whether memory stays
+ * flat as the file grows.
+ * </p>
+ */
+public class RunStats {
+    private final long rows;
+    private final long elapsedNanos;
+    private final long peakHeapBytes;
+
+    /**
+     * Constructor
+     *
+     * @param rows          The number of data rows read, excluding the header.
+     * @param elapsedNanos  Wall time of the pass in nanoseconds.
+     * @param peakHeapBytes Peak heap usage observed during the pass.
+     */
+    public RunStats(long rows, long elapsedNanos, long peakHeapBytes) {
+        this.rows = rows;
+        this.elapsedNanos = elapsedNanos;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    /**
+     * Resets the peak usage of every heap memory pool. Call this right before
+     * a pass so that {@link #peakHeapUsage()} only covers that pass.
+     */
+    public static void resetPeakHeapUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Sums the peak usage of every heap memory pool since the last reset.
+     *
+     * @return The peak heap usage in bytes.
+     */
+    public static long peakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * @return The number of data rows read.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return Wall time of the pass in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return Peak heap usage during the pass, in bytes.
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    /**
+     * @return Rows processed per second of wall time.
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows in %.1f ms (%.0f rows/sec), peak heap %.1f MB",
+                rows, elapsedNanos / 1_000_000.0, getRowsPerSecond(), peakHeapBytes / (1024.0 * 1024.0));
+    }
+}
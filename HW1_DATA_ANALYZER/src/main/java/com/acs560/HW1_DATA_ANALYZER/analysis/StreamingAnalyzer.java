@@ -0,0 +1,140 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.MeteredInputStream;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.Phase;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.PhaseRecorder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+
+/**
+ * Single-pass analysis engine for Netflix CSV files.
+ * <p>
+ * Unlike {@link Application#readCSV(String)}, which materializes every row
+ * before any analysis starts, records are read one at a time and folded into
+ * a {@link NetflixAggregates} straight away. All reports come out of the
+ * same pass and heap usage stays flat regardless of how many rows the file has.
+ * </p>
+ * <p>
+ * Rows are read in batches of {@value #BATCH_ROWS} so that parsing and
+ * aggregating can be told apart by the {@link PhaseRecorder} without timing
+ * every row.
+ * </p>
+ */
+public class StreamingAnalyzer {
+    private static final int BATCH_ROWS = 1024;
+
+    private StreamingAnalyzer() {
+    }
+
+    /**
+     * Streams a CSV file, skipping the header row, and aggregates every record.
+     *
+     * @param file The path to the CSV file to be analyzed.
+     * @return The aggregated report data along with throughput and peak heap figures.
+     * @throws IOException if the file cannot be read.
+     */
+    public static AnalysisResult analyze(String file) throws IOException {
+        return analyze(new FileInputStream(file));
+    }
+
+    /**
+     * Streams UTF-8 CSV bytes, skipping the header row, and aggregates every
+     * record. Reads from the stream are charged to {@link Phase#READ}. The
+     * stream is closed when the pass completes.
+     *
+     * @param source The CSV bytes to be analyzed.
+     * @return The aggregated report data along with throughput and peak heap figures.
+     * @throws IOException if the bytes cannot be read.
+     */
+    public static AnalysisResult analyze(InputStream source) throws IOException {
+        return analyze(new InputStreamReader(new MeteredInputStream(source, PhaseRecorder.get()),
+                StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Streams CSV text from a reader, skipping the header row, and aggregates
+     * every record. The reader is closed when the pass completes.
+     *
+     * @param source The CSV text to be analyzed.
+     * @return The aggregated report data along with throughput and peak heap figures.
+     * @throws IOException if the text cannot be read.
+     */
+    public static AnalysisResult analyze(Reader source) throws IOException {
+        RunStats.resetPeakHeapUsage();
+        long start = System.nanoTime();
+
+        PhaseRecorder recorder = PhaseRecorder.get();
+        NetflixAggregates aggregates = new NetflixAggregates();
+        String[][] batch = new String[BATCH_ROWS][];
+        try (CSVReader reader = new CSVReaderBuilder(new BufferedReader(source)).withSkipLines(1).build()) {
+            int count;
+            do {
+                recorder.enter(Phase.PARSE);
+                count = 0;
+                try {
+                    while (count < BATCH_ROWS && (batch[count] = reader.readNext()) != null) {
+                        count++;
+                    }
+                } finally {
+                    recorder.exit(count, 0);
+                }
+
+                recorder.enter(Phase.AGGREGATE);
+                try {
+                    for (int i = 0; i < count; i++) {
+                        aggregates.accept(batch[i]);
+                        batch[i] = null;
+                    }
+                } finally {
+                    recorder.exit(count, 0);
+                }
+            } while (count == BATCH_ROWS);
+        }
+
+        RunStats stats = new RunStats(aggregates.getRowCount(), System.nanoTime() - start,
+                RunStats.peakHeapUsage());
+        return new AnalysisResult(aggregates, stats);
+    }
+
+    /**
+     * Writes all text reports from a set of aggregates.
+     *
+     * @param aggregates The aggregated report data.
+     */
+    public static void writeReports(NetflixAggregates aggregates) {
+        Application.writeCountReport(aggregates.getMovieCount(), aggregates.getTvShowCount());
+        Application.writeAverageReport(aggregates.getMovieCount(), aggregates.getMovieYears().distinctYears());
+        Application.writeCountriesReport(aggregates.getCountryCounts());
+        Application.writeYearStatisticsReport(aggregates.getMovieYears(), aggregates.getTvShowYears());
+        Application.writeGenreReport(aggregates.getGenres());
+        Application.writeAdditionsReport(aggregates.getAdditions());
+        Application.writeRuntimeReport(aggregates.getDurations());
+    }
+
+    /**
+     * Analyzes a CSV file in one pass, writes all reports and prints the
+     * throughput and peak heap of the pass.
+     *
+     * @param args Optional path to the CSV file; defaults to {@link Application#FILE_NAME}.
+     */
+    public static void main(String[] args) {
+        String file = args.length > 0 ? args[0] : Application.FILE_NAME;
+        try {
+            AnalysisResult result = analyze(file);
+            writeReports(result.getAggregates());
+            System.out.println(file + ": " + result.getStats());
+            PhaseRecorder.get().printSummaryIfEnabled();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.parsers.CsvTokenizer;
+
+/**
+ * Follows an append-only CSV file and keeps its aggregates up to date as rows
+ * are added, like {@code tail -f}.
+ * <p>
+ * The follower remembers the byte offset just past the last complete record
+ * it has ingested. Each {@link #poll()} reads only the bytes after that
+ * offset, tokenizes them in place and folds the new records into the running
+ * {@link NetflixAggregates}; ingesting a handful of appended rows therefore
+ * costs one small read, not a rescan. A record whose line break has not been
+ * written yet is left for the next poll. If the file shrinks, it is taken to
+ * have been rewritten and is ingested again from the start.
+ * </p>
+ * <p>
+ * {@link #follow(UpdateListener)} drives the polls from a {@link WatchService}
+ * on the file's directory, with a periodic rescan as a fallback for file
+ * systems that coalesce or drop change events.
+ * </p>
+ */
+public class TailFollower {
+    private static final int INITIAL_BUFFER_BYTES = 1 << 20;
+    private static final long RESCAN_SECONDS = 5;
+
+    private final Path file;
+    private NetflixAggregates aggregates = new NetflixAggregates();
+    private long offset;
+    private boolean headerPending = true;
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+
+    /**
+     * Constructor
+     *
+     * @param file The CSV file to follow. Nothing is read until the first poll.
+     */
+    public TailFollower(Path file) {
+        this.file = file.toAbsolutePath();
+    }
+
+    /**
+     * Ingests every complete record appended since the last poll.
+     *
+     * @return The number of new data rows, 0 if the file has not grown.
+     * @throws IOException if the file cannot be read.
+     */
+    public synchronized long poll() throws IOException {
+        long ingested = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < offset) {
+                aggregates = new NetflixAggregates();
+                offset = 0;
+                headerPending = true;
+            }
+
+            while (offset < size) {
+                int length = (int) Math.min(size - offset, buffer.capacity());
+                buffer.clear().limit(length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, offset + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                buffer.flip();
+
+                CsvTokenizer record = new CsvTokenizer(buffer, NetflixAggregates.PROJECTION);
+                int consumed = 0;
+                while (record.next() && record.isTerminated()) {
+                    if (headerPending) {
+                        headerPending = false;
+                    } else {
+                        aggregates.accept(record);
+                        ingested++;
+                    }
+                    consumed = record.recordEnd();
+                }
+
+                if (consumed == 0) {
+                    if (buffer.limit() < buffer.capacity()) {
+                        break; // only an unfinished record is left
+                    }
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                    continue;
+                }
+                offset += consumed;
+            }
+        }
+        return ingested;
+    }
+
+    /**
+     * Polls the file whenever it changes until the calling thread is
+     * interrupted. Whatever is already in the file is ingested first.
+     *
+     * @param listener Called after each poll that ingested at least one row.
+     * @throws IOException          if the file cannot be read or watched.
+     * @throws InterruptedException when the thread is interrupted while waiting.
+     */
+    public void follow(UpdateListener listener) throws IOException, InterruptedException {
+        Path directory = file.getParent();
+        try (WatchService watcher = directory.getFileSystem().newWatchService()) {
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            pollAndNotify(listener);
+            while (true) {
+                WatchKey key = watcher.poll(RESCAN_SECONDS, TimeUnit.SECONDS);
+                if (key != null) {
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        changed |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                                || file.getFileName().equals(event.context());
+                    }
+                    key.reset();
+                    if (!changed) {
+                        continue;
+                    }
+                }
+                pollAndNotify(listener);
+            }
+        }
+    }
+
+    private void pollAndNotify(UpdateListener listener) throws IOException {
+        long start = System.nanoTime();
+        long newRows = poll();
+        if (newRows > 0) {
+            listener.onUpdate(aggregates, newRows, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return The running totals of every row ingested so far. The instance is
+     *         replaced if the file is rewritten.
+     */
+    public synchronized NetflixAggregates getAggregates() {
+        return aggregates;
+    }
+
+    /**
+     * @return The byte offset just past the last complete record ingested.
+     */
+    public synchronized long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Receives the aggregates after new rows were ingested.
+     */
+    @FunctionalInterface
+    public interface UpdateListener {
+        /**
+         * @param aggregates   The updated running totals.
+         * @param newRows      The number of rows ingested by this poll.
+         * @param elapsedNanos How long the poll took.
+         */
+        void onUpdate(NetflixAggregates aggregates, long newRows, long elapsedNanos);
+    }
+
+    /**
+     * Follows a CSV file and rewrites the reports each time rows are appended,
+     * until the process is stopped.
+     *
+     * @param args Optional path to the CSV file; defaults to {@link Application#FILE_NAME}.
+     */
+    public static void run(String[] args) {
+        String file = args.length > 0 ? args[0] : Application.FILE_NAME;
+        TailFollower follower = new TailFollower(Path.of(file));
+        try {
+            follower.follow((aggregates, newRows, elapsedNanos) -> {
+                StreamingAnalyzer.writeReports(aggregates);
+                System.out.println(file + ": +" + newRows + " rows (" + aggregates.getRowCount() + " total) in "
+                        + elapsedNanos / 1_000 + " us");
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Follows a CSV file; see {@link #run(String[])}.
+     *
+     * @param args Optional path to the CSV file.
+     */
+    public static void main(String[] args) {
+        run(args);
+    }
+}
@@ -0,0 +1,89 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Variable-length encoding of whole numbers for the compact binary formats:
+ * seven bits per byte, low bits first, with the high bit set on every byte but
+ * the last. Small counts, which are the common case, take a single byte.
+ * Signed values are zigzag-encoded first so that small negative numbers stay
+ * small too.
+ * <p>
+ * Used by the partial state files and the postings of the description index.
+ * </p>
+ */
+public final class Varints {
+    private static final int MAX_BYTES = 10;
+
+    private Varints() {
+    }
+
+    /**
+     * Writes a non-negative number.
+     *
+     * @param out   The output.
+     * @param value The number, taken as unsigned.
+     * @throws IOException if the output cannot be written.
+     */
+    public static void writeUnsigned(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a number written by {@link #writeUnsigned(DataOutput, long)}.
+     *
+     * @param in The input.
+     * @return The number.
+     * @throws IOException if the input cannot be read or the encoding is longer than ten bytes.
+     */
+    public static long readUnsigned(DataInput in) throws IOException {
+        long value = 0;
+        for (int i = 0; i < MAX_BYTES; i++) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static void writeSigned(DataOutput out, long value) throws IOException {
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readSigned(DataInput in) throws IOException {
+        long encoded = readUnsigned(in);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    /**
+     * Reads a count or length that must fit an int and cannot be negative.
+     */
+    static int readSize(DataInput in) throws IOException {
+        long size = readUnsigned(in);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Size out of range: " + size);
+        }
+        return (int) size;
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsigned(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[readSize(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,315 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Counts of titles per year held in a primitive array indexed by year.
+ * <p>
+ * The array starts out covering {@value #DEFAULT_FIRST_YEAR} to
+ * {@value #DEFAULT_LAST_YEAR} and is widened, a decade at a time, when a year
+ * outside it shows up. A year that would stretch the array past
+ * {@value #MAX_SPAN} years is counted in {@link #getOutOfRange()} instead, so
+ * one bad value cannot blow up memory. Adding a year never allocates once the
+ * range covers it, which keeps per-row aggregation garbage-free.
+ * </p>
+ */
+public class YearHistogram {
+    /**
+     * Returned by the year statistics when the histogram is empty.
+     */
+    public static final int NO_YEAR = Integer.MIN_VALUE;
+
+    static final int DEFAULT_FIRST_YEAR = 1900;
+    static final int DEFAULT_LAST_YEAR = 2100;
+    static final int MAX_SPAN = 10_000;
+    private static final int GROWTH_STEP = 10;
+
+    private int firstYear = DEFAULT_FIRST_YEAR;
+    private long[] counts = new long[DEFAULT_LAST_YEAR - DEFAULT_FIRST_YEAR + 1];
+    private long total;
+    private long outOfRange;
+
+    /**
+     * Parses a year made up only of ASCII digits, without allocating.
+     *
+     * @param value The text to parse, possibly null.
+     * @return The year, or -1 if the value is null, empty, longer than nine
+     *         characters or contains anything other than digits.
+     */
+    public static int parseYear(CharSequence value) {
+        if (value == null || value.length() == 0 || value.length() > 9) {
+            return -1;
+        }
+        int year = 0;
+        for (int i = 0; i < value.length(); i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            year = year * 10 + digit;
+        }
+        return year;
+    }
+
+    /**
+     * Counts one title in a year.
+     *
+     * @param year The year.
+     */
+    public void add(int year) {
+        add(year, 1);
+    }
+
+    /**
+     * Counts several titles in a year.
+     *
+     * @param year  The year.
+     * @param count The number of titles to add.
+     */
+    public void add(int year, long count) {
+        int index = year - firstYear;
+        if (index < 0 || index >= counts.length) {
+            if (!widenTo(year)) {
+                outOfRange += count;
+                return;
+            }
+            index = year - firstYear;
+        }
+        counts[index] += count;
+        total += count;
+    }
+
+    /**
+     * Adds the counts of another histogram to this one.
+     *
+     * @param other The histogram to fold into this one.
+     * @return This histogram, for chaining.
+     */
+    public YearHistogram merge(YearHistogram other) {
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                add(other.firstYear + i, other.counts[i]);
+            }
+        }
+        outOfRange += other.outOfRange;
+        return this;
+    }
+
+    /**
+     * @param year The year.
+     * @return The number of titles counted in that year.
+     */
+    public long count(int year) {
+        int index = year - firstYear;
+        return index < 0 || index >= counts.length ? 0 : counts[index];
+    }
+
+    /**
+     * @return The number of titles counted in range.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return The number of titles whose year fell outside the supported span.
+     */
+    public long getOutOfRange() {
+        return outOfRange;
+    }
+
+    /**
+     * @return The number of years with at least one title.
+     */
+    public int distinctYears() {
+        int distinct = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * @return The earliest year with a title, or {@link #NO_YEAR} if empty.
+     */
+    public int minYear() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                return firstYear + i;
+            }
+        }
+        return NO_YEAR;
+    }
+
+    /**
+     * @return The latest year with a title, or {@link #NO_YEAR} if empty.
+     */
+    public int maxYear() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return firstYear + i;
+            }
+        }
+        return NO_YEAR;
+    }
+
+    /**
+     * @return The median year, or {@link #NO_YEAR} if empty.
+     */
+    public int median() {
+        return percentile(50);
+    }
+
+    /**
+     * Finds the nearest-rank percentile year: the smallest year such that at
+     * least {@code percentile} percent of titles fall in or before it.
+     *
+     * @param percentile A value between 0 and 100.
+     * @return The percentile year, or {@link #NO_YEAR} if empty.
+     */
+    public int percentile(double percentile) {
+        if (total == 0) {
+            return NO_YEAR;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return firstYear + i;
+            }
+        }
+        return maxYear();
+    }
+
+    /**
+     * Calls the consumer for every year with at least one title, in ascending
+     * year order.
+     *
+     * @param consumer Receives each year and its count.
+     */
+    public void forEach(YearCountConsumer consumer) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                consumer.accept(firstYear + i, counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Writes the histogram in compact binary form: the out-of-range count, the
+     * number of years with a title, then each such year as the gap from the
+     * previous one followed by its count.
+     *
+     * @param out The destination.
+     * @throws IOException if the destination cannot be written.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        Varints.writeUnsigned(out, outOfRange);
+        Varints.writeUnsigned(out, distinctYears());
+        int previous = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                Varints.writeSigned(out, firstYear + i - previous);
+                Varints.writeUnsigned(out, counts[i]);
+                previous = firstYear + i;
+            }
+        }
+    }
+
+    /**
+     * Reads a histogram written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in The source.
+     * @return The histogram.
+     * @throws IOException if the source cannot be read or is malformed.
+     */
+    public static YearHistogram readFrom(DataInput in) throws IOException {
+        YearHistogram histogram = new YearHistogram();
+        histogram.outOfRange = Varints.readUnsigned(in);
+        int years = Varints.readSize(in);
+        long year = 0;
+        for (int i = 0; i < years; i++) {
+            year += Varints.readSigned(in);
+            histogram.add((int) year, Varints.readUnsigned(in));
+        }
+        return histogram;
+    }
+
+    /**
+     * Widens the array so that it covers the given year, rounding the new bounds
+     * out to whole decades.
+     *
+     * @return False if covering the year would exceed {@link #MAX_SPAN}.
+     */
+    private boolean widenTo(int year) {
+        long newFirst = Math.min(firstYear, Math.floorDiv(year, GROWTH_STEP) * (long) GROWTH_STEP);
+        long newLast = Math.max(firstYear + counts.length - 1L,
+                Math.floorDiv(year, GROWTH_STEP) * (long) GROWTH_STEP + GROWTH_STEP - 1);
+        if (newLast - newFirst + 1 > MAX_SPAN) {
+            return false;
+        }
+
+        long[] widened = new long[(int) (newLast - newFirst + 1)];
+        System.arraycopy(counts, 0, widened, (int) (firstYear - newFirst), counts.length);
+        counts = widened;
+        firstYear = (int) newFirst;
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof YearHistogram)) {
+            return false;
+        }
+        YearHistogram other = (YearHistogram) obj;
+        if (total != other.total || outOfRange != other.outOfRange) {
+            return false;
+        }
+        int first = Math.min(firstYear, other.firstYear);
+        int last = Math.max(firstYear + counts.length, other.firstYear + other.counts.length);
+        for (int year = first; year < last; year++) {
+            if (count(year) != other.count(year)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Long.hashCode(total) * 31 + Long.hashCode(outOfRange);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                hash = hash * 31 + (firstYear + i) * 17 + Long.hashCode(counts[i]);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        forEach((year, count) -> text.append(text.length() > 1 ? ", " : "").append(year).append('=').append(count));
+        return text.append('}').toString();
+    }
+
+    /**
+     * Receives a year and its count from {@link YearHistogram#forEach}.
+     */
+    @FunctionalInterface
+    public interface YearCountConsumer {
+        /**
+         * @param year  The year.
+         * @param count The number of titles in that year.
+         */
+        void accept(int year, long count);
+    }
+}
@@ -0,0 +1,87 @@
+package com.acs560.HW1_DATA_ANALYZER.columnar;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.acs560.HW1_DATA_ANALYZER.analysis.FileFingerprint;
+
+/**
+ * In-memory, column-oriented copy of the Netflix columns that analyses group
+ * and filter on. Low-cardinality text columns are dictionary-encoded and
+ * numeric columns are primitive int arrays; free-text columns such as title,
+ * cast and description are not held here and stay in the CSV.
+ */
+public class ColumnarDataset {
+    public static final String TYPE = "type";
+    public static final String COUNTRY = "country";
+    public static final String DATE_ADDED = "date_added";
+    public static final String RELEASE_YEAR = "release_year";
+    public static final String RATING = "rating";
+    public static final String DURATION = "duration";
+    public static final String LISTED_IN = "listed_in";
+
+    private final int rowCount;
+    private final FileFingerprint source;
+    private final Map<String, DictionaryColumn> dictionaryColumns;
+    private final Map<String, IntColumn> intColumns;
+
+    /**
+     * Constructor
+     *
+     * @param rowCount          The number of rows in every column.
+     * @param source            Fingerprint of the CSV file the columns were built from.
+     * @param dictionaryColumns The dictionary-encoded columns, in file order.
+     * @param intColumns        The int columns, in file order.
+     */
+    public ColumnarDataset(int rowCount, FileFingerprint source, Map<String, DictionaryColumn> dictionaryColumns,
+            Map<String, IntColumn> intColumns) {
+        this.rowCount = rowCount;
+        this.source = source;
+        this.dictionaryColumns = new LinkedHashMap<>(dictionaryColumns);
+        this.intColumns = new LinkedHashMap<>(intColumns);
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return Fingerprint of the CSV file the columns were built from.
+     */
+    public FileFingerprint getSource() {
+        return source;
+    }
+
+    /**
+     * @param name The column name, for example {@link #TYPE}.
+     * @return The dictionary-encoded column, or null if there is none by that name.
+     */
+    public DictionaryColumn getDictionaryColumn(String name) {
+        return dictionaryColumns.get(name);
+    }
+
+    /**
+     * @param name The column name, for example {@link #RELEASE_YEAR}.
+     * @return The int column, or null if there is none by that name.
+     */
+    public IntColumn getIntColumn(String name) {
+        return intColumns.get(name);
+    }
+
+    /**
+     * @return The dictionary-encoded columns keyed by name.
+     */
+    public Map<String, DictionaryColumn> getDictionaryColumns() {
+        return dictionaryColumns;
+    }
+
+    /**
+     * @return The int columns keyed by name.
+     */
+    public Map<String, IntColumn> getIntColumns() {
+        return intColumns;
+    }
+}
@@ -0,0 +1,133 @@
+package com.acs560.HW1_DATA_ANALYZER.columnar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dictionary-encoded string column. Each distinct value is stored once in
+ * the dictionary and every row holds the int code of its value, which keeps
+ * low-cardinality columns such as type, rating and country small and lets
+ * filters and group-bys work on ints instead of strings.
+ */
+public class DictionaryColumn {
+    private final String name;
+    private final List<String> dictionary;
+    private final Map<String, Integer> codesByValue;
+    private int[] codes;
+    private int size;
+
+    /**
+     * Constructor for an empty column that grows as values are appended.
+     *
+     * @param name The column name.
+     */
+    public DictionaryColumn(String name) {
+        this(name, new ArrayList<>(), new int[1024], 0);
+    }
+
+    /**
+     * Constructor for a column over an existing dictionary and codes.
+     *
+     * @param name       The column name.
+     * @param dictionary The distinct values, indexed by code.
+     * @param codes      The code of each row; only the first {@code size} entries are used.
+     * @param size       The number of rows.
+     */
+    public DictionaryColumn(String name, List<String> dictionary, int[] codes, int size) {
+        this.name = name;
+        this.dictionary = dictionary;
+        this.codes = codes;
+        this.size = size;
+        this.codesByValue = new HashMap<>();
+        for (int code = 0; code < dictionary.size(); code++) {
+            codesByValue.put(dictionary.get(code), code);
+        }
+    }
+
+    /**
+     * Appends a value for the next row, adding it to the dictionary if new.
+     *
+     * @param value The value to append.
+     */
+    public void append(String value) {
+        Integer code = codesByValue.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            codesByValue.put(value, code);
+        }
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size * 2);
+        }
+        codes[size++] = code;
+    }
+
+    /**
+     * @param row The row index.
+     * @return The code of the row's value.
+     */
+    public int code(int row) {
+        return codes[row];
+    }
+
+    /**
+     * @param row The row index.
+     * @return The row's value.
+     */
+    public String get(int row) {
+        return dictionary.get(codes[row]);
+    }
+
+    /**
+     * @param value A value to look up.
+     * @return The code of the value, or -1 if it never occurs in the column.
+     */
+    public int codeOf(String value) {
+        Integer code = codesByValue.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Counts the rows holding each code in a single pass over the codes.
+     *
+     * @return Row counts indexed by code.
+     */
+    public long[] countByCode() {
+        long[] counts = new long[dictionary.size()];
+        for (int row = 0; row < size; row++) {
+            counts[codes[row]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * @return The column name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The distinct values, indexed by code.
+     */
+    public List<String> dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return The backing code array; only the first {@link #size()} entries are valid.
+     */
+    public int[] codes() {
+        return codes;
+    }
+}
@@ -0,0 +1,81 @@
+package com.acs560.HW1_DATA_ANALYZER.columnar;
+
+import java.util.Arrays;
+
+/**
+ * A column of primitive int values, one per row. Used for release year and
+ * for date added, which is stored as an epoch day.
+ */
+public class IntColumn {
+    /**
+     * Stored for rows whose value is empty or could not be parsed.
+     */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private final String name;
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructor for an empty column that grows as values are appended.
+     *
+     * @param name The column name.
+     */
+    public IntColumn(String name) {
+        this(name, new int[1024], 0);
+    }
+
+    /**
+     * Constructor for a column over existing values.
+     *
+     * @param name   The column name.
+     * @param values The values; only the first {@code size} entries are used.
+     * @param size   The number of rows.
+     */
+    public IntColumn(String name, int[] values, int size) {
+        this.name = name;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Appends a value for the next row.
+     *
+     * @param value The value, or {@link #MISSING}.
+     */
+    public void append(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * @param row The row index.
+     * @return The value of the row, or {@link #MISSING}.
+     */
+    public int get(int row) {
+        return values[row];
+    }
+
+    /**
+     * @return The column name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The backing array; only the first {@link #size()} entries are valid.
+     */
+    public int[] values() {
+        return values;
+    }
+}
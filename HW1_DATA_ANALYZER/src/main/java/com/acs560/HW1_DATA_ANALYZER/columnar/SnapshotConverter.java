@@ -0,0 +1,142 @@
+package com.acs560.HW1_DATA_ANALYZER.columnar;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.analysis.FileFingerprint;
+import com.acs560.HW1_DATA_ANALYZER.parsers.CsvTokenizer;
+import com.acs560.HW1_DATA_ANALYZER.parsers.DateAddedParser;
+import com.acs560.HW1_DATA_ANALYZER.parsers.RecordSplitter;
+
+/**
+ * One-time converter from a Netflix CSV file to a columnar snapshot.
+ * <p>
+ * Type, country, rating, duration and listed_in are dictionary-encoded;
+ * release_year is stored as an int and date_added as an epoch day. The file is
+ * tokenized in record-aligned slices of at most 1 GB so that inputs larger than
+ * a single memory mapping can be converted.
+ * </p>
+ */
+public class SnapshotConverter {
+    private static final int TYPE_COLUMN = 1;
+    private static final int COUNTRY_COLUMN = 5;
+    private static final int DATE_ADDED_COLUMN = 6;
+    private static final int RELEASE_YEAR_COLUMN = 7;
+    private static final int RATING_COLUMN = 8;
+    private static final int DURATION_COLUMN = 9;
+    private static final int LISTED_IN_COLUMN = 10;
+    private static final long MAX_SLICE_BYTES = 1L << 30;
+
+    private SnapshotConverter() {
+    }
+
+    /**
+     * Builds the columnar dataset for a CSV file, skipping its header row.
+     *
+     * @param csv The CSV file to convert.
+     * @return The dataset, fingerprinted with the CSV it was built from.
+     * @throws IOException if the file cannot be read.
+     */
+    public static ColumnarDataset convert(Path csv) throws IOException {
+        FileFingerprint source = FileFingerprint.of(csv);
+
+        DictionaryColumn type = new DictionaryColumn(ColumnarDataset.TYPE);
+        DictionaryColumn country = new DictionaryColumn(ColumnarDataset.COUNTRY);
+        DictionaryColumn rating = new DictionaryColumn(ColumnarDataset.RATING);
+        DictionaryColumn duration = new DictionaryColumn(ColumnarDataset.DURATION);
+        DictionaryColumn listedIn = new DictionaryColumn(ColumnarDataset.LISTED_IN);
+        IntColumn dateAdded = new IntColumn(ColumnarDataset.DATE_ADDED);
+        IntColumn releaseYear = new IntColumn(ColumnarDataset.RELEASE_YEAR);
+
+        int rowCount = 0;
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            int sliceCount = (int) Math.max(1, (channel.size() + MAX_SLICE_BYTES - 1) / MAX_SLICE_BYTES);
+            long[] boundaries = RecordSplitter.split(channel, sliceCount, ForkJoinPool.commonPool());
+
+            for (int slice = 0; slice < sliceCount; slice++) {
+                if (boundaries[slice] == boundaries[slice + 1]) {
+                    continue;
+                }
+                CsvTokenizer record = new CsvTokenizer(
+                        RecordSplitter.map(channel, boundaries[slice], boundaries[slice + 1]), TYPE_COLUMN,
+                        COUNTRY_COLUMN, DATE_ADDED_COLUMN, RELEASE_YEAR_COLUMN, RATING_COLUMN, DURATION_COLUMN,
+                        LISTED_IN_COLUMN);
+                if (boundaries[slice] == 0) {
+                    record.next();
+                }
+                while (record.next()) {
+                    type.append(text(record, TYPE_COLUMN));
+                    country.append(text(record, COUNTRY_COLUMN));
+                    dateAdded.append(parseDateAdded(record.chars(DATE_ADDED_COLUMN)));
+                    releaseYear.append(record.parseInt(RELEASE_YEAR_COLUMN, IntColumn.MISSING));
+                    rating.append(text(record, RATING_COLUMN));
+                    duration.append(text(record, DURATION_COLUMN));
+                    listedIn.append(text(record, LISTED_IN_COLUMN));
+                    rowCount++;
+                }
+            }
+        }
+
+        Map<String, DictionaryColumn> dictionaryColumns = new LinkedHashMap<>();
+        for (DictionaryColumn column : new DictionaryColumn[] { type, country, rating, duration, listedIn }) {
+            dictionaryColumns.put(column.getName(), column);
+        }
+        Map<String, IntColumn> intColumns = new LinkedHashMap<>();
+        intColumns.put(dateAdded.getName(), dateAdded);
+        intColumns.put(releaseYear.getName(), releaseYear);
+        return new ColumnarDataset(rowCount, source, dictionaryColumns, intColumns);
+    }
+
+    /**
+     * Converts a CSV file and writes its snapshot next to it.
+     *
+     * @param csv The CSV file to convert.
+     * @return The path of the snapshot that was written.
+     * @throws IOException if the CSV cannot be read or the snapshot cannot be written.
+     */
+    public static Path convertAndWrite(Path csv) throws IOException {
+        Path snapshot = SnapshotFile.pathFor(csv);
+        SnapshotFile.write(convert(csv), snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Parses a date_added value such as "September 25, 2021".
+     *
+     * @param value The raw field, possibly null or padded with spaces.
+     * @return The epoch day, or {@link IntColumn#MISSING} if the value is empty or malformed.
+     */
+    static int parseDateAdded(CharSequence value) {
+        int epochDay = DateAddedParser.parseEpochDay(value);
+        return epochDay == DateAddedParser.INVALID ? IntColumn.MISSING : epochDay;
+    }
+
+    private static String text(CsvTokenizer record, int column) {
+        String value = record.decode(column);
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Writes the snapshot for a CSV file and prints its size next to the CSV's.
+     *
+     * @param args Optional path to the CSV file; defaults to {@link Application#FILE_NAME}.
+     */
+    public static void main(String[] args) {
+        Path csv = Path.of(args.length > 0 ? args[0] : Application.FILE_NAME);
+        try {
+            long start = System.nanoTime();
+            Path snapshot = convertAndWrite(csv);
+            System.out.printf("Wrote %s (%d bytes, CSV %d bytes) in %.1f ms%n", snapshot, Files.size(snapshot),
+                    Files.size(csv), (System.nanoTime() - start) / 1_000_000.0);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.acs560.HW1_DATA_ANALYZER.columnar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.acs560.HW1_DATA_ANALYZER.analysis.FileFingerprint;
+
+/**
+ * Reads and writes {@link ColumnarDataset} snapshots.
+ * <p>
+ * A snapshot is a little-endian binary file laid out column by column:
+ * </p>
+ * <pre>
+ * header:      magic, version, source size, source mtime, source CRC32C,
+ *              row count, dictionary column count, int column count
+ * dictionary:  name, dictionary size, entries, code width (1, 2 or 4), codes
+ * int:         name, one 4-byte value per row
+ * </pre>
+ * <p>
+ * Codes are stored in the narrowest width that fits the dictionary, so a type
+ * or rating column costs one byte per row. Each column is a contiguous block,
+ * which lets {@link #read(Path)} map it and bulk-copy it into an array.
+ * </p>
+ */
+public class SnapshotFile {
+    static final int MAGIC = 0x5358464E; // "NFXS" read as little-endian bytes
+    static final int VERSION = 1;
+    private static final String EXTENSION = ".snapshot";
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 4 + 4 + 4;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * @param csv The path to a CSV file.
+     * @return The path at which that file's snapshot is kept, next to the CSV.
+     */
+    public static Path pathFor(Path csv) {
+        return csv.resolveSibling(csv.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Checks whether a snapshot exists and was built from the current content
+     * of a CSV file.
+     *
+     * @param snapshot The snapshot path.
+     * @param csv      The CSV file the snapshot should reflect.
+     * @return True if the snapshot can be used in place of the CSV.
+     * @throws IOException if either file cannot be read.
+     */
+    public static boolean isUpToDate(Path snapshot, Path csv) throws IOException {
+        if (!Files.isRegularFile(snapshot)) {
+            return false;
+        }
+        FileFingerprint source = readSource(snapshot);
+        return source != null && source.matches(csv);
+    }
+
+    /**
+     * Reads only the header of a snapshot.
+     *
+     * @param snapshot The snapshot path.
+     * @return Fingerprint of the CSV the snapshot was built from, or null if the
+     *         file is not a snapshot of a supported version.
+     * @throws IOException if the file cannot be read.
+     */
+    public static FileFingerprint readSource(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return null;
+            }
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return null;
+            }
+            return new FileFingerprint(header.getLong(), header.getLong(), header.getLong());
+        }
+    }
+
+    /**
+     * Loads a whole snapshot into memory.
+     *
+     * @param snapshot The snapshot path.
+     * @return The dataset held in the snapshot.
+     * @throws IOException if the file cannot be read or is not a valid snapshot.
+     */
+    public static ColumnarDataset read(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException(snapshot + " is not a supported snapshot");
+            }
+            FileFingerprint source = new FileFingerprint(header.getLong(), header.getLong(), header.getLong());
+            int rowCount = header.getInt();
+            int dictionaryColumnCount = header.getInt();
+            int intColumnCount = header.getInt();
+
+            long position = HEADER_BYTES;
+            Map<String, DictionaryColumn> dictionaryColumns = new LinkedHashMap<>();
+            for (int c = 0; c < dictionaryColumnCount; c++) {
+                ByteBuffer block = map(channel, position, channel.size() - position);
+                String name = getString(block);
+                int dictionarySize = block.getInt();
+                List<String> dictionary = new ArrayList<>(dictionarySize);
+                for (int i = 0; i < dictionarySize; i++) {
+                    dictionary.add(getString(block));
+                }
+                int width = block.get();
+                int[] codes = new int[rowCount];
+                if (width == Integer.BYTES) {
+                    block.asIntBuffer().get(codes);
+                } else if (width == Short.BYTES) {
+                    for (int row = 0; row < rowCount; row++) {
+                        codes[row] = block.getShort(block.position() + row * 2) & 0xFFFF;
+                    }
+                } else {
+                    for (int row = 0; row < rowCount; row++) {
+                        codes[row] = block.get(block.position() + row) & 0xFF;
+                    }
+                }
+                position += block.position() + (long) rowCount * width;
+                dictionaryColumns.put(name, new DictionaryColumn(name, dictionary, codes, rowCount));
+            }
+
+            Map<String, IntColumn> intColumns = new LinkedHashMap<>();
+            for (int c = 0; c < intColumnCount; c++) {
+                ByteBuffer block = map(channel, position, channel.size() - position);
+                String name = getString(block);
+                int[] values = new int[rowCount];
+                block.asIntBuffer().get(values);
+                position += block.position() + (long) rowCount * Integer.BYTES;
+                intColumns.put(name, new IntColumn(name, values, rowCount));
+            }
+
+            return new ColumnarDataset(rowCount, source, dictionaryColumns, intColumns);
+        }
+    }
+
+    /**
+     * Writes a dataset to a snapshot. The file is written under a temporary name
+     * and moved into place, so a half-written snapshot is never picked up.
+     *
+     * @param dataset  The dataset to write.
+     * @param snapshot The snapshot path.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(ColumnarDataset dataset, Path snapshot) throws IOException {
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            FileFingerprint source = dataset.getSource();
+            int rowCount = dataset.getRowCount();
+
+            buffer.putInt(MAGIC).putInt(VERSION);
+            buffer.putLong(source.getSize()).putLong(source.getLastModifiedMillis()).putLong(source.getContentHash());
+            buffer.putInt(rowCount);
+            buffer.putInt(dataset.getDictionaryColumns().size());
+            buffer.putInt(dataset.getIntColumns().size());
+
+            for (DictionaryColumn column : dataset.getDictionaryColumns().values()) {
+                buffer = putString(channel, buffer, column.getName());
+                List<String> dictionary = column.dictionary();
+                buffer = ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(dictionary.size());
+                for (String value : dictionary) {
+                    buffer = putString(channel, buffer, value);
+                }
+
+                int width = dictionary.size() <= 1 << 8 ? Byte.BYTES
+                        : dictionary.size() <= 1 << 16 ? Short.BYTES : Integer.BYTES;
+                buffer = ensure(channel, buffer, 1);
+                buffer.put((byte) width);
+                int[] codes = column.codes();
+                for (int row = 0; row < rowCount; row++) {
+                    buffer = ensure(channel, buffer, width);
+                    if (width == Byte.BYTES) {
+                        buffer.put((byte) codes[row]);
+                    } else if (width == Short.BYTES) {
+                        buffer.putShort((short) codes[row]);
+                    } else {
+                        buffer.putInt(codes[row]);
+                    }
+                }
+            }
+
+            for (IntColumn column : dataset.getIntColumns().values()) {
+                buffer = putString(channel, buffer, column.getName());
+                int[] values = column.values();
+                for (int row = 0; row < rowCount; row++) {
+                    buffer = ensure(channel, buffer, Integer.BYTES);
+                    buffer.putInt(values[row]);
+                }
+            }
+
+            flush(channel, buffer);
+        }
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                Math.min(length, Integer.MAX_VALUE));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer putString(FileChannel channel, ByteBuffer buffer, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer = ensure(channel, buffer, Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+        return buffer;
+    }
+
+    /**
+     * Makes room for {@code bytes} more bytes, flushing the buffer to the
+     * channel first and growing it if a single value is larger than the buffer.
+     */
+    private static ByteBuffer ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        flush(channel, buffer);
+        if (buffer.capacity() < bytes) {
+            return ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return buffer;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,86 @@
+package com.acs560.HW1_DATA_ANALYZER.dedupe;
+
+import com.acs560.HW1_DATA_ANALYZER.analysis.NetflixAggregates;
+
+/**
+ * The outcome of a {@link Deduplicator} pass: how many rows were read and
+ * dropped, and the report data of the rows that were kept.
+ */
+public class DedupeSummary {
+    private final long rows;
+    private final long duplicates;
+    private final boolean exact;
+    private final double falsePositiveProbability;
+    private final NetflixAggregates aggregates;
+
+    /**
+     * Constructor
+     *
+     * @param rows                     Data rows read, excluding the header.
+     * @param duplicates               Rows found to repeat an earlier row.
+     * @param exact                    Whether every duplicate was found exactly,
+     *                                 without falling back to the Bloom filter.
+     * @param falsePositiveProbability The chance that a unique row was taken
+     *                                 for a duplicate at the end of the pass.
+     * @param aggregates               The report data of the kept rows.
+     */
+    public DedupeSummary(long rows, long duplicates, boolean exact, double falsePositiveProbability,
+            NetflixAggregates aggregates) {
+        this.rows = rows;
+        this.duplicates = duplicates;
+        this.exact = exact;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.aggregates = aggregates;
+    }
+
+    /**
+     * @return The data rows read, excluding the header.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The rows dropped as repeats of an earlier row.
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * @return The rows kept, which the reports count.
+     */
+    public long getKept() {
+        return rows - duplicates;
+    }
+
+    /**
+     * @return True if every duplicate was found exactly, without falling
+     *         back to the Bloom filter.
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * @return The chance that a unique row was taken for a duplicate at the
+     *         end of the pass; 0 when exact.
+     */
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * @return The report data of the kept rows.
+     */
+    public NetflixAggregates getAggregates() {
+        return aggregates;
+    }
+
+    @Override
+    public String toString() {
+        String mode = exact ? "exact"
+                : String.format("Bloom filter, false positive rate %.2e", falsePositiveProbability);
+        return String.format("%d rows, %d duplicates, %d kept (%s)", rows, duplicates, getKept(), mode);
+    }
+}
@@ -0,0 +1,262 @@
+package com.acs560.HW1_DATA_ANALYZER.dedupe;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.analysis.NetflixAggregates;
+import com.acs560.HW1_DATA_ANALYZER.analysis.StreamingAnalyzer;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.Phase;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.PhaseRecorder;
+import com.acs560.HW1_DATA_ANALYZER.parsers.CsvTokenizer;
+import com.acs560.HW1_DATA_ANALYZER.parsers.RecordSplitter;
+import com.acs560.HW1_DATA_ANALYZER.reports.CsvTableWriter;
+import com.acs560.HW1_DATA_ANALYZER.sort.ExternalSorter;
+
+/**
+ * Drops repeated titles from a Netflix CSV file and computes the reports over
+ * the rows that are left, in a single streaming pass.
+ * <p>
+ * Each row is fingerprinted by its normalized title, director and release
+ * year (see {@link TitleFingerprint}) and checked against a
+ * {@link DuplicateDetector}. The first row with a fingerprint is kept: it is
+ * folded into the {@link NetflixAggregates} and, if asked, copied byte for
+ * byte to a deduplicated CSV file. Later rows with the same fingerprint are
+ * dropped and, if asked, listed in a duplicates table with their row number.
+ * The report counts therefore already leave out the duplicates, without a
+ * second pass over the input.
+ * </p>
+ * <p>
+ * The input is memory-mapped and tokenized in place in slices of at most
+ * 1 GB, in file order, so that the first copy of a title is always the one
+ * kept. Memory holds only the fingerprints, 8 to 16 bytes per distinct title,
+ * up to the budget of the detector, after which it stays fixed.
+ * </p>
+ */
+public class Deduplicator {
+    private static final int SHOW_ID_COLUMN = 0;
+    private static final long MAX_SLICE_BYTES = 1L << 30;
+    private static final int OUTPUT_BUFFER_BYTES = 1 << 20;
+    private static final byte NEWLINE = '\n';
+    private static final int[] PROJECTION = projection();
+    private static final String USAGE = "Usage: Application --dedupe [--memory SIZE] [--drop OUT.csv]"
+            + " [--report FILE] [file.csv]";
+
+    private Deduplicator() {
+    }
+
+    /**
+     * Deduplicates a CSV file.
+     *
+     * @param csv     The CSV file, with a header row.
+     * @param options The memory budget and the optional output files.
+     * @return The counts and the report data of the kept rows.
+     * @throws IOException if the CSV cannot be read or an output cannot be written.
+     */
+    public static DedupeSummary dedupe(Path csv, Options options) throws IOException {
+        DuplicateDetector detector = new DuplicateDetector(options.getMemoryBytes());
+        NetflixAggregates aggregates = new NetflixAggregates();
+        PhaseRecorder recorder = PhaseRecorder.get();
+        long rows = 0;
+        long duplicates = 0;
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ);
+                OutputStream kept = options.getKeptFile() == null ? null
+                        : new BufferedOutputStream(Files.newOutputStream(options.getKeptFile()),
+                                OUTPUT_BUFFER_BYTES);
+                CsvTableWriter repeated = options.getDuplicatesFile() == null ? null
+                        : CsvTableWriter.open(options.getDuplicatesFile(), null, "row", "show_id", "title",
+                                "director", "release_year")) {
+            int sliceCount = (int) Math.max(1, (channel.size() + MAX_SLICE_BYTES - 1) / MAX_SLICE_BYTES);
+            long[] boundaries = RecordSplitter.split(channel, sliceCount, ForkJoinPool.commonPool());
+            byte[] copy = new byte[1 << 12];
+            for (int slice = 0; slice < sliceCount; slice++) {
+                if (boundaries[slice] == boundaries[slice + 1]) {
+                    continue;
+                }
+                ByteBuffer bytes = RecordSplitter.map(channel, boundaries[slice], boundaries[slice + 1]);
+                CsvTokenizer record = new CsvTokenizer(bytes, PROJECTION);
+                long rowsBefore = rows;
+                recorder.enter(Phase.PARSE);
+                try {
+                    if (boundaries[slice] == 0 && record.next() && kept != null) {
+                        copy = copyRecord(bytes, record, kept, copy);
+                    }
+                    while (record.next()) {
+                        rows++;
+                        if (detector.add(TitleFingerprint.of(record))) {
+                            aggregates.accept(record);
+                            if (kept != null) {
+                                copy = copyRecord(bytes, record, kept, copy);
+                            }
+                        } else {
+                            duplicates++;
+                            if (repeated != null) {
+                                repeated.cell(rows).cell(record.chars(SHOW_ID_COLUMN))
+                                        .cell(record.chars(TitleFingerprint.TITLE_COLUMN))
+                                        .cell(record.chars(TitleFingerprint.DIRECTOR_COLUMN))
+                                        .cell(record.chars(TitleFingerprint.RELEASE_YEAR_COLUMN)).endRow();
+                            }
+                        }
+                    }
+                } finally {
+                    recorder.exit(rows - rowsBefore, boundaries[slice + 1] - boundaries[slice]);
+                }
+            }
+        }
+        return new DedupeSummary(rows, duplicates, detector.isExact(), detector.falsePositiveProbability(),
+                aggregates);
+    }
+
+    /**
+     * Copies the raw bytes of the current record, adding a line break if the
+     * record is the last one of the file and has none.
+     *
+     * @return The copy buffer, grown if the record did not fit.
+     */
+    private static byte[] copyRecord(ByteBuffer bytes, CsvTokenizer record, OutputStream out, byte[] copy)
+            throws IOException {
+        int start = record.recordStart();
+        int length = record.recordEnd() - start;
+        if (copy.length < length) {
+            copy = new byte[Math.max(length, copy.length * 2)];
+        }
+        bytes.get(start, copy, 0, length);
+        out.write(copy, 0, length);
+        if (!record.isTerminated()) {
+            out.write(NEWLINE);
+        }
+        return copy;
+    }
+
+    private static int[] projection() {
+        int[] columns = new int[NetflixAggregates.PROJECTION.length + 4];
+        System.arraycopy(NetflixAggregates.PROJECTION, 0, columns, 0, NetflixAggregates.PROJECTION.length);
+        int i = NetflixAggregates.PROJECTION.length;
+        columns[i++] = SHOW_ID_COLUMN;
+        columns[i++] = TitleFingerprint.TITLE_COLUMN;
+        columns[i++] = TitleFingerprint.DIRECTOR_COLUMN;
+        columns[i] = TitleFingerprint.RELEASE_YEAR_COLUMN;
+        return columns;
+    }
+
+    /**
+     * Settings for {@link Deduplicator#dedupe(Path, Options)}.
+     */
+    public static class Options {
+        private long memoryBytes = Runtime.getRuntime().maxMemory() / 4;
+        private Path keptFile;
+        private Path duplicatesFile;
+
+        /**
+         * @param memoryBytes The memory for fingerprints before falling back
+         *                    to a Bloom filter. Defaults to a quarter of the
+         *                    maximum heap.
+         * @return These options, for chaining.
+         */
+        public Options memoryBytes(long memoryBytes) {
+            this.memoryBytes = memoryBytes;
+            return this;
+        }
+
+        /**
+         * @param keptFile The file that receives the header and the kept rows,
+         *                 or null for none. Defaults to none.
+         * @return These options, for chaining.
+         */
+        public Options keptFile(Path keptFile) {
+            this.keptFile = keptFile;
+            return this;
+        }
+
+        /**
+         * @param duplicatesFile The file that lists the dropped rows, or null
+         *                       for none. Defaults to none.
+         * @return These options, for chaining.
+         */
+        public Options duplicatesFile(Path duplicatesFile) {
+            this.duplicatesFile = duplicatesFile;
+            return this;
+        }
+
+        /**
+         * @return The memory budget for fingerprints.
+         */
+        public long getMemoryBytes() {
+            return memoryBytes;
+        }
+
+        /**
+         * @return The deduplicated CSV file, or null.
+         */
+        public Path getKeptFile() {
+            return keptFile;
+        }
+
+        /**
+         * @return The duplicates table, or null.
+         */
+        public Path getDuplicatesFile() {
+            return duplicatesFile;
+        }
+    }
+
+    /**
+     * Parses the command line, deduplicates a file and writes the reports of
+     * the kept rows.
+     *
+     * @param args {@code [--memory SIZE] [--drop OUT.csv] [--report FILE]
+     *             [file.csv]}. The file defaults to
+     *             {@link Application#FILE_NAME}. {@code --drop} writes the
+     *             deduplicated CSV and {@code --report} lists the duplicates.
+     */
+    public static void run(String[] args) {
+        Options options = new Options();
+        String file = Application.FILE_NAME;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--memory") && i + 1 < args.length) {
+                    options.memoryBytes(ExternalSorter.parseSize(args[++i]));
+                } else if (args[i].equals("--drop") && i + 1 < args.length) {
+                    options.keptFile(Path.of(args[++i]));
+                } else if (args[i].equals("--report") && i + 1 < args.length) {
+                    options.duplicatesFile(Path.of(args[++i]));
+                } else if (args[i].startsWith("--")) {
+                    System.out.println(USAGE);
+                    return;
+                } else {
+                    file = args[i];
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            DedupeSummary summary = dedupe(Path.of(file), options);
+            StreamingAnalyzer.writeReports(summary.getAggregates());
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println(file + ": " + summary + " in " + millis + " ms");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Deduplicates a CSV file; see {@link #run(String[])}.
+     *
+     * @param args Optional memory budget, output files and CSV file.
+     */
+    public static void main(String[] args) {
+        run(args);
+    }
+}
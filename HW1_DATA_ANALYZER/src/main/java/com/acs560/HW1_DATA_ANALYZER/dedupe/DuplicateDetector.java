@@ -0,0 +1,106 @@
+package com.acs560.HW1_DATA_ANALYZER.dedupe;
+
+import com.acs560.HW1_DATA_ANALYZER.sketches.BloomFilter;
+
+/**
+ * Tells first sightings of a fingerprint from repeats, within a memory budget.
+ * <p>
+ * Fingerprints are kept in a {@link LongHashSet} as long as its table fits
+ * the budget, and the answers are then exact. When the table would have to
+ * grow past the budget, or past the largest array the set can allocate,
+ * every fingerprint seen so far is moved into a {@link BloomFilter} that
+ * takes the whole budget, and the set is dropped. From then on memory stays
+ * fixed whatever the input size: repeats are still always recognized, but a
+ * new fingerprint is mistaken for a repeat with the small probability given
+ * by {@link #falsePositiveProbability()}. The filter's hash count is chosen
+ * for twice the number of fingerprints seen at the switch, leaving room for
+ * the input to keep growing.
+ * </p>
+ */
+public class DuplicateDetector {
+    private static final int INITIAL_EXPECTED_SIZE = 1 << 12;
+
+    private final long memoryBytes;
+    private LongHashSet exact;
+    private BloomFilter approximate;
+    private long distinct;
+
+    /**
+     * Constructor
+     *
+     * @param memoryBytes The most memory the fingerprints may hold once the
+     *                    input no longer fits an exact set. The switch itself
+     *                    briefly needs the set and the filter at once.
+     */
+    public DuplicateDetector(long memoryBytes) {
+        if (memoryBytes < Long.BYTES) {
+            throw new IllegalArgumentException("Memory budget must be at least 8 bytes: " + memoryBytes);
+        }
+        this.memoryBytes = memoryBytes;
+        this.exact = new LongHashSet((int) Math.min(INITIAL_EXPECTED_SIZE, Math.max(1, memoryBytes / 16)));
+    }
+
+    /**
+     * Records a fingerprint.
+     *
+     * @param fingerprint A 64-bit fingerprint, for example from {@link TitleFingerprint}.
+     * @return True if the fingerprint is seen for the first time, false if it
+     *         is (or, after the switch to the filter, is probably) a repeat.
+     */
+    public boolean add(long fingerprint) {
+        if (approximate != null) {
+            boolean first = !approximate.add(fingerprint);
+            if (first) {
+                distinct++;
+            }
+            return first;
+        }
+        if (exact.isFull() && (exact.sizeInBytes() * 2 > memoryBytes || !exact.canGrow())
+                && !exact.contains(fingerprint)) {
+            switchToFilter();
+            return add(fingerprint);
+        }
+        boolean first = exact.add(fingerprint);
+        if (first) {
+            distinct++;
+        }
+        return first;
+    }
+
+    private void switchToFilter() {
+        BloomFilter filter = new BloomFilter(memoryBytes,
+                BloomFilter.optimalHashCount(memoryBytes, Math.max(1, exact.size()) * 2L));
+        exact.forEach(filter::add);
+        approximate = filter;
+        exact = null;
+    }
+
+    /**
+     * @return True while every answer has been exact.
+     */
+    public boolean isExact() {
+        return approximate == null;
+    }
+
+    /**
+     * @return The number of fingerprints recorded as first sightings.
+     */
+    public long getDistinct() {
+        return distinct;
+    }
+
+    /**
+     * @return The probability that a new fingerprint is now taken for a
+     *         repeat; 0 while the answers are exact.
+     */
+    public double falsePositiveProbability() {
+        return approximate == null ? 0 : approximate.falsePositiveProbability();
+    }
+
+    /**
+     * @return The memory held by the fingerprints, in bytes.
+     */
+    public long sizeInBytes() {
+        return approximate == null ? exact.sizeInBytes() : approximate.sizeInBytes();
+    }
+}
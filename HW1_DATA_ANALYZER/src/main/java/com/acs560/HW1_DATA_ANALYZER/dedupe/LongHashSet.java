@@ -0,0 +1,163 @@
+package com.acs560.HW1_DATA_ANALYZER.dedupe;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A set of {@code long} values in a single primitive array, with open
+ * addressing and linear probing.
+ * <p>
+ * Values are stored as they are, without boxing, so each costs 8 bytes of
+ * table at most twice over: the table doubles once it is half full. Zero
+ * marks an empty slot, so a zero value is tracked by a separate flag. The
+ * values are expected to be well-mixed hashes, whose low bits are used
+ * directly as the home slot. The table stops growing at
+ * {@value #MAX_CAPACITY} slots, the largest power of two an array can hold,
+ * and the set then refuses values past half of that.
+ * </p>
+ */
+class LongHashSet {
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final int maxCapacity;
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    /**
+     * Constructor
+     *
+     * @param expectedSize The number of values to make room for up front.
+     */
+    LongHashSet(int expectedSize) {
+        this(expectedSize, MAX_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param expectedSize The number of values to make room for up front.
+     * @param maxCapacity  The most slots the table may grow to, a power of two
+     *                     no larger than {@link #MAX_CAPACITY}.
+     */
+    LongHashSet(int expectedSize, int maxCapacity) {
+        int capacity = Math.min(MIN_CAPACITY, maxCapacity);
+        while (capacity < expectedSize * 2L && capacity < maxCapacity) {
+            capacity <<= 1;
+        }
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+        this.maxCapacity = maxCapacity;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value.
+     * @return True if the value was not in the set yet.
+     * @throws IllegalStateException if the value is new and the table is half
+     *                               full and cannot grow; see {@link #canGrow()}.
+     */
+    boolean add(long value) {
+        if (value == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            if (added) {
+                size++;
+            }
+            return added;
+        }
+        int slot = (int) value & mask;
+        while (table[slot] != 0) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = slot + 1 & mask;
+        }
+        if (isFull() && !canGrow()) {
+            throw new IllegalStateException("Set is full at " + size + " values");
+        }
+        table[slot] = value;
+        if (++size > table.length / 2) {
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @param value The value.
+     * @return True if the value is in the set.
+     */
+    boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        for (int slot = (int) value & mask; table[slot] != 0; slot = slot + 1 & mask) {
+            if (table[slot] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calls an action with every value in the set, in no particular order.
+     *
+     * @param action Receives each value.
+     */
+    void forEach(LongConsumer action) {
+        if (containsZero) {
+            action.accept(0);
+        }
+        for (long value : table) {
+            if (value != 0) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * @return The number of values in the set.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The memory held by the table, in bytes.
+     */
+    long sizeInBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    /**
+     * @return True if the next new value makes the table grow.
+     */
+    boolean isFull() {
+        return size + 1 > table.length / 2;
+    }
+
+    /**
+     * @return True if the table is still below its largest capacity.
+     */
+    boolean canGrow() {
+        return table.length < maxCapacity;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        table = new long[capacity];
+        mask = capacity - 1;
+        for (long value : old) {
+            if (value != 0) {
+                int slot = (int) value & mask;
+                while (table[slot] != 0) {
+                    slot = slot + 1 & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.acs560.HW1_DATA_ANALYZER.export;
+
+/**
+ * The number of rows written to each table by a {@link NormalizedExporter} run.
+ */
+public class ExportSummary {
+    private final long titles;
+    private final long countries;
+    private final long castMembers;
+    private final long genres;
+    private final long titleCountries;
+    private final long titleCast;
+    private final long titleGenres;
+
+    /**
+     * Constructor
+     *
+     * @param titles         Rows in the titles table.
+     * @param countries      Distinct countries.
+     * @param castMembers    Distinct cast members.
+     * @param genres         Distinct genres.
+     * @param titleCountries Title-country links.
+     * @param titleCast      Title-cast links.
+     * @param titleGenres    Title-genre links.
+     */
+    public ExportSummary(long titles, long countries, long castMembers, long genres, long titleCountries,
+            long titleCast, long titleGenres) {
+        this.titles = titles;
+        this.countries = countries;
+        this.castMembers = castMembers;
+        this.genres = genres;
+        this.titleCountries = titleCountries;
+        this.titleCast = titleCast;
+        this.titleGenres = titleGenres;
+    }
+
+    /**
+     * @return Rows in the titles table.
+     */
+    public long getTitles() {
+        return titles;
+    }
+
+    /**
+     * @return Distinct countries.
+     */
+    public long getCountries() {
+        return countries;
+    }
+
+    /**
+     * @return Distinct cast members.
+     */
+    public long getCastMembers() {
+        return castMembers;
+    }
+
+    /**
+     * @return Distinct genres.
+     */
+    public long getGenres() {
+        return genres;
+    }
+
+    /**
+     * @return Title-country links.
+     */
+    public long getTitleCountries() {
+        return titleCountries;
+    }
+
+    /**
+     * @return Title-cast links.
+     */
+    public long getTitleCast() {
+        return titleCast;
+    }
+
+    /**
+     * @return Title-genre links.
+     */
+    public long getTitleGenres() {
+        return titleGenres;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d titles, %d countries, %d cast members, %d genres, %d title-country,"
+                + " %d title-cast and %d title-genre links", titles, countries, castMembers, genres, titleCountries,
+                titleCast, titleGenres);
+    }
+}
@@ -0,0 +1,273 @@
+package com.acs560.HW1_DATA_ANALYZER.export;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.parsers.CsvTokenizer;
+import com.acs560.HW1_DATA_ANALYZER.parsers.DateAddedParser;
+import com.acs560.HW1_DATA_ANALYZER.parsers.ListSplitter;
+import com.acs560.HW1_DATA_ANALYZER.parsers.RecordSplitter;
+import com.acs560.HW1_DATA_ANALYZER.reports.CsvTableWriter;
+
+/**
+ * Exports the wide Netflix CSV as normalized tables ready for bulk loading:
+ * <pre>
+ * titles.csv            title_id, show_id, type, title, director, date_added,
+ *                       release_year, rating, duration, description
+ * countries.csv         country_id, name
+ * cast_members.csv      cast_id, name
+ * genres.csv            genre_id, name
+ * title_countries.csv   title_id, country_id
+ * title_cast.csv        title_id, cast_id
+ * title_genres.csv      title_id, genre_id
+ * </pre>
+ * <p>
+ * Titles are numbered from 1 in file order. Countries, cast members and genres
+ * are numbered from 1 in order of first appearance, and each is written to its
+ * table the first time it is seen, so all seven tables are produced in a
+ * single pass over the input. Items of the comma-separated {@code country},
+ * {@code cast} and {@code listed_in} fields are trimmed, empty items are
+ * dropped and an item repeated within one row is linked once. Dates are
+ * written as {@code yyyy-MM-dd}; missing values are empty cells.
+ * </p>
+ * <p>
+ * The input is memory-mapped and tokenized in place in slices of at most
+ * 1 GB, and rows are written as soon as they are read, so memory holds only
+ * the name-to-id maps: it grows with the number of distinct countries, cast
+ * members and genres, not with the number of rows. Each table is written
+ * through its own buffered channel, with the file writes running on a
+ * background thread.
+ * </p>
+ */
+public class NormalizedExporter {
+    /** The titles table: one row per title with its single-valued columns. */
+    public static final String TITLES_FILE = "titles.csv";
+    /** The countries table: each distinct country with its id. */
+    public static final String COUNTRIES_FILE = "countries.csv";
+    /** The cast members table: each distinct cast member with its id. */
+    public static final String CAST_FILE = "cast_members.csv";
+    /** The genres table: each distinct genre with its id. */
+    public static final String GENRES_FILE = "genres.csv";
+    /** The bridge table linking titles to countries. */
+    public static final String TITLE_COUNTRIES_FILE = "title_countries.csv";
+    /** The bridge table linking titles to cast members. */
+    public static final String TITLE_CAST_FILE = "title_cast.csv";
+    /** The bridge table linking titles to genres. */
+    public static final String TITLE_GENRES_FILE = "title_genres.csv";
+
+    private static final int SHOW_ID_COLUMN = 0;
+    private static final int TYPE_COLUMN = 1;
+    private static final int TITLE_COLUMN = 2;
+    private static final int DIRECTOR_COLUMN = 3;
+    private static final int CAST_COLUMN = 4;
+    private static final int COUNTRY_COLUMN = 5;
+    private static final int DATE_ADDED_COLUMN = 6;
+    private static final int RELEASE_YEAR_COLUMN = 7;
+    private static final int RATING_COLUMN = 8;
+    private static final int DURATION_COLUMN = 9;
+    private static final int LISTED_IN_COLUMN = 10;
+    private static final int DESCRIPTION_COLUMN = 11;
+    private static final long MAX_SLICE_BYTES = 1L << 30;
+    private static final String USAGE = "Usage: Application --export [--out DIR] [file.csv]";
+
+    private NormalizedExporter() {
+    }
+
+    /**
+     * Exports a CSV file as normalized tables.
+     *
+     * @param csv       The wide CSV file.
+     * @param outputDir The directory the tables are written to; created if missing.
+     * @return The number of rows written to each table.
+     * @throws IOException if the CSV cannot be read or a table cannot be written.
+     */
+    public static ExportSummary export(Path csv, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try (CsvTableWriter titles = CsvTableWriter.open(outputDir.resolve(TITLES_FILE), writer, "title_id",
+                "show_id", "type", "title", "director", "date_added", "release_year", "rating", "duration",
+                "description");
+                Dimension countries = new Dimension(outputDir, writer, COUNTRIES_FILE, TITLE_COUNTRIES_FILE,
+                        "country_id");
+                Dimension cast = new Dimension(outputDir, writer, CAST_FILE, TITLE_CAST_FILE, "cast_id");
+                Dimension genres = new Dimension(outputDir, writer, GENRES_FILE, TITLE_GENRES_FILE, "genre_id");
+                FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+
+            int sliceCount = (int) Math.max(1, (channel.size() + MAX_SLICE_BYTES - 1) / MAX_SLICE_BYTES);
+            long[] boundaries = RecordSplitter.split(channel, sliceCount, ForkJoinPool.commonPool());
+            ListSplitter items = new ListSplitter();
+            long titleId = 0;
+            for (int slice = 0; slice < sliceCount; slice++) {
+                if (boundaries[slice] == boundaries[slice + 1]) {
+                    continue;
+                }
+                CsvTokenizer record = new CsvTokenizer(
+                        RecordSplitter.map(channel, boundaries[slice], boundaries[slice + 1]), SHOW_ID_COLUMN,
+                        TYPE_COLUMN, TITLE_COLUMN, DIRECTOR_COLUMN, CAST_COLUMN, COUNTRY_COLUMN, DATE_ADDED_COLUMN,
+                        RELEASE_YEAR_COLUMN, RATING_COLUMN, DURATION_COLUMN, LISTED_IN_COLUMN, DESCRIPTION_COLUMN);
+                if (boundaries[slice] == 0) {
+                    record.next();
+                }
+                while (record.next()) {
+                    titleId++;
+                    writeTitle(titles, titleId, record);
+                    countries.link(titleId, items.reset(record.chars(COUNTRY_COLUMN)));
+                    cast.link(titleId, items.reset(record.chars(CAST_COLUMN)));
+                    genres.link(titleId, items.reset(record.chars(LISTED_IN_COLUMN)));
+                }
+            }
+            return new ExportSummary(titleId, countries.size(), cast.size(), genres.size(), countries.links,
+                    cast.links, genres.links);
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * Writes the single-valued columns of a record as one titles row. Each
+     * field is consumed before the next is read, as the tokenizer's character
+     * view requires.
+     */
+    private static void writeTitle(CsvTableWriter titles, long titleId, CsvTokenizer record) throws IOException {
+        titles.cell(titleId);
+        titles.cell(record.chars(SHOW_ID_COLUMN));
+        titles.cell(record.chars(TYPE_COLUMN));
+        titles.cell(record.chars(TITLE_COLUMN));
+        titles.cell(record.chars(DIRECTOR_COLUMN));
+        int epochDay = DateAddedParser.parseEpochDay(record.chars(DATE_ADDED_COLUMN));
+        if (epochDay == DateAddedParser.INVALID) {
+            titles.emptyCell();
+        } else {
+            titles.cell(LocalDate.ofEpochDay(epochDay).toString());
+        }
+        int releaseYear = record.parseInt(RELEASE_YEAR_COLUMN, Integer.MIN_VALUE);
+        if (releaseYear == Integer.MIN_VALUE) {
+            titles.emptyCell();
+        } else {
+            titles.cell(releaseYear);
+        }
+        titles.cell(record.chars(RATING_COLUMN));
+        titles.cell(record.chars(DURATION_COLUMN));
+        titles.cell(record.chars(DESCRIPTION_COLUMN));
+        titles.endRow();
+    }
+
+    /**
+     * A multi-valued column split into a table of distinct names and a bridge
+     * table linking titles to them.
+     */
+    private static class Dimension implements AutoCloseable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final CsvTableWriter names;
+        private final CsvTableWriter bridge;
+        private int[] rowIds = new int[16];
+        private long links;
+
+        private Dimension(Path outputDir, ExecutorService writer, String namesFile, String bridgeFile,
+                String idColumn) throws IOException {
+            this.names = CsvTableWriter.open(outputDir.resolve(namesFile), writer, idColumn, "name");
+            this.bridge = CsvTableWriter.open(outputDir.resolve(bridgeFile), writer, "title_id", idColumn);
+        }
+
+        /**
+         * Links a title to every item of its field, adding new names to the
+         * names table as they are met.
+         */
+        private void link(long titleId, ListSplitter items) throws IOException {
+            int count = 0;
+            while (items.next()) {
+                if (items.start() == items.end()) {
+                    continue;
+                }
+                String name = items.text().subSequence(items.start(), items.end()).toString();
+                Integer id = ids.get(name);
+                if (id == null) {
+                    id = ids.size() + 1;
+                    ids.put(name, id);
+                    names.cell(id).cell(name).endRow();
+                }
+                if (contains(rowIds, count, id)) {
+                    continue;
+                }
+                if (count == rowIds.length) {
+                    rowIds = Arrays.copyOf(rowIds, count * 2);
+                }
+                rowIds[count++] = id;
+                bridge.cell(titleId).cell(id).endRow();
+                links++;
+            }
+        }
+
+        private static boolean contains(int[] values, int count, int value) {
+            for (int i = 0; i < count; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int size() {
+            return ids.size();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                names.close();
+            } finally {
+                bridge.close();
+            }
+        }
+    }
+
+    /**
+     * Parses the command line and exports the tables.
+     *
+     * @param args {@code [--out DIR] [file.csv]}. The file defaults to
+     *             {@link Application#FILE_NAME} and the tables go to the
+     *             current directory unless {@code --out} is given.
+     */
+    public static void run(String[] args) {
+        Path outputDir = Path.of("");
+        String file = Application.FILE_NAME;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--out") && i + 1 < args.length) {
+                outputDir = Path.of(args[++i]);
+            } else if (args[i].startsWith("--")) {
+                System.out.println(USAGE);
+                return;
+            } else {
+                file = args[i];
+            }
+        }
+
+        try {
+            long start = System.nanoTime();
+            ExportSummary summary = export(Path.of(file), outputDir);
+            System.out.println(file + ": " + summary + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Exports a CSV file; see {@link #run(String[])}.
+     *
+     * @param args Optional output directory and CSV file.
+     */
+    public static void main(String[] args) {
+        run(args);
+    }
+}
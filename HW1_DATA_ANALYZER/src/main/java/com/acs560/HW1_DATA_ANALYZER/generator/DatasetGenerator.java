@@ -0,0 +1,278 @@
+package com.acs560.HW1_DATA_ANALYZER.generator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.Phase;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.PhaseRecorder;
+
+/**
+ * Writes synthetic Netflix-shaped CSV files of any size, for load and scale
+ * testing of the analyzer and the REST services.
+ * <p>
+ * Rows are generated in chunks of {@value #CHUNK_ROWS}. Each chunk draws from
+ * its own random source, seeded from the generator seed and the chunk number,
+ * so a given seed and row count always give the same bytes, whatever the
+ * number of threads. Worker threads compose chunks into byte buffers in
+ * parallel while the calling thread writes the finished ones to the file in
+ * order; at most two chunks per thread are in flight, and their buffers are
+ * reused, so memory stays flat however many rows are written.
+ * </p>
+ * <p>
+ * See {@link RowGenerator} for how values are drawn.
+ * </p>
+ */
+public class DatasetGenerator {
+    static final int CHUNK_ROWS = 16_384;
+
+    private static final int CHUNKS_PER_THREAD = 2;
+    private static final int ROW_BYTES_ESTIMATE = 512;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final String USAGE = "Usage: Application --generate [--rows N] [--schema netflix|movies]"
+            + " [--seed S] [--threads N] output.csv";
+
+    private DatasetGenerator() {
+    }
+
+    /**
+     * Writes a generated CSV file, replacing any existing content.
+     *
+     * @param output  The file to write.
+     * @param options The row count, schema, seed and thread count.
+     * @return The number of bytes written, including the header.
+     * @throws IOException if the file cannot be written.
+     */
+    public static long generate(Path output, Options options) throws IOException {
+        RowGenerator rows = new RowGenerator(options.getSeed());
+        long chunks = (options.getRows() + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        ConcurrentLinkedQueue<RowBuffer> free = new ConcurrentLinkedQueue<>();
+        Deque<Future<RowBuffer>> pending = new ArrayDeque<>();
+        ExecutorService executor = Executors.newFixedThreadPool(options.getThreads());
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long written = write(channel, ByteBuffer.wrap(
+                    (options.getSchema().getHeader() + "\n").getBytes(StandardCharsets.UTF_8)));
+            long next = 0;
+            while (next < chunks || !pending.isEmpty()) {
+                while (next < chunks && pending.size() < options.getThreads() * CHUNKS_PER_THREAD) {
+                    long chunk = next++;
+                    pending.add(executor.submit(() -> chunk(rows, options, chunk, free)));
+                }
+                RowBuffer buffer = pending.remove().get();
+                written += write(channel, buffer.toByteBuffer());
+                free.add(buffer);
+            }
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating " + output, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to generate " + output, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Composes one chunk of rows into a free buffer, charged to
+     * {@link Phase#RENDER}.
+     */
+    private static RowBuffer chunk(RowGenerator rows, Options options, long chunk,
+            ConcurrentLinkedQueue<RowBuffer> free) {
+        RowBuffer buffer = free.poll();
+        if (buffer == null) {
+            buffer = new RowBuffer(CHUNK_ROWS * ROW_BYTES_ESTIMATE);
+        }
+        buffer.clear();
+        long first = chunk * CHUNK_ROWS;
+        long last = Math.min(options.getRows(), first + CHUNK_ROWS);
+        PhaseRecorder recorder = PhaseRecorder.get();
+        recorder.enter(Phase.RENDER);
+        try {
+            SplittableRandom random = new SplittableRandom(mix(options.getSeed() + chunk * GOLDEN_GAMMA));
+            for (long row = first; row < last; row++) {
+                rows.write(row, options.getSchema(), random, buffer);
+            }
+        } finally {
+            recorder.exit(last - first, buffer.length());
+        }
+        return buffer;
+    }
+
+    private static long write(FileChannel channel, ByteBuffer bytes) throws IOException {
+        PhaseRecorder recorder = PhaseRecorder.get();
+        int length = bytes.remaining();
+        recorder.enter(Phase.WRITE);
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } finally {
+            recorder.exit(0, length - bytes.remaining());
+        }
+        return length;
+    }
+
+    /**
+     * The SplitMix64 finalizer, which turns neighbouring chunk numbers into
+     * unrelated seeds.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Settings for {@link DatasetGenerator#generate(Path, Options)}.
+     */
+    public static class Options {
+        private long rows = 1_000_000;
+        private OutputSchema schema = OutputSchema.NETFLIX;
+        private long seed = 560;
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * @param rows The number of data rows, excluding the header. Defaults
+         *             to one million.
+         * @return These options, for chaining.
+         */
+        public Options rows(long rows) {
+            if (rows < 0) {
+                throw new IllegalArgumentException("Row count must not be negative: " + rows);
+            }
+            this.rows = rows;
+            return this;
+        }
+
+        /**
+         * @param schema The columns to write. Defaults to
+         *               {@link OutputSchema#NETFLIX}.
+         * @return These options, for chaining.
+         */
+        public Options schema(OutputSchema schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        /**
+         * @param seed The random seed; equal seeds give equal files.
+         * @return These options, for chaining.
+         */
+        public Options seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * @param threads The number of threads composing rows. Defaults to the
+         *                number of available processors.
+         * @return These options, for chaining.
+         */
+        public Options threads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("Thread count must be positive: " + threads);
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * @return The number of data rows.
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * @return The columns to write.
+         */
+        public OutputSchema getSchema() {
+            return schema;
+        }
+
+        /**
+         * @return The random seed.
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * @return The number of threads composing rows.
+         */
+        public int getThreads() {
+            return threads;
+        }
+    }
+
+    /**
+     * Parses the command line and writes a generated file.
+     *
+     * @param args {@code [--rows N] [--schema netflix|movies] [--seed S]
+     *             [--threads N] output.csv}.
+     */
+    public static void run(String[] args) {
+        Options options = new Options();
+        String output = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--rows") && i + 1 < args.length) {
+                    options.rows(Long.parseLong(args[++i]));
+                } else if (args[i].equals("--schema") && i + 1 < args.length) {
+                    options.schema(OutputSchema.of(args[++i]));
+                } else if (args[i].equals("--seed") && i + 1 < args.length) {
+                    options.seed(Long.parseLong(args[++i]));
+                } else if (args[i].equals("--threads") && i + 1 < args.length) {
+                    options.threads(Integer.parseInt(args[++i]));
+                } else if (args[i].startsWith("--") || output != null) {
+                    System.out.println(USAGE);
+                    return;
+                } else {
+                    output = args[i];
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+            return;
+        }
+        if (output == null) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            long bytes = generate(Path.of(output), options);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(String.format("%s: %d %s rows, %d bytes in %.1f s (%.0f MB/s)", output,
+                    options.getRows(), options.getSchema().getName(), bytes, seconds,
+                    bytes / (1024.0 * 1024.0) / seconds));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes a generated file; see {@link #run(String[])}.
+     *
+     * @param args Optional row count, schema, seed and thread count, then the
+     *             output file.
+     */
+    public static void main(String[] args) {
+        run(args);
+    }
+}
@@ -0,0 +1,55 @@
+package com.acs560.HW1_DATA_ANALYZER.generator;
+
+/**
+ * The CSV layouts the {@link DatasetGenerator} can write.
+ */
+public enum OutputSchema {
+    /**
+     * The twelve columns of {@code netflix_data.csv}, read by this analyzer and
+     * the HW2 to HW4 services.
+     */
+    NETFLIX("netflix", "show_id,type,title,director,cast,country,date_added,release_year,rating,duration,"
+            + "listed_in,description"),
+
+    /**
+     * The title, director, type, countries and release year of each title,
+     * preceded by a numeric id, as in the {@code Movies.csv} of the HW5 service.
+     */
+    MOVIES("movies", "id,title,director,type,countries,releaseYear");
+
+    private final String name;
+    private final String header;
+
+    OutputSchema(String name, String header) {
+        this.name = name;
+        this.header = header;
+    }
+
+    /**
+     * @return The name used on the command line.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The header row, without a line break.
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * @param name A schema name, in any case.
+     * @return The schema with that name.
+     * @throws IllegalArgumentException if no schema has that name.
+     */
+    public static OutputSchema of(String name) {
+        for (OutputSchema schema : values()) {
+            if (schema.name.equalsIgnoreCase(name)) {
+                return schema;
+            }
+        }
+        throw new IllegalArgumentException("Unknown schema: " + name);
+    }
+}
@@ -0,0 +1,165 @@
+package com.acs560.HW1_DATA_ANALYZER.generator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable byte array that CSV rows are composed into, already UTF-8
+ * encoded, so a chunk of rows can be written with a single channel write.
+ * <p>
+ * A field is opened with {@link #beginField()}, filled with the
+ * {@code append} methods and closed with {@link #endField()}, which wraps it
+ * in quotes and doubles any quotes inside only if it holds a separator, a
+ * quote or a line break, as RFC 4180 requires.
+ * </p>
+ */
+class RowBuffer {
+    private static final byte QUOTE = '"';
+    private static final byte SEPARATOR = ',';
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private byte[] bytes;
+    private int length;
+    private int fieldStart = -1;
+    private boolean firstField = true;
+
+    /**
+     * Constructor
+     *
+     * @param capacity The initial size in bytes.
+     */
+    RowBuffer(int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    /**
+     * Empties the buffer, keeping its capacity.
+     */
+    void clear() {
+        length = 0;
+        fieldStart = -1;
+        firstField = true;
+    }
+
+    /**
+     * Writes the separator before every field of a row but the first.
+     */
+    RowBuffer beginField() {
+        if (!firstField) {
+            append(SEPARATOR);
+        }
+        firstField = false;
+        fieldStart = length;
+        return this;
+    }
+
+    /**
+     * Quotes the field opened by the last {@link #beginField()} if it needs it.
+     */
+    RowBuffer endField() {
+        int quotes = 0;
+        boolean special = false;
+        for (int i = fieldStart; i < length; i++) {
+            byte b = bytes[i];
+            if (b == QUOTE) {
+                quotes++;
+                special = true;
+            } else if (b == SEPARATOR || b == NEWLINE || b == CARRIAGE_RETURN) {
+                special = true;
+            }
+        }
+        if (special) {
+            int content = length - fieldStart;
+            ensure(quotes + 2);
+            // shift the content right, from its end, doubling quotes on the way
+            int to = length + quotes + 2;
+            bytes[--to] = QUOTE;
+            for (int i = length - 1; i >= fieldStart; i--) {
+                bytes[--to] = bytes[i];
+                if (bytes[i] == QUOTE) {
+                    bytes[--to] = QUOTE;
+                }
+            }
+            bytes[fieldStart] = QUOTE;
+            length = fieldStart + content + quotes + 2;
+        }
+        fieldStart = -1;
+        return this;
+    }
+
+    /**
+     * Writes a whole field.
+     */
+    RowBuffer field(byte[] value) {
+        return beginField().append(value).endField();
+    }
+
+    /**
+     * Writes a whole numeric field, which never needs quotes.
+     */
+    RowBuffer field(long value) {
+        beginField();
+        return append(value);
+    }
+
+    /**
+     * Ends the current row with a line break.
+     */
+    RowBuffer endRow() {
+        append(NEWLINE);
+        firstField = true;
+        return this;
+    }
+
+    RowBuffer append(byte value) {
+        ensure(1);
+        bytes[length++] = value;
+        return this;
+    }
+
+    RowBuffer append(byte[] value) {
+        ensure(value.length);
+        System.arraycopy(value, 0, bytes, length, value.length);
+        length += value.length;
+        return this;
+    }
+
+    RowBuffer append(long value) {
+        if (value < 0) {
+            append((byte) '-');
+            value = -value;
+        }
+        ensure(20);
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = length + digits - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    /**
+     * @return The bytes written so far, as a buffer ready to be written.
+     */
+    ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(bytes, 0, length);
+    }
+
+    /**
+     * @return The number of bytes written so far.
+     */
+    int length() {
+        return length;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(length + extra, bytes.length * 2));
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.acs560.HW1_DATA_ANALYZER.generator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Composes Netflix-shaped rows from value pools with skewed frequencies.
+ * <p>
+ * The pools of directors, actors and title words are built once from a seed
+ * and encoded to UTF-8 up front; a row is then a handful of random draws and
+ * array copies into a {@link RowBuffer}. Directors, actors, countries, genres
+ * and ratings are drawn by Zipf rank, so a few are very common and most are
+ * rare, and fields are missing about as often as in the real file. Cast lists
+ * and descriptions contain commas and quotes, and a few of them line breaks,
+ * so they are written as quoted fields, some spanning several lines.
+ * </p>
+ * <p>
+ * The pools are read-only once built, so one instance serves every thread;
+ * each thread draws from its own {@link SplittableRandom}.
+ * </p>
+ */
+class RowGenerator {
+    private static final String[] FIRST_NAMES = { "James", "Mary", "Raj", "Priya", "Chen", "Mei", "Ahmed",
+        "Fatima", "Carlos", "María", "Hiroshi", "Yuki", "Olga", "Ivan", "Kwame", "Amara", "Lucas", "Sofía",
+        "Jin-ho", "Seo-yeon", "Pierre", "Zoë", "Mohammed", "Aisha", "David", "Sarah", "Rahul", "Ananya", "Luis",
+        "Camila", "Kenji", "Hana", "Emre", "Elif", "Tunde", "Ngozi", "Lars", "Ingrid", "Diego", "Valentina" };
+    private static final String[] LAST_NAMES = { "Smith", "Johnson", "Kapoor", "Sharma", "Wang", "Li", "Hassan",
+        "Khan", "García", "Rodríguez", "Tanaka", "Suzuki", "Ivanova", "Petrov", "Mensah", "Okafor", "Silva",
+        "Martínez", "Kim", "Park", "Dubois", "Müller", "Ali", "Ibrahim", "Brown", "Davis", "Gupta", "Reddy",
+        "López", "Hernández", "Sato", "Watanabe", "Yılmaz", "Demir", "Adeyemi", "Eze", "Larsen", "Nielsen",
+        "Fernández", "Rossi" };
+    private static final String[] COUNTRIES = { "United States", "India", "United Kingdom", "Canada", "France",
+        "Japan", "Spain", "South Korea", "Germany", "Mexico", "China", "Australia", "Egypt", "Turkey",
+        "Hong Kong", "Nigeria", "Italy", "Brazil", "Argentina", "Belgium", "Indonesia", "Taiwan", "Philippines",
+        "Thailand", "South Africa", "Colombia", "Netherlands", "Denmark", "Sweden", "Poland", "Ireland",
+        "Israel", "Norway", "Chile", "Malaysia", "Singapore", "Russia", "Lebanon", "New Zealand",
+        "Switzerland" };
+    private static final String[] RATINGS = { "TV-MA", "TV-14", "TV-PG", "R", "PG-13", "TV-Y7", "TV-Y", "PG",
+        "TV-G", "NR", "G", "TV-Y7-FV", "NC-17", "UR" };
+    private static final String[] MOVIE_GENRES = { "International Movies", "Dramas", "Comedies",
+        "Documentaries", "Action & Adventure", "Independent Movies", "Children & Family Movies",
+        "Romantic Movies", "Thrillers", "Music & Musicals", "Horror Movies", "Stand-Up Comedy",
+        "Sci-Fi & Fantasy", "Sports Movies", "Classic Movies", "LGBTQ Movies", "Cult Movies", "Anime Features",
+        "Faith & Spirituality" };
+    private static final String[] SHOW_GENRES = { "International TV Shows", "TV Dramas", "TV Comedies",
+        "Crime TV Shows", "Kids' TV", "Docuseries", "Romantic TV Shows", "Reality TV", "British TV Shows",
+        "Anime Series", "Spanish-Language TV Shows", "TV Action & Adventure", "Korean TV Shows", "TV Mysteries",
+        "Science & Nature TV", "TV Sci-Fi & Fantasy", "TV Horror", "Teen TV Shows", "TV Thrillers",
+        "Stand-Up Comedy & Talk Shows", "Classic & Cult TV" };
+    private static final String[] MONTHS = { "January", "February", "March", "April", "May", "June", "July",
+        "August", "September", "October", "November", "December" };
+    private static final String[] TITLE_WORDS = { "Last", "Midnight", "Secret", "Broken", "Golden", "Silent",
+        "Wild", "Hidden", "Lost", "Dark", "Little", "Endless", "Burning", "Frozen", "Crimson", "Final", "Sweet",
+        "Savage", "Electric", "Lonely", "Kingdom", "River", "Summer", "Empire", "Garden", "Shadow", "Heart",
+        "Road", "Storm", "Night", "City", "Dream", "Love", "Game", "Island", "Fire", "Song", "Ghost", "Family",
+        "Mountain" };
+    private static final String[] SUBTITLES = { "The Beginning", "Part Two", "Reloaded", "The Musical",
+        "A Love Story", "Live", "The Reunion", "Origins", "Behind the Scenes", "Season of Change" };
+    private static final String[] SUBJECTS = { "young chef", "retired detective", "struggling musician",
+        "teenage hacker", "single mother", "small-town sheriff", "rookie lawyer", "famous comedian",
+        "grieving widower", "stubborn farmer", "gifted student", "con artist" };
+    private static final String[] ACTIONS = { "uncovers a family secret", "returns home after decades",
+        "enters a risky competition", "falls for a rival", "takes on a powerful cartel",
+        "must save the village", "chases a long-lost dream", "investigates a string of thefts",
+        "starts over in a new city", "races against time" };
+    private static final String[] TWISTS = { "but nothing is what it seems", "with hilarious results",
+        "and learns what truly matters", "while the past catches up", "as old wounds reopen",
+        "and the world watches" };
+    private static final String[] NICKNAMES = { "The Ghost", "Lucky", "Big Mike", "The Professor", "Tiny" };
+
+    private static final int DIRECTOR_POOL = 20_000;
+    private static final int ACTOR_POOL = 200_000;
+    private static final int LATEST_YEAR = 2021;
+    private static final int OLDEST_YEAR = 1925;
+    private static final int FIRST_ADDED_YEAR = 2008;
+    private static final byte[] MOVIE = bytes("Movie");
+    private static final byte[] TV_SHOW = bytes("TV Show");
+    private static final byte[] LIST_SEPARATOR = bytes(", ");
+    private static final byte[] MINUTES = bytes(" min");
+    private static final byte[] SEASON = bytes(" Season");
+    private static final byte[] SEASONS = bytes(" Seasons");
+    private static final byte[] SHOW_ID_PREFIX = { 's' };
+    private static final byte[] THE = bytes("The ");
+    private static final byte[] NICKNAMED = bytes(" nicknamed \"");
+    private static final byte[] TRUE_STORY = bytes("Based on a true story.");
+
+    private final byte[][] directors;
+    private final byte[][] actors;
+    private final byte[][] countries = encode(COUNTRIES);
+    private final byte[][] ratings = encode(RATINGS);
+    private final byte[][] movieGenres = encode(MOVIE_GENRES);
+    private final byte[][] showGenres = encode(SHOW_GENRES);
+    private final byte[][] months = encode(MONTHS);
+    private final byte[][] titleWords = encode(TITLE_WORDS);
+    private final byte[][] subtitles = encode(SUBTITLES);
+    private final byte[][] subjects = encode(SUBJECTS);
+    private final byte[][] actions = encode(ACTIONS);
+    private final byte[][] twists = encode(TWISTS);
+    private final byte[][] nicknames = encode(NICKNAMES);
+    private final ZipfSampler directorRanks = new ZipfSampler(DIRECTOR_POOL, 1.05);
+    private final ZipfSampler actorRanks = new ZipfSampler(ACTOR_POOL, 0.9);
+    private final ZipfSampler countryRanks = new ZipfSampler(COUNTRIES.length, 1.3);
+    private final ZipfSampler ratingRanks = new ZipfSampler(RATINGS.length, 1.2);
+    private final ZipfSampler movieGenreRanks = new ZipfSampler(MOVIE_GENRES.length, 1.0);
+    private final ZipfSampler showGenreRanks = new ZipfSampler(SHOW_GENRES.length, 1.0);
+
+    /**
+     * Constructor
+     *
+     * @param seed Seeds the shuffling of the name pools, so that which names
+     *             are common depends on the seed.
+     */
+    RowGenerator(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        this.directors = names(DIRECTOR_POOL, random);
+        this.actors = names(ACTOR_POOL, random);
+    }
+
+    /**
+     * Appends one row.
+     *
+     * @param row    The zero-based row number, which sets the show id.
+     * @param schema The columns to write.
+     * @param random The random source of the calling thread.
+     * @param out    The buffer to append to.
+     */
+    void write(long row, OutputSchema schema, SplittableRandom random, RowBuffer out) {
+        boolean movie = random.nextInt(10) < 7;
+        int year = releaseYear(random);
+        if (schema == OutputSchema.MOVIES) {
+            out.field(row + 1);
+            title(random, out);
+            director(random, out);
+            out.field(movie ? MOVIE : TV_SHOW);
+            countries(random, out);
+            out.field(year);
+            out.endRow();
+            return;
+        }
+
+        out.beginField().append(SHOW_ID_PREFIX).append(row + 1).endField();
+        out.field(movie ? MOVIE : TV_SHOW);
+        title(random, out);
+        director(random, out);
+        cast(random, out);
+        countries(random, out);
+        dateAdded(random, year, out);
+        out.field(year);
+        out.field(ratings[ratingRanks.next(random)]);
+        out.beginField();
+        if (movie) {
+            out.append(Math.max(3, Math.round(100 + random.nextGaussian() * 25))).append(MINUTES);
+        } else {
+            int seasons = 1 + (int) Math.min(16, -Math.log(1 - random.nextDouble()) * 0.9);
+            out.append(seasons).append(seasons == 1 ? SEASON : SEASONS);
+        }
+        out.endField();
+        genres(random, movie ? movieGenres : showGenres, movie ? movieGenreRanks : showGenreRanks, out);
+        description(random, out);
+        out.endRow();
+    }
+
+    /**
+     * Release years cluster on the last few years, with a long tail back to
+     * the oldest titles.
+     */
+    private static int releaseYear(SplittableRandom random) {
+        return Math.max(OLDEST_YEAR, LATEST_YEAR - (int) Math.abs(random.nextGaussian() * 6)
+                - (random.nextInt(20) == 0 ? random.nextInt(60) : 0));
+    }
+
+    private void title(SplittableRandom random, RowBuffer out) {
+        out.beginField();
+        if (random.nextInt(4) == 0) {
+            out.append(THE);
+        }
+        out.append(titleWords[random.nextInt(titleWords.length)]).append((byte) ' ')
+                .append(titleWords[random.nextInt(titleWords.length)]);
+        int extra = random.nextInt(12);
+        if (extra == 0) {
+            out.append((byte) ':').append((byte) ' ').append(subtitles[random.nextInt(subtitles.length)]);
+        } else if (extra == 1) {
+            out.append((byte) ' ').append(2 + random.nextInt(4));
+        } else if (extra == 2) {
+            out.append((byte) ',').append((byte) ' ').append(titleWords[random.nextInt(titleWords.length)]);
+        }
+        out.endField();
+    }
+
+    private void director(SplittableRandom random, RowBuffer out) {
+        out.beginField();
+        int draw = random.nextInt(100);
+        if (draw >= 30) {
+            out.append(directors[directorRanks.next(random)]);
+            if (draw < 34) {
+                out.append(LIST_SEPARATOR).append(directors[directorRanks.next(random)]);
+            }
+        }
+        out.endField();
+    }
+
+    private void cast(SplittableRandom random, RowBuffer out) {
+        out.beginField();
+        if (random.nextInt(100) >= 9) {
+            int members = 1 + random.nextInt(15);
+            for (int i = 0; i < members; i++) {
+                if (i > 0) {
+                    out.append(LIST_SEPARATOR);
+                    if (random.nextInt(500) == 0) {
+                        out.append((byte) '\n'); // a list wrapped across lines
+                    }
+                }
+                out.append(actors[actorRanks.next(random)]);
+            }
+        }
+        out.endField();
+    }
+
+    private void countries(SplittableRandom random, RowBuffer out) {
+        out.beginField();
+        if (random.nextInt(100) >= 9) {
+            out.append(countries[countryRanks.next(random)]);
+            int more = random.nextInt(5) == 0 ? 1 + random.nextInt(3) : 0;
+            for (int i = 0; i < more; i++) {
+                out.append(LIST_SEPARATOR).append(countries[countryRanks.next(random)]);
+            }
+        }
+        out.endField();
+    }
+
+    private void dateAdded(SplittableRandom random, int releaseYear, RowBuffer out) {
+        out.beginField();
+        if (random.nextInt(1000) > 0) {
+            int year = Math.max(FIRST_ADDED_YEAR, releaseYear) + random.nextInt(3);
+            out.append(months[random.nextInt(months.length)]).append((byte) ' ').append(1 + random.nextInt(28))
+                    .append(LIST_SEPARATOR).append(Math.min(LATEST_YEAR, year));
+        }
+        out.endField();
+    }
+
+    private static void genres(SplittableRandom random, byte[][] pool, ZipfSampler ranks, RowBuffer out) {
+        out.beginField();
+        int count = 1 + random.nextInt(3);
+        int first = ranks.next(random);
+        out.append(pool[first]);
+        int previous = first;
+        for (int i = 1; i < count; i++) {
+            int next = ranks.next(random);
+            if (next != first && next != previous) {
+                out.append(LIST_SEPARATOR).append(pool[next]);
+                previous = next;
+            }
+        }
+        out.endField();
+    }
+
+    private void description(SplittableRandom random, RowBuffer out) {
+        out.beginField();
+        out.append((byte) 'A').append((byte) ' ').append(subjects[random.nextInt(subjects.length)]);
+        if (random.nextInt(8) == 0) {
+            out.append(NICKNAMED).append(nicknames[random.nextInt(nicknames.length)])
+                    .append((byte) '"');
+        }
+        out.append((byte) ' ').append(actions[random.nextInt(actions.length)]).append(LIST_SEPARATOR)
+                .append(twists[random.nextInt(twists.length)]).append((byte) '.');
+        if (random.nextInt(50) == 0) {
+            out.append((byte) '\n').append(TRUE_STORY);
+        }
+        out.endField();
+    }
+
+    /**
+     * Builds distinct full names in a seeded random order, so that the most
+     * frequent Zipf ranks fall on different names for different seeds.
+     */
+    private static byte[][] names(int count, SplittableRandom random) {
+        int combinations = FIRST_NAMES.length * LAST_NAMES.length;
+        byte[][] names = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            String first = FIRST_NAMES[i % FIRST_NAMES.length];
+            String last = LAST_NAMES[i / FIRST_NAMES.length % LAST_NAMES.length];
+            int generation = i / combinations;
+            String initials = generation == 0 ? ""
+                    : generation < 27 ? (char) ('A' + generation - 1) + ". "
+                            : (char) ('A' + generation % 26) + ". " + (char) ('A' + generation / 26 % 26) + ". ";
+            String name = first + " " + initials + last;
+            names[i] = bytes(name);
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte[] swap = names[i];
+            names[i] = names[j];
+            names[j] = swap;
+        }
+        return names;
+    }
+
+    private static byte[][] encode(String[] values) {
+        byte[][] encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = bytes(values[i]);
+        }
+        return encoded;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package com.acs560.HW1_DATA_ANALYZER.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks from a Zipf distribution: rank {@code k} of {@code n} is drawn
+ * with probability proportional to {@code 1 / k^s}, so a few values are very
+ * common and most are rare, as with the directors and countries of the real
+ * catalogue.
+ * <p>
+ * The cumulative probabilities are computed once and each draw is a binary
+ * search over them. Instances are immutable and can be shared by threads,
+ * each drawing with its own random source.
+ * </p>
+ */
+class ZipfSampler {
+    private final double[] cumulative;
+
+    /**
+     * Constructor
+     *
+     * @param size     The number of ranks.
+     * @param exponent The skew {@code s}; 0 is uniform and larger values
+     *                 concentrate the draws on the first ranks.
+     */
+    ZipfSampler(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be positive: " + size);
+        }
+        cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        cumulative[size - 1] = 1;
+    }
+
+    /**
+     * @param random The random source to draw with.
+     * @return A zero-based rank, 0 being the most likely.
+     */
+    int next(SplittableRandom random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] <= u) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return The number of ranks.
+     */
+    int size() {
+        return cumulative.length;
+    }
+}
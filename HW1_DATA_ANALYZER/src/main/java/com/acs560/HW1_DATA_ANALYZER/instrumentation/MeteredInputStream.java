@@ -0,0 +1,49 @@
+package com.acs560.HW1_DATA_ANALYZER.instrumentation;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Charges every read from the wrapped stream, and the bytes it returns, to
+ * {@link Phase#READ}. Reads made while parsing are nested in the parse phase,
+ * so the time spent waiting on the input is split out of it.
+ */
+public class MeteredInputStream extends FilterInputStream {
+    private final PhaseRecorder recorder;
+
+    /**
+     * Constructor
+     *
+     * @param in       The stream to read from.
+     * @param recorder The recorder to charge the reads to.
+     */
+    public MeteredInputStream(InputStream in, PhaseRecorder recorder) {
+        super(in);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public int read() throws IOException {
+        recorder.enter(Phase.READ);
+        int b = -1;
+        try {
+            b = super.read();
+        } finally {
+            recorder.exit(0, b < 0 ? 0 : 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        recorder.enter(Phase.READ);
+        int read = -1;
+        try {
+            read = in.read(b, off, len);
+        } finally {
+            recorder.exit(0, Math.max(read, 0));
+        }
+        return read;
+    }
+}
@@ -0,0 +1,46 @@
+package com.acs560.HW1_DATA_ANALYZER.instrumentation;
+
+/**
+ * The phases an analysis run is broken down into by the {@link PhaseRecorder}.
+ */
+public enum Phase {
+    /**
+     * Reading raw bytes from the input, including decompression.
+     */
+    READ("Read"),
+
+    /**
+     * Turning bytes into records: character decoding and CSV parsing. In the
+     * tokenizer engines, which fold each record as soon as it is tokenized,
+     * aggregation is included here too.
+     */
+    PARSE("Parse"),
+
+    /**
+     * Folding parsed records into the running totals.
+     */
+    AGGREGATE("Aggregate"),
+
+    /**
+     * Formatting report sections and rows into the output buffer.
+     */
+    RENDER("Render"),
+
+    /**
+     * Writing report bytes to the file.
+     */
+    WRITE("Write");
+
+    private final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return The name shown in the summary and in JFR events.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
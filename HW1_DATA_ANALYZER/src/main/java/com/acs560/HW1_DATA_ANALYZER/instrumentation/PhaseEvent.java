@@ -0,0 +1,35 @@
+package com.acs560.HW1_DATA_ANALYZER.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one stretch of a {@link Phase}, from
+ * {@link PhaseRecorder#enter(Phase)} to the matching
+ * {@link PhaseRecorder#exit(long, long)}. Its duration includes any nested
+ * phase, for example the writes made while a report is being rendered; the
+ * rows, bytes and allocation are those charged to this phase alone.
+ */
+@Name("com.acs560.HW1_DATA_ANALYZER.Phase")
+@Label("Analysis Phase")
+@Category("Netflix Analyzer")
+@Description("A read, parse, aggregate, render or write step of an analysis run")
+class PhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,262 @@
+package com.acs560.HW1_DATA_ANALYZER.instrumentation;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Built-in per-phase instrumentation: wall time, rows, bytes and allocated
+ * bytes for each {@link Phase} of a run.
+ * <p>
+ * Code brackets a phase with {@link #enter(Phase)} and
+ * {@link #exit(long, long)}. Phases nest per thread, and time and allocation
+ * are charged exclusively: while a write runs inside a render, the clock runs
+ * for the write only, so the phases of a thread add up to its wall time.
+ * Allocation is read from the JVM's per-thread allocation counter, so it is
+ * exact but only covers the threads that entered a phase. Totals are kept in
+ * {@link LongAdder}s and can be recorded from any number of threads.
+ * </p>
+ * <p>
+ * The recorder is off unless the {@value #PROPERTY} system property is set
+ * to {@code summary} or {@code jfr}, or {@link #enable(boolean)} is called.
+ * While off, entering and exiting a phase is a single field read. With JFR
+ * events on, every stretch of a phase is also committed as a
+ * {@code com.acs560.HW1_DATA_ANALYZER.Phase} event, which a running flight
+ * recording picks up without any profiler attached.
+ * </p>
+ */
+public class PhaseRecorder {
+    /**
+     * The system property that turns the recorder on at startup.
+     */
+    public static final String PROPERTY = "hw1.instrument";
+
+    private static final PhaseRecorder INSTANCE = new PhaseRecorder(System.getProperty(PROPERTY));
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LongAdder[] nanos = newAdders();
+    private final LongAdder[] rows = newAdders();
+    private final LongAdder[] bytes = newAdders();
+    private final LongAdder[] allocatedBytes = newAdders();
+    private final ThreadLocal<ThreadState> threads = ThreadLocal.withInitial(ThreadState::new);
+    private volatile boolean enabled;
+    private volatile boolean jfrEvents;
+
+    PhaseRecorder(String mode) {
+        if ("summary".equalsIgnoreCase(mode) || "true".equalsIgnoreCase(mode)) {
+            enable(false);
+        } else if ("jfr".equalsIgnoreCase(mode)) {
+            enable(true);
+        }
+    }
+
+    /**
+     * @return The recorder shared by the whole application.
+     */
+    public static PhaseRecorder get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts recording.
+     *
+     * @param jfrEvents Whether to also commit a JFR event for every stretch of
+     *                  a phase.
+     */
+    public void enable(boolean jfrEvents) {
+        this.jfrEvents = jfrEvents;
+        this.enabled = true;
+    }
+
+    /**
+     * Stops recording. Totals recorded so far are kept.
+     */
+    public void disable() {
+        enabled = false;
+        jfrEvents = false;
+    }
+
+    /**
+     * @return True while phases are being recorded.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Clears the totals of every phase.
+     */
+    public void reset() {
+        for (Phase phase : PHASES) {
+            nanos[phase.ordinal()].reset();
+            rows[phase.ordinal()].reset();
+            bytes[phase.ordinal()].reset();
+            allocatedBytes[phase.ordinal()].reset();
+        }
+    }
+
+    /**
+     * Enters a phase on the calling thread, pausing the phase the thread was in.
+     *
+     * @param phase The phase starting now.
+     */
+    public void enter(Phase phase) {
+        if (!enabled) {
+            return;
+        }
+        ThreadState state = threads.get();
+        state.charge(this, 0, 0);
+        state.push(phase, jfrEvents);
+    }
+
+    /**
+     * Leaves the phase most recently entered on the calling thread and resumes
+     * the phase it interrupted. Does nothing if no phase was entered.
+     *
+     * @param rowCount  The rows the phase handled since it was entered.
+     * @param byteCount The bytes the phase handled since it was entered.
+     */
+    public void exit(long rowCount, long byteCount) {
+        if (!enabled) {
+            return;
+        }
+        ThreadState state = threads.get();
+        if (state.depth == 0) {
+            return;
+        }
+        state.charge(this, rowCount, byteCount);
+        state.pop(rowCount, byteCount);
+    }
+
+    /**
+     * @param phase A phase.
+     * @return The totals recorded for the phase so far.
+     */
+    public PhaseStats stats(Phase phase) {
+        int i = phase.ordinal();
+        return new PhaseStats(phase, nanos[i].sum(), rows[i].sum(), bytes[i].sum(), allocatedBytes[i].sum());
+    }
+
+    /**
+     * Prints one line per phase that was entered at least once.
+     *
+     * @param out The stream to print to.
+     */
+    public void printSummary(PrintStream out) {
+        out.println("=== Phase Summary ===");
+        out.println(String.format("%-12s %10s %12s %14s %10s %14s", "Phase", "Millis", "Rows", "Rows/sec", "MB/sec",
+                "Allocated MB"));
+        out.println("==============================");
+        for (Phase phase : PHASES) {
+            PhaseStats stats = stats(phase);
+            if (stats.getNanos() == 0) {
+                continue;
+            }
+            out.println(String.format("%-12s %10.1f %12d %14.0f %10.1f %14.1f", phase.getLabel(),
+                    stats.getNanos() / 1_000_000.0, stats.getRows(), stats.getRowsPerSecond(),
+                    stats.getBytesPerSecond() / (1024.0 * 1024.0), stats.getAllocatedBytes() / (1024.0 * 1024.0)));
+        }
+    }
+
+    /**
+     * Prints the summary to standard output if the recorder is on.
+     */
+    public void printSummaryIfEnabled() {
+        if (enabled) {
+            printSummary(System.out);
+        }
+    }
+
+    private void add(Phase phase, long elapsedNanos, long rowCount, long byteCount, long allocated) {
+        int i = phase.ordinal();
+        nanos[i].add(elapsedNanos);
+        rows[i].add(rowCount);
+        bytes[i].add(byteCount);
+        allocatedBytes[i].add(allocated);
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[Phase.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                    .getThreadMXBean();
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    private static long currentAllocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * The stack of phases a thread is in, and the clock and allocation counter
+     * readings at which the innermost one was last charged.
+     */
+    private static class ThreadState {
+        private Phase[] phases = new Phase[4];
+        private PhaseEvent[] events = new PhaseEvent[4];
+        private int depth;
+        private long markNanos;
+        private long markAllocated;
+
+        /**
+         * Charges the time and allocation since the last mark to the innermost
+         * phase, if any, and moves the mark to now.
+         */
+        private void charge(PhaseRecorder recorder, long rowCount, long byteCount) {
+            long now = System.nanoTime();
+            long allocated = currentAllocatedBytes();
+            if (depth > 0) {
+                recorder.add(phases[depth - 1], now - markNanos, rowCount, byteCount, allocated - markAllocated);
+                PhaseEvent event = events[depth - 1];
+                if (event != null) {
+                    event.allocatedBytes += allocated - markAllocated;
+                }
+            }
+            markNanos = now;
+            markAllocated = allocated;
+        }
+
+        private void push(Phase phase, boolean jfrEvents) {
+            if (depth == phases.length) {
+                phases = Arrays.copyOf(phases, depth * 2);
+                events = Arrays.copyOf(events, depth * 2);
+            }
+            phases[depth] = phase;
+            PhaseEvent event = null;
+            if (jfrEvents) {
+                event = new PhaseEvent();
+                if (event.isEnabled()) {
+                    event.phase = phase.getLabel();
+                    event.begin();
+                } else {
+                    event = null;
+                }
+            }
+            events[depth++] = event;
+        }
+
+        private void pop(long rowCount, long byteCount) {
+            PhaseEvent event = events[--depth];
+            events[depth] = null;
+            if (event != null) {
+                event.end();
+                event.rows = rowCount;
+                event.bytes = byteCount;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.acs560.HW1_DATA_ANALYZER.instrumentation;
+
+/**
+ * The totals recorded for one {@link Phase}: wall time, rows, bytes and
+ * allocated bytes, with the throughput derived from them.
+ */
+public class PhaseStats {
+    private final Phase phase;
+    private final long nanos;
+    private final long rows;
+    private final long bytes;
+    private final long allocatedBytes;
+
+    /**
+     * Constructor
+     *
+     * @param phase          The phase the totals belong to.
+     * @param nanos          The wall time charged to the phase.
+     * @param rows           The rows the phase handled.
+     * @param bytes          The bytes the phase handled.
+     * @param allocatedBytes The bytes allocated on the heap during the phase.
+     */
+    public PhaseStats(Phase phase, long nanos, long rows, long bytes, long allocatedBytes) {
+        this.phase = phase;
+        this.nanos = nanos;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * @return The phase the totals belong to.
+     */
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return The wall time charged to the phase, in nanoseconds.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return The rows the phase handled.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The bytes the phase handled.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return The bytes allocated on the heap during the phase.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return Rows handled per second of the phase's wall time, 0 if no time was charged.
+     */
+    public double getRowsPerSecond() {
+        return nanos == 0 ? 0 : rows * 1e9 / nanos;
+    }
+
+    /**
+     * @return Bytes handled per second of the phase's wall time, 0 if no time was charged.
+     */
+    public double getBytesPerSecond() {
+        return nanos == 0 ? 0 : bytes * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.1f ms, %d rows, %d bytes, %d bytes allocated", phase.getLabel(),
+                nanos / 1_000_000.0, rows, bytes, allocatedBytes);
+    }
+}
@@ -0,0 +1,394 @@
+package com.acs560.HW1_DATA_ANALYZER.parsers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Zero-copy CSV tokenizer over a byte buffer, usually a memory-mapped region
+ * of a file.
+ * <p>
+ * Each call to {@link #next()} walks one record and remembers only the byte
+ * offsets of the projected columns; the other columns are skipped without
+ * being copied or decoded. Projected fields can then be compared or parsed in
+ * place ({@link #equalsIgnoreCase(int, byte[])}, {@link #parseInt(int, int)}),
+ * or read as characters through the reusable view returned by
+ * {@link #chars(int)}. A {@code String} is only built when {@link #decode(int)}
+ * is called.
+ * </p>
+ * <p>
+ * Quoting follows RFC 4180: a field wrapped in double quotes may contain
+ * separators and line breaks, and a literal quote inside it is written as
+ * {@code ""}. Backslash is not an escape character. A {@code \r} before the
+ * record-terminating {@code \n} is dropped.
+ * </p>
+ * <p>
+ * Instances keep per-record state and are not thread-safe; give each thread
+ * its own tokenizer over its own range.
+ * </p>
+ */
+public class CsvTokenizer {
+    private static final byte QUOTE = '"';
+    private static final byte SEPARATOR = ',';
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private final boolean[] projected;
+    private final int[] starts;
+    private final int[] ends;
+    private final boolean[] escaped;
+    private int position;
+    private int recordStart;
+    private int fieldCount;
+    private boolean terminated;
+    private byte[] scratch = new byte[256];
+    private final AsciiView view = new AsciiView();
+
+    /**
+     * Constructor
+     *
+     * @param buffer  The bytes to tokenize, from index 0 to the buffer's limit.
+     *                The buffer's position is not used or modified.
+     * @param columns The zero-based indices of the columns to project.
+     */
+    public CsvTokenizer(ByteBuffer buffer, int... columns) {
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+
+        int width = 0;
+        for (int column : columns) {
+            width = Math.max(width, column + 1);
+        }
+        this.projected = new boolean[width];
+        for (int column : columns) {
+            projected[column] = true;
+        }
+        this.starts = new int[width];
+        this.ends = new int[width];
+        this.escaped = new boolean[width];
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return True if a record was read, false at the end of the buffer.
+     */
+    public boolean next() {
+        if (position >= limit) {
+            return false;
+        }
+
+        recordStart = position;
+        int column = 0;
+        while (true) {
+            int start;
+            int end;
+            boolean hasEscapes = false;
+
+            if (buffer.get(position) == QUOTE) {
+                start = ++position;
+                while (true) {
+                    if (position >= limit) {
+                        end = limit;
+                        break;
+                    }
+                    if (buffer.get(position) == QUOTE) {
+                        if (position + 1 < limit && buffer.get(position + 1) == QUOTE) {
+                            hasEscapes = true;
+                            position += 2;
+                            continue;
+                        }
+                        end = position++;
+                        break;
+                    }
+                    position++;
+                }
+                position = skipToDelimiter(position);
+            } else {
+                start = position;
+                position = skipToDelimiter(position);
+                end = position;
+                if (end > start && end < limit && buffer.get(end) == NEWLINE
+                        && buffer.get(end - 1) == CARRIAGE_RETURN) {
+                    end--;
+                }
+            }
+
+            if (column < projected.length && projected[column]) {
+                starts[column] = start;
+                ends[column] = end;
+                escaped[column] = hasEscapes;
+            }
+
+            if (position < limit && buffer.get(position) == SEPARATOR) {
+                position++;
+                column++;
+                if (position >= limit) {
+                    // A trailing separator at the very end still opens an empty field.
+                    if (column < projected.length && projected[column]) {
+                        starts[column] = limit;
+                        ends[column] = limit;
+                        escaped[column] = false;
+                    }
+                    column++;
+                    terminated = false;
+                    break;
+                }
+                continue;
+            }
+            terminated = position < limit;
+            position++;
+            column++;
+            break;
+        }
+        fieldCount = column;
+        return true;
+    }
+
+    /**
+     * @return The offset in the buffer at which the current record starts.
+     */
+    public int recordStart() {
+        return recordStart;
+    }
+
+    /**
+     * @return The offset in the buffer just past the current record.
+     */
+    public int recordEnd() {
+        return Math.min(position, limit);
+    }
+
+    /**
+     * Tells a complete record from one cut off by the end of the buffer, for
+     * example a line that is still being appended to a file.
+     *
+     * @return True if the current record ended with a line break.
+     */
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    /**
+     * @return The number of fields in the current record.
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Checks whether the current record has a value for a projected column.
+     *
+     * @param column The column index.
+     * @return True if the record has at least {@code column + 1} fields.
+     */
+    public boolean hasField(int column) {
+        checkProjected(column);
+        return column < fieldCount;
+    }
+
+    /**
+     * @param column A projected column index present in the current record.
+     * @return The length of the field in bytes, excluding surrounding quotes.
+     */
+    public int length(int column) {
+        checkProjected(column);
+        return ends[column] - starts[column];
+    }
+
+    /**
+     * Locates a field in the buffer, for callers that compare or copy the raw
+     * bytes themselves. A quoted field starts after its opening quote and
+     * still holds any {@code ""} escapes.
+     *
+     * @param column A projected column index present in the current record.
+     * @return The index of the field's first byte in the buffer.
+     */
+    public int start(int column) {
+        checkProjected(column);
+        return starts[column];
+    }
+
+    /**
+     * Compares a field with an ASCII constant, ignoring ASCII case, without
+     * decoding it.
+     *
+     * @param column A projected column index.
+     * @param ascii  The ASCII bytes to compare against.
+     * @return True if the field is present and matches.
+     */
+    public boolean equalsIgnoreCase(int column, byte[] ascii) {
+        if (!hasField(column) || ends[column] - starts[column] != ascii.length || escaped[column]) {
+            return false;
+        }
+        int start = starts[column];
+        for (int i = 0; i < ascii.length; i++) {
+            if (toLowerAscii(buffer.get(start + i)) != toLowerAscii(ascii[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a field is missing, empty or made up only of characters
+     * that {@link String#trim()} would remove.
+     *
+     * @param column A projected column index.
+     * @return True if the field has no visible content.
+     */
+    public boolean isBlank(int column) {
+        if (!hasField(column)) {
+            return true;
+        }
+        for (int i = starts[column]; i < ends[column]; i++) {
+            if ((buffer.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a field made up only of ASCII digits as an int, without decoding it.
+     *
+     * @param column   A projected column index.
+     * @param fallback The value returned when the field is missing, empty, has a
+     *                 non-digit character or has more than nine digits.
+     * @return The parsed value, or {@code fallback}.
+     */
+    public int parseInt(int column, int fallback) {
+        if (!hasField(column)) {
+            return fallback;
+        }
+        int start = starts[column];
+        int length = ends[column] - start;
+        if (length == 0 || length > 9) {
+            return fallback;
+        }
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = buffer.get(start + i) - '0';
+            if (digit < 0 || digit > 9) {
+                return fallback;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Decodes a field as UTF-8, turning each {@code ""} back into a single quote.
+     *
+     * @param column A projected column index.
+     * @return The field value, or null if the record does not have the column.
+     */
+    public String decode(int column) {
+        if (!hasField(column)) {
+            return null;
+        }
+        int start = starts[column];
+        int length = ends[column] - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(start + i);
+            scratch[count++] = b;
+            if (b == QUOTE && escaped[column]) {
+                i++;
+            }
+        }
+        return new String(scratch, 0, count, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a field as characters without copying it, when possible.
+     * <p>
+     * A field made up only of ASCII bytes and without escaped quotes is
+     * returned as a view over the buffer that is reused by every call, so it is
+     * only valid until the next call to this method or to {@link #next()}. Any
+     * other field is decoded with {@link #decode(int)}.
+     * </p>
+     *
+     * @param column A projected column index.
+     * @return The field's characters, or null if the record does not have the column.
+     */
+    public CharSequence chars(int column) {
+        if (!hasField(column)) {
+            return null;
+        }
+        int start = starts[column];
+        int end = ends[column];
+        if (escaped[column]) {
+            return decode(column);
+        }
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) < 0) {
+                return decode(column);
+            }
+        }
+        return view.reset(start, end);
+    }
+
+    private int skipToDelimiter(int from) {
+        int i = from;
+        while (i < limit) {
+            byte b = buffer.get(i);
+            if (b == SEPARATOR || b == NEWLINE) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private void checkProjected(int column) {
+        if (column >= projected.length || !projected[column]) {
+            throw new IllegalArgumentException("Column " + column + " is not projected");
+        }
+    }
+
+    private static int toLowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b;
+    }
+
+    /**
+     * ASCII bytes of the buffer seen as characters.
+     */
+    private class AsciiView implements CharSequence {
+        private int start;
+        private int end;
+
+        private AsciiView reset(int start, int end) {
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) buffer.get(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return toString().substring(from, to);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+}
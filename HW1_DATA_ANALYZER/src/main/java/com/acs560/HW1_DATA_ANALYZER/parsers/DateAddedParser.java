@@ -0,0 +1,162 @@
+package com.acs560.HW1_DATA_ANALYZER.parsers;
+
+/**
+ * Parses date_added values such as {@code "September 25, 2021"} into epoch
+ * days, without allocating.
+ * <p>
+ * Only this exact shape is accepted: an English month name in any case, one
+ * or more spaces, a one- or two-digit day, a comma, optional spaces and a
+ * four-digit year, with surrounding whitespace ignored. The day is checked
+ * against the length of the month. The epoch day is computed arithmetically
+ * from the proleptic Gregorian calendar, giving the same value as
+ * {@code LocalDate.of(year, month, day).toEpochDay()}.
+ * </p>
+ */
+public class DateAddedParser {
+    /**
+     * Returned when a value is null, blank or not in the expected shape.
+     */
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    private static final String[] MONTHS = { "january", "february", "march", "april", "may", "june", "july",
+            "august", "september", "october", "november", "december" };
+
+    private DateAddedParser() {
+    }
+
+    /**
+     * @param value The text to parse, possibly null.
+     * @return The epoch day, or {@link #INVALID}.
+     */
+    public static int parseEpochDay(CharSequence value) {
+        return value == null ? INVALID : parseEpochDay(value, 0, value.length());
+    }
+
+    /**
+     * @param text  The characters holding the value.
+     * @param start The index of the value's first character.
+     * @param end   The index just past the value's last character.
+     * @return The epoch day, or {@link #INVALID}.
+     */
+    public static int parseEpochDay(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int nameEnd = start;
+        while (nameEnd < end && text.charAt(nameEnd) != ' ') {
+            nameEnd++;
+        }
+        int month = month(text, start, nameEnd);
+        if (month < 0) {
+            return INVALID;
+        }
+
+        int position = nameEnd;
+        while (position < end && text.charAt(position) == ' ') {
+            position++;
+        }
+        int day = 0;
+        int dayStart = position;
+        while (position < end && position - dayStart < 2 && isDigit(text.charAt(position))) {
+            day = day * 10 + text.charAt(position++) - '0';
+        }
+        if (position == dayStart || position >= end || text.charAt(position++) != ',') {
+            return INVALID;
+        }
+
+        while (position < end && text.charAt(position) == ' ') {
+            position++;
+        }
+        if (end - position != 4) {
+            return INVALID;
+        }
+        int year = 0;
+        for (; position < end; position++) {
+            if (!isDigit(text.charAt(position))) {
+                return INVALID;
+            }
+            year = year * 10 + text.charAt(position) - '0';
+        }
+
+        if (day < 1 || day > lengthOfMonth(year, month)) {
+            return INVALID;
+        }
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * Converts a calendar date to the number of days since 1970-01-01.
+     *
+     * @param year  The year.
+     * @param month The month, 1 to 12.
+     * @param day   The day of the month.
+     * @return The epoch day.
+     */
+    public static int toEpochDay(int year, int month, int day) {
+        // Shift the year to start in March so that the leap day falls at its end.
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    /**
+     * Converts an epoch day to a count of months since year 0, so that
+     * consecutive months get consecutive numbers.
+     *
+     * @param epochDay The number of days since 1970-01-01.
+     * @return {@code year * 12 + month - 1}.
+     */
+    public static int toEpochMonth(int epochDay) {
+        int z = epochDay + 719_468;
+        int era = Math.floorDiv(z, 146_097);
+        int dayOfEra = z - era * 146_097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 12 + month - 1;
+    }
+
+    private static int month(CharSequence text, int start, int end) {
+        for (int month = 0; month < MONTHS.length; month++) {
+            String name = MONTHS[month];
+            if (name.length() != end - start) {
+                continue;
+            }
+            int i = 0;
+            while (i < name.length() && (text.charAt(start + i) | 0x20) == name.charAt(i)) {
+                i++;
+            }
+            if (i == name.length()) {
+                return month + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
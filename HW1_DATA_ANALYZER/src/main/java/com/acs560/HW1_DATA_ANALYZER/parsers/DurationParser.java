@@ -0,0 +1,92 @@
+package com.acs560.HW1_DATA_ANALYZER.parsers;
+
+/**
+ * Parses duration values such as {@code "90 min"} and {@code "2 Seasons"},
+ * without regular expressions, exceptions or allocation.
+ * <p>
+ * A duration is a whole number followed by one or more spaces and a unit:
+ * {@code min} for movies, {@code Season} or {@code Seasons} for TV shows,
+ * in any case. Surrounding whitespace is ignored. Anything else, including a
+ * number with the other unit, is reported as {@link #INVALID} so that callers
+ * can count it separately.
+ * </p>
+ */
+public class DurationParser {
+    /**
+     * Returned when a value is null, blank or not in the expected shape.
+     */
+    public static final int INVALID = -1;
+
+    private static final String MINUTES = "min";
+    private static final String SEASON = "season";
+    private static final String SEASONS = "seasons";
+    private static final int MAX_DIGITS = 9;
+
+    private DurationParser() {
+    }
+
+    /**
+     * @param value The text to parse, possibly null.
+     * @return The number of minutes of a value such as {@code "90 min"}, or
+     *         {@link #INVALID}.
+     */
+    public static int parseMinutes(CharSequence value) {
+        return parse(value, MINUTES, null);
+    }
+
+    /**
+     * @param value The text to parse, possibly null.
+     * @return The number of seasons of a value such as {@code "2 Seasons"}, or
+     *         {@link #INVALID}.
+     */
+    public static int parseSeasons(CharSequence value) {
+        return parse(value, SEASON, SEASONS);
+    }
+
+    private static int parse(CharSequence value, String unit, String pluralUnit) {
+        if (value == null) {
+            return INVALID;
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int number = 0;
+        int position = start;
+        while (position < end && position - start < MAX_DIGITS && isDigit(value.charAt(position))) {
+            number = number * 10 + value.charAt(position++) - '0';
+        }
+        if (position == start || position == end || value.charAt(position) != ' ') {
+            return INVALID;
+        }
+        while (position < end && value.charAt(position) == ' ') {
+            position++;
+        }
+
+        if (matches(value, position, end, unit) || pluralUnit != null && matches(value, position, end, pluralUnit)) {
+            return number;
+        }
+        return INVALID;
+    }
+
+    private static boolean matches(CharSequence value, int start, int end, String unit) {
+        if (end - start != unit.length()) {
+            return false;
+        }
+        for (int i = 0; i < unit.length(); i++) {
+            if ((value.charAt(start + i) | 0x20) != unit.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,109 @@
+package com.acs560.HW1_DATA_ANALYZER.parsers;
+
+/**
+ * Cursor over the items of a comma-separated list field such as
+ * {@code "United States, India"}, splitting and trimming in place.
+ * <p>
+ * Each call to {@link #next()} moves to the next item and exposes its trimmed
+ * bounds through {@link #start()} and {@link #end()}; no substring is created.
+ * Items come out exactly as {@code field.split(",")} followed by
+ * {@code trim()} would produce them: empty items in the middle are kept,
+ * trailing empty items are dropped.
+ * </p>
+ * <p>
+ * A splitter keeps the field it was reset to and is not thread-safe; reuse one
+ * instance per thread.
+ * </p>
+ */
+public class ListSplitter {
+    private static final char SEPARATOR = ',';
+
+    private CharSequence text;
+    private int limit;
+    private int position;
+    private int start;
+    private int end;
+
+    /**
+     * Points the splitter at a new field.
+     *
+     * @param text The field to split, possibly null.
+     * @return This splitter, for chaining.
+     */
+    public ListSplitter reset(CharSequence text) {
+        this.text = text;
+        int length = text == null ? 0 : text.length();
+        while (length > 0 && text.charAt(length - 1) == SEPARATOR) {
+            length--;
+        }
+        this.limit = length;
+        this.position = length == 0 ? 1 : 0;
+        return this;
+    }
+
+    /**
+     * Advances to the next item.
+     *
+     * @return True if there was another item, false at the end of the field.
+     */
+    public boolean next() {
+        if (position > limit) {
+            return false;
+        }
+        int itemEnd = position;
+        while (itemEnd < limit && text.charAt(itemEnd) != SEPARATOR) {
+            itemEnd++;
+        }
+
+        start = position;
+        end = itemEnd;
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        position = itemEnd + 1;
+        return true;
+    }
+
+    /**
+     * @return The index of the first character of the current item.
+     */
+    public int start() {
+        return start;
+    }
+
+    /**
+     * @return The index just past the last character of the current item.
+     */
+    public int end() {
+        return end;
+    }
+
+    /**
+     * @return The field being split.
+     */
+    public CharSequence text() {
+        return text;
+    }
+
+    /**
+     * Checks whether a field is null, empty or made up only of characters that
+     * {@link String#trim()} would remove.
+     *
+     * @param text The field to check.
+     * @return True if the field has no visible content.
+     */
+    public static boolean isBlank(CharSequence text) {
+        if (text == null) {
+            return true;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
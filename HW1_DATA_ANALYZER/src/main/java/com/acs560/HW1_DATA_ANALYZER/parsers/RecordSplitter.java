@@ -0,0 +1,165 @@
+package com.acs560.HW1_DATA_ANALYZER.parsers;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Cuts a CSV file into byte ranges that each start and end on a record boundary.
+ * <p>
+ * Netflix rows contain quoted fields such as {@code description} and
+ * {@code cast} that may span several lines, so a newline is only a record
+ * boundary when it falls outside quotes. Whether a given byte offset is inside
+ * quotes depends on how many quote characters precede it, which is found in
+ * two parallel passes:
+ * </p>
+ * <ol>
+ * <li>The file is cut into equal nominal ranges and each range counts its quote
+ * characters. Escaped quotes ({@code ""}) come in pairs, so only the parity of
+ * the count matters, and a prefix XOR over the parities gives the exact quote
+ * state at the start of every range.</li>
+ * <li>Starting from its known quote state, each range scans forward to the
+ * first newline outside quotes. The byte after it is where the range's first
+ * whole record starts.</li>
+ * </ol>
+ */
+public class RecordSplitter {
+    /**
+     * The largest nominal range {@link #rangeCount(long, long, int)} hands out.
+     * A record-aligned range only extends past its nominal end up to the next
+     * record boundary, so it stays well inside the 2 GB that
+     * {@link #map(FileChannel, long, long)} can map.
+     */
+    public static final long MAX_RANGE_BYTES = 1L << 30;
+
+    private static final byte QUOTE = '"';
+    private static final byte NEWLINE = '\n';
+
+    private RecordSplitter() {
+    }
+
+    /**
+     * Computes record-aligned range boundaries for a file.
+     *
+     * @param channel    An open channel on the CSV file.
+     * @param rangeCount The number of nominal ranges to cut the file into.
+     * @param executor   The executor on which the scans run.
+     * @return An ascending array of {@code rangeCount + 1} offsets. Range
+     *         {@code i} covers {@code [result[i], result[i + 1])}; the first
+     *         entry is 0 and the last is the file size. Ranges may be empty.
+     * @throws IOException if the file cannot be read.
+     */
+    public static long[] split(FileChannel channel, int rangeCount, ExecutorService executor) throws IOException {
+        long size = channel.size();
+        long[] nominal = new long[rangeCount + 1];
+        for (int i = 0; i <= rangeCount; i++) {
+            nominal[i] = size * i / rangeCount;
+        }
+
+        List<Callable<Boolean>> parityScans = new ArrayList<>();
+        for (int i = 0; i < rangeCount; i++) {
+            long start = nominal[i];
+            long end = nominal[i + 1];
+            parityScans.add(() -> hasOddQuotes(channel, start, end));
+        }
+        List<Boolean> oddQuotes = invokeAll(executor, parityScans);
+
+        List<Callable<Long>> resyncScans = new ArrayList<>();
+        boolean inQuotes = false;
+        for (int i = 1; i < rangeCount; i++) {
+            inQuotes ^= oddQuotes.get(i - 1);
+            long start = nominal[i];
+            boolean startsInQuotes = inQuotes;
+            resyncScans.add(() -> nextRecordStart(channel, start, startsInQuotes));
+        }
+        List<Long> starts = invokeAll(executor, resyncScans);
+
+        long[] boundaries = new long[rangeCount + 1];
+        for (int i = 1; i < rangeCount; i++) {
+            boundaries[i] = starts.get(i - 1);
+        }
+        boundaries[rangeCount] = size;
+        return boundaries;
+    }
+
+    /**
+     * Chooses how many nominal ranges to cut a file into: one per
+     * {@code minRangeBytes}, at most {@code maxRanges}, but never so few that a
+     * range exceeds {@link #MAX_RANGE_BYTES}.
+     *
+     * @param size          The size of the file in bytes.
+     * @param minRangeBytes The smallest range worth handing to a thread.
+     * @param maxRanges     The preferred upper bound, typically a few ranges
+     *                      per worker thread.
+     * @return The number of ranges, at least 1.
+     */
+    public static int rangeCount(long size, long minRangeBytes, int maxRanges) {
+        long wanted = Math.min(Math.max(1, size / minRangeBytes), maxRanges);
+        long required = (size + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES;
+        return (int) Math.max(Math.max(1, wanted), required);
+    }
+
+    /**
+     * Maps a region of a file read-only. Regions are limited to 2 GB by the
+     * {@link MappedByteBuffer} API.
+     *
+     * @param channel An open channel on the file.
+     * @param start   The first byte of the region.
+     * @param end     One past the last byte of the region.
+     * @return The mapped region.
+     * @throws IOException if the region cannot be mapped.
+     */
+    public static MappedByteBuffer map(FileChannel channel, long start, long end) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+    }
+
+    private static boolean hasOddQuotes(FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer buffer = map(channel, start, end);
+        boolean odd = false;
+        for (int i = 0, limit = buffer.limit(); i < limit; i++) {
+            if (buffer.get(i) == QUOTE) {
+                odd = !odd;
+            }
+        }
+        return odd;
+    }
+
+    private static long nextRecordStart(FileChannel channel, long start, boolean inQuotes) throws IOException {
+        long size = channel.size();
+        long end = Math.min(size, start + Integer.MAX_VALUE);
+        MappedByteBuffer buffer = map(channel, start, end);
+        for (int i = 0, limit = buffer.limit(); i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == QUOTE) {
+                inQuotes = !inQuotes;
+            } else if (b == NEWLINE && !inQuotes) {
+                return start + i + 1;
+            }
+        }
+        return end;
+    }
+
+    private static <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while splitting file", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,129 @@
+package com.acs560.HW1_DATA_ANALYZER.query;
+
+import java.util.List;
+
+/**
+ * A parsed query: count the rows that satisfy every condition, optionally
+ * grouped by one column. See {@link QueryParser} for the syntax.
+ */
+public class Query {
+    /**
+     * The limit of a query that lists every group.
+     */
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private final String groupBy;
+    private final List<Condition> conditions;
+    private final int limit;
+
+    /**
+     * Constructor
+     *
+     * @param groupBy    The column to group by, or null to count all matching rows.
+     * @param conditions The conditions every counted row satisfies.
+     * @param limit      The maximum number of groups to return, or {@link #NO_LIMIT}.
+     */
+    public Query(String groupBy, List<Condition> conditions, int limit) {
+        this.groupBy = groupBy;
+        this.conditions = List.copyOf(conditions);
+        this.limit = limit;
+    }
+
+    /**
+     * @return The column to group by, or null to count all matching rows.
+     */
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    /**
+     * @return The conditions every counted row satisfies.
+     */
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    /**
+     * @return The maximum number of groups to return, or {@link #NO_LIMIT}.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * The comparison in a condition.
+     */
+    public enum Operator {
+        EQUAL("="), NOT_EQUAL("!="), LESS("<"), LESS_OR_EQUAL("<="), GREATER(">"), GREATER_OR_EQUAL(">="),
+        IN("in");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        /**
+         * @return The operator as written in a query.
+         */
+        public String getSymbol() {
+            return symbol;
+        }
+
+        /**
+         * @param symbol An operator as written in a query, such as {@code ">="}.
+         * @return The operator, or null if the symbol is not one.
+         */
+        public static Operator of(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equalsIgnoreCase(symbol)) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A comparison of one column against one or more literal values.
+     */
+    public static class Condition {
+        private final String column;
+        private final Operator operator;
+        private final List<String> values;
+
+        /**
+         * Constructor
+         *
+         * @param column   The column the condition applies to.
+         * @param operator The comparison.
+         * @param values   The literal to compare with; several for {@link Operator#IN}.
+         */
+        public Condition(String column, Operator operator, List<String> values) {
+            this.column = column;
+            this.operator = operator;
+            this.values = List.copyOf(values);
+        }
+
+        /**
+         * @return The column the condition applies to.
+         */
+        public String getColumn() {
+            return column;
+        }
+
+        /**
+         * @return The comparison.
+         */
+        public Operator getOperator() {
+            return operator;
+        }
+
+        /**
+         * @return The literals to compare with; one unless the operator is {@link Operator#IN}.
+         */
+        public List<String> getValues() {
+            return values;
+        }
+    }
+}
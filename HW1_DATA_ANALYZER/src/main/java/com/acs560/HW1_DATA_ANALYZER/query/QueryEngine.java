@@ -0,0 +1,481 @@
+package com.acs560.HW1_DATA_ANALYZER.query;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.acs560.HW1_DATA_ANALYZER.columnar.ColumnarDataset;
+import com.acs560.HW1_DATA_ANALYZER.columnar.DictionaryColumn;
+import com.acs560.HW1_DATA_ANALYZER.columnar.IntColumn;
+
+/**
+ * Runs {@link Query queries} over a {@link ColumnarDataset}.
+ * <p>
+ * Nothing is decoded to strings while a query runs. Conditions are bound to
+ * the columns once: a condition on a dictionary column becomes a table of the
+ * codes it accepts, so {@code type=Movie} compares ints, and a condition on an
+ * int column becomes a range or a sorted set of values. Rows are then
+ * filtered in batches of {@value #BATCH_ROWS}: the first condition scans the
+ * batch into a selection vector of matching row indexes and each further
+ * condition narrows that vector in place. The filter loops write every
+ * candidate and advance the output position by the outcome of the test, so
+ * they do not branch per row. Groups are counted into a {@code long[]}
+ * indexed by dictionary code, or by value for int columns.
+ * </p>
+ * <p>
+ * Text comparisons ignore case. Values are matched against the whole field,
+ * so {@code country=India} matches titles from India only, not co-productions
+ * listed as {@code "India, United States"}. Rows with a missing int value
+ * never satisfy a condition on that column. Dates in {@code date_added} are
+ * written as {@code yyyy-MM-dd}.
+ * </p>
+ */
+public class QueryEngine {
+    static final int BATCH_ROWS = 1024;
+
+    private static final int MAX_DENSE_RANGE = 1 << 20;
+    private static final String EMPTY_LABEL = "(none)";
+    private static final String MISSING_LABEL = "(missing)";
+
+    private final ColumnarDataset dataset;
+
+    /**
+     * Constructor
+     *
+     * @param dataset The columns to query.
+     */
+    public QueryEngine(ColumnarDataset dataset) {
+        this.dataset = dataset;
+    }
+
+    /**
+     * Parses and runs a query.
+     *
+     * @param text The query text; see {@link QueryParser}.
+     * @return The row counts per group.
+     * @throws IllegalArgumentException if the text is not a valid query or
+     *                                  names a column the dataset lacks.
+     */
+    public QueryResult execute(String text) {
+        return execute(QueryParser.parse(text));
+    }
+
+    /**
+     * Runs a query.
+     *
+     * @param query The query.
+     * @return The row counts per group.
+     * @throws IllegalArgumentException if the query names a column the dataset
+     *                                  lacks or compares it with an invalid value.
+     */
+    public QueryResult execute(Query query) {
+        long start = System.nanoTime();
+        List<Filter> filters = new ArrayList<>();
+        for (Query.Condition condition : query.getConditions()) {
+            filters.add(bind(condition));
+        }
+        Grouping grouping = grouping(query.getGroupBy());
+
+        int rowCount = dataset.getRowCount();
+        int[] selection = new int[BATCH_ROWS];
+        long matched = 0;
+        for (int from = 0; from < rowCount; from += BATCH_ROWS) {
+            int to = Math.min(rowCount, from + BATCH_ROWS);
+            int selected;
+            if (filters.isEmpty()) {
+                selected = to - from;
+                for (int i = 0; i < selected; i++) {
+                    selection[i] = from + i;
+                }
+            } else {
+                selected = filters.get(0).select(from, to, selection);
+                for (int f = 1; f < filters.size() && selected > 0; f++) {
+                    selected = filters.get(f).refine(selection, selected);
+                }
+            }
+            grouping.add(selection, selected);
+            matched += selected;
+        }
+
+        List<String> groups = new ArrayList<>();
+        long[] counts = grouping.collect(groups, query.getLimit());
+        return new QueryResult(query.getGroupBy(), groups, counts, matched, rowCount, System.nanoTime() - start);
+    }
+
+    /**
+     * @return The names of the columns that can be filtered and grouped on.
+     */
+    public List<String> columnNames() {
+        List<String> names = new ArrayList<>(dataset.getDictionaryColumns().keySet());
+        names.addAll(dataset.getIntColumns().keySet());
+        return names;
+    }
+
+    private Filter bind(Query.Condition condition) {
+        String name = condition.getColumn();
+        Query.Operator operator = condition.getOperator();
+        DictionaryColumn dictionary = dataset.getDictionaryColumn(name);
+        if (dictionary != null) {
+            if (operator != Query.Operator.EQUAL && operator != Query.Operator.NOT_EQUAL
+                    && operator != Query.Operator.IN) {
+                throw new IllegalArgumentException("Column " + name + " only supports =, != and in");
+            }
+            List<String> values = dictionary.dictionary();
+            boolean[] accepted = new boolean[values.size()];
+            for (int code = 0; code < accepted.length; code++) {
+                for (String value : condition.getValues()) {
+                    accepted[code] |= values.get(code).equalsIgnoreCase(value);
+                }
+                accepted[code] ^= operator == Query.Operator.NOT_EQUAL;
+            }
+            return new CodeFilter(dictionary.codes(), accepted);
+        }
+
+        IntColumn column = intColumn(name);
+        int[] literals = new int[condition.getValues().size()];
+        for (int i = 0; i < literals.length; i++) {
+            literals[i] = parseInt(name, condition.getValues().get(i));
+        }
+        long value = literals[0];
+        switch (operator) {
+            case EQUAL:
+                return new RangeFilter(column.values(), value, value);
+            case LESS:
+                return new RangeFilter(column.values(), Integer.MIN_VALUE + 1L, value - 1);
+            case LESS_OR_EQUAL:
+                return new RangeFilter(column.values(), Integer.MIN_VALUE + 1L, value);
+            case GREATER:
+                return new RangeFilter(column.values(), value + 1, Integer.MAX_VALUE);
+            case GREATER_OR_EQUAL:
+                return new RangeFilter(column.values(), value, Integer.MAX_VALUE);
+            case NOT_EQUAL:
+                return new SetFilter(column.values(), literals, true);
+            default:
+                return new SetFilter(column.values(), literals, false);
+        }
+    }
+
+    private Grouping grouping(String name) {
+        if (name == null) {
+            return new Grouping();
+        }
+        DictionaryColumn dictionary = dataset.getDictionaryColumn(name);
+        if (dictionary != null) {
+            return new DictionaryGrouping(dictionary);
+        }
+        IntColumn column = intColumn(name);
+        return new IntGrouping(column, name.equals(ColumnarDataset.DATE_ADDED));
+    }
+
+    private IntColumn intColumn(String name) {
+        IntColumn column = dataset.getIntColumn(name);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown column: " + name + " (columns: "
+                    + String.join(", ", columnNames()) + ")");
+        }
+        return column;
+    }
+
+    private static int parseInt(String column, String value) {
+        try {
+            if (column.equals(ColumnarDataset.DATE_ADDED)) {
+                return Math.toIntExact(LocalDate.parse(value).toEpochDay());
+            }
+            return Integer.parseInt(value);
+        } catch (DateTimeParseException | NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid value for " + column + ": " + value);
+        }
+    }
+
+    /**
+     * Sorts groups by count, most frequent first, ties by label, and keeps the
+     * first {@code limit}.
+     */
+    private static long[] sortAndLimit(List<String> labels, List<Long> counts, List<String> groups, int limit) {
+        Integer[] order = new Integer[labels.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> counts.get(i)).reversed()
+                .thenComparing(i -> labels.get(i)));
+        int kept = Math.min(order.length, limit);
+        long[] sorted = new long[kept];
+        for (int i = 0; i < kept; i++) {
+            groups.add(labels.get(order[i]));
+            sorted[i] = counts.get(order[i]);
+        }
+        return sorted;
+    }
+
+    /**
+     * A condition bound to a column's backing array.
+     */
+    private abstract static class Filter {
+        /**
+         * Writes the rows of {@code [from, to)} that pass into the selection.
+         *
+         * @return The number of rows written.
+         */
+        abstract int select(int from, int to, int[] selection);
+
+        /**
+         * Keeps the selected rows that pass, compacting them to the front.
+         *
+         * @return The number of rows kept.
+         */
+        abstract int refine(int[] selection, int count);
+    }
+
+    /**
+     * Accepts rows whose dictionary code is marked in a table.
+     */
+    private static class CodeFilter extends Filter {
+        private final int[] codes;
+        private final boolean[] accepted;
+
+        private CodeFilter(int[] codes, boolean[] accepted) {
+            this.codes = codes;
+            this.accepted = accepted;
+        }
+
+        @Override
+        int select(int from, int to, int[] selection) {
+            int count = 0;
+            for (int row = from; row < to; row++) {
+                selection[count] = row;
+                count += accepted[codes[row]] ? 1 : 0;
+            }
+            return count;
+        }
+
+        @Override
+        int refine(int[] selection, int count) {
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                int row = selection[i];
+                selection[kept] = row;
+                kept += accepted[codes[row]] ? 1 : 0;
+            }
+            return kept;
+        }
+    }
+
+    /**
+     * Accepts rows whose int value lies in an inclusive range. The range never
+     * includes {@link IntColumn#MISSING}.
+     */
+    private static class RangeFilter extends Filter {
+        private final int[] values;
+        private final int low;
+        private final int high;
+
+        private RangeFilter(int[] values, long low, long high) {
+            this.values = values;
+            this.low = (int) Math.max(low, Integer.MIN_VALUE + 1L);
+            this.high = (int) Math.min(high, Integer.MAX_VALUE);
+        }
+
+        @Override
+        int select(int from, int to, int[] selection) {
+            int count = 0;
+            for (int row = from; row < to; row++) {
+                int value = values[row];
+                selection[count] = row;
+                count += value >= low & value <= high ? 1 : 0;
+            }
+            return count;
+        }
+
+        @Override
+        int refine(int[] selection, int count) {
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                int row = selection[i];
+                int value = values[row];
+                selection[kept] = row;
+                kept += value >= low & value <= high ? 1 : 0;
+            }
+            return kept;
+        }
+    }
+
+    /**
+     * Accepts rows whose int value is, or with {@code negate} is not, one of a
+     * few values. Rows with a missing value are never accepted.
+     */
+    private static class SetFilter extends Filter {
+        private final int[] values;
+        private final int[] set;
+        private final boolean negate;
+
+        private SetFilter(int[] values, int[] set, boolean negate) {
+            this.values = values;
+            this.set = set.clone();
+            Arrays.sort(this.set);
+            this.negate = negate;
+        }
+
+        private boolean accepts(int value) {
+            return value != IntColumn.MISSING && Arrays.binarySearch(set, value) >= 0 != negate;
+        }
+
+        @Override
+        int select(int from, int to, int[] selection) {
+            int count = 0;
+            for (int row = from; row < to; row++) {
+                selection[count] = row;
+                count += accepts(values[row]) ? 1 : 0;
+            }
+            return count;
+        }
+
+        @Override
+        int refine(int[] selection, int count) {
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                int row = selection[i];
+                selection[kept] = row;
+                kept += accepts(values[row]) ? 1 : 0;
+            }
+            return kept;
+        }
+    }
+
+    /**
+     * Counts selected rows without grouping.
+     */
+    private static class Grouping {
+        void add(int[] selection, int count) {
+        }
+
+        long[] collect(List<String> groups, int limit) {
+            return new long[0];
+        }
+    }
+
+    /**
+     * Counts selected rows per dictionary code.
+     */
+    private static class DictionaryGrouping extends Grouping {
+        private final DictionaryColumn column;
+        private final int[] codes;
+        private final long[] counts;
+
+        private DictionaryGrouping(DictionaryColumn column) {
+            this.column = column;
+            this.codes = column.codes();
+            this.counts = new long[column.dictionary().size()];
+        }
+
+        @Override
+        void add(int[] selection, int count) {
+            for (int i = 0; i < count; i++) {
+                counts[codes[selection[i]]]++;
+            }
+        }
+
+        @Override
+        long[] collect(List<String> groups, int limit) {
+            List<String> labels = new ArrayList<>();
+            List<Long> nonZero = new ArrayList<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    String value = column.dictionary().get(code);
+                    labels.add(value.isEmpty() ? EMPTY_LABEL : value);
+                    nonZero.add(counts[code]);
+                }
+            }
+            return sortAndLimit(labels, nonZero, groups, limit);
+        }
+    }
+
+    /**
+     * Counts selected rows per int value. Values are counted in an array
+     * spanning the column's range when that range is small enough, as it is
+     * for years and dates; otherwise they are collected and sorted.
+     */
+    private static class IntGrouping extends Grouping {
+        private final int[] values;
+        private final boolean dates;
+        private final int min;
+        private final long[] dense;
+        private int[] collected;
+        private int collectedCount;
+        private long missing;
+
+        private IntGrouping(IntColumn column, boolean dates) {
+            this.values = column.values();
+            this.dates = dates;
+            int low = Integer.MAX_VALUE;
+            int high = Integer.MIN_VALUE;
+            for (int row = 0; row < column.size(); row++) {
+                int value = values[row];
+                if (value != IntColumn.MISSING) {
+                    low = Math.min(low, value);
+                    high = Math.max(high, value);
+                }
+            }
+            this.min = low;
+            if (low <= high && (long) high - low < MAX_DENSE_RANGE) {
+                this.dense = new long[high - low + 1];
+            } else {
+                this.dense = null;
+                this.collected = new int[BATCH_ROWS];
+            }
+        }
+
+        @Override
+        void add(int[] selection, int count) {
+            for (int i = 0; i < count; i++) {
+                int value = values[selection[i]];
+                if (value == IntColumn.MISSING) {
+                    missing++;
+                } else if (dense != null) {
+                    dense[value - min]++;
+                } else {
+                    if (collectedCount == collected.length) {
+                        collected = Arrays.copyOf(collected, collectedCount * 2);
+                    }
+                    collected[collectedCount++] = value;
+                }
+            }
+        }
+
+        @Override
+        long[] collect(List<String> groups, int limit) {
+            List<String> labels = new ArrayList<>();
+            List<Long> counts = new ArrayList<>();
+            if (dense != null) {
+                for (int i = 0; i < dense.length; i++) {
+                    if (dense[i] > 0) {
+                        labels.add(label(min + i));
+                        counts.add(dense[i]);
+                    }
+                }
+            } else {
+                Arrays.sort(collected, 0, collectedCount);
+                for (int i = 0; i < collectedCount;) {
+                    int run = i;
+                    while (run < collectedCount && collected[run] == collected[i]) {
+                        run++;
+                    }
+                    labels.add(label(collected[i]));
+                    counts.add((long) (run - i));
+                    i = run;
+                }
+            }
+            if (missing > 0) {
+                labels.add(MISSING_LABEL);
+                counts.add(missing);
+            }
+            return sortAndLimit(labels, counts, groups, limit);
+        }
+
+        private String label(int value) {
+            return dates ? LocalDate.ofEpochDay(value).toString() : Integer.toString(value);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.acs560.HW1_DATA_ANALYZER.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the query language of the {@link QueryRepl}:
+ * <pre>
+ * count [by COLUMN] [where CONDITION (and CONDITION)*] [limit N]
+ *
+ * CONDITION:  COLUMN (= | != | &lt; | &lt;= | &gt; | &gt;=) VALUE
+ *             COLUMN in (VALUE, VALUE, ...)
+ * </pre>
+ * <p>
+ * Keywords are case-insensitive. A value is a bare word such as
+ * {@code TV-MA} or {@code 2015}, or a double-quoted string for values with
+ * spaces, such as {@code "TV Show"}. Whitespace around operators is optional,
+ * so {@code release_year>=2015} and {@code release_year >= 2015} are the same.
+ * Column names are checked when the query runs, not here.
+ * </p>
+ */
+public class QueryParser {
+    private final String text;
+    private final List<String> tokens = new ArrayList<>();
+    private int position;
+
+    private QueryParser(String text) {
+        this.text = text;
+        tokenize();
+    }
+
+    /**
+     * Parses a query.
+     *
+     * @param text The query text.
+     * @return The parsed query.
+     * @throws IllegalArgumentException if the text is not a valid query.
+     */
+    public static Query parse(String text) {
+        return new QueryParser(text).query();
+    }
+
+    private Query query() {
+        expectKeyword("count");
+        String groupBy = null;
+        if (acceptKeyword("by")) {
+            groupBy = word("a column name after 'by'");
+        }
+
+        List<Query.Condition> conditions = new ArrayList<>();
+        if (acceptKeyword("where")) {
+            do {
+                conditions.add(condition());
+            } while (acceptKeyword("and"));
+        }
+
+        int limit = Query.NO_LIMIT;
+        if (acceptKeyword("limit")) {
+            String count = word("a number after 'limit'");
+            try {
+                limit = Integer.parseInt(count);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Limit is not a number: " + count);
+            }
+            if (limit < 1) {
+                throw new IllegalArgumentException("Limit must be positive: " + count);
+            }
+        }
+
+        if (position < tokens.size()) {
+            throw new IllegalArgumentException("Unexpected '" + tokens.get(position) + "' in: " + text);
+        }
+        return new Query(groupBy, conditions, limit);
+    }
+
+    private Query.Condition condition() {
+        String column = word("a column name");
+        String symbol = position < tokens.size() ? tokens.get(position++) : "";
+        Query.Operator operator = Query.Operator.of(symbol);
+        if (operator == null) {
+            throw new IllegalArgumentException("Expected an operator after '" + column + "' but found '" + symbol
+                    + "'");
+        }
+
+        List<String> values = new ArrayList<>();
+        if (operator == Query.Operator.IN) {
+            expect("(");
+            do {
+                values.add(value());
+            } while (accept(","));
+            expect(")");
+        } else {
+            values.add(value());
+        }
+        return new Query.Condition(column, operator, values);
+    }
+
+    private String value() {
+        String token = word("a value");
+        if (token.startsWith("\"")) {
+            return token.substring(1, token.length() - 1);
+        }
+        return token;
+    }
+
+    private String word(String expected) {
+        if (position == tokens.size() || isPunctuation(tokens.get(position))) {
+            throw new IllegalArgumentException("Expected " + expected + " in: " + text);
+        }
+        return tokens.get(position++);
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!acceptKeyword(keyword)) {
+            throw new IllegalArgumentException("Expected '" + keyword + "' in: " + text);
+        }
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String punctuation) {
+        if (!accept(punctuation)) {
+            throw new IllegalArgumentException("Expected '" + punctuation + "' in: " + text);
+        }
+    }
+
+    private boolean accept(String punctuation) {
+        if (position < tokens.size() && tokens.get(position).equals(punctuation)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isPunctuation(String token) {
+        return token.equals("(") || token.equals(")") || token.equals(",") || Query.Operator.of(token) != null
+                && !token.equalsIgnoreCase("in");
+    }
+
+    /**
+     * Splits the text into words, quoted strings, operators and punctuation.
+     * Quoted strings keep their quotes so they are never taken for keywords.
+     */
+    private void tokenize() {
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"') {
+                int end = text.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated quote in: " + text);
+                }
+                tokens.add(text.substring(i, end + 1));
+                i = end + 1;
+            } else if (c == '(' || c == ')' || c == ',') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if (c == '=' || c == '!' || c == '<' || c == '>') {
+                int end = i + 1;
+                if (end < text.length() && text.charAt(end) == '=') {
+                    end++;
+                }
+                tokens.add(text.substring(i, end));
+                i = end;
+            } else {
+                int end = i;
+                while (end < text.length() && !Character.isWhitespace(text.charAt(end))
+                        && "\"(),=!<>".indexOf(text.charAt(end)) < 0) {
+                    end++;
+                }
+                tokens.add(text.substring(i, end));
+                i = end;
+            }
+        }
+    }
+}
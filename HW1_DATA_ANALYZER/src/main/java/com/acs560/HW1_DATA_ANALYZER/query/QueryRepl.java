@@ -0,0 +1,150 @@
+package com.acs560.HW1_DATA_ANALYZER.query;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Scanner;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.analysis.DatasetCache;
+import com.acs560.HW1_DATA_ANALYZER.columnar.ColumnarDataset;
+
+/**
+ * Interactive query mode: reads one query per line, runs it with a
+ * {@link QueryEngine} and prints the counts in the layout of the report files.
+ * <p>
+ * Besides queries, {@code columns} lists the queryable columns, {@code help}
+ * shows the syntax and {@code exit} or {@code quit} ends the session, as does
+ * the end of the input. A query that cannot be parsed or run prints an error
+ * and the session goes on.
+ * </p>
+ */
+public class QueryRepl {
+    /**
+     * Printed before reading each line of input.
+     */
+    public static final String PROMPT = "query> ";
+
+    private static final String INTRO = "Enter a query such as: count by rating where type=Movie and"
+            + " release_year>=2015\nType 'help' for the syntax or 'exit' to return.";
+    private static final String HELP = """
+            count [by COLUMN] [where CONDITION and CONDITION ...] [limit N]
+              CONDITION: COLUMN = VALUE, !=, <, <=, >, >= or COLUMN in (VALUE, VALUE, ...)
+              Quote values with spaces: type="TV Show". Text matches ignore case and the
+              whole field. Dates in date_added are written as yyyy-MM-dd.
+            columns  lists the columns; exit  ends the session.""";
+    private static final String RULE = "==============================";
+
+    private final ColumnarDataset dataset;
+    private final QueryEngine engine;
+
+    /**
+     * Constructor
+     *
+     * @param dataset The columns to query.
+     */
+    public QueryRepl(ColumnarDataset dataset) {
+        this.dataset = dataset;
+        this.engine = new QueryEngine(dataset);
+    }
+
+    /**
+     * Reads and answers queries until {@code exit} or the end of the input.
+     *
+     * @param in  The source of query lines.
+     * @param out Where prompts, results and errors are printed.
+     */
+    public void run(Scanner in, PrintStream out) {
+        out.println(INTRO);
+        while (true) {
+            out.print(PROMPT);
+            if (!in.hasNextLine()) {
+                out.println();
+                return;
+            }
+            String line = in.nextLine().strip();
+            if (line.equalsIgnoreCase("exit") || line.equalsIgnoreCase("quit")) {
+                return;
+            }
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.equalsIgnoreCase("help")) {
+                out.println(HELP);
+            } else if (line.equalsIgnoreCase("columns")) {
+                printColumns(out);
+            } else {
+                try {
+                    print(engine.execute(line), out);
+                } catch (IllegalArgumentException e) {
+                    out.println("Error: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Prints a result as a two-column table followed by the number of matching
+     * rows and the time taken.
+     *
+     * @param result The result of a query.
+     * @param out    Where to print it.
+     */
+    static void print(QueryResult result, PrintStream out) {
+        if (result.getGroupBy() == null) {
+            out.println("Count");
+            out.println(RULE);
+            out.println(result.getMatchedRows());
+        } else {
+            out.println(String.format("%-25s %s", result.getGroupBy(), "Count"));
+            out.println(RULE);
+            for (int i = 0; i < result.getGroups().size(); i++) {
+                out.println(String.format("%-25s %d", result.getGroups().get(i), result.getCount(i)));
+            }
+        }
+        out.println(String.format("%d of %d rows matched in %.3f ms", result.getMatchedRows(),
+                result.getTotalRows(), result.getElapsedNanos() / 1_000_000.0));
+    }
+
+    private void printColumns(PrintStream out) {
+        out.println(String.format("%-25s %-10s %s", "Column", "Kind", "Distinct"));
+        out.println(RULE);
+        dataset.getDictionaryColumns().forEach((name, column) -> out
+                .println(String.format("%-25s %-10s %d", name, "text", column.dictionary().size())));
+        dataset.getIntColumns().forEach((name, column) -> out.println(
+                String.format("%-25s %s", name, name.equals(ColumnarDataset.DATE_ADDED) ? "date" : "int")));
+    }
+
+    /**
+     * Loads a CSV file's columns and starts a session on standard input.
+     *
+     * @param args Optional path to the CSV file, defaulting to
+     *             {@link Application#FILE_NAME}, then optionally a query to
+     *             run once instead of starting a session.
+     */
+    public static void run(String[] args) {
+        String file = args.length > 0 ? args[0] : Application.FILE_NAME;
+        try {
+            QueryRepl repl = new QueryRepl(new DatasetCache().getColumnar(file));
+            if (args.length > 1) {
+                print(repl.engine.execute(String.join(" ", Arrays.copyOfRange(args, 1, args.length))),
+                        System.out);
+            } else {
+                repl.run(new Scanner(System.in), System.out);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts a query session; see {@link #run(String[])}.
+     *
+     * @param args Optional CSV file and query.
+     */
+    public static void main(String[] args) {
+        run(args);
+    }
+}
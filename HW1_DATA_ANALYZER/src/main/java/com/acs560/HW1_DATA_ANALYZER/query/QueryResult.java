@@ -0,0 +1,89 @@
+package com.acs560.HW1_DATA_ANALYZER.query;
+
+import java.util.List;
+
+/**
+ * The outcome of a {@link Query}: row counts per group, most frequent first,
+ * along with the total number of matching rows and how long the query took.
+ */
+public class QueryResult {
+    private final String groupBy;
+    private final List<String> groups;
+    private final long[] counts;
+    private final long matchedRows;
+    private final long totalRows;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor
+     *
+     * @param groupBy      The column grouped by, or null for a plain count.
+     * @param groups       The group labels, in the order of {@code counts}.
+     * @param counts       The matching rows in each group.
+     * @param matchedRows  The rows that satisfied every condition.
+     * @param totalRows    The rows in the dataset.
+     * @param elapsedNanos How long filtering and counting took.
+     */
+    public QueryResult(String groupBy, List<String> groups, long[] counts, long matchedRows, long totalRows,
+            long elapsedNanos) {
+        this.groupBy = groupBy;
+        this.groups = List.copyOf(groups);
+        this.counts = counts;
+        this.matchedRows = matchedRows;
+        this.totalRows = totalRows;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return The column grouped by, or null for a plain count.
+     */
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    /**
+     * @return The group labels, most frequent first. Empty for a plain count.
+     */
+    public List<String> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @param index The position of a group in {@link #getGroups()}.
+     * @return The matching rows in the group.
+     */
+    public long getCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * @param group A group label.
+     * @return The matching rows in the group, 0 if it is not listed.
+     */
+    public long getCount(String group) {
+        int index = groups.indexOf(group);
+        return index < 0 ? 0 : counts[index];
+    }
+
+    /**
+     * @return The rows that satisfied every condition, in all groups including
+     *         any cut off by the limit.
+     */
+    public long getMatchedRows() {
+        return matchedRows;
+    }
+
+    /**
+     * @return The rows in the dataset.
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    /**
+     * @return How long filtering and counting took.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,222 @@
+package com.acs560.HW1_DATA_ANALYZER.reports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.Phase;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.PhaseRecorder;
+
+/**
+ * Buffered UTF-8 text output to a file channel.
+ * <p>
+ * Characters and numbers are encoded straight into a byte buffer, so writing
+ * a number does not create a {@code String}. When the buffer fills up it is
+ * written to the channel; with an executor, the write runs on the executor
+ * while the caller keeps filling a second buffer, so producing and writing a
+ * large report overlap.
+ * </p>
+ */
+class ChannelOutput implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final long[] POWERS_OF_TEN = { 1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000,
+            100_000_000, 1_000_000_000 };
+    private static final double MAX_FIXED_POINT = 1e15;
+
+    private final FileChannel channel;
+    private final Executor executor;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private ByteBuffer spare;
+    private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+    private final byte[] digits = new byte[20];
+    private long charCount;
+
+    /**
+     * Constructor
+     *
+     * @param file     The file to write, replacing any existing content.
+     * @param executor Runs the channel writes, or null to write on the calling thread.
+     * @throws IOException if the file cannot be opened.
+     */
+    ChannelOutput(Path file, Executor executor) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.executor = executor;
+    }
+
+    /**
+     * @return The number of characters written so far, for padding columns.
+     */
+    long charCount() {
+        return charCount;
+    }
+
+    ChannelOutput write(char c) throws IOException {
+        ensure(3);
+        charCount++;
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+        } else {
+            buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+        }
+        return this;
+    }
+
+    ChannelOutput write(CharSequence text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(c, text.charAt(++i)));
+            } else {
+                write(c);
+            }
+        }
+        return this;
+    }
+
+    ChannelOutput write(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            return write(Long.toString(value));
+        }
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+
+        ensure(count);
+        charCount += count;
+        while (count > 0) {
+            buffer.put(digits[--count]);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a number with a fixed number of decimals, rounding half up like
+     * {@code String.format("%.2f")}. The formatter rounds the shortest decimal
+     * form of the double, so 1.005 becomes 1.01 even though the double is
+     * slightly below it; a remainder within two ulps of one half is rounded up
+     * here to give the same result.
+     */
+    ChannelOutput write(double value, int decimals) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= MAX_FIXED_POINT
+                || decimals >= POWERS_OF_TEN.length) {
+            return write(String.format(Locale.ROOT, "%." + decimals + "f", value));
+        }
+        long scale = POWERS_OF_TEN[decimals];
+        double shifted = Math.abs(value) * scale;
+        long scaled = (long) shifted;
+        if (shifted - scaled + 2 * Math.ulp(shifted) >= 0.5) {
+            scaled++;
+        }
+        if (Double.doubleToRawLongBits(value) < 0) {
+            write('-');
+        }
+        write(scaled / scale);
+        if (decimals > 0) {
+            write('.');
+            long fraction = scaled % scale;
+            for (long power = scale / 10; power > fraction && power > 1; power /= 10) {
+                write('0');
+            }
+            write(fraction);
+        }
+        return this;
+    }
+
+    ChannelOutput pad(long count) throws IOException {
+        for (long i = 0; i < count; i++) {
+            write(' ');
+        }
+        return this;
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        ensure(4);
+        charCount += 2;
+        buffer.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Hands the buffered bytes to the channel. With an executor, the previous
+     * asynchronous write is awaited first so at most one is in flight.
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        if (executor == null) {
+            writeFully(buffer);
+            buffer.clear();
+            return;
+        }
+
+        awaitPending();
+        ByteBuffer full = buffer;
+        pending = CompletableFuture.runAsync(() -> {
+            try {
+                writeFully(full);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+        buffer = spare != null ? spare : ByteBuffer.allocate(BUFFER_BYTES);
+        buffer.clear();
+        spare = full;
+    }
+
+    private void awaitPending() throws IOException {
+        try {
+            pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        PhaseRecorder recorder = PhaseRecorder.get();
+        int length = bytes.remaining();
+        recorder.enter(Phase.WRITE);
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } finally {
+            recorder.exit(0, length - bytes.remaining());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            awaitPending();
+        } finally {
+            channel.close();
+        }
+    }
+}
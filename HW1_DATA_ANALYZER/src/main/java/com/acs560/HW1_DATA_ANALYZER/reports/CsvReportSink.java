@@ -0,0 +1,77 @@
+package com.acs560.HW1_DATA_ANALYZER.reports;
+
+import java.io.IOException;
+
+/**
+ * Writes reports as CSV. Each section starts with a header row of
+ * {@code report} followed by its column names, and every row starts with the
+ * section title, so all sections can be loaded into one table. Text cells are
+ * quoted only when they contain a separator, quote or line break.
+ */
+class CsvReportSink implements ReportSink {
+    private final ChannelOutput output;
+    private String title = "";
+    private boolean rowStarted;
+
+    CsvReportSink(ChannelOutput output) {
+        this.output = output;
+    }
+
+    @Override
+    public ReportSink beginSection(String title, String... columns) throws IOException {
+        if (title != null) {
+            this.title = title;
+        }
+        writeText("report");
+        for (String name : columns) {
+            output.write(',');
+            writeText(name);
+        }
+        output.write('\n');
+        return this;
+    }
+
+    @Override
+    public ReportSink cell(CharSequence value) throws IOException {
+        startCell();
+        writeText(value);
+        return this;
+    }
+
+    @Override
+    public ReportSink cell(long value) throws IOException {
+        startCell();
+        output.write(value);
+        return this;
+    }
+
+    @Override
+    public ReportSink cell(double value, int decimals) throws IOException {
+        startCell();
+        output.write(value, decimals);
+        return this;
+    }
+
+    private void startCell() throws IOException {
+        if (!rowStarted) {
+            writeText(title);
+            rowStarted = true;
+        }
+        output.write(',');
+    }
+
+    private void writeText(CharSequence value) throws IOException {
+        CsvTableWriter.writeText(output, value);
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        output.write('\n');
+        rowStarted = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
@@ -0,0 +1,123 @@
+package com.acs560.HW1_DATA_ANALYZER.reports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+/**
+ * Writes a plain RFC 4180 CSV table: one header row, then data rows, with no
+ * report or section columns, so the file can be bulk-loaded into a database
+ * table as it is. Output goes through the same buffered channel as the report
+ * sinks, so numbers are encoded without creating strings and, with an
+ * executor, file writes overlap with producing the next rows.
+ */
+public class CsvTableWriter implements Closeable {
+    private final ChannelOutput output;
+    private boolean rowStarted;
+
+    private CsvTableWriter(ChannelOutput output) {
+        this.output = output;
+    }
+
+    /**
+     * Opens a table and writes its header row.
+     *
+     * @param file     The file to write, replacing any existing content.
+     * @param executor Runs the file writes in the background, or null to write
+     *                 on the calling thread.
+     * @param columns  The column names.
+     * @return The writer; close it to finish the file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public static CsvTableWriter open(Path file, Executor executor, String... columns) throws IOException {
+        CsvTableWriter writer = new CsvTableWriter(new ChannelOutput(file, executor));
+        for (String column : columns) {
+            writer.cell(column);
+        }
+        writer.endRow();
+        return writer;
+    }
+
+    /**
+     * @param value The next cell, as text; null writes an empty cell.
+     * @return This writer, for chaining.
+     * @throws IOException if the output cannot be written.
+     */
+    public CsvTableWriter cell(CharSequence value) throws IOException {
+        startCell();
+        if (value != null) {
+            writeText(output, value);
+        }
+        return this;
+    }
+
+    /**
+     * @param value The next cell, as a number.
+     * @return This writer, for chaining.
+     * @throws IOException if the output cannot be written.
+     */
+    public CsvTableWriter cell(long value) throws IOException {
+        startCell();
+        output.write(value);
+        return this;
+    }
+
+    /**
+     * Writes an empty cell, for a missing value.
+     *
+     * @return This writer, for chaining.
+     * @throws IOException if the output cannot be written.
+     */
+    public CsvTableWriter emptyCell() throws IOException {
+        startCell();
+        return this;
+    }
+
+    /**
+     * Ends the current row.
+     *
+     * @throws IOException if the output cannot be written.
+     */
+    public void endRow() throws IOException {
+        output.write('\n');
+        rowStarted = false;
+    }
+
+    private void startCell() throws IOException {
+        if (rowStarted) {
+            output.write(',');
+        }
+        rowStarted = true;
+    }
+
+    /**
+     * Writes a text field, quoting it only when it contains a separator,
+     * quote or line break, and doubling any quotes inside it.
+     */
+    static void writeText(ChannelOutput output, CharSequence value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            output.write(value);
+            return;
+        }
+        output.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                output.write('"');
+            }
+            output.write(c);
+        }
+        output.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
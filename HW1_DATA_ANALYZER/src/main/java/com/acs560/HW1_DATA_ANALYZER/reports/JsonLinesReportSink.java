@@ -0,0 +1,109 @@
+package com.acs560.HW1_DATA_ANALYZER.reports;
+
+import java.io.IOException;
+
+/**
+ * Writes reports as JSON lines: one object per row, holding the section title
+ * under {@code "report"} and each cell under its column name. Numbers are
+ * written as JSON numbers, text as JSON strings.
+ */
+class JsonLinesReportSink implements ReportSink {
+    private final ChannelOutput output;
+    private String title = "";
+    private String[] columns = new String[0];
+    private int column;
+
+    JsonLinesReportSink(ChannelOutput output) {
+        this.output = output;
+    }
+
+    @Override
+    public ReportSink beginSection(String title, String... columns) throws IOException {
+        if (title != null) {
+            this.title = title;
+        }
+        this.columns = columns;
+        return this;
+    }
+
+    @Override
+    public ReportSink cell(CharSequence value) throws IOException {
+        startCell();
+        writeString(value);
+        return this;
+    }
+
+    @Override
+    public ReportSink cell(long value) throws IOException {
+        startCell();
+        output.write(value);
+        return this;
+    }
+
+    @Override
+    public ReportSink cell(double value, int decimals) throws IOException {
+        startCell();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            output.write("null");
+        } else {
+            output.write(value, decimals);
+        }
+        return this;
+    }
+
+    private void startCell() throws IOException {
+        if (column == 0) {
+            output.write("{\"report\": ");
+            writeString(title);
+        }
+        output.write(", ");
+        writeString(column < columns.length ? columns[column] : "column" + (column + 1));
+        output.write(": ");
+        column++;
+    }
+
+    private void writeString(CharSequence value) throws IOException {
+        output.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    output.write("\\\"");
+                    break;
+                case '\\':
+                    output.write("\\\\");
+                    break;
+                case '\n':
+                    output.write("\\n");
+                    break;
+                case '\r':
+                    output.write("\\r");
+                    break;
+                case '\t':
+                    output.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        output.write("\\u00").write(Character.forDigit(c >> 4, 16))
+                                .write(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        output.write(c);
+                    }
+            }
+        }
+        output.write('"');
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        if (column > 0) {
+            output.write("}\n");
+        }
+        column = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
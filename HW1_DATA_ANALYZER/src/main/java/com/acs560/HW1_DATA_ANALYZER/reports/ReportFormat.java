@@ -0,0 +1,93 @@
+package com.acs560.HW1_DATA_ANALYZER.reports;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.Phase;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.PhaseRecorder;
+
+/**
+ * The file formats a report can be written in.
+ */
+public enum ReportFormat {
+    /**
+     * Aligned columns under a {@code === Title ===} banner, as shown by the menu.
+     */
+    TEXT("txt"),
+
+    /**
+     * RFC 4180 CSV with a {@code report} column holding the section title.
+     */
+    CSV("csv"),
+
+    /**
+     * One JSON object per row, keyed by column name, with a {@code report} key.
+     */
+    JSON_LINES("jsonl");
+
+    private final String extension;
+
+    ReportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * @return The file extension for this format, without the dot.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Replaces the extension of a file name with this format's extension.
+     *
+     * @param fileName A file name such as {@code "report.txt"}.
+     * @return The file name with this format's extension.
+     */
+    public String fileName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return (dot < 0 ? fileName : fileName.substring(0, dot)) + "." + extension;
+    }
+
+    /**
+     * Opens a sink that writes a new file in this format.
+     *
+     * @param file     The file to write, replacing any existing content.
+     * @param executor Runs the file writes in the background, or null to write
+     *                 on the calling thread.
+     * @return The sink; close it to finish the file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public ReportSink open(Path file, Executor executor) throws IOException {
+        ChannelOutput output = new ChannelOutput(file, executor);
+        switch (this) {
+            case CSV:
+                return new CsvReportSink(output);
+            case JSON_LINES:
+                return new JsonLinesReportSink(output);
+            default:
+                return new TextReportSink(output);
+        }
+    }
+
+    /**
+     * Writes a whole report to a new file in this format. The time spent
+     * producing it is charged to {@link Phase#RENDER}, apart from the file
+     * writes made on the calling thread.
+     *
+     * @param file     The file to write, replacing any existing content.
+     * @param executor Runs the file writes in the background, or null.
+     * @param content  Writes the report's sections and rows.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path file, Executor executor, ReportSink.Content content) throws IOException {
+        PhaseRecorder recorder = PhaseRecorder.get();
+        recorder.enter(Phase.RENDER);
+        try (ReportSink sink = open(file, executor)) {
+            content.writeTo(sink);
+        } finally {
+            recorder.exit(0, 0);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.acs560.HW1_DATA_ANALYZER.reports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination for report rows, streamed one cell at a time.
+ * <p>
+ * A report is made of sections, each with a title and column names, followed
+ * by rows. Cells are written in column order and a row is completed with
+ * {@link #endRow()}. Nothing is held per row, so a report can have any number
+ * of rows. How sections and rows are laid out depends on the
+ * {@link ReportFormat}.
+ * </p>
+ */
+public interface ReportSink extends Closeable {
+
+    /**
+     * Starts a new section of the report.
+     *
+     * @param title   The section title, or null to continue under the
+     *                previous title with new columns.
+     * @param columns The column names.
+     * @return This sink, for chaining.
+     * @throws IOException if the output cannot be written.
+     */
+    ReportSink beginSection(String title, String... columns) throws IOException;
+
+    /**
+     * @param value The next cell, as text.
+     * @return This sink, for chaining.
+     * @throws IOException if the output cannot be written.
+     */
+    ReportSink cell(CharSequence value) throws IOException;
+
+    /**
+     * @param value The next cell, as a whole number.
+     * @return This sink, for chaining.
+     * @throws IOException if the output cannot be written.
+     */
+    ReportSink cell(long value) throws IOException;
+
+    /**
+     * @param value    The next cell, as a decimal number.
+     * @param decimals The number of digits after the decimal point.
+     * @return This sink, for chaining.
+     * @throws IOException if the output cannot be written.
+     */
+    ReportSink cell(double value, int decimals) throws IOException;
+
+    /**
+     * Completes the current row.
+     *
+     * @throws IOException if the output cannot be written.
+     */
+    void endRow() throws IOException;
+
+    /**
+     * Writes the contents of a report to a sink.
+     */
+    @FunctionalInterface
+    interface Content {
+        /**
+         * @param sink The sink to write to.
+         * @throws IOException if the output cannot be written.
+         */
+        void writeTo(ReportSink sink) throws IOException;
+    }
+}
@@ -0,0 +1,90 @@
+package com.acs560.HW1_DATA_ANALYZER.reports;
+
+import java.io.IOException;
+
+/**
+ * Writes reports in the aligned text layout of the menu's report files:
+ * <pre>
+ * === Title ===
+ * Column                    Column     Column
+ * ==============================
+ * value                     value      value
+ * </pre>
+ * The first column is padded to {@value #KEY_WIDTH} characters and the other
+ * columns but the last to {@value #VALUE_WIDTH}.
+ */
+class TextReportSink implements ReportSink {
+    static final int KEY_WIDTH = 25;
+    static final int VALUE_WIDTH = 10;
+    private static final String RULE = "==============================";
+
+    private final ChannelOutput output;
+    private boolean firstSection = true;
+    private int column;
+    private long cellStart;
+
+    TextReportSink(ChannelOutput output) {
+        this.output = output;
+    }
+
+    @Override
+    public ReportSink beginSection(String title, String... columns) throws IOException {
+        if (!firstSection) {
+            output.write('\n');
+        }
+        firstSection = false;
+        if (title != null) {
+            output.write("=== ").write(title).write(" ===\n");
+        }
+        for (String name : columns) {
+            cell(name);
+        }
+        endRow();
+        output.write(RULE).write('\n');
+        return this;
+    }
+
+    @Override
+    public ReportSink cell(CharSequence value) throws IOException {
+        nextCell();
+        output.write(value);
+        return this;
+    }
+
+    @Override
+    public ReportSink cell(long value) throws IOException {
+        nextCell();
+        output.write(value);
+        return this;
+    }
+
+    @Override
+    public ReportSink cell(double value, int decimals) throws IOException {
+        nextCell();
+        output.write(value, decimals);
+        return this;
+    }
+
+    /**
+     * Pads the previous cell to its column width and separates it from the next.
+     */
+    private void nextCell() throws IOException {
+        if (column > 0) {
+            int width = column == 1 ? KEY_WIDTH : VALUE_WIDTH;
+            output.pad(width - (output.charCount() - cellStart)).write(' ');
+        }
+        cellStart = output.charCount();
+        column++;
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        output.write('\n');
+        column = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
@@ -0,0 +1,233 @@
+package com.acs560.HW1_DATA_ANALYZER.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.acs560.HW1_DATA_ANALYZER.analysis.FileFingerprint;
+import com.acs560.HW1_DATA_ANALYZER.analysis.Varints;
+
+/**
+ * Inverted index from the terms of the {@code description} column to the rows
+ * whose description contains them.
+ * <p>
+ * Terms are kept in a sorted array and found by binary search. The rows of
+ * each term, its postings, are stored in ascending order as the gaps between
+ * consecutive rows, each gap written as a variable-length integer by
+ * {@link Varints} and decoded here in place. Gaps in a list of common words
+ * are small, so most take one byte, and the postings of all terms share one
+ * byte array. A query decodes only the postings of its own terms.
+ * </p>
+ * <p>
+ * Rows are numbered from 0 in file order, skipping the header. The show id and
+ * title of every row are kept with the index so that matches can be shown
+ * without going back to the CSV.
+ * </p>
+ */
+public class DescriptionIndex {
+    private final FileFingerprint source;
+    private final String[] showIds;
+    private final String[] titles;
+    private final String[] terms;
+    private final int[] documentFrequencies;
+    private final int[] offsets;
+    private final byte[] postings;
+
+    /**
+     * Constructor
+     *
+     * @param source              Fingerprint of the CSV file the index was built from.
+     * @param showIds             The show id of each row.
+     * @param titles              The title of each row.
+     * @param terms               The distinct terms, sorted.
+     * @param documentFrequencies The number of rows containing each term.
+     * @param offsets             Where each term's postings start in {@code postings},
+     *                            plus the end of the last term's.
+     * @param postings            The delta-encoded postings of all terms.
+     */
+    public DescriptionIndex(FileFingerprint source, String[] showIds, String[] titles, String[] terms,
+            int[] documentFrequencies, int[] offsets, byte[] postings) {
+        this.source = source;
+        this.showIds = showIds;
+        this.titles = titles;
+        this.terms = terms;
+        this.documentFrequencies = documentFrequencies;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    /**
+     * Finds the rows matching a keyword query. Terms separated by spaces must
+     * all occur ({@code AND} may also be written out); {@code OR} separates
+     * alternatives and binds looser, so {@code space alien OR robot} finds
+     * descriptions with both space and alien, or with robot. A word that the
+     * tokenizer splits, such as {@code sci-fi}, requires all of its parts.
+     *
+     * @param query The query.
+     * @return The matching rows, ascending.
+     */
+    public int[] search(String query) {
+        int[] result = new int[0];
+        for (List<String> clause : parse(query)) {
+            result = union(result, intersect(clause));
+        }
+        return result;
+    }
+
+    /**
+     * @param term A term, already lowercased.
+     * @return The rows whose description contains the term, ascending.
+     */
+    public int[] postings(String term) {
+        int index = Arrays.binarySearch(terms, term);
+        if (index < 0) {
+            return new int[0];
+        }
+        int[] rows = new int[documentFrequencies[index]];
+        int position = offsets[index];
+        int row = 0;
+        for (int i = 0; i < rows.length; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = postings[position++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            row += gap;
+            rows[i] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * @param term A term, already lowercased.
+     * @return The number of rows whose description contains the term.
+     */
+    public int documentFrequency(String term) {
+        int index = Arrays.binarySearch(terms, term);
+        return index < 0 ? 0 : documentFrequencies[index];
+    }
+
+    /**
+     * Splits a query into OR clauses of AND-ed terms.
+     */
+    private static List<List<String>> parse(String query) {
+        List<List<String>> clauses = new ArrayList<>();
+        List<String> clause = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            if (word.equals("OR")) {
+                if (!clause.isEmpty()) {
+                    clauses.add(clause);
+                }
+                clause = new ArrayList<>();
+            } else if (!word.equals("AND")) {
+                TermTokenizer.forEach(word, clause::add);
+            }
+        }
+        if (!clause.isEmpty()) {
+            clauses.add(clause);
+        }
+        return clauses;
+    }
+
+    /**
+     * Intersects the postings of several terms, rarest first so that the
+     * running result is as short as it can be.
+     */
+    private int[] intersect(List<String> clause) {
+        List<String> byFrequency = new ArrayList<>(clause);
+        byFrequency.sort(Comparator.comparingInt(this::documentFrequency));
+        int[] result = postings(byFrequency.get(0));
+        for (int i = 1; i < byFrequency.size() && result.length > 0; i++) {
+            int[] next = postings(byFrequency.get(i));
+            int count = 0;
+            for (int a = 0, b = 0; a < result.length && b < next.length;) {
+                if (result[a] < next[b]) {
+                    a++;
+                } else if (result[a] > next[b]) {
+                    b++;
+                } else {
+                    result[count++] = result[a];
+                    a++;
+                    b++;
+                }
+            }
+            result = Arrays.copyOf(result, count);
+        }
+        return result;
+    }
+
+    private static int[] union(int[] first, int[] second) {
+        int[] merged = new int[first.length + second.length];
+        int count = 0;
+        int a = 0;
+        int b = 0;
+        while (a < first.length || b < second.length) {
+            if (b == second.length || a < first.length && first[a] < second[b]) {
+                merged[count++] = first[a++];
+            } else if (a == first.length || second[b] < first[a]) {
+                merged[count++] = second[b++];
+            } else {
+                merged[count++] = first[a++];
+                b++;
+            }
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    /**
+     * @return Fingerprint of the CSV file the index was built from.
+     */
+    public FileFingerprint getSource() {
+        return source;
+    }
+
+    /**
+     * @return The number of indexed rows.
+     */
+    public int getDocumentCount() {
+        return showIds.length;
+    }
+
+    /**
+     * @return The number of distinct terms.
+     */
+    public int getTermCount() {
+        return terms.length;
+    }
+
+    /**
+     * @param row A row number.
+     * @return The row's show id.
+     */
+    public String getShowId(int row) {
+        return showIds[row];
+    }
+
+    /**
+     * @param row A row number.
+     * @return The row's title.
+     */
+    public String getTitle(int row) {
+        return titles[row];
+    }
+
+    String[] terms() {
+        return terms;
+    }
+
+    int[] documentFrequencies() {
+        return documentFrequencies;
+    }
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    byte[] postingBytes() {
+        return postings;
+    }
+}
@@ -0,0 +1,202 @@
+package com.acs560.HW1_DATA_ANALYZER.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.acs560.HW1_DATA_ANALYZER.analysis.FileFingerprint;
+import com.acs560.HW1_DATA_ANALYZER.analysis.Varints;
+import com.acs560.HW1_DATA_ANALYZER.parsers.CsvTokenizer;
+import com.acs560.HW1_DATA_ANALYZER.parsers.RecordSplitter;
+
+/**
+ * Builds a {@link DescriptionIndex} from a Netflix CSV file in parallel.
+ * <p>
+ * The file is cut into record-aligned ranges by {@link RecordSplitter}, a few
+ * per worker thread. Each range is tokenized in place on the pool and indexed
+ * on its own, numbering its rows from 0; because every description is
+ * tokenized by exactly one task, no locking is needed. The partial indexes
+ * are then merged in range order: a range's rows are shifted by the number of
+ * rows before it, so each term's postings come out ascending and are
+ * delta-encoded as they are appended.
+ * </p>
+ */
+public class DescriptionIndexBuilder {
+    static final int SHOW_ID_COLUMN = 0;
+    static final int TITLE_COLUMN = 2;
+    static final int DESCRIPTION_COLUMN = 11;
+
+    private static final int RANGES_PER_THREAD = 4;
+    private static final long MIN_RANGE_BYTES = 256 * 1024;
+
+    private DescriptionIndexBuilder() {
+    }
+
+    /**
+     * Builds the index of a CSV file on the common fork/join pool.
+     *
+     * @param csv The CSV file to index.
+     * @return The index, fingerprinted with the CSV it was built from.
+     * @throws IOException if the file cannot be read.
+     */
+    public static DescriptionIndex build(Path csv) throws IOException {
+        return build(csv, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds the index of a CSV file on the given pool.
+     *
+     * @param csv  The CSV file to index.
+     * @param pool The pool on which ranges are tokenized.
+     * @return The index, fingerprinted with the CSV it was built from.
+     * @throws IOException if the file cannot be read.
+     */
+    public static DescriptionIndex build(Path csv, ForkJoinPool pool) throws IOException {
+        FileFingerprint source = FileFingerprint.of(csv);
+        List<RangeIndex> ranges = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            int rangeCount = RecordSplitter.rangeCount(channel.size(), MIN_RANGE_BYTES,
+                    pool.getParallelism() * RANGES_PER_THREAD);
+            long[] boundaries = RecordSplitter.split(channel, rangeCount, pool);
+
+            List<ForkJoinTask<RangeIndex>> tasks = new ArrayList<>();
+            for (int i = 0; i < rangeCount; i++) {
+                long start = boundaries[i];
+                long end = boundaries[i + 1];
+                tasks.add(pool.submit(() -> indexRange(channel, start, end)));
+            }
+            for (ForkJoinTask<RangeIndex> task : tasks) {
+                ranges.add(task.join());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return merge(source, ranges);
+    }
+
+    /**
+     * Tokenizes the descriptions of one record-aligned range. The first range
+     * also holds the header row, which is skipped.
+     */
+    private static RangeIndex indexRange(FileChannel channel, long start, long end) {
+        RangeIndex index = new RangeIndex();
+        if (start == end) {
+            return index;
+        }
+        CsvTokenizer record;
+        try {
+            record = new CsvTokenizer(RecordSplitter.map(channel, start, end), SHOW_ID_COLUMN, TITLE_COLUMN,
+                    DESCRIPTION_COLUMN);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (start == 0) {
+            record.next();
+        }
+        while (record.next()) {
+            index.add(record.decode(SHOW_ID_COLUMN), record.decode(TITLE_COLUMN),
+                    record.chars(DESCRIPTION_COLUMN));
+        }
+        return index;
+    }
+
+    /**
+     * Combines the range indexes, in file order, into one index with sorted
+     * terms and delta-encoded postings.
+     */
+    private static DescriptionIndex merge(FileFingerprint source, List<RangeIndex> ranges) throws IOException {
+        int documentCount = 0;
+        Set<String> distinct = new HashSet<>();
+        for (RangeIndex range : ranges) {
+            documentCount += range.showIds.size();
+            distinct.addAll(range.postings.keySet());
+        }
+
+        String[] showIds = new String[documentCount];
+        String[] titles = new String[documentCount];
+        int[] firstRows = new int[ranges.size()];
+        int row = 0;
+        for (int i = 0; i < ranges.size(); i++) {
+            RangeIndex range = ranges.get(i);
+            firstRows[i] = row;
+            for (int j = 0; j < range.showIds.size(); j++, row++) {
+                showIds[row] = range.showIds.get(j);
+                titles[row] = range.titles.get(j);
+            }
+        }
+
+        String[] terms = distinct.toArray(new String[0]);
+        Arrays.sort(terms);
+        int[] documentFrequencies = new int[terms.length];
+        int[] offsets = new int[terms.length + 1];
+        ByteArrayOutputStream postings = new ByteArrayOutputStream(1 << 16);
+        DataOutputStream writer = new DataOutputStream(postings);
+        for (int t = 0; t < terms.length; t++) {
+            offsets[t] = writer.size();
+            int previous = 0;
+            for (int i = 0; i < ranges.size(); i++) {
+                RowList rows = ranges.get(i).postings.get(terms[t]);
+                if (rows == null) {
+                    continue;
+                }
+                for (int j = 0; j < rows.size; j++) {
+                    int current = firstRows[i] + rows.rows[j];
+                    Varints.writeUnsigned(writer, current - previous);
+                    previous = current;
+                }
+                documentFrequencies[t] += rows.size;
+            }
+        }
+        offsets[terms.length] = writer.size();
+        return new DescriptionIndex(source, showIds, titles, terms, documentFrequencies, offsets,
+                postings.toByteArray());
+    }
+
+    /**
+     * The index of one range, with rows numbered from the start of the range.
+     */
+    private static class RangeIndex {
+        private final List<String> showIds = new ArrayList<>();
+        private final List<String> titles = new ArrayList<>();
+        private final Map<String, RowList> postings = new HashMap<>();
+
+        private void add(String showId, String title, CharSequence description) {
+            int row = showIds.size();
+            showIds.add(showId == null ? "" : showId);
+            titles.add(title == null ? "" : title);
+            TermTokenizer.forEach(description, term -> postings.computeIfAbsent(term, k -> new RowList()).add(row));
+        }
+    }
+
+    /**
+     * A growable list of ascending rows that ignores a row added twice in a row,
+     * so a term repeated within one description is posted once.
+     */
+    private static class RowList {
+        private int[] rows = new int[4];
+        private int size;
+
+        private void add(int row) {
+            if (size > 0 && rows[size - 1] == row) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+}
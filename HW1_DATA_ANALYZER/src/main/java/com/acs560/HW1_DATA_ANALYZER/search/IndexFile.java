@@ -0,0 +1,149 @@
+package com.acs560.HW1_DATA_ANALYZER.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import com.acs560.HW1_DATA_ANALYZER.analysis.FileFingerprint;
+
+/**
+ * Reads and writes {@link DescriptionIndex} files, kept next to the CSV they
+ * index so that later runs can search without reading the CSV again.
+ * <pre>
+ * header:     magic, version, source size, source mtime, source CRC32C
+ * rows:       row count, then (show id, title) per row
+ * terms:      term count, postings byte count, then (term, document
+ *             frequency, end of its postings) per term, sorted by term
+ * postings:   the delta-encoded postings of every term, back to back
+ * </pre>
+ * <p>
+ * Numbers are big-endian and strings are modified UTF-8 as written by
+ * {@link DataOutputStream#writeUTF(String)}. The postings are stored exactly
+ * as they are held in memory, so loading copies them in one read.
+ * </p>
+ */
+public class IndexFile {
+    static final int MAGIC = 0x4E465849; // "NFXI"
+    static final int VERSION = 1;
+    private static final String EXTENSION = ".index";
+
+    private IndexFile() {
+    }
+
+    /**
+     * @param csv The path to a CSV file.
+     * @return The path at which that file's description index is kept, next to the CSV.
+     */
+    public static Path pathFor(Path csv) {
+        return csv.resolveSibling(csv.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Checks whether an index exists and was built from the current content of
+     * a CSV file.
+     *
+     * @param index The index path.
+     * @param csv   The CSV file the index should reflect.
+     * @return True if the index can be used in place of the CSV.
+     * @throws IOException if either file cannot be read.
+     */
+    public static boolean isUpToDate(Path index, Path csv) throws IOException {
+        if (!Files.isRegularFile(index)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(index)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return false;
+            }
+            return new FileFingerprint(in.readLong(), in.readLong(), in.readLong()).matches(csv);
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Loads a whole index into memory.
+     *
+     * @param index The index path.
+     * @return The index held in the file.
+     * @throws IOException if the file cannot be read or is not a valid index.
+     */
+    public static DescriptionIndex read(Path index) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(index)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(index + " is not a supported description index");
+            }
+            FileFingerprint source = new FileFingerprint(in.readLong(), in.readLong(), in.readLong());
+
+            int rowCount = in.readInt();
+            String[] showIds = new String[rowCount];
+            String[] titles = new String[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                showIds[row] = in.readUTF();
+                titles[row] = in.readUTF();
+            }
+
+            int termCount = in.readInt();
+            byte[] postings = new byte[in.readInt()];
+            String[] terms = new String[termCount];
+            int[] documentFrequencies = new int[termCount];
+            int[] offsets = new int[termCount + 1];
+            for (int t = 0; t < termCount; t++) {
+                terms[t] = in.readUTF();
+                documentFrequencies[t] = in.readInt();
+                offsets[t + 1] = in.readInt();
+            }
+            in.readFully(postings);
+            if (in.read() >= 0) {
+                throw new IOException(index + " has trailing data");
+            }
+            return new DescriptionIndex(source, showIds, titles, terms, documentFrequencies, offsets, postings);
+        } catch (EOFException e) {
+            throw new IOException(index + " is truncated", e);
+        }
+    }
+
+    /**
+     * Writes an index. The file is written under a temporary name and moved
+     * into place, so a half-written index is never picked up.
+     *
+     * @param index The index to write.
+     * @param file  The index path.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(DescriptionIndex index, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            FileFingerprint source = index.getSource();
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(source.getSize());
+            out.writeLong(source.getLastModifiedMillis());
+            out.writeLong(source.getContentHash());
+
+            out.writeInt(index.getDocumentCount());
+            for (int row = 0; row < index.getDocumentCount(); row++) {
+                out.writeUTF(index.getShowId(row));
+                out.writeUTF(index.getTitle(row));
+            }
+
+            String[] terms = index.terms();
+            int[] offsets = index.offsets();
+            out.writeInt(terms.length);
+            out.writeInt(index.postingBytes().length);
+            for (int t = 0; t < terms.length; t++) {
+                out.writeUTF(terms[t]);
+                out.writeInt(index.documentFrequencies()[t]);
+                out.writeInt(offsets[t + 1]);
+            }
+            out.write(index.postingBytes());
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,103 @@
+package com.acs560.HW1_DATA_ANALYZER.search;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+
+/**
+ * Command-line keyword search over the descriptions of a Netflix CSV file.
+ * <p>
+ * The first search of a file builds its {@link DescriptionIndex} and saves it
+ * next to the CSV; later searches load the saved index and do not read the
+ * CSV at all, as long as the CSV is unchanged.
+ * </p>
+ */
+public class KeywordSearch {
+    private static final String USAGE = "Usage: Application --search [--limit N] [file.csv] <query>";
+    private static final int DEFAULT_LIMIT = 20;
+
+    private KeywordSearch() {
+    }
+
+    /**
+     * Returns the description index of a CSV file, loading the saved index if
+     * it is up to date and otherwise building and saving a new one.
+     *
+     * @param csv The CSV file.
+     * @return The index of the current content of the file.
+     * @throws IOException if the CSV or the index cannot be read, or the index
+     *                     cannot be written.
+     */
+    public static DescriptionIndex load(Path csv) throws IOException {
+        Path file = IndexFile.pathFor(csv);
+        if (IndexFile.isUpToDate(file, csv)) {
+            return IndexFile.read(file);
+        }
+        DescriptionIndex index = DescriptionIndexBuilder.build(csv);
+        IndexFile.write(index, file);
+        return index;
+    }
+
+    /**
+     * Parses the command line, runs the query and prints the matching titles.
+     *
+     * @param args {@code [--limit N] [file.csv] <query>}. The file defaults to
+     *             {@link Application#FILE_NAME}; at most {@code N} matches are
+     *             listed, {@value #DEFAULT_LIMIT} by default.
+     */
+    public static void run(String[] args) {
+        String file = Application.FILE_NAME;
+        int limit = DEFAULT_LIMIT;
+        List<String> words = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--limit") && i + 1 < args.length) {
+                    limit = Integer.parseInt(args[++i]);
+                    if (limit < 1) {
+                        throw new IllegalArgumentException("Limit must be positive: " + limit);
+                    }
+                } else if (words.isEmpty() && args[i].toLowerCase().endsWith(".csv")) {
+                    file = args[i];
+                } else {
+                    words.add(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + "\n" + USAGE);
+            return;
+        }
+        if (words.isEmpty()) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        try {
+            DescriptionIndex index = load(Path.of(file));
+            long start = System.nanoTime();
+            int[] rows = index.search(String.join(" ", words));
+            long elapsed = System.nanoTime() - start;
+
+            System.out.println(String.format("%-25s %s", "Show Id", "Title"));
+            System.out.println("==============================");
+            for (int i = 0; i < rows.length && i < limit; i++) {
+                System.out.println(String.format("%-25s %s", index.getShowId(rows[i]), index.getTitle(rows[i])));
+            }
+            System.out.println(String.format("%d of %d descriptions matched in %d us", rows.length,
+                    index.getDocumentCount(), elapsed / 1_000));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Searches descriptions; see {@link #run(String[])}.
+     *
+     * @param args Optional limit and CSV file, then the query.
+     */
+    public static void main(String[] args) {
+        run(args);
+    }
+}
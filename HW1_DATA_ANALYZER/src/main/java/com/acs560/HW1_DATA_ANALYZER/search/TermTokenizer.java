@@ -0,0 +1,41 @@
+package com.acs560.HW1_DATA_ANALYZER.search;
+
+import java.util.function.Consumer;
+
+/**
+ * Splits text into index terms: maximal runs of letters and digits,
+ * lowercased. Everything else separates terms, so {@code "father's"} gives
+ * {@code father} and {@code s}, and {@code "19th-century"} gives {@code 19th}
+ * and {@code century}. Descriptions and queries go through the same
+ * tokenizer, so a query term matches however it was cased or punctuated.
+ */
+public class TermTokenizer {
+
+    private TermTokenizer() {
+    }
+
+    /**
+     * Passes every term of a text to a consumer, in order, duplicates included.
+     *
+     * @param text     The text to split; may be null.
+     * @param consumer Receives each term.
+     */
+    public static void forEach(CharSequence text, Consumer<String> consumer) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if (term.length() > 0) {
+                consumer.accept(term.toString());
+                term.setLength(0);
+            }
+        }
+        if (term.length() > 0) {
+            consumer.accept(term.toString());
+        }
+    }
+}
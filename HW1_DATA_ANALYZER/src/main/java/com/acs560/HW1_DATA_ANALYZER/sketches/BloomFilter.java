@@ -0,0 +1,118 @@
+package com.acs560.HW1_DATA_ANALYZER.sketches;
+
+/**
+ * Remembers which values were seen, in a fixed amount of memory.
+ * <p>
+ * The filter is an array of bits. Adding a value sets {@code hashCount} bits
+ * chosen by different hashes, and a value is reported as seen if all of its
+ * bits are set. A value that was added is always reported as seen; one that
+ * was not is wrongly reported as seen with the probability given by
+ * {@link #falsePositiveProbability()}, which grows as values are added.
+ * </p>
+ */
+public class BloomFilter {
+    private final long[] words;
+    private final long mask;
+    private final int hashCount;
+    private long added;
+
+    /**
+     * Constructor
+     *
+     * @param sizeInBytes The memory for the bits, rounded down to a power of
+     *                    two of at least 8 bytes.
+     * @param hashCount   The number of bits set per value.
+     */
+    public BloomFilter(long sizeInBytes, int hashCount) {
+        if (sizeInBytes < Long.BYTES || hashCount < 1) {
+            throw new IllegalArgumentException("Size and hash count must be positive: " + sizeInBytes + " bytes, "
+                    + hashCount + " hashes");
+        }
+        long wordCount = Long.highestOneBit(Math.min(sizeInBytes / Long.BYTES, 1L << 30));
+        this.words = new long[(int) wordCount];
+        this.mask = wordCount * Long.SIZE - 1;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Picks the number of bits per value that minimizes false positives for
+     * an expected number of values: {@code bits / values * ln 2}.
+     *
+     * @param sizeInBytes    The memory for the bits.
+     * @param expectedValues The number of values expected to be added.
+     * @return The hash count, between 1 and 16.
+     */
+    public static int optimalHashCount(long sizeInBytes, long expectedValues) {
+        double bitsPerValue = sizeInBytes * 8.0 / Math.max(1, expectedValues);
+        return (int) Math.max(1, Math.min(16, Math.round(bitsPerValue * Math.log(2))));
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param hash The value's 64-bit hash, for example from {@link Hashing}.
+     * @return True if the value was possibly seen before, false if it was
+     *         certainly new.
+     */
+    public boolean add(long hash) {
+        boolean seen = true;
+        long step = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (hash + i * step) & mask;
+            int word = (int) (bit >>> 6);
+            long flag = 1L << bit;
+            if ((words[word] & flag) == 0) {
+                words[word] |= flag;
+                seen = false;
+            }
+        }
+        if (!seen) {
+            added++;
+        }
+        return seen;
+    }
+
+    /**
+     * @param hash The value's 64-bit hash.
+     * @return True if the value was possibly added, false if it certainly was not.
+     */
+    public boolean mightContain(long hash) {
+        long step = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (hash + i * step) & mask;
+            if ((words[(int) (bit >>> 6)] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The probability that a value never added is reported as seen,
+     *         estimated from the number of values added so far.
+     */
+    public double falsePositiveProbability() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * added / (mask + 1)), hashCount);
+    }
+
+    /**
+     * @return The number of values added that were certainly new at the time.
+     */
+    public long getAdded() {
+        return added;
+    }
+
+    /**
+     * @return The number of bits set per value.
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * @return The memory held by the bits, in bytes.
+     */
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+}
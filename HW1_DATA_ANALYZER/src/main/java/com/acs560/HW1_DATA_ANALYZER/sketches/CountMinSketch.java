@@ -0,0 +1,132 @@
+package com.acs560.HW1_DATA_ANALYZER.sketches;
+
+/**
+ * Estimates how often each value was seen, in a fixed amount of memory.
+ * <p>
+ * The sketch is {@code depth} rows of {@code width} counters. Each value adds
+ * to one counter per row, chosen by a different hash, and its estimate is the
+ * smallest of those counters. Estimates never undercount; with probability
+ * {@code 1 - e^-depth} they overcount by at most {@code e / width} times the
+ * total of all counts (see {@link #errorBound()}).
+ * </p>
+ */
+public class CountMinSketch {
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+
+    /**
+     * Constructor
+     *
+     * @param width The number of counters per row; larger is more accurate.
+     * @param depth The number of rows; larger is more confident.
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Width and depth must be positive: " + width + " x " + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new long[width * depth];
+    }
+
+    /**
+     * Adds to a value's count.
+     *
+     * @param hash  The value's 64-bit hash, for example from {@link Hashing}.
+     * @param count The amount to add.
+     * @return The value's estimated count after the addition.
+     */
+    public long add(long hash, long count) {
+        total += count;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + column(hash, row);
+            counters[index] += count;
+            estimate = Math.min(estimate, counters[index]);
+        }
+        return estimate;
+    }
+
+    /**
+     * @param hash The value's 64-bit hash.
+     * @return The value's estimated count, never less than its true count.
+     */
+    public long estimate(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + column(hash, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Adds the counters of another sketch to this one.
+     *
+     * @param other A sketch with the same width and depth.
+     * @return This sketch, for chaining.
+     */
+    public CountMinSketch merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge " + other.width + " x " + other.depth + " into "
+                    + width + " x " + depth);
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+        return this;
+    }
+
+    /**
+     * @return The largest overcount expected with probability {@link #confidence()}.
+     */
+    public long errorBound() {
+        return (long) Math.ceil(Math.E / width * total);
+    }
+
+    /**
+     * @return The probability that an estimate is within {@link #errorBound()}.
+     */
+    public double confidence() {
+        return 1 - Math.exp(-depth);
+    }
+
+    /**
+     * @return The sum of all counts added.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return The memory held by the counters, in bytes.
+     */
+    public long sizeInBytes() {
+        return (long) counters.length * Long.BYTES;
+    }
+
+    /**
+     * @return The number of counters per row.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Picks a row's counter by double hashing: the two halves of the hash are
+     * combined with a different multiplier per row.
+     */
+    private int column(long hash, int row) {
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return Math.floorMod(combined, width);
+    }
+}
@@ -0,0 +1,71 @@
+package com.acs560.HW1_DATA_ANALYZER.sketches;
+
+/**
+ * 64-bit hashing of character ranges for the sketches, without allocation.
+ */
+public class Hashing {
+    /**
+     * The starting value when characters are hashed one at a time with
+     * {@link #update(long, char)}.
+     */
+    public static final long FNV_OFFSET = 0xCBF29CE484222325L;
+
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private Hashing() {
+    }
+
+    /**
+     * Hashes a range of characters with 64-bit FNV-1a, then scrambles the
+     * result with the MurmurHash3 finalizer so that every output bit depends on
+     * every input character.
+     *
+     * @param text  The characters to hash.
+     * @param start The index of the first character.
+     * @param end   The index just past the last character.
+     * @return A well-mixed 64-bit hash.
+     */
+    public static long hash64(CharSequence text, int start, int end) {
+        long hash = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            hash = update(hash, text.charAt(i));
+        }
+        return finish(hash);
+    }
+
+    /**
+     * @param text The characters to hash.
+     * @return The hash of the whole sequence.
+     */
+    public static long hash64(CharSequence text) {
+        return hash64(text, 0, text.length());
+    }
+
+    /**
+     * Adds one character to a hash being built, for callers that transform
+     * characters on the way, such as case folding.
+     *
+     * @param hash The hash so far, starting at {@link #FNV_OFFSET}.
+     * @param c    The next character.
+     * @return The updated hash.
+     */
+    public static long update(long hash, char c) {
+        return (hash ^ c) * FNV_PRIME;
+    }
+
+    /**
+     * Scrambles a hash built with {@link #update(long, char)}, as
+     * {@link #hash64(CharSequence, int, int)} does.
+     *
+     * @param hash The hash so far.
+     * @return A well-mixed 64-bit hash.
+     */
+    public static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,172 @@
+package com.acs560.HW1_DATA_ANALYZER.sketches;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tracks the most frequent values of a stream with a {@link CountMinSketch}
+ * and a bounded min-heap of candidates.
+ * <p>
+ * Every value is counted in the sketch. A value enters the heap when its
+ * estimate beats the smallest candidate, which is then evicted, so only
+ * {@code capacity} names are ever held. A value already in the heap is found
+ * by its hash; its name is only turned into a {@code String} when it enters.
+ * </p>
+ */
+public class HeavyHitters {
+    private final CountMinSketch sketch;
+    private final long[] hashes;
+    private final long[] counts;
+    private final String[] names;
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param capacity The number of most frequent values to track.
+     * @param width    The width of the underlying {@link CountMinSketch}.
+     * @param depth    The depth of the underlying {@link CountMinSketch}.
+     */
+    public HeavyHitters(int capacity, int width, int depth) {
+        this.sketch = new CountMinSketch(width, depth);
+        this.hashes = new long[capacity];
+        this.counts = new long[capacity];
+        this.names = new String[capacity];
+    }
+
+    /**
+     * Counts one occurrence of a value.
+     *
+     * @param text  The characters holding the value.
+     * @param start The index of the value's first character.
+     * @param end   The index just past the value's last character.
+     */
+    public void add(CharSequence text, int start, int end) {
+        long hash = Hashing.hash64(text, start, end);
+        offer(hash, null, text, start, end, sketch.add(hash, 1));
+    }
+
+    /**
+     * Folds another tracker into this one. The sketches are added together and
+     * the candidates of both are ranked again by their combined estimates.
+     *
+     * @param other A tracker with the same capacity and sketch dimensions.
+     * @return This tracker, for chaining.
+     */
+    public HeavyHitters merge(HeavyHitters other) {
+        sketch.merge(other.sketch);
+        int ownSize = size;
+        long[] ownHashes = hashes.clone();
+        String[] ownNames = names.clone();
+        size = 0;
+        for (int i = 0; i < ownSize; i++) {
+            offer(ownHashes[i], ownNames[i], null, 0, 0, sketch.estimate(ownHashes[i]));
+        }
+        for (int i = 0; i < other.size; i++) {
+            offer(other.hashes[i], other.names[i], null, 0, 0, sketch.estimate(other.hashes[i]));
+        }
+        return this;
+    }
+
+    /**
+     * @return The tracked values and their estimated counts, by descending count.
+     */
+    public Map<String, Long> top() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(counts[b], counts[a]));
+
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (int i : order) {
+            top.put(names[i], counts[i]);
+        }
+        return top;
+    }
+
+    /**
+     * @return The sketch holding the counts, for its error bound.
+     */
+    public CountMinSketch getSketch() {
+        return sketch;
+    }
+
+    /**
+     * @return The memory held by the sketch and the candidate arrays, not
+     *         counting the candidate names.
+     */
+    public long sizeInBytes() {
+        return sketch.sizeInBytes() + (long) hashes.length * (2 * Long.BYTES + 8);
+    }
+
+    private void offer(long hash, String name, CharSequence text, int start, int end, long estimate) {
+        for (int i = 0; i < size; i++) {
+            if (hashes[i] == hash) {
+                counts[i] = estimate;
+                siftDown(i);
+                return;
+            }
+        }
+
+        int slot;
+        if (size < hashes.length) {
+            slot = size++;
+        } else if (size > 0 && estimate > counts[0]) {
+            slot = 0;
+        } else {
+            return;
+        }
+        hashes[slot] = hash;
+        counts[slot] = estimate;
+        names[slot] = name != null ? name : text.subSequence(start, end).toString();
+        if (slot == 0) {
+            siftDown(0);
+        } else {
+            siftUp(slot);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (counts[parent] <= counts[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long hash = hashes[a];
+        hashes[a] = hashes[b];
+        hashes[b] = hash;
+        long count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        String name = names[a];
+        names[a] = names[b];
+        names[b] = name;
+    }
+}
@@ -0,0 +1,131 @@
+package com.acs560.HW1_DATA_ANALYZER.sketches;
+
+/**
+ * Estimates the number of distinct values seen, in a fixed amount of memory.
+ * <p>
+ * A HyperLogLog with precision {@code p} keeps {@code 2^p} one-byte registers.
+ * Each value's hash picks a register with its top {@code p} bits and records
+ * the position of the first set bit among the rest; the harmonic mean of the
+ * registers then gives the estimate. The relative standard error is
+ * {@code 1.04 / sqrt(2^p)}, so precision 14 costs 16 KB and is typically
+ * within 0.8% whatever the number of values. Small cardinalities fall back to
+ * linear counting over the empty registers.
+ * </p>
+ */
+public class HyperLogLog {
+    /**
+     * The smallest supported precision.
+     */
+    public static final int MIN_PRECISION = 4;
+
+    /**
+     * The largest supported precision.
+     */
+    public static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Constructor
+     *
+     * @param precision The number of hash bits used to pick a register,
+     *                  between {@value #MIN_PRECISION} and {@value #MAX_PRECISION}.
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and "
+                    + MAX_PRECISION + ": " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param hash The value's 64-bit hash, for example from {@link Hashing}.
+     */
+    public void add(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        long remaining = hash << precision;
+        int rank = Math.min(Long.numberOfLeadingZeros(remaining), Long.SIZE - precision) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * @return The estimated number of distinct values recorded.
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int empty = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                empty++;
+            }
+        }
+
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && empty > 0) {
+            estimate = m * Math.log((double) m / empty);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * @return The relative standard error of {@link #estimate()}.
+     */
+    public double relativeStandardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    /**
+     * Folds another sketch into this one, as if this one had also seen every
+     * value the other saw.
+     *
+     * @param other A sketch with the same precision.
+     * @return This sketch, for chaining.
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge precision " + other.precision + " into " + precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return The precision this sketch was created with.
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * @return The memory held by the registers, in bytes.
+     */
+    public long sizeInBytes() {
+        return registers.length;
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
@@ -0,0 +1,488 @@
+package com.acs560.HW1_DATA_ANALYZER.sort;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.Phase;
+import com.acs560.HW1_DATA_ANALYZER.instrumentation.PhaseRecorder;
+import com.acs560.HW1_DATA_ANALYZER.parsers.CsvTokenizer;
+
+/**
+ * Sorts a Netflix CSV file by {@code release_year}, then {@code title}, with
+ * an external merge sort whose memory use is set by a budget rather than by
+ * the size of the file.
+ * <p>
+ * The input is read front to back into a byte array of about three quarters
+ * of the budget. Records are found in place with a {@link CsvTokenizer}; for
+ * each one only its bounds, its release year and the bounds of its raw title
+ * bytes are kept, and the records are sorted by those keys without being
+ * decoded or copied. When the array is full the sorted records are written to
+ * a temporary run file, the record cut off at the end of the array is moved to
+ * its front and reading goes on. An input that fits in one array is written
+ * straight to the output without any run.
+ * </p>
+ * <p>
+ * The runs are then merged through a heap of run readers, each reading its
+ * file sequentially through its own share of the budget. If there are more
+ * runs than the fan-in, groups of runs are first merged into longer runs, so
+ * the number of open files stays bounded. Every byte is read and written
+ * sequentially in large blocks, so the sort runs at close to disk speed.
+ * </p>
+ * <p>
+ * Years are compared as numbers; rows whose year is missing or not a number
+ * sort last. Titles are compared as unsigned UTF-8 bytes, which is code point
+ * order, and a quoted title is compared as written, escapes included. Rows
+ * with equal keys keep their input order. The header is written first and
+ * blank lines are dropped.
+ * </p>
+ */
+public class ExternalSorter {
+    static final int TITLE_COLUMN = 2;
+    static final int RELEASE_YEAR_COLUMN = 7;
+
+    private static final int MAX_ARRAY_BYTES = 1 << 30;
+    private static final int MIN_BUFFER_BYTES = 1 << 12;
+    private static final int MAX_BUFFER_BYTES = 1 << 23;
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final String USAGE = "Usage: Application --sort [--memory SIZE] [--temp DIR] [--fan-in N]"
+            + " input.csv output.csv";
+
+    private ExternalSorter() {
+    }
+
+    /**
+     * Sorts a CSV file with the default options.
+     *
+     * @param input  The CSV file to sort.
+     * @param output The file that receives the sorted rows, replacing any
+     *               existing content. It may be the input file.
+     * @return What the sort did.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public static SortSummary sort(Path input, Path output) throws IOException {
+        return sort(input, output, new Options());
+    }
+
+    /**
+     * Sorts a CSV file. Temporary run files are deleted before returning,
+     * whether the sort succeeds or not.
+     *
+     * @param input   The CSV file to sort.
+     * @param output  The file that receives the sorted rows, replacing any
+     *                existing content. It may be the input file.
+     * @param options The memory budget, temporary directory and fan-in.
+     * @return What the sort did.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public static SortSummary sort(Path input, Path output, Options options) throws IOException {
+        Path tempDir = options.getTempDir() != null ? options.getTempDir()
+                : output.toAbsolutePath().getParent();
+        int bufferBytes = bufferBytes(options.getMemoryBytes(), options.getFanIn());
+        List<Path> created = new ArrayList<>();
+        try {
+            List<Run> runs = new ArrayList<>();
+            byte[] header = spill(input, output, options, tempDir, bufferBytes, runs, created);
+            if (header == null) {
+                return new SortSummary(runs.get(0).records, Files.size(output), 0, 0);
+            }
+            int spilled = runs.size();
+
+            int passes = 0;
+            while (runs.size() > options.getFanIn()) {
+                List<Run> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += options.getFanIn()) {
+                    List<Run> group = runs.subList(i, Math.min(runs.size(), i + options.getFanIn()));
+                    merged.add(group.size() == 1 ? group.get(0) : mergeToRun(group, tempDir, bufferBytes, created));
+                }
+                runs = merged;
+                passes++;
+            }
+
+            long records;
+            try (DataOutputStream out = open(output, bufferBytes)) {
+                out.write(header);
+                records = merge(runs, out, false, bufferBytes);
+            }
+            return new SortSummary(records, Files.size(output), spilled, passes + 1);
+        } finally {
+            for (Path file : created) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Reads the input into memory a budget at a time and writes each sorted
+     * batch to a new run. If the whole input fits at once, it is sorted
+     * straight into the output instead and a single pseudo-run carries the
+     * record count back.
+     *
+     * @return The header to write before the merged runs, or null if the
+     *         output has already been written.
+     */
+    private static byte[] spill(Path input, Path output, Options options, Path tempDir, int bufferBytes,
+            List<Run> runs, List<Path> created) throws IOException {
+        PhaseRecorder recorder = PhaseRecorder.get();
+        byte[] bytes = new byte[arrayBytes(options.getMemoryBytes())];
+        RunBuilder builder = new RunBuilder();
+        byte[] header = null;
+        int filled = 0;
+        boolean end = false;
+        try (InputStream in = Files.newInputStream(input)) {
+            while (!end) {
+                int before = filled;
+                recorder.enter(Phase.READ);
+                try {
+                    while (filled < bytes.length) {
+                        int read = in.read(bytes, filled, bytes.length - filled);
+                        if (read < 0) {
+                            end = true;
+                            break;
+                        }
+                        filled += read;
+                    }
+                } finally {
+                    recorder.exit(0, filled - before);
+                }
+                if (end && filled > 0 && bytes[filled - 1] != NEWLINE) {
+                    if (filled == bytes.length) {
+                        bytes = Arrays.copyOf(bytes, filled + 1);
+                    }
+                    bytes[filled++] = NEWLINE; // so every output row ends with a line break
+                }
+
+                builder.reset(bytes);
+                int consumed = 0;
+                recorder.enter(Phase.PARSE);
+                try {
+                    CsvTokenizer record = new CsvTokenizer(ByteBuffer.wrap(bytes, 0, filled), TITLE_COLUMN,
+                            RELEASE_YEAR_COLUMN);
+                    while (record.next() && (record.isTerminated() || end)) {
+                        int start = record.recordStart();
+                        consumed = record.recordEnd();
+                        if (header == null) {
+                            header = Arrays.copyOfRange(bytes, start, consumed);
+                        } else if (!isBlankLine(bytes, start, consumed)) {
+                            boolean titled = record.hasField(TITLE_COLUMN);
+                            builder.add(start, consumed - start,
+                                    record.parseInt(RELEASE_YEAR_COLUMN, Integer.MAX_VALUE),
+                                    titled ? record.start(TITLE_COLUMN) : start,
+                                    titled ? record.length(TITLE_COLUMN) : 0);
+                        }
+                    }
+                } finally {
+                    recorder.exit(builder.size(), consumed);
+                }
+                if (consumed == 0 && !end) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2); // a single record fills the whole array
+                    continue;
+                }
+
+                if (builder.size() == 0 && !end) {
+                    System.arraycopy(bytes, consumed, bytes, 0, filled - consumed);
+                    filled -= consumed;
+                    continue;
+                }
+                builder.sort();
+                if (end && runs.isEmpty()) {
+                    try (DataOutputStream out = open(output, bufferBytes)) {
+                        write(out, header, builder, false);
+                    }
+                    runs.add(new Run(output, builder.size()));
+                    return null;
+                }
+                Path file = Files.createTempFile(tempDir, "sort-run-", ".tmp");
+                created.add(file);
+                try (DataOutputStream out = open(file, bufferBytes)) {
+                    write(out, null, builder, true);
+                }
+                runs.add(new Run(file, builder.size()));
+
+                System.arraycopy(bytes, consumed, bytes, 0, filled - consumed);
+                filled -= consumed;
+            }
+        }
+        return header != null ? header : new byte[0];
+    }
+
+    /**
+     * Writes the sorted records of a batch, charged to {@link Phase#WRITE}.
+     */
+    private static void write(DataOutputStream out, byte[] header, RunBuilder builder, boolean run)
+            throws IOException {
+        PhaseRecorder recorder = PhaseRecorder.get();
+        recorder.enter(Phase.WRITE);
+        try {
+            if (header != null) {
+                out.write(header);
+            }
+            if (run) {
+                builder.writeRun(out);
+            } else {
+                builder.writeRecords(out);
+            }
+            out.flush();
+        } finally {
+            recorder.exit(builder.size(), out.size());
+        }
+    }
+
+    /**
+     * Merges a group of runs into one new, longer run and deletes the group.
+     */
+    private static Run mergeToRun(List<Run> group, Path tempDir, int bufferBytes, List<Path> created)
+            throws IOException {
+        Path file = Files.createTempFile(tempDir, "sort-run-", ".tmp");
+        created.add(file);
+        long records;
+        try (DataOutputStream out = open(file, bufferBytes)) {
+            records = merge(group, out, true, bufferBytes);
+        }
+        for (Run run : group) {
+            Files.deleteIfExists(run.file);
+        }
+        return new Run(file, records);
+    }
+
+    /**
+     * The k-way merge: repeatedly takes the run with the smallest current
+     * record off a heap, writes that record and puts the run back with its
+     * next record.
+     *
+     * @return The number of records written.
+     */
+    private static long merge(List<Run> runs, DataOutputStream out, boolean framed, int bufferBytes)
+            throws IOException {
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        PriorityQueue<RunReader> heap = new PriorityQueue<>(Math.max(1, runs.size()), RunReader::compare);
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                RunReader reader = new RunReader(i, runs.get(i).file, runs.get(i).records, bufferBytes);
+                readers.add(reader);
+                if (reader.next()) {
+                    heap.add(reader);
+                }
+            }
+
+            long records = 0;
+            while (!heap.isEmpty()) {
+                RunReader reader = heap.poll();
+                if (framed) {
+                    reader.writeRun(out);
+                } else {
+                    reader.writeRecord(out);
+                }
+                records++;
+                if (reader.next()) {
+                    heap.add(reader);
+                }
+            }
+            return records;
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static DataOutputStream open(Path file, int bufferBytes) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), bufferBytes));
+    }
+
+    private static boolean isBlankLine(byte[] bytes, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] != NEWLINE && bytes[i] != CARRIAGE_RETURN) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sizes the array that holds a batch of records: three quarters of the
+     * budget, leaving the rest for the keys, which take about 30 bytes per
+     * record.
+     */
+    static int arrayBytes(long memoryBytes) {
+        return (int) Math.max(MIN_BUFFER_BYTES, Math.min(MAX_ARRAY_BYTES, memoryBytes / 4 * 3));
+    }
+
+    /**
+     * Sizes each read and write buffer so that a full merge, with one reader
+     * per run plus the output, stays within the budget.
+     */
+    static int bufferBytes(long memoryBytes, int fanIn) {
+        return (int) Math.max(MIN_BUFFER_BYTES, Math.min(MAX_BUFFER_BYTES, memoryBytes / (fanIn + 1)));
+    }
+
+    /**
+     * Parses a byte count with an optional {@code k}, {@code m} or {@code g}
+     * suffix, as in {@code -Xmx}.
+     *
+     * @param size The size, for example {@code 512m}.
+     * @return The number of bytes.
+     * @throws NumberFormatException if the size is not a positive number.
+     */
+    public static long parseSize(String size) {
+        String digits = size.trim().toLowerCase();
+        int shift = 0;
+        if (digits.endsWith("k")) {
+            shift = 10;
+        } else if (digits.endsWith("m")) {
+            shift = 20;
+        } else if (digits.endsWith("g")) {
+            shift = 30;
+        }
+        if (shift > 0) {
+            digits = digits.substring(0, digits.length() - 1);
+        }
+        long value = Long.parseLong(digits);
+        if (value <= 0) {
+            throw new NumberFormatException("Size must be positive: " + size);
+        }
+        return value << shift;
+    }
+
+    /**
+     * A sorted run file and the number of records in it.
+     */
+    private static class Run {
+        private final Path file;
+        private final long records;
+
+        private Run(Path file, long records) {
+            this.file = file;
+            this.records = records;
+        }
+    }
+
+    /**
+     * Settings for {@link ExternalSorter#sort(Path, Path, Options)}.
+     */
+    public static class Options {
+        private long memoryBytes = Runtime.getRuntime().maxMemory() / 2;
+        private Path tempDir;
+        private int fanIn = 64;
+
+        /**
+         * @param memoryBytes The memory the sort may use for records, keys and
+         *                    buffers. Defaults to half the maximum heap.
+         * @return These options, for chaining.
+         */
+        public Options memoryBytes(long memoryBytes) {
+            this.memoryBytes = memoryBytes;
+            return this;
+        }
+
+        /**
+         * @param tempDir The directory that receives the run files. Defaults
+         *                to the output's directory, which is on a disk with
+         *                room for the output rather than a possibly
+         *                memory-backed system temporary directory.
+         * @return These options, for chaining.
+         */
+        public Options tempDir(Path tempDir) {
+            this.tempDir = tempDir;
+            return this;
+        }
+
+        /**
+         * @param fanIn The most runs merged at once, and so the most run files
+         *              open at once. Defaults to 64.
+         * @return These options, for chaining.
+         */
+        public Options fanIn(int fanIn) {
+            if (fanIn < 2) {
+                throw new IllegalArgumentException("Fan-in must be at least 2: " + fanIn);
+            }
+            this.fanIn = fanIn;
+            return this;
+        }
+
+        /**
+         * @return The memory budget in bytes.
+         */
+        public long getMemoryBytes() {
+            return memoryBytes;
+        }
+
+        /**
+         * @return The directory for run files, or null for the output's directory.
+         */
+        public Path getTempDir() {
+            return tempDir;
+        }
+
+        /**
+         * @return The most runs merged at once.
+         */
+        public int getFanIn() {
+            return fanIn;
+        }
+    }
+
+    /**
+     * Parses the command line and sorts a file.
+     *
+     * @param args {@code [--memory SIZE] [--temp DIR] [--fan-in N] input.csv
+     *             output.csv}. The size takes a {@code k}, {@code m} or
+     *             {@code g} suffix and defaults to half the maximum heap.
+     */
+    public static void run(String[] args) {
+        Options options = new Options();
+        List<String> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--memory") && i + 1 < args.length) {
+                    options.memoryBytes(parseSize(args[++i]));
+                } else if (args[i].equals("--temp") && i + 1 < args.length) {
+                    options.tempDir(Path.of(args[++i]));
+                } else if (args[i].equals("--fan-in") && i + 1 < args.length) {
+                    options.fanIn(Integer.parseInt(args[++i]));
+                } else if (args[i].startsWith("--")) {
+                    System.out.println(USAGE);
+                    return;
+                } else {
+                    files.add(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+            return;
+        }
+        if (files.size() != 2) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            SortSummary summary = sort(Path.of(files.get(0)), Path.of(files.get(1)), options);
+            System.out.println(files.get(1) + ": " + summary + " in " + (System.nanoTime() - start) / 1_000_000
+                    + " ms");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Sorts a CSV file; see {@link #run(String[])}.
+     *
+     * @param args Optional memory budget, temporary directory and fan-in, then
+     *             the input and output files.
+     */
+    public static void main(String[] args) {
+        run(args);
+    }
+}
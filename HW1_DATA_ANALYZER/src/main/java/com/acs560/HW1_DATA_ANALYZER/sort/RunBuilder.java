@@ -0,0 +1,193 @@
+package com.acs560.HW1_DATA_ANALYZER.sort;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Collects the records of one in-memory run and writes them out in key order.
+ * <p>
+ * The records themselves stay where they were read, in the caller's byte
+ * array; only their bounds and keys are kept here, in parallel primitive
+ * arrays. Each key is the release year plus the bounds of the raw title bytes,
+ * and the first eight title bytes are packed into a {@code long} so that most
+ * comparisons never touch the array. Sorting permutes an {@code int} array of
+ * record numbers, and ties are broken by record number, so the order is
+ * stable.
+ * </p>
+ */
+class RunBuilder {
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private byte[] bytes;
+    private int[] recordStarts = new int[INITIAL_CAPACITY];
+    private int[] recordLengths = new int[INITIAL_CAPACITY];
+    private int[] years = new int[INITIAL_CAPACITY];
+    private int[] titleStarts = new int[INITIAL_CAPACITY];
+    private int[] titleLengths = new int[INITIAL_CAPACITY];
+    private long[] prefixes = new long[INITIAL_CAPACITY];
+    private int[] order = new int[0];
+    private int[] scratch = new int[0];
+    private int count;
+
+    /**
+     * Starts a new run over a byte array, dropping any records added before.
+     *
+     * @param bytes The array the records of the run are read into.
+     */
+    void reset(byte[] bytes) {
+        this.bytes = bytes;
+        this.count = 0;
+    }
+
+    /**
+     * Adds a record.
+     *
+     * @param recordStart  The index of the record's first byte.
+     * @param recordLength The length of the record, including its line break.
+     * @param year         The release year, or {@link Integer#MAX_VALUE} if missing.
+     * @param titleStart   The index of the title's first byte.
+     * @param titleLength  The length of the title in bytes.
+     */
+    void add(int recordStart, int recordLength, int year, int titleStart, int titleLength) {
+        if (count == recordStarts.length) {
+            int capacity = count * 2;
+            recordStarts = Arrays.copyOf(recordStarts, capacity);
+            recordLengths = Arrays.copyOf(recordLengths, capacity);
+            years = Arrays.copyOf(years, capacity);
+            titleStarts = Arrays.copyOf(titleStarts, capacity);
+            titleLengths = Arrays.copyOf(titleLengths, capacity);
+            prefixes = Arrays.copyOf(prefixes, capacity);
+        }
+        recordStarts[count] = recordStart;
+        recordLengths[count] = recordLength;
+        years[count] = year;
+        titleStarts[count] = titleStart;
+        titleLengths[count] = titleLength;
+        prefixes[count] = prefix(bytes, titleStart, titleLength);
+        count++;
+    }
+
+    /**
+     * @return The number of records added since the last reset.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Sorts the records added so far by release year, then title.
+     */
+    void sort() {
+        if (order.length < count) {
+            order = new int[recordStarts.length];
+            scratch = new int[recordStarts.length];
+        }
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        mergeSort(0, count);
+    }
+
+    /**
+     * Writes the sorted records as CSV lines.
+     *
+     * @param out The stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    void writeRecords(DataOutputStream out) throws IOException {
+        for (int i = 0; i < count; i++) {
+            int record = order[i];
+            out.write(bytes, recordStarts[record], recordLengths[record]);
+        }
+    }
+
+    /**
+     * Writes the sorted records in the run file format read by
+     * {@link RunReader}: per record, its length, release year, title offset
+     * within the record and title length, then the record bytes.
+     *
+     * @param out The stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    void writeRun(DataOutputStream out) throws IOException {
+        for (int i = 0; i < count; i++) {
+            int record = order[i];
+            out.writeInt(recordLengths[record]);
+            out.writeInt(years[record]);
+            out.writeInt(titleStarts[record] - recordStarts[record]);
+            out.writeInt(titleLengths[record]);
+            out.write(bytes, recordStarts[record], recordLengths[record]);
+        }
+    }
+
+    /**
+     * Packs the first eight bytes of a title into a long whose unsigned order
+     * matches the order of the bytes; shorter titles are padded with zeros.
+     */
+    static long prefix(byte[] bytes, int start, int length) {
+        long prefix = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            prefix = prefix << 8 | (i < length ? bytes[start + i] & 0xFF : 0);
+        }
+        return prefix;
+    }
+
+    /**
+     * Orders two keys by year, then by the unsigned bytes of the title, which
+     * for UTF-8 is code point order.
+     */
+    static int compareKeys(int year, byte[] bytes, int titleStart, int titleLength, int otherYear,
+            byte[] otherBytes, int otherTitleStart, int otherTitleLength) {
+        if (year != otherYear) {
+            return Integer.compare(year, otherYear);
+        }
+        return Arrays.compareUnsigned(bytes, titleStart, titleStart + titleLength, otherBytes, otherTitleStart,
+                otherTitleStart + otherTitleLength);
+    }
+
+    private int compare(int a, int b) {
+        if (years[a] != years[b]) {
+            return Integer.compare(years[a], years[b]);
+        }
+        int result = Long.compareUnsigned(prefixes[a], prefixes[b]);
+        if (result == 0) {
+            result = compareKeys(years[a], bytes, titleStarts[a], titleLengths[a], years[b], bytes, titleStarts[b],
+                    titleLengths[b]);
+        }
+        return result != 0 ? result : Integer.compare(a, b);
+    }
+
+    private void mergeSort(int from, int to) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int record = order[i];
+                int j = i;
+                while (j > from && compare(order[j - 1], record) > 0) {
+                    order[j] = order[j - 1];
+                    j--;
+                }
+                order[j] = record;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(from, middle);
+        mergeSort(middle, to);
+        if (compare(order[middle - 1], order[middle]) <= 0) {
+            return; // already in order, as in a presorted input
+        }
+
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < middle && compare(scratch[left], scratch[right]) <= 0) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.acs560.HW1_DATA_ANALYZER.sort;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads the records of a sorted run file back one at a time, for the merge.
+ * <p>
+ * The current record is held in a reusable byte array along with its key as
+ * written by {@link RunBuilder#writeRun(DataOutputStream)}, so the merge
+ * compares keys without parsing the CSV again.
+ * </p>
+ */
+class RunReader implements Closeable {
+    private final int index;
+    private final DataInputStream in;
+    private long remaining;
+    private byte[] record = new byte[1 << 10];
+    private int length;
+    private int year;
+    private int titleOffset;
+    private int titleLength;
+
+    /**
+     * Constructor
+     *
+     * @param index       The position of the run in input order, used to keep
+     *                    the merge stable.
+     * @param file        The run file.
+     * @param records     The number of records in the file.
+     * @param bufferBytes The size of the read buffer.
+     * @throws IOException if the file cannot be opened.
+     */
+    RunReader(int index, Path file, long records, int bufferBytes) throws IOException {
+        this.index = index;
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), bufferBytes));
+        this.remaining = records;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return True if a record was read, false once the run is exhausted.
+     * @throws IOException if the file cannot be read or ends early.
+     */
+    boolean next() throws IOException {
+        if (remaining == 0) {
+            return false;
+        }
+        remaining--;
+        length = in.readInt();
+        year = in.readInt();
+        titleOffset = in.readInt();
+        titleLength = in.readInt();
+        if (record.length < length) {
+            record = new byte[Math.max(length, record.length * 2)];
+        }
+        in.readFully(record, 0, length);
+        return true;
+    }
+
+    /**
+     * Orders the current records of two runs by key, then by run, so that
+     * equal keys leave the merge in input order.
+     *
+     * @param a A run positioned on a record.
+     * @param b Another run positioned on a record.
+     * @return A negative number, zero or a positive number as {@code a} sorts
+     *         before, with or after {@code b}.
+     */
+    static int compare(RunReader a, RunReader b) {
+        int result = RunBuilder.compareKeys(a.year, a.record, a.titleOffset, a.titleLength, b.year, b.record,
+                b.titleOffset, b.titleLength);
+        return result != 0 ? result : Integer.compare(a.index, b.index);
+    }
+
+    /**
+     * Writes the current record as a CSV line.
+     *
+     * @param out The stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    void writeRecord(DataOutputStream out) throws IOException {
+        out.write(record, 0, length);
+    }
+
+    /**
+     * Writes the current record in the run file format.
+     *
+     * @param out The stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    void writeRun(DataOutputStream out) throws IOException {
+        out.writeInt(length);
+        out.writeInt(year);
+        out.writeInt(titleOffset);
+        out.writeInt(titleLength);
+        out.write(record, 0, length);
+    }
+
+    /**
+     * @return The number of bytes in the current record.
+     */
+    int length() {
+        return length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.acs560.HW1_DATA_ANALYZER.sort;
+
+/**
+ * What an {@link ExternalSorter} run did: how many records it sorted, how many
+ * runs it spilled to disk and how many merge passes it took.
+ */
+public class SortSummary {
+    private final long records;
+    private final long bytes;
+    private final int runs;
+    private final int mergePasses;
+
+    /**
+     * Constructor
+     *
+     * @param records     Data rows written, excluding the header.
+     * @param bytes       Bytes written to the output, including the header.
+     * @param runs        Sorted runs written to temporary files; 0 if the
+     *                    input fit in memory.
+     * @param mergePasses Merge passes over the runs, the last one writing the
+     *                    output.
+     */
+    public SortSummary(long records, long bytes, int runs, int mergePasses) {
+        this.records = records;
+        this.bytes = bytes;
+        this.runs = runs;
+        this.mergePasses = mergePasses;
+    }
+
+    /**
+     * @return Data rows written, excluding the header.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * @return Bytes written to the output, including the header.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return Sorted runs written to temporary files; 0 if the input fit in memory.
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return Merge passes over the runs, the last one writing the output.
+     */
+    public int getMergePasses() {
+        return mergePasses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d records, %d bytes, %d runs, %d merge passes", records, bytes, runs, mergePasses);
+    }
+}
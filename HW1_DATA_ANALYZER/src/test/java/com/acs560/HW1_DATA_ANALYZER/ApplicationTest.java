@@ -15,6 +15,11 @@ import java.io.PrintStream;
 import java.nio.file.Files;
 import java.util.List;
 
+import com.acs560.HW1_DATA_ANALYZER.analysis.DurationStats;
+import com.acs560.HW1_DATA_ANALYZER.analysis.GenreMatrix;
+import com.acs560.HW1_DATA_ANALYZER.analysis.YearHistogram;
+import com.acs560.HW1_DATA_ANALYZER.parsers.DurationParser;
+
 class ApplicationTest {
 
 	private List<String[]> sampleData;
@@ -89,6 +94,129 @@ class ApplicationTest {
 		assertEquals(expectedContent, actualContent);
 	}
 
+	@Test
+	public void testWriteYearStatisticsReport() throws IOException {
+		YearHistogram movieYears = new YearHistogram();
+		movieYears.add(2020, 2);
+		movieYears.add(2021);
+		YearHistogram tvShowYears = new YearHistogram();
+		tvShowYears.add(2020);
+
+		Application.writeYearStatisticsReport(movieYears, tvShowYears);
+		String expectedContent = """
+				=== Release Year Statistics ===
+				Statistic                 Movies     TV Shows
+				==============================
+				Earliest                  2020       2020
+				Latest                    2021       2020
+				Median                    2020       2020
+				10th Percentile           2020       2020
+				90th Percentile           2021       2020
+
+				Year                      Movies     TV Shows
+				==============================
+				2020                      2          1
+				2021                      1          0
+				""";
+
+		String actualContent = readFileContent(Application.YEAR_STATS_FILE);
+
+		expectedContent = expectedContent.strip().replaceAll("\\s+", "").replace("\r\n", "\n");
+		actualContent = actualContent.strip().replaceAll("\\s+", "").replace("\r\n", "\n");
+
+		assertEquals(expectedContent, actualContent);
+	}
+
+	@Test
+	public void testWriteGenreReport() throws IOException {
+		GenreMatrix genres = new GenreMatrix();
+		genres.addAll("Dramas, Comedies");
+		genres.addAll("Dramas, Thrillers");
+		genres.addAll("Comedies, Dramas");
+
+		Application.writeGenreReport(genres);
+		String expectedContent = """
+				=== Genre Counts ===
+				Genre                     Count
+				==============================
+				Dramas                    3
+				Comedies                  2
+				Thrillers                 1
+
+				=== Genre Co-occurrence ===
+				Genre Pair                Count
+				==============================
+				Dramas + Comedies         2
+				Dramas + Thrillers        1
+				""";
+
+		String actualContent = readFileContent(Application.GENRES_FILE);
+
+		expectedContent = expectedContent.strip().replaceAll("\\s+", "").replace("\r\n", "\n");
+		actualContent = actualContent.strip().replaceAll("\\s+", "").replace("\r\n", "\n");
+
+		assertEquals(expectedContent, actualContent);
+	}
+
+	@Test
+	public void testWriteRuntimeReport() throws IOException {
+		DurationStats durations = new DurationStats();
+		durations.addMovie(45);
+		durations.addMovie(90);
+		durations.addMovie(100);
+		durations.addTvShow(1);
+		durations.addTvShow(3);
+		durations.addTvShow(DurationParser.INVALID);
+
+		Application.writeRuntimeReport(durations);
+
+		String expectedContent = """
+				=== Movie Runtime Statistics ===
+				Statistic                 Runtime
+				==============================
+				Movies                    3
+				Mean                      1:18:20
+				Median                    1:30:00
+				90th Percentile           1:40:00
+				Shortest                  0:45:00
+				Longest                   1:40:00
+
+				=== Movie Runtime Histogram ===
+				Runtime                   Movies
+				==============================
+				0:00:00 - 0:30:00         0
+				0:30:00 - 1:00:00         1
+				1:00:00 - 1:30:00         0
+				1:30:00 - 2:00:00         2
+
+				=== TV Show Seasons ===
+				Seasons                   TV Shows
+				==============================
+				1                         1
+				2                         0
+				3                         1
+
+				Duration                  Titles
+				==============================
+				Missing or Invalid        1
+				""";
+		String actualContent = readFileContent(Application.RUNTIME_FILE);
+
+		expectedContent = expectedContent.strip().replaceAll("\\s+", "").replace("\r\n", "\n");
+		actualContent = actualContent.strip().replaceAll("\\s+", "").replace("\r\n", "\n");
+
+		assertEquals(expectedContent, actualContent);
+	}
+
+	@Test
+	public void testFormatRuntime() {
+		assertEquals("0:00:00", Application.formatRuntime(0));
+		assertEquals("0:45:00", Application.formatRuntime(45));
+		assertEquals("1:39:30", Application.formatRuntime(99.5));
+		assertEquals("2:00:00", Application.formatRuntime(119.999));
+		assertEquals("3:32:00", Application.formatRuntime(212));
+	}
+
 	@Test
 	public void testReadCSV() {
 		List<String[]> data = Application.readCSV(Application.FILE_NAME);
@@ -109,6 +237,12 @@ class ApplicationTest {
 		new File(Application.COUNT_FILE).delete();
 		new File(Application.AVG_FILE).delete();
 		new File(Application.COUNTRIES_FILE).delete();
+		new File(Application.YEAR_STATS_FILE).delete();
+		new File(Application.APPROXIMATE_FILE).delete();
+		new File(Application.GENRES_FILE).delete();
+		new File(Application.CAST_GRAPH_FILE).delete();
+		new File(Application.ADDITIONS_FILE).delete();
+		new File(Application.RUNTIME_FILE).delete();
 	}
 	
 	@Test
@@ -116,7 +250,7 @@ class ApplicationTest {
 		
 		Application.countUniqueCountries(sampleData);
 		
-        String simulatedInput = "1\n2\n3\n4\n";
+        String simulatedInput = "1\n2\n3\n4\n5\n6\n7\n8\n9\n10\nexit\n11\n";
         ByteArrayInputStream inStream = new ByteArrayInputStream(simulatedInput.getBytes());
         System.setIn(inStream);
 
@@ -137,28 +271,154 @@ class ApplicationTest {
             1. Count of Movies vs TV Shows
             2. Average number of Movies per year
             3. Unique Countries and their Counts
-            4. Exit
+            4. Release Year Statistics
+            5. Approximate Distinct Directors, Cast and Countries
+            6. Genre Counts and Co-occurrence
+            7. Cast Collaboration Graph
+            8. Titles Added per Month and Week
+            9. Runtime Statistics
+            10. Query the Dataset
+            11. Exit
             Please enter your choice: Results written to count_movies_vs_tv_shows.txt
 
             Here are few things I can help you with:
             1. Count of Movies vs TV Shows
             2. Average number of Movies per year
             3. Unique Countries and their Counts
-            4. Exit
+            4. Release Year Statistics
+            5. Approximate Distinct Directors, Cast and Countries
+            6. Genre Counts and Co-occurrence
+            7. Cast Collaboration Graph
+            8. Titles Added per Month and Week
+            9. Runtime Statistics
+            10. Query the Dataset
+            11. Exit
             Please enter your choice: Results written to average_movies_per_year.txt
 
             Here are few things I can help you with:
             1. Count of Movies vs TV Shows
             2. Average number of Movies per year
             3. Unique Countries and their Counts
-            4. Exit
+            4. Release Year Statistics
+            5. Approximate Distinct Directors, Cast and Countries
+            6. Genre Counts and Co-occurrence
+            7. Cast Collaboration Graph
+            8. Titles Added per Month and Week
+            9. Runtime Statistics
+            10. Query the Dataset
+            11. Exit
             Please enter your choice: Results written to unique_countries_counts.txt
 
             Here are few things I can help you with:
             1. Count of Movies vs TV Shows
             2. Average number of Movies per year
             3. Unique Countries and their Counts
-            4. Exit
+            4. Release Year Statistics
+            5. Approximate Distinct Directors, Cast and Countries
+            6. Genre Counts and Co-occurrence
+            7. Cast Collaboration Graph
+            8. Titles Added per Month and Week
+            9. Runtime Statistics
+            10. Query the Dataset
+            11. Exit
+            Please enter your choice: Results written to release_year_statistics.txt
+
+            Here are few things I can help you with:
+            1. Count of Movies vs TV Shows
+            2. Average number of Movies per year
+            3. Unique Countries and their Counts
+            4. Release Year Statistics
+            5. Approximate Distinct Directors, Cast and Countries
+            6. Genre Counts and Co-occurrence
+            7. Cast Collaboration Graph
+            8. Titles Added per Month and Week
+            9. Runtime Statistics
+            10. Query the Dataset
+            11. Exit
+            Please enter your choice: Results written to approximate_statistics.txt
+
+            Here are few things I can help you with:
+            1. Count of Movies vs TV Shows
+            2. Average number of Movies per year
+            3. Unique Countries and their Counts
+            4. Release Year Statistics
+            5. Approximate Distinct Directors, Cast and Countries
+            6. Genre Counts and Co-occurrence
+            7. Cast Collaboration Graph
+            8. Titles Added per Month and Week
+            9. Runtime Statistics
+            10. Query the Dataset
+            11. Exit
+            Please enter your choice: Results written to genre_cooccurrence.txt
+
+            Here are few things I can help you with:
+            1. Count of Movies vs TV Shows
+            2. Average number of Movies per year
+            3. Unique Countries and their Counts
+            4. Release Year Statistics
+            5. Approximate Distinct Directors, Cast and Countries
+            6. Genre Counts and Co-occurrence
+            7. Cast Collaboration Graph
+            8. Titles Added per Month and Week
+            9. Runtime Statistics
+            10. Query the Dataset
+            11. Exit
+            Please enter your choice: Results written to cast_collaboration_graph.txt
+
+            Here are few things I can help you with:
+            1. Count of Movies vs TV Shows
+            2. Average number of Movies per year
+            3. Unique Countries and their Counts
+            4. Release Year Statistics
+            5. Approximate Distinct Directors, Cast and Countries
+            6. Genre Counts and Co-occurrence
+            7. Cast Collaboration Graph
+            8. Titles Added per Month and Week
+            9. Runtime Statistics
+            10. Query the Dataset
+            11. Exit
+            Please enter your choice: Results written to titles_added_over_time.txt
+
+            Here are few things I can help you with:
+            1. Count of Movies vs TV Shows
+            2. Average number of Movies per year
+            3. Unique Countries and their Counts
+            4. Release Year Statistics
+            5. Approximate Distinct Directors, Cast and Countries
+            6. Genre Counts and Co-occurrence
+            7. Cast Collaboration Graph
+            8. Titles Added per Month and Week
+            9. Runtime Statistics
+            10. Query the Dataset
+            11. Exit
+            Please enter your choice: Results written to runtime_statistics.txt
+
+            Here are few things I can help you with:
+            1. Count of Movies vs TV Shows
+            2. Average number of Movies per year
+            3. Unique Countries and their Counts
+            4. Release Year Statistics
+            5. Approximate Distinct Directors, Cast and Countries
+            6. Genre Counts and Co-occurrence
+            7. Cast Collaboration Graph
+            8. Titles Added per Month and Week
+            9. Runtime Statistics
+            10. Query the Dataset
+            11. Exit
+            Please enter your choice: Enter a query such as: count by rating where type=Movie and release_year>=2015
+            Type 'help' for the syntax or 'exit' to return.
+            query> Here are few things I can help you with:
+            1. Count of Movies vs TV Shows
+            2. Average number of Movies per year
+            3. Unique Countries and their Counts
+            4. Release Year Statistics
+            5. Approximate Distinct Directors, Cast and Countries
+            6. Genre Counts and Co-occurrence
+            7. Cast Collaboration Graph
+            8. Titles Added per Month and Week
+            9. Runtime Statistics
+            10. Query the Dataset
+            11. Exit
             Please enter your choice: Exiting the application. Goodbye!
             """.strip();
 
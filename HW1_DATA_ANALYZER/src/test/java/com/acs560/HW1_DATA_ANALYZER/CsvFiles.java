@@ -0,0 +1,31 @@
+package com.acs560.HW1_DATA_ANALYZER;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+
+/**
+ * Reads CSV files written by the tests back with opencsv, as an independent
+ * check on the project's own CSV code.
+ */
+public final class CsvFiles {
+
+	private CsvFiles() {
+	}
+
+	/**
+	 * @param file A UTF-8 CSV file.
+	 * @return Every row of the file, header included.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static List<String[]> read(Path file) throws IOException {
+		try (CSVReader reader = new CSVReaderBuilder(new FileReader(file.toFile(), StandardCharsets.UTF_8)).build()) {
+			return reader.readAll();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.parsers.DateAddedParser;
+
+class AdditionsTimelineTest {
+
+	private static int day(int year, int month, int dayOfMonth) {
+		return (int) LocalDate.of(year, month, dayOfMonth).toEpochDay();
+	}
+
+	@Test
+	public void testMonthsAndWeeks() {
+		AdditionsTimeline timeline = new AdditionsTimeline();
+		timeline.add(day(2021, 9, 20), true);
+		timeline.add(day(2021, 9, 26), true);
+		timeline.add(day(2021, 9, 27), false, 2);
+		timeline.add(day(2019, 1, 1), false);
+		timeline.add(DateAddedParser.INVALID, true);
+
+		assertEquals(2, timeline.monthCount(2021, 9, true));
+		assertEquals(2, timeline.monthCount(2021, 9, false));
+		assertEquals(0, timeline.monthCount(2020, 6, true));
+		assertEquals(2, timeline.weekCount(day(2021, 9, 22), true));
+		assertEquals(2, timeline.weekCount(day(2021, 10, 3), false));
+		assertEquals(0, timeline.weekCount(day(2021, 10, 3), true));
+		assertEquals(5, timeline.getTotal());
+		assertEquals(1, timeline.getUndated());
+
+		assertEquals(2019 * 12, timeline.firstMonth());
+		assertEquals(2021 * 12 + 8, timeline.lastMonth());
+		assertEquals(day(2018, 12, 31), timeline.firstWeekStart());
+		assertEquals(day(2021, 9, 27), timeline.lastWeekStart());
+		assertEquals(AdditionsTimeline.NO_PERIOD, new AdditionsTimeline().firstMonth());
+	}
+
+	@Test
+	public void testMerge() {
+		AdditionsTimeline left = new AdditionsTimeline();
+		left.add(day(2008, 1, 1), true);
+		AdditionsTimeline right = new AdditionsTimeline();
+		right.add(day(2021, 9, 25), true);
+		right.add(day(2008, 1, 2), true);
+		right.add(DateAddedParser.INVALID, false);
+
+		left.merge(right);
+		assertEquals(2, left.monthCount(2008, 1, true));
+		assertEquals(1, left.monthCount(2021, 9, true));
+		assertEquals(3, left.getTotal());
+		assertEquals(1, left.getUndated());
+	}
+
+	@Test
+	public void testImplausibleYearsAreUndated() {
+		AdditionsTimeline timeline = new AdditionsTimeline();
+		timeline.add(day(1, 1, 1), true);
+		timeline.add(day(2021, 9, 25), true);
+		timeline.add(day(2008, 1, 2), false);
+		timeline.add(day(9999, 12, 31), false);
+
+		assertEquals(2, timeline.getTotal());
+		assertEquals(2, timeline.getUndated());
+		assertEquals(2008 * 12, timeline.firstMonth());
+		assertEquals(2021 * 12 + 8, timeline.lastMonth());
+
+		AdditionsTimeline left = new AdditionsTimeline();
+		left.add(day(1, 1, 1), true);
+		left.add(day(2021, 9, 25), true);
+		AdditionsTimeline right = new AdditionsTimeline();
+		right.add(day(2008, 1, 2), false);
+		right.add(day(9999, 12, 31), false);
+		left.merge(right);
+
+		assertEquals(timeline.getTotal(), left.getTotal());
+		assertEquals(timeline.getUndated(), left.getUndated());
+		assertEquals(1, left.weekCount(day(2008, 1, 2), false));
+		assertEquals(1, left.weekCount(day(2021, 9, 25), true));
+	}
+
+	@Test
+	public void testParallelMatchesStreaming() throws IOException {
+		AdditionsTimeline streamed = StreamingAnalyzer.analyze(Application.FILE_NAME).getAggregates().getAdditions();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			AdditionsTimeline parallel = ParallelAnalyzer.analyze(Application.FILE_NAME, pool, 8).getAggregates()
+					.getAdditions();
+			assertEquals(8797, streamed.getTotal());
+			assertEquals(10, streamed.getUndated());
+			assertEquals(streamed.getTotal(), parallel.getTotal());
+			assertEquals(streamed.firstMonth(), parallel.firstMonth());
+			for (int day = streamed.firstWeekStart(); day <= streamed.lastWeekStart(); day += 7) {
+				assertEquals(streamed.weekCount(day, true), parallel.weekCount(day, true));
+				assertEquals(streamed.weekCount(day, false), parallel.weekCount(day, false));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
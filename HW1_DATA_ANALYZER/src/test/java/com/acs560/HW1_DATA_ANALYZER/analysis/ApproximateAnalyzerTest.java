@@ -0,0 +1,89 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.sketches.HyperLogLog;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+
+class ApproximateAnalyzerTest {
+
+	@Test
+	public void testEstimatesMatchExactCounts() throws IOException {
+		NameCounter directors = new NameCounter();
+		NameCounter cast = new NameCounter();
+		NameCounter countries = new NameCounter();
+		for (String[] row : readRows()) {
+			directors.addAll(row[3]);
+			cast.addAll(row[4]);
+			countries.addAll(row[5]);
+		}
+
+		ApproximateAnalyzer.Settings settings = new ApproximateAnalyzer.Settings();
+		ApproximateAggregates aggregates = ApproximateAnalyzer.analyze(Application.FILE_NAME, settings);
+
+		assertEquals(8807, aggregates.getRowCount());
+		assertWithinError(distinct(directors), aggregates.getDirectors());
+		assertWithinError(distinct(cast), aggregates.getCast());
+		assertWithinError(distinct(countries), aggregates.getCountries());
+
+		long bound = aggregates.getTopCast().getSketch().errorBound();
+		Map<String, Long> exactTop = cast.top(3);
+		Map<String, Long> estimatedTop = aggregates.getTopCastCounts();
+		assertEquals(settings.getTopCast(), estimatedTop.size());
+		for (Map.Entry<String, Long> entry : exactTop.entrySet()) {
+			long estimate = estimatedTop.get(entry.getKey());
+			assertTrue(estimate >= entry.getValue() && estimate <= entry.getValue() + bound, entry.getKey());
+		}
+	}
+
+	@Test
+	public void testThreadsGiveSameEstimates() throws IOException {
+		ApproximateAnalyzer.Settings settings = new ApproximateAnalyzer.Settings().precision(10).topCast(5);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			ApproximateAggregates parallel = ApproximateAnalyzer.analyze(Application.FILE_NAME, settings, pool);
+			ApproximateAggregates single = new ApproximateAggregates(settings);
+			for (String[] row : readRows()) {
+				single.accept(row);
+			}
+
+			assertEquals(single.getRowCount(), parallel.getRowCount());
+			assertEquals(single.getDirectors().estimate(), parallel.getDirectors().estimate());
+			assertEquals(single.getCast().estimate(), parallel.getCast().estimate());
+			assertEquals(single.getCountries().estimate(), parallel.getCountries().estimate());
+			// ranks below the top three are ties, whose order depends on the row order
+			assertEquals(List.copyOf(single.getTopCastCounts().keySet()).subList(0, 3),
+					List.copyOf(parallel.getTopCastCounts().keySet()).subList(0, 3));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static List<String[]> readRows() throws IOException {
+		try (CSVReader reader = new CSVReaderBuilder(new FileReader(Application.FILE_NAME, StandardCharsets.UTF_8))
+				.withSkipLines(1).build()) {
+			return reader.readAll();
+		}
+	}
+
+	private static long distinct(NameCounter counter) {
+		return counter.size() - (counter.count("") > 0 ? 1 : 0);
+	}
+
+	private static void assertWithinError(long exact, HyperLogLog sketch) {
+		double error = Math.abs(sketch.estimate() - exact) / (double) exact;
+		assertTrue(error < 3 * sketch.relativeStandardError(), exact + " vs " + sketch.estimate());
+	}
+}
@@ -0,0 +1,132 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+
+class BatchAnalyzerTest {
+
+	private static final String HEADER = "show_id,type,title,director,cast,country,date_added,release_year\n";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testAnalyzeDirectory() throws IOException {
+		Path input = Files.createDirectory(tempDir.resolve("input"));
+		Path output = tempDir.resolve("output");
+		Files.writeString(input.resolve("first.csv"), HEADER
+				+ "s1,Movie,Title,Director,cast,\"Country \"\"A\"\"\",date,2020\n"
+				+ "s2,TV Show,Title,Director,cast,Country B,date,2021\n");
+		Files.writeString(input.resolve("second.csv"), HEADER + "s1,Movie,Title,Director,cast,Country B,date,2019\n");
+		Files.writeString(input.resolve("notes.txt"), "ignored");
+
+		BatchAnalyzer.run(new String[] { "--threads", "2", "--out", output.toString(), input.toString() });
+
+		String json = Files.readString(output.resolve("first" + BatchAnalyzer.JSON_SUFFIX));
+		assertTrue(json.contains("\"rows\": 2,"));
+		assertTrue(json.contains("\"movies\": 1,"));
+		assertTrue(json.contains("\"tvShows\": 1,"));
+		assertTrue(json.contains("\"Country \\\"A\\\"\": 1"));
+
+		List<String> csv = Files.readAllLines(output.resolve("second" + BatchAnalyzer.CSV_SUFFIX));
+		assertTrue(csv.contains("\"movies_per_year\",\"2019\",\"1\""));
+
+		assertTrue(Files.exists(output.resolve("first_" + Application.COUNT_FILE)));
+		assertTrue(Files.exists(output.resolve("second_" + Application.AVG_FILE)));
+		assertTrue(Files.exists(output.resolve("second_" + Application.COUNTRIES_FILE)));
+	}
+
+	@Test
+	public void testJsonIgnoresDefaultLocale() throws IOException {
+		Path input = tempDir.resolve("input.csv");
+		Files.writeString(input, HEADER + "s1,Movie,Title,Director,cast,Country,date,2020\n"
+				+ "s2,Movie,Title,Director,cast,Country,date,2020\n"
+				+ "s3,Movie,Title,Director,cast,Country,date,2021\n");
+
+		Locale previous = Locale.getDefault();
+		Locale.setDefault(Locale.GERMANY);
+		try {
+			BatchAnalyzer.analyzeAll(List.of(input), tempDir, 1);
+		} finally {
+			Locale.setDefault(previous);
+		}
+
+		String json = Files.readString(tempDir.resolve("input" + BatchAnalyzer.JSON_SUFFIX));
+		assertTrue(json.contains("\"averageMoviesPerYear\": 1.50,"), json);
+	}
+
+	@Test
+	public void testOptionsRejectNonPositiveCounts() {
+		assertThrows(IllegalArgumentException.class, () -> new BatchAnalyzer.Options().threads(0));
+		assertThrows(IllegalArgumentException.class, () -> new BatchAnalyzer.Options().topCountries(-1));
+		assertEquals(3, new BatchAnalyzer.Options().threads(3).getThreads());
+	}
+
+	@Test
+	public void testPipelinesShareTheThreadBudget() {
+		assertEquals(8, BatchAnalyzer.pipelineWorkers(8, 1));
+		assertEquals(4, BatchAnalyzer.pipelineWorkers(8, 2));
+		assertEquals(2, BatchAnalyzer.pipelineWorkers(8, 3));
+		assertEquals(1, BatchAnalyzer.pipelineWorkers(8, 100));
+		assertEquals(1, BatchAnalyzer.pipelineWorkers(1, 0));
+	}
+
+	@Test
+	public void testMissingFileIsReportedPerFile() throws IOException {
+		Path good = tempDir.resolve("good.csv");
+		Files.writeString(good, HEADER + "s1,Movie,Title,Director,cast,Country,date,2020\n");
+
+		List<BatchAnalyzer.FileResult> results = BatchAnalyzer
+				.analyzeAll(List.of(good, tempDir.resolve("missing.csv")), tempDir, 2);
+
+		assertNull(results.get(0).getError());
+		assertEquals(1, results.get(0).getAnalysis().getStats().getRows());
+		assertTrue(results.get(1).getError() instanceof IOException);
+	}
+
+	@Test
+	public void testGzipInputGoesThroughPipeline() throws IOException {
+		Path input = Files.createDirectory(tempDir.resolve("input"));
+		Path output = tempDir.resolve("output");
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(input.resolve("export.csv.gz")))) {
+			out.write((HEADER + "s1,Movie,Title,Director,cast,Country A,date,2020\n"
+					+ "s2,Movie,Title,Director,cast,Country A,date,2021\n").getBytes(StandardCharsets.UTF_8));
+		}
+
+		BatchAnalyzer.run(new String[] { "--threads", "2", "--out", output.toString(), input.toString() });
+
+		String json = Files.readString(output.resolve("export" + BatchAnalyzer.JSON_SUFFIX));
+		assertTrue(json.contains("\"rows\": 2,"));
+		assertTrue(json.contains("\"Country A\": 2"));
+		assertTrue(Files.exists(output.resolve("export_" + Application.COUNT_FILE)));
+	}
+
+	@Test
+	public void testPartialStateOption() throws IOException {
+		Path input = tempDir.resolve("shard1.csv");
+		Path output = tempDir.resolve("output");
+		Files.writeString(input, HEADER + "s1,Movie,Title,Director,cast,Country A,date,2020\n");
+
+		BatchAnalyzer.run(new String[] { "--partial", "--out", output.toString(), input.toString() });
+
+		NetflixAggregates partial = PartialStateFile.read(output.resolve("shard1" + PartialStateFile.EXTENSION));
+		assertEquals(1, partial.getMovieCount());
+		assertEquals(1L, partial.getCountryCounts().get("Country A"));
+	}
+}
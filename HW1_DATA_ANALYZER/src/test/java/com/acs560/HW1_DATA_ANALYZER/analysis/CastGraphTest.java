@@ -0,0 +1,114 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+
+class CastGraphTest {
+
+	@Test
+	public void testDegreesAndCollaborators() {
+		CastGraph graph = new CastGraph.Builder()
+				.addAll("Ann, Bob, Cal")
+				.addAll("Bob, Ann")
+				.addAll("Dee, Eve, Dee")
+				.addAll("Fay")
+				.addAll("  ")
+				.addAll(null)
+				.build();
+
+		assertEquals(6, graph.actorCount());
+		assertEquals(4, graph.edgeCount());
+		assertEquals(2, graph.degree("Ann"));
+		assertEquals(1, graph.degree("Dee"));
+		assertEquals(0, graph.degree("Fay"));
+		assertEquals(0, graph.degree("Nobody"));
+		assertEquals(2, graph.sharedTitles("Ann", "Bob"));
+		assertEquals(2, graph.sharedTitles("Bob", "Ann"));
+		assertEquals(0, graph.sharedTitles("Ann", "Eve"));
+		assertEquals(List.of("Bob", "Cal"), List.copyOf(graph.topCollaborators("Ann", 5).keySet()));
+		assertEquals(Map.of("Bob", 2L), graph.topCollaborators("Ann", 1));
+	}
+
+	@Test
+	public void testComponents() {
+		CastGraph graph = new CastGraph.Builder()
+				.addAll("Ann, Bob")
+				.addAll("Cal, Dee")
+				.addAll("Bob, Cal")
+				.addAll("Eve, Fay")
+				.addAll("Gus")
+				.build();
+
+		assertEquals(3, graph.componentCount());
+		assertEquals(4, graph.largestComponentSize());
+		assertEquals(4, graph.componentSize("Dee"));
+		assertEquals(2, graph.componentSize("Fay"));
+		assertEquals(1, graph.componentSize("Gus"));
+		assertEquals(0, graph.componentSize("Nobody"));
+	}
+
+	@Test
+	public void testRepeatedCastIsMergedInPlace() {
+		StringBuilder cast = new StringBuilder();
+		for (int i = 0; i < 40; i++) {
+			cast.append(i > 0 ? ", " : "").append("Actor ").append(i);
+		}
+		CastGraph.Builder builder = new CastGraph.Builder();
+		for (int title = 0; title < 5_000; title++) {
+			builder.addAll(cast);
+			builder.addAll("Actor 0, Extra " + title % 10);
+		}
+		// 780 pairs per title would need millions of slots without merging.
+		assertTrue(builder.capacity() <= 1 << 13, "Capacity " + builder.capacity());
+		CastGraph graph = builder.build();
+
+		assertEquals(50, graph.actorCount());
+		assertEquals(780 + 10, graph.edgeCount());
+		assertEquals(5_000, graph.sharedTitles("Actor 3", "Actor 17"));
+		assertEquals(5_500, graph.sharedTitles("Actor 0", "Actor 39") + graph.sharedTitles("Actor 0", "Extra 4"));
+		assertEquals(39, graph.degree("Actor 1"));
+		assertEquals(49, graph.degree("Actor 0"));
+		assertEquals(1, graph.componentCount());
+	}
+
+	@Test
+	public void testReadMatchesParsedRows() throws IOException {
+		CastGraph.Builder builder = new CastGraph.Builder();
+		NameCounter cast = new NameCounter();
+		for (String[] row : readRows()) {
+			builder.addAll(row[4]);
+			cast.addAll(row[4]);
+		}
+		CastGraph expected = builder.build();
+		CastGraph graph = CastGraph.read(Application.FILE_NAME);
+
+		assertEquals(expected.actorCount(), graph.actorCount());
+		assertEquals(cast.size() - (cast.count("") > 0 ? 1 : 0), graph.actorCount());
+		assertEquals(expected.edgeCount(), graph.edgeCount());
+		assertEquals(expected.componentCount(), graph.componentCount());
+		assertEquals(expected.topByDegree(5), graph.topByDegree(5));
+		String actor = graph.topByDegree(1).keySet().iterator().next();
+		assertEquals(expected.topCollaborators(actor, 5).values().stream().toList(),
+				graph.topCollaborators(actor, 5).values().stream().toList());
+		assertTrue(graph.largestComponentSize() <= graph.actorCount());
+	}
+
+	private static List<String[]> readRows() throws IOException {
+		try (CSVReader reader = new CSVReaderBuilder(new FileReader(Application.FILE_NAME, StandardCharsets.UTF_8))
+				.withSkipLines(1).build()) {
+			return reader.readAll();
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+class DatasetCacheTest {
+
+	private static final String HEADER = "show_id,type,title,director,cast,country,date_added,release_year\n";
+
+	@TempDir
+	Path tempDir;
+
+	private Path csv;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		csv = tempDir.resolve("data.csv");
+		Files.writeString(csv, HEADER + "s1,Movie,Title,Director,cast,Country1,date,2020\n");
+	}
+
+	@Test
+	public void testUnchangedFileIsParsedOnce() throws IOException {
+		DatasetCache cache = new DatasetCache();
+
+		NetflixAggregates first = cache.get(csv.toString());
+		NetflixAggregates second = cache.get(csv.toString());
+
+		assertSame(first, second);
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testTouchedFileKeepsEntry() throws IOException {
+		DatasetCache cache = new DatasetCache();
+		NetflixAggregates first = cache.get(csv.toString());
+
+		Files.setLastModifiedTime(csv, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+		assertSame(first, cache.get(csv.toString()));
+	}
+
+	@Test
+	public void testChangedContentInvalidatesEntry() throws IOException {
+		DatasetCache cache = new DatasetCache();
+		NetflixAggregates first = cache.get(csv.toString());
+		FileTime lastModified = Files.getLastModifiedTime(csv);
+
+		// Same size as before, so only the content hash can detect the change.
+		Files.writeString(csv, HEADER + "s1,Movie,Title,Director,cast,Country2,date,2020\n");
+		Files.setLastModifiedTime(csv, FileTime.fromMillis(lastModified.toMillis() + 60_000));
+
+		NetflixAggregates second = cache.get(csv.toString());
+		assertNotSame(first, second);
+		assertEquals(1L, second.getCountryCounts().get("Country2"));
+	}
+
+	@Test
+	public void testAppendedFileInvalidatesEntry() throws IOException {
+		DatasetCache cache = new DatasetCache();
+		cache.get(csv.toString());
+
+		Files.writeString(csv, HEADER + "s1,Movie,Title,Director,cast,Country1,date,2020\n"
+				+ "s2,TV Show,Title,Director,cast,Country1,date,2021\n");
+
+		assertEquals(1, cache.get(csv.toString()).getTvShowCount());
+	}
+}
@@ -0,0 +1,113 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.parsers.DurationParser;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvException;
+
+class DurationStatsTest {
+
+	@Test
+	public void testStatistics() {
+		DurationStats stats = new DurationStats();
+		for (int minutes : new int[] { 100, 90, 45, 120, 95, 30, 88, 101, 99, 300 }) {
+			stats.addMovie(minutes);
+		}
+		stats.addMovie(DurationParser.INVALID);
+		stats.addTvShow(2);
+		stats.addTvShow(2);
+		stats.addTvShow(5);
+
+		assertEquals(10, stats.getMovieCount());
+		assertEquals(3, stats.getTvShowCount());
+		assertEquals(1, stats.getUnparsed());
+		assertEquals(106.8, stats.meanMinutes(), 1e-9);
+		assertEquals(95, stats.medianMinutes());
+		assertEquals(120, stats.percentileMinutes(90));
+		assertEquals(30, stats.minMinutes());
+		assertEquals(300, stats.maxMinutes());
+		assertEquals(3, stats.countMovies(90, 100));
+		assertEquals(2, stats.countTvShows(2));
+		assertEquals(5, stats.maxSeasons());
+	}
+
+	@Test
+	public void testEmpty() {
+		DurationStats stats = new DurationStats();
+		assertEquals(0, stats.meanMinutes());
+		assertEquals(DurationStats.NO_VALUE, stats.medianMinutes());
+		assertEquals(DurationStats.NO_VALUE, stats.minMinutes());
+		assertEquals(DurationStats.NO_VALUE, stats.maxMinutes());
+		assertEquals(DurationStats.NO_VALUE, stats.maxSeasons());
+	}
+
+	@Test
+	public void testMerge() {
+		DurationStats left = new DurationStats();
+		left.addMovie(60);
+		left.addTvShow(1);
+		DurationStats right = new DurationStats();
+		right.addMovie(500);
+		right.addMovie(DurationParser.INVALID);
+		right.addTvShow(40);
+
+		left.merge(right);
+
+		assertEquals(2, left.getMovieCount());
+		assertEquals(280, left.meanMinutes(), 1e-9);
+		assertEquals(500, left.maxMinutes());
+		assertEquals(40, left.maxSeasons());
+		assertEquals(1, left.getUnparsed());
+	}
+
+	@Test
+	public void testMatchesSortedRuntimes() throws IOException, CsvException {
+		List<Integer> runtimes = new ArrayList<>();
+		DurationStats stats = new DurationStats();
+		for (String[] row : readRows()) {
+			if (row[1].equals("Movie")) {
+				int minutes = DurationParser.parseMinutes(row[9]);
+				stats.addMovie(minutes);
+				if (minutes >= 0) {
+					runtimes.add(minutes);
+				}
+			}
+		}
+		Integer[] sorted = runtimes.toArray(new Integer[0]);
+		Arrays.sort(sorted);
+
+		assertEquals(sorted.length, stats.getMovieCount());
+		assertEquals(sorted[(sorted.length + 1) / 2 - 1], stats.medianMinutes());
+		assertEquals(sorted[(int) Math.ceil(0.9 * sorted.length) - 1], stats.percentileMinutes(90));
+		assertEquals(sorted[sorted.length - 1], stats.maxMinutes());
+	}
+
+	@Test
+	public void testAggregatesOfDataFile() throws IOException {
+		DurationStats durations = StreamingAnalyzer.analyze(Application.FILE_NAME).getAggregates()
+				.getDurations();
+
+		assertEquals(6128, durations.getMovieCount());
+		assertEquals(2676, durations.getTvShowCount());
+		assertEquals(3, durations.getUnparsed());
+	}
+
+	private static List<String[]> readRows() throws IOException, CsvException {
+		try (CSVReader reader = new CSVReaderBuilder(new FileReader(Application.FILE_NAME, StandardCharsets.UTF_8))
+				.withSkipLines(1).build()) {
+			return reader.readAll();
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+
+class GenreMatrixTest {
+
+	@Test
+	public void testCountsAndPairs() {
+		GenreMatrix genres = new GenreMatrix();
+		genres.addAll("Dramas, International Movies, Romantic Movies");
+		genres.addAll("International Movies, Dramas");
+		genres.addAll("Dramas, Dramas");
+		genres.addAll("  ");
+		genres.addAll(null);
+		genres.addAll("Comedies", 3);
+
+		assertEquals(4, genres.size());
+		assertEquals(3, genres.count("Dramas"));
+		assertEquals(3, genres.count("Comedies"));
+		assertEquals(0, genres.count("Horror Movies"));
+		assertEquals(2, genres.pairCount("Dramas", "International Movies"));
+		assertEquals(2, genres.pairCount("International Movies", "Dramas"));
+		assertEquals(1, genres.pairCount("Romantic Movies", "International Movies"));
+		assertEquals(0, genres.pairCount("Dramas", "Dramas"));
+		assertEquals(0, genres.pairCount("Dramas", "Comedies"));
+
+		List<GenreMatrix.GenrePair> pairs = genres.topPairs(2);
+		assertEquals(2, pairs.size());
+		assertEquals("Dramas", pairs.get(0).getFirst());
+		assertEquals("International Movies", pairs.get(0).getSecond());
+		assertEquals(2, pairs.get(0).getCount());
+	}
+
+	@Test
+	public void testMergeRemapsIds() {
+		GenreMatrix left = new GenreMatrix();
+		left.addAll("Dramas, Comedies");
+		GenreMatrix right = new GenreMatrix();
+		right.addAll("Thrillers, Comedies");
+		right.addAll("Comedies, Dramas", 2);
+
+		left.merge(right);
+		assertEquals(3, left.size());
+		assertEquals(4, left.count("Comedies"));
+		assertEquals(3, left.pairCount("Comedies", "Dramas"));
+		assertEquals(1, left.pairCount("Thrillers", "Comedies"));
+		assertEquals(0, left.pairCount("Thrillers", "Dramas"));
+	}
+
+	@Test
+	public void testParallelMatchesStreaming() throws IOException {
+		GenreMatrix streamed = StreamingAnalyzer.analyze(Application.FILE_NAME).getAggregates().getGenres();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			GenreMatrix parallel = ParallelAnalyzer.analyze(Application.FILE_NAME, pool, 8).getAggregates()
+					.getGenres();
+			assertEquals(streamed.getGenreCounts(), parallel.getGenreCounts());
+			assertEquals(streamed.size(), parallel.size());
+			for (GenreMatrix.GenrePair pair : streamed.topPairs(Integer.MAX_VALUE)) {
+				assertEquals(pair.getCount(), parallel.pairCount(pair.getFirst(), pair.getSecond()));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
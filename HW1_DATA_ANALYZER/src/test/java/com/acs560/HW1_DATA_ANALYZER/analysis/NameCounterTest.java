@@ -0,0 +1,67 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+class NameCounterTest {
+
+	@Test
+	public void testDictionaryIds() {
+		NameDictionary dictionary = new NameDictionary();
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, dictionary.idOf("Country" + i));
+		}
+		assertEquals(1000, dictionary.size());
+		assertEquals(42, dictionary.idOf("xCountry42x", 1, 10));
+		assertEquals(999, dictionary.find("Country999"));
+		assertEquals(-1, dictionary.find("Country1000"));
+		assertEquals("Country7", dictionary.name(7));
+	}
+
+	@Test
+	public void testCountsAndOrder() {
+		NameCounter counter = new NameCounter();
+		counter.addAll("India, United States");
+		counter.addAll("United States");
+		counter.addAll("  ");
+		counter.addAll(null);
+		counter.addAll("France,India", 2);
+
+		assertEquals(3, counter.count("India"));
+		assertEquals(2, counter.count("United States"));
+		assertEquals(2, counter.count("France"));
+		assertEquals(0, counter.count("Spain"));
+		assertEquals(List.of("India", "United States", "France"), List.copyOf(counter.toMap().keySet()));
+	}
+
+	@Test
+	public void testTopK() {
+		NameCounter counter = new NameCounter();
+		for (int i = 0; i < 100; i++) {
+			counter.add("Country" + i, i % 10);
+		}
+
+		Map<String, Long> top = counter.top(3);
+
+		assertEquals(List.of("Country9", "Country19", "Country29"), List.copyOf(top.keySet()));
+		assertEquals(9L, top.get("Country9"));
+		assertEquals(0, counter.top(0).size());
+		assertEquals(100, counter.top(1000).size());
+	}
+
+	@Test
+	public void testMerge() {
+		NameCounter first = new NameCounter();
+		first.addAll("A, B");
+		NameCounter second = new NameCounter();
+		second.addAll("C, B");
+
+		first.merge(second);
+
+		assertEquals(Map.of("A", 1L, "B", 2L, "C", 1L), first.toMap());
+	}
+}
@@ -0,0 +1,90 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.parsers.RecordSplitter;
+
+class ParallelAnalyzerTest {
+
+	private static ForkJoinPool pool;
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeAll
+	public static void startPool() {
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterAll
+	public static void stopPool() {
+		pool.shutdown();
+	}
+
+	private static void assertSameAggregates(NetflixAggregates expected, NetflixAggregates actual) {
+		assertEquals(expected.getRowCount(), actual.getRowCount());
+		assertEquals(expected.getMovieCount(), actual.getMovieCount());
+		assertEquals(expected.getTvShowCount(), actual.getTvShowCount());
+		assertEquals(expected.getMovieYears(), actual.getMovieYears());
+		assertEquals(expected.getTvShowYears(), actual.getTvShowYears());
+		assertEquals(expected.getCountryCounts(), actual.getCountryCounts());
+	}
+
+	@Test
+	public void testMatchesStreamingAnalyzer() throws IOException {
+		NetflixAggregates expected = StreamingAnalyzer.analyze(Application.FILE_NAME).getAggregates();
+
+		for (int rangeCount : new int[] { 1, 7, 64, 997 }) {
+			NetflixAggregates actual = ParallelAnalyzer.analyze(Application.FILE_NAME, pool, rangeCount)
+					.getAggregates();
+			assertSameAggregates(expected, actual);
+		}
+	}
+
+	@Test
+	public void testQuotedMultiLineFields() throws IOException {
+		String content = """
+				show_id,type,title,director,cast,country,date_added,release_year
+				s1,Movie,"A, ""quoted""
+				title",Director,"Cast One,
+				Cast Two","Country1, Country2","September 25, 2021",2020
+				s2,TV Show,"Line one
+				""Line"" two
+				line three",,,Country1,,2021
+				s3,Movie,Plain,Director,cast,"Country3
+				",,2019
+				""";
+		Path csv = tempDir.resolve("quoted.csv");
+		Files.writeString(csv, content);
+
+		NetflixAggregates expected = StreamingAnalyzer.analyze(csv.toString()).getAggregates();
+		assertEquals(3, expected.getRowCount());
+
+		// One range per byte forces a cut inside every quoted field.
+		int rangeCount = (int) Files.size(csv);
+		NetflixAggregates actual = ParallelAnalyzer.analyze(csv.toString(), pool, rangeCount).getAggregates();
+		assertSameAggregates(expected, actual);
+	}
+
+	@Test
+	public void testRangesStayMappable() {
+		long mb = 1024 * 1024;
+		assertEquals(1, RecordSplitter.rangeCount(100, mb, 8));
+		assertEquals(3, RecordSplitter.rangeCount(3 * mb, mb, 8));
+		assertEquals(8, RecordSplitter.rangeCount(100 * mb, mb, 8));
+		// A 5 GB file on a single worker still needs five ranges of at most 1 GB.
+		assertEquals(5, RecordSplitter.rangeCount(5L << 30, mb, 1));
+		assertEquals(6, RecordSplitter.rangeCount((5L << 30) + 1, mb, 4));
+	}
+}
@@ -0,0 +1,125 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+
+class PartialStateFileTest {
+
+	private static final String HEADER = "show_id,type,title,director,cast,country,date_added,release_year\n";
+
+	@TempDir
+	Path tempDir;
+
+	private static void assertSameTotals(NetflixAggregates expected, NetflixAggregates actual) {
+		assertEquals(expected.getRowCount(), actual.getRowCount());
+		assertEquals(expected.getMovieCount(), actual.getMovieCount());
+		assertEquals(expected.getTvShowCount(), actual.getTvShowCount());
+		assertEquals(expected.getMovieYears(), actual.getMovieYears());
+		assertEquals(expected.getTvShowYears(), actual.getTvShowYears());
+		assertEquals(expected.getCountryCounts(), actual.getCountryCounts());
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		NetflixAggregates aggregates = StreamingAnalyzer.analyze(new StringReader(HEADER
+				+ "s1,Movie,T,D,C,\"India, Côte d'Ivoire\",,2020\n"
+				+ "s2,TV Show,T,D,C,India,,1890\n"
+				+ "s3,Movie,T,D,C,,,99999999\n")).getAggregates();
+		Path file = tempDir.resolve("shard" + PartialStateFile.EXTENSION);
+
+		PartialStateFile.write(aggregates, file);
+		NetflixAggregates read = PartialStateFile.read(file);
+
+		assertSameTotals(aggregates, read);
+		assertEquals(1, read.getMovieYears().getOutOfRange());
+		assertEquals(2L, read.getCountryCounts().get("India"));
+		assertEquals(1L, read.getCountryCounts().get("Côte d'Ivoire"));
+	}
+
+	@Test
+	public void testShardsMergeToWholeFile() throws IOException {
+		NetflixAggregates whole = StreamingAnalyzer.analyze(Application.FILE_NAME).getAggregates();
+
+		List<Path> partials = new ArrayList<>();
+		String[] shards = splitRows(Files.readString(Path.of(Application.FILE_NAME), StandardCharsets.UTF_8), 3);
+		for (int i = 0; i < shards.length; i++) {
+			NetflixAggregates shard = StreamingAnalyzer.analyze(new StringReader(shards[i])).getAggregates();
+			Path file = tempDir.resolve("shard" + i + PartialStateFile.EXTENSION);
+			PartialStateFile.write(shard, file);
+			assertTrue(Files.size(file) < 16 * 1024);
+			partials.add(file);
+		}
+
+		assertSameTotals(whole, PartialMerger.merge(partials));
+		Collections.reverse(partials);
+		assertSameTotals(whole, PartialMerger.merge(partials));
+	}
+
+	@Test
+	public void testMergeCommandWritesReports() throws IOException {
+		Path first = tempDir.resolve("a" + PartialStateFile.EXTENSION);
+		Path second = tempDir.resolve("b" + PartialStateFile.EXTENSION);
+		PartialStateFile.write(StreamingAnalyzer.analyze(new StringReader(HEADER
+				+ "s1,Movie,T,D,C,India,,2020\n")).getAggregates(), first);
+		PartialStateFile.write(StreamingAnalyzer.analyze(new StringReader(HEADER
+				+ "s1,Movie,T,D,C,India,,2021\ns2,TV Show,T,D,C,Japan,,2021\n")).getAggregates(), second);
+		Path output = tempDir.resolve("reports");
+		Path saved = tempDir.resolve("merged.state");
+
+		PartialMerger.run(new String[] { "--out", output.toString(), "--save", saved.toString(), tempDir.toString() });
+
+		assertTrue(Files.readString(output.resolve(Application.COUNT_FILE)).contains("2"));
+		assertTrue(Files.readString(output.resolve(Application.COUNTRIES_FILE)).contains("Japan"));
+		assertTrue(Files.exists(output.resolve(Application.YEAR_STATS_FILE)));
+		NetflixAggregates merged = PartialStateFile.read(saved);
+		assertEquals(3, merged.getRowCount());
+		assertEquals(2L, merged.getCountryCounts().get("India"));
+	}
+
+	@Test
+	public void testRejectsOtherFiles() throws IOException {
+		Path file = tempDir.resolve("not" + PartialStateFile.EXTENSION);
+		Files.writeString(file, HEADER);
+		assertThrows(IOException.class, () -> PartialStateFile.read(file));
+	}
+
+	/**
+	 * Cuts CSV text into shards of whole records, each with the header.
+	 */
+	private static String[] splitRows(String csv, int shardCount) {
+		int headerEnd = csv.indexOf('\n') + 1;
+		String header = csv.substring(0, headerEnd);
+		List<Integer> recordStarts = new ArrayList<>();
+		boolean inQuotes = false;
+		for (int i = headerEnd; i < csv.length(); i++) {
+			if (csv.charAt(i) == '"') {
+				inQuotes = !inQuotes;
+			} else if (csv.charAt(i) == '\n' && !inQuotes) {
+				recordStarts.add(i + 1);
+			}
+		}
+		String[] shards = new String[shardCount];
+		int from = headerEnd;
+		for (int s = 0; s < shardCount; s++) {
+			int to = s == shardCount - 1 ? csv.length() : recordStarts.get(recordStarts.size() * (s + 1) / shardCount);
+			shards[s] = header + csv.substring(from, to);
+			from = to;
+		}
+		return shards;
+	}
+}
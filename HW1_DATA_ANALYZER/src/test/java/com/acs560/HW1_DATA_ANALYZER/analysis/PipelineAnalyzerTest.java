@@ -0,0 +1,118 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+
+class PipelineAnalyzerTest {
+
+	@TempDir
+	Path tempDir;
+
+	private static void assertSameAggregates(NetflixAggregates expected, NetflixAggregates actual) {
+		assertEquals(expected.getRowCount(), actual.getRowCount());
+		assertEquals(expected.getMovieCount(), actual.getMovieCount());
+		assertEquals(expected.getTvShowCount(), actual.getTvShowCount());
+		assertEquals(expected.getMovieYears(), actual.getMovieYears());
+		assertEquals(expected.getTvShowYears(), actual.getTvShowYears());
+		assertEquals(expected.getCountryCounts(), actual.getCountryCounts());
+		assertEquals(expected.getGenres().getGenreCounts(), actual.getGenres().getGenreCounts());
+		assertEquals(expected.getDurations().getMovieCount(), actual.getDurations().getMovieCount());
+		assertEquals(expected.getAdditions().getUndated(), actual.getAdditions().getUndated());
+	}
+
+	@Test
+	public void testMatchesStreamingAnalyzer() throws IOException {
+		NetflixAggregates expected = StreamingAnalyzer.analyze(Application.FILE_NAME).getAggregates();
+		byte[] csv = Files.readAllBytes(Path.of(Application.FILE_NAME));
+
+		for (int blockBytes : new int[] { 1 << 20, 4096, 100 }) {
+			for (int workers : new int[] { 1, 3 }) {
+				NetflixAggregates actual = PipelineAnalyzer
+						.analyze(new ByteArrayInputStream(csv), workers, blockBytes).getAggregates();
+				assertSameAggregates(expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testGzipInput() throws IOException {
+		Path gzip = tempDir.resolve("netflix_data.csv.gz");
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+			Files.copy(Path.of(Application.FILE_NAME), out);
+		}
+		assertTrue(PipelineAnalyzer.isStream(gzip));
+
+		NetflixAggregates expected = StreamingAnalyzer.analyze(Application.FILE_NAME).getAggregates();
+		NetflixAggregates actual = PipelineAnalyzer.analyze(gzip.toString(), 2).getAggregates();
+		assertSameAggregates(expected, actual);
+	}
+
+	@Test
+	public void testQuotedMultiLineFields() throws IOException {
+		String content = """
+				show_id,type,title,director,cast,country,date_added,release_year
+				s1,Movie,"A, ""quoted""
+				title",Director,"Cast One,
+				Cast Two","Country1, Country2","September 25, 2021",2020
+				s2,TV Show,"Line one
+				""Line"" two
+				line three",,,Country1,,2021
+				s3,Movie,Plain,Director,cast,"Country3
+				",,2019""";
+		Path csv = tempDir.resolve("quoted.csv");
+		Files.writeString(csv, content);
+		NetflixAggregates expected = StreamingAnalyzer.analyze(csv.toString()).getAggregates();
+		assertEquals(3, expected.getRowCount());
+
+		// Blocks smaller than a record force carries and growth in every record.
+		for (int blockBytes = 1; blockBytes < 64; blockBytes *= 2) {
+			InputStream input = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+			assertSameAggregates(expected, PipelineAnalyzer.analyze(input, 2, blockBytes).getAggregates());
+		}
+	}
+
+	@Test
+	public void testEmptyInput() throws IOException {
+		NetflixAggregates aggregates = PipelineAnalyzer.analyze(new ByteArrayInputStream(new byte[0]), 2, 1024)
+				.getAggregates();
+		assertEquals(0, aggregates.getRowCount());
+	}
+
+	@Test
+	public void testRejectsMissingWorkers() {
+		assertThrows(IllegalArgumentException.class,
+				() -> PipelineAnalyzer.analyze(new ByteArrayInputStream(new byte[0]), 0, 1024));
+	}
+
+	@Test
+	public void testReadFailureIsReported() {
+		InputStream broken = new InputStream() {
+			private int remaining = 10_000;
+
+			@Override
+			public int read() throws IOException {
+				if (remaining-- <= 0) {
+					throw new IOException("disk gone");
+				}
+				return 'x';
+			}
+		};
+		IOException e = assertThrows(IOException.class, () -> PipelineAnalyzer.analyze(broken, 2, 1024));
+		assertEquals("disk gone", e.getMessage());
+	}
+}
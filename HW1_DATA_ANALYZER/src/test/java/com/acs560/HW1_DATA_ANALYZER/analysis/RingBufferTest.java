@@ -0,0 +1,51 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CancellationException;
+
+class RingBufferTest {
+
+	@Test
+	public void testFirstInFirstOutAcrossWrapAround() throws InterruptedException {
+		RingBuffer<Integer> ring = new RingBuffer<>(3);
+		for (int round = 0; round < 5; round++) {
+			ring.put(round * 2);
+			ring.put(round * 2 + 1);
+			assertEquals(round * 2, ring.take());
+			assertEquals(round * 2 + 1, ring.take());
+		}
+	}
+
+	@Test
+	public void testProducerWaitsForConsumer() throws InterruptedException {
+		RingBuffer<Integer> ring = new RingBuffer<>(2);
+		Thread producer = new Thread(() -> {
+			try {
+				for (int i = 0; i < 1000; i++) {
+					ring.put(i);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		producer.start();
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, ring.take());
+		}
+		producer.join();
+	}
+
+	@Test
+	public void testAbortWakesWaitingThreads() throws InterruptedException {
+		RingBuffer<Integer> ring = new RingBuffer<>(1);
+		Thread consumer = new Thread(() -> assertThrows(CancellationException.class, ring::take));
+		consumer.start();
+		ring.abort();
+		consumer.join();
+		assertThrows(CancellationException.class, () -> ring.put(1));
+	}
+}
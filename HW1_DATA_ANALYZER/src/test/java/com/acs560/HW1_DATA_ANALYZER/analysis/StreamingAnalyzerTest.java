@@ -0,0 +1,50 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+
+class StreamingAnalyzerTest {
+
+	@Test
+	public void testAnalyzeMatchesReadAll() throws IOException {
+		AnalysisResult result = StreamingAnalyzer.analyze(Application.FILE_NAME);
+		List<String[]> allData = Application.readCSV(Application.FILE_NAME);
+
+		NetflixAggregates expected = new NetflixAggregates();
+		allData.forEach(expected::accept);
+
+		NetflixAggregates actual = result.getAggregates();
+		assertEquals(allData.size(), result.getStats().getRows());
+		assertEquals(6131, actual.getMovieCount());
+		assertEquals(2676, actual.getTvShowCount());
+		assertEquals(expected.getMovieYears(), actual.getMovieYears());
+		assertEquals(expected.getTvShowYears(), actual.getTvShowYears());
+		assertEquals(expected.getCountryCounts(), actual.getCountryCounts());
+		assertTrue(result.getStats().getPeakHeapBytes() > 0);
+	}
+
+	@Test
+	public void testMerge() {
+		NetflixAggregates first = new NetflixAggregates();
+		first.accept(new String[] { "1", "Movie", "Title", "Director", "cast", "Country1, Country2", "Rating", "2020" });
+		NetflixAggregates second = new NetflixAggregates();
+		second.accept(new String[] { "2", "Movie", "Title", "Director", "cast", "Country2", "Rating", "2020" });
+		second.accept(new String[] { "3", "TV Show", "Title", "Director", "cast", "Country1", "Rating", "2021" });
+
+		first.merge(second);
+
+		assertEquals(2, first.getMovieCount());
+		assertEquals(1, first.getTvShowCount());
+		assertEquals(2L, first.getMovieYears().count(2020));
+		assertEquals(1L, first.getTvShowYears().count(2021));
+		assertEquals(2L, first.getCountryCounts().get("Country1"));
+		assertEquals(2L, first.getCountryCounts().get("Country2"));
+	}
+}
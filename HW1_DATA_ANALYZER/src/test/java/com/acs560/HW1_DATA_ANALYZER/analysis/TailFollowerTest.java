@@ -0,0 +1,80 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+
+class TailFollowerTest {
+
+	private static final String HEADER = "show_id,type,title,director,cast,country,date_added,release_year\n";
+
+	@TempDir
+	Path tempDir;
+
+	private static void append(Path file, String content) throws IOException {
+		Files.writeString(file, content, StandardOpenOption.APPEND);
+	}
+
+	@Test
+	public void testIngestsOnlyAppendedRecords() throws IOException {
+		Path file = tempDir.resolve("feed.csv");
+		Files.writeString(file, HEADER + "s1,Movie,Title,Director,cast,Country1,date,2020\n");
+		TailFollower follower = new TailFollower(file);
+
+		assertEquals(1, follower.poll());
+		assertEquals(0, follower.poll());
+		assertEquals(Files.size(file), follower.getOffset());
+
+		append(file, "s2,TV Show,Title,Director,cast,\"Country1, Country2\",date,2021\ns3,Movie,Ti");
+		assertEquals(1, follower.poll());
+		append(file, "tle,Director,\"cast\nmore cast\",Country2,date,2020\n");
+		assertEquals(1, follower.poll());
+		assertEquals(Files.size(file), follower.getOffset());
+
+		NetflixAggregates aggregates = follower.getAggregates();
+		assertEquals(3, aggregates.getRowCount());
+		assertEquals(2, aggregates.getMovieCount());
+		assertEquals(1, aggregates.getTvShowCount());
+		assertEquals(2, aggregates.getMovieYears().count(2020));
+		assertEquals(2L, aggregates.getCountryCounts().get("Country1"));
+		assertEquals(2L, aggregates.getCountryCounts().get("Country2"));
+	}
+
+	@Test
+	public void testRewrittenFileIsReingested() throws IOException {
+		Path file = tempDir.resolve("feed.csv");
+		Files.writeString(file, HEADER + "s1,Movie,Title,Director,cast,Country1,date,2020\n"
+				+ "s2,Movie,Title,Director,cast,Country1,date,2020\n");
+		TailFollower follower = new TailFollower(file);
+		assertEquals(2, follower.poll());
+
+		Files.writeString(file, HEADER + "s1,TV Show,Title,Director,cast,Country1,date,2020\n");
+
+		assertEquals(1, follower.poll());
+		assertEquals(0, follower.getAggregates().getMovieCount());
+		assertEquals(1, follower.getAggregates().getTvShowCount());
+	}
+
+	@Test
+	public void testMatchesFullAnalysis() throws IOException {
+		Path file = tempDir.resolve("netflix.csv");
+		Files.copy(Path.of(Application.FILE_NAME), file);
+		TailFollower follower = new TailFollower(file);
+
+		assertEquals(8807, follower.poll());
+
+		NetflixAggregates expected = StreamingAnalyzer.analyze(file.toString()).getAggregates();
+		NetflixAggregates actual = follower.getAggregates();
+		assertEquals(expected.getMovieCount(), actual.getMovieCount());
+		assertEquals(expected.getMovieYears(), actual.getMovieYears());
+		assertEquals(expected.getCountryCounts(), actual.getCountryCounts());
+	}
+}
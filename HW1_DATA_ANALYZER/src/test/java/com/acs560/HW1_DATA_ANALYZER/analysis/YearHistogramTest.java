@@ -0,0 +1,82 @@
+package com.acs560.HW1_DATA_ANALYZER.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class YearHistogramTest {
+
+	@Test
+	public void testStatistics() {
+		YearHistogram histogram = new YearHistogram();
+		histogram.add(2001);
+		histogram.add(2003, 3);
+		histogram.add(2010);
+		histogram.add(1995, 2);
+
+		assertEquals(7, histogram.getTotal());
+		assertEquals(4, histogram.distinctYears());
+		assertEquals(1995, histogram.minYear());
+		assertEquals(2010, histogram.maxYear());
+		assertEquals(2003, histogram.median());
+		assertEquals(1995, histogram.percentile(10));
+		assertEquals(2001, histogram.percentile(40));
+		assertEquals(2010, histogram.percentile(90));
+		assertEquals(2010, histogram.percentile(100));
+	}
+
+	@Test
+	public void testEmpty() {
+		YearHistogram histogram = new YearHistogram();
+
+		assertEquals(0, histogram.distinctYears());
+		assertEquals(YearHistogram.NO_YEAR, histogram.minYear());
+		assertEquals(YearHistogram.NO_YEAR, histogram.maxYear());
+		assertEquals(YearHistogram.NO_YEAR, histogram.median());
+	}
+
+	@Test
+	public void testWidenAndOutOfRange() {
+		YearHistogram histogram = new YearHistogram();
+		histogram.add(1850);
+		histogram.add(2150);
+		histogram.add(2020);
+		histogram.add(1_000_000);
+		histogram.add(-50_000);
+
+		assertEquals(1, histogram.count(1850));
+		assertEquals(1, histogram.count(2150));
+		assertEquals(1, histogram.count(2020));
+		assertEquals(3, histogram.getTotal());
+		assertEquals(2, histogram.getOutOfRange());
+		assertEquals(1850, histogram.minYear());
+		assertEquals(2150, histogram.maxYear());
+	}
+
+	@Test
+	public void testMerge() {
+		YearHistogram first = new YearHistogram();
+		first.add(2020, 2);
+		YearHistogram second = new YearHistogram();
+		second.add(1800);
+		second.add(2020);
+
+		first.merge(second);
+
+		YearHistogram expected = new YearHistogram();
+		expected.add(1800);
+		expected.add(2020, 3);
+		assertEquals(expected, first);
+		assertEquals(expected.hashCode(), first.hashCode());
+		assertEquals("{1800=1, 2020=3}", first.toString());
+	}
+
+	@Test
+	public void testParseYear() {
+		assertEquals(2021, YearHistogram.parseYear("2021"));
+		assertEquals(-1, YearHistogram.parseYear(""));
+		assertEquals(-1, YearHistogram.parseYear(null));
+		assertEquals(-1, YearHistogram.parseYear(" 2021"));
+		assertEquals(-1, YearHistogram.parseYear("20x1"));
+	}
+}
@@ -0,0 +1,97 @@
+package com.acs560.HW1_DATA_ANALYZER.columnar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.analysis.NetflixAggregates;
+import com.acs560.HW1_DATA_ANALYZER.analysis.StreamingAnalyzer;
+
+class SnapshotFileTest {
+
+	@TempDir
+	Path tempDir;
+
+	private Path csv;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		csv = Files.copy(Path.of(Application.FILE_NAME), tempDir.resolve(Application.FILE_NAME));
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		ColumnarDataset converted = SnapshotConverter.convert(csv);
+		Path snapshot = SnapshotFile.pathFor(csv);
+		SnapshotFile.write(converted, snapshot);
+
+		ColumnarDataset loaded = SnapshotFile.read(snapshot);
+
+		assertEquals(converted.getRowCount(), loaded.getRowCount());
+		assertEquals(converted.getSource().getContentHash(), loaded.getSource().getContentHash());
+		for (String name : converted.getDictionaryColumns().keySet()) {
+			DictionaryColumn expected = converted.getDictionaryColumn(name);
+			DictionaryColumn actual = loaded.getDictionaryColumn(name);
+			for (int row = 0; row < loaded.getRowCount(); row++) {
+				assertEquals(expected.get(row), actual.get(row));
+			}
+		}
+		for (String name : converted.getIntColumns().keySet()) {
+			IntColumn expected = converted.getIntColumn(name);
+			IntColumn actual = loaded.getIntColumn(name);
+			for (int row = 0; row < loaded.getRowCount(); row++) {
+				assertEquals(expected.get(row), actual.get(row));
+			}
+		}
+		assertTrue(Files.size(snapshot) < Files.size(csv) / 5);
+	}
+
+	@Test
+	public void testColumnValues() throws IOException {
+		ColumnarDataset dataset = SnapshotConverter.convert(csv);
+
+		assertEquals(8807, dataset.getRowCount());
+		assertEquals("Movie", dataset.getDictionaryColumn(ColumnarDataset.TYPE).get(0));
+		assertEquals("PG-13", dataset.getDictionaryColumn(ColumnarDataset.RATING).get(0));
+		assertEquals(2020, dataset.getIntColumn(ColumnarDataset.RELEASE_YEAR).get(0));
+		assertEquals(LocalDate.of(2021, 9, 25).toEpochDay(), dataset.getIntColumn(ColumnarDataset.DATE_ADDED).get(0));
+	}
+
+	@Test
+	public void testAggregatesMatchCsv() throws IOException {
+		NetflixAggregates expected = StreamingAnalyzer.analyze(csv.toString()).getAggregates();
+		NetflixAggregates actual = NetflixAggregates.of(SnapshotFile.read(SnapshotConverter.convertAndWrite(csv)));
+
+		assertEquals(expected.getRowCount(), actual.getRowCount());
+		assertEquals(expected.getMovieCount(), actual.getMovieCount());
+		assertEquals(expected.getTvShowCount(), actual.getTvShowCount());
+		assertEquals(expected.getMovieYears(), actual.getMovieYears());
+		assertEquals(expected.getTvShowYears(), actual.getTvShowYears());
+		assertEquals(expected.getGenres().getGenreCounts(), actual.getGenres().getGenreCounts());
+		assertEquals(expected.getAdditions().getTotal(), actual.getAdditions().getTotal());
+		assertEquals(expected.getAdditions().getUndated(), actual.getAdditions().getUndated());
+		assertEquals(expected.getAdditions().monthCount(2019, 11, true),
+				actual.getAdditions().monthCount(2019, 11, true));
+		assertEquals(expected.getCountryCounts(), actual.getCountryCounts());
+	}
+
+	@Test
+	public void testUpToDate() throws IOException {
+		Path snapshot = SnapshotConverter.convertAndWrite(csv);
+		assertTrue(SnapshotFile.isUpToDate(snapshot, csv));
+
+		Files.writeString(csv, "s0,Movie,Title,,,,,2020\n", StandardOpenOption.APPEND);
+		assertFalse(SnapshotFile.isUpToDate(snapshot, csv));
+	}
+}
@@ -0,0 +1,160 @@
+package com.acs560.HW1_DATA_ANALYZER.dedupe;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.CsvFiles;
+import com.acs560.HW1_DATA_ANALYZER.analysis.NetflixAggregates;
+import com.acs560.HW1_DATA_ANALYZER.analysis.StreamingAnalyzer;
+
+class DeduplicatorTest {
+
+	private static final int COPIES = 500;
+
+	@TempDir
+	Path tempDir;
+
+	private static String quote(String value) {
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+	/**
+	 * Appends re-cased and re-spaced copies of the first rows of the dataset,
+	 * as a merged regional export would contain them.
+	 */
+	private Path withCopies() throws IOException {
+		List<String[]> rows = CsvFiles.read(Path.of(Application.FILE_NAME));
+		StringBuilder copies = new StringBuilder();
+		for (int i = 1; i <= COPIES; i++) {
+			String[] row = rows.get(i).clone();
+			row[0] = "copy" + i;
+			row[2] = "  " + row[2].toUpperCase().replace(" ", "   ") + " ";
+			row[3] = row[3].toLowerCase();
+			row[7] = " " + row[7];
+			for (int column = 0; column < row.length; column++) {
+				copies.append(column > 0 ? "," : "").append(quote(row[column]));
+			}
+			copies.append('\n');
+		}
+		Path file = tempDir.resolve("merged.csv");
+		Files.copy(Path.of(Application.FILE_NAME), file);
+		byte[] original = Files.readAllBytes(file);
+		if (original[original.length - 1] != '\n') {
+			Files.writeString(file, "\n", StandardOpenOption.APPEND);
+		}
+		Files.writeString(file, copies, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+		return file;
+	}
+
+	@Test
+	public void testFingerprintIgnoresCaseAndSpacing() {
+		long fingerprint = TitleFingerprint.of("The Crown", "Peter Morgan", "2016");
+		assertEquals(fingerprint, TitleFingerprint.of("  the   CROWN\t", "peter morgan", " 2016"));
+		assertEquals(fingerprint, TitleFingerprint.of("The Crown", "Peter  Morgan ", "2016"));
+		assertNotEquals(fingerprint, TitleFingerprint.of("The Crown", "", "2016"));
+		assertNotEquals(fingerprint, TitleFingerprint.of("The Crown", "Peter Morgan", "2017"));
+		assertNotEquals(TitleFingerprint.of("ab", "c", "2016"), TitleFingerprint.of("a", "bc", "2016"));
+		assertEquals(TitleFingerprint.of("Crown", null, null), TitleFingerprint.of("Crown", "", " "));
+	}
+
+	@Test
+	public void testHashSetGrowsAndKeepsZero() {
+		LongHashSet set = new LongHashSet(4);
+		SplittableRandom random = new SplittableRandom(1);
+		long[] values = new long[100_000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextLong();
+			assertTrue(set.add(values[i]));
+		}
+		assertTrue(set.add(0));
+		assertFalse(set.add(0));
+		for (long value : values) {
+			assertTrue(set.contains(value));
+			assertFalse(set.add(value));
+		}
+		assertFalse(set.contains(42));
+		assertEquals(values.length + 1, set.size());
+		assertTrue(set.sizeInBytes() >= 2L * Long.BYTES * set.size());
+	}
+
+	@Test
+	public void testHashSetStopsAtMaxCapacity() {
+		LongHashSet set = new LongHashSet(1_000, 64);
+		for (long i = 1; i <= 32; i++) {
+			assertTrue(set.add(i));
+		}
+		assertTrue(set.isFull());
+		assertFalse(set.canGrow());
+		assertEquals(64 * Long.BYTES, set.sizeInBytes());
+		assertFalse(set.add(32));
+		assertThrows(IllegalStateException.class, () -> set.add(33));
+		assertFalse(new LongHashSet(Integer.MAX_VALUE, 64).canGrow());
+	}
+
+	@Test
+	public void testDropsCopiesAndCountsOnlyKeptRows() throws IOException {
+		Path merged = withCopies();
+		DedupeSummary original = Deduplicator.dedupe(Path.of(Application.FILE_NAME), new Deduplicator.Options());
+		Path kept = tempDir.resolve("kept.csv");
+		Path duplicates = tempDir.resolve("duplicates.csv");
+		DedupeSummary summary = Deduplicator.dedupe(merged,
+				new Deduplicator.Options().keptFile(kept).duplicatesFile(duplicates));
+
+		assertEquals(8807, original.getRows());
+		assertTrue(original.isExact());
+		assertEquals(8807 + COPIES, summary.getRows());
+		assertEquals(original.getDuplicates() + COPIES, summary.getDuplicates());
+		assertEquals(original.getKept(), summary.getKept());
+
+		NetflixAggregates aggregates = summary.getAggregates();
+		assertEquals(summary.getKept(), aggregates.getRowCount());
+		assertEquals(original.getAggregates().getMovieCount(), aggregates.getMovieCount());
+		assertEquals(original.getAggregates().getTvShowCount(), aggregates.getTvShowCount());
+
+		NetflixAggregates reread = StreamingAnalyzer.analyze(kept.toString()).getAggregates();
+		assertEquals(summary.getKept(), reread.getRowCount());
+		assertEquals(aggregates.getMovieCount(), reread.getMovieCount());
+
+		List<String[]> listed = CsvFiles.read(duplicates);
+		assertArrayEquals(new String[] { "row", "show_id", "title", "director", "release_year" }, listed.get(0));
+		assertEquals(summary.getDuplicates() + 1, listed.size());
+		String[] last = listed.get(listed.size() - 1);
+		assertEquals(Long.toString(8807 + COPIES), last[0]);
+		assertEquals("copy" + COPIES, last[1]);
+	}
+
+	@Test
+	public void testBloomFilterBoundsMemory() throws IOException {
+		Path merged = withCopies();
+		DedupeSummary exact = Deduplicator.dedupe(merged, new Deduplicator.Options());
+		DedupeSummary bounded = Deduplicator.dedupe(merged, new Deduplicator.Options().memoryBytes(32 << 10));
+
+		assertTrue(exact.isExact());
+		assertFalse(bounded.isExact());
+		assertTrue(bounded.getDuplicates() >= exact.getDuplicates());
+		assertTrue(bounded.getFalsePositiveProbability() < 0.01, "Rate " + bounded.getFalsePositiveProbability());
+		assertTrue(bounded.getDuplicates() - exact.getDuplicates() < 100);
+
+		DuplicateDetector detector = new DuplicateDetector(32 << 10);
+		for (long i = 1; i <= 100_000; i++) {
+			detector.add(i * 0x9E3779B97F4A7C15L);
+		}
+		assertEquals(32 << 10, detector.sizeInBytes());
+	}
+}
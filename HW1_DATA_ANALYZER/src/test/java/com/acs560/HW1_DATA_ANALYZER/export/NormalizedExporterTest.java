@@ -0,0 +1,129 @@
+package com.acs560.HW1_DATA_ANALYZER.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.CsvFiles;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+
+class NormalizedExporterTest {
+
+	@TempDir
+	Path tempDir;
+
+	private static List<String[]> readData(Path file) throws IOException {
+		List<String[]> rows = CsvFiles.read(file);
+		return rows.subList(1, rows.size());
+	}
+
+	/**
+	 * Rebuilds each title's list from a names table and a bridge table.
+	 */
+	private static Map<String, List<String>> join(Path names, Path bridge) throws IOException {
+		Map<String, String> byId = new HashMap<>();
+		for (String[] row : readData(names)) {
+			byId.put(row[0], row[1]);
+		}
+		Map<String, List<String>> byTitle = new HashMap<>();
+		for (String[] row : readData(bridge)) {
+			byTitle.computeIfAbsent(row[0], k -> new ArrayList<>()).add(byId.get(row[1]));
+		}
+		return byTitle;
+	}
+
+	private static List<String> split(String field) {
+		Set<String> items = new LinkedHashSet<>();
+		for (String item : field.split(",")) {
+			if (!item.trim().isEmpty()) {
+				items.add(item.trim());
+			}
+		}
+		return new ArrayList<>(items);
+	}
+
+	@Test
+	public void testExportMatchesWideFile() throws IOException {
+		ExportSummary summary = NormalizedExporter.export(Path.of(Application.FILE_NAME), tempDir);
+		List<String[]> wide;
+		try (CSVReader reader = new CSVReaderBuilder(new FileReader(Application.FILE_NAME, StandardCharsets.UTF_8))
+				.withSkipLines(1).build()) {
+			wide = reader.readAll();
+		}
+
+		List<String[]> titles = CsvFiles.read(tempDir.resolve(NormalizedExporter.TITLES_FILE));
+		assertArrayEquals(new String[] { "title_id", "show_id", "type", "title", "director", "date_added",
+				"release_year", "rating", "duration", "description" }, titles.get(0));
+		assertEquals(8807, summary.getTitles());
+		assertEquals(8808, titles.size());
+		assertArrayEquals(new String[] { "1", "s1", "Movie", "Dick Johnson Is Dead", "Kirsten Johnson", "2021-09-25",
+				"2020", "PG-13", "90 min", wide.get(0)[11] }, titles.get(1));
+
+		Map<String, List<String>> countries = join(tempDir.resolve(NormalizedExporter.COUNTRIES_FILE),
+				tempDir.resolve(NormalizedExporter.TITLE_COUNTRIES_FILE));
+		Map<String, List<String>> cast = join(tempDir.resolve(NormalizedExporter.CAST_FILE),
+				tempDir.resolve(NormalizedExporter.TITLE_CAST_FILE));
+		Map<String, List<String>> genres = join(tempDir.resolve(NormalizedExporter.GENRES_FILE),
+				tempDir.resolve(NormalizedExporter.TITLE_GENRES_FILE));
+		for (int i = 0; i < wide.size(); i++) {
+			String[] row = wide.get(i);
+			String titleId = Integer.toString(i + 1);
+			assertEquals(row[0], titles.get(i + 1)[1]);
+			assertEquals(row[2], titles.get(i + 1)[3]);
+			assertEquals(row[11], titles.get(i + 1)[9]);
+			assertEquals(split(row[5]), countries.getOrDefault(titleId, List.of()), row[0]);
+			assertEquals(split(row[4]), cast.getOrDefault(titleId, List.of()), row[0]);
+			assertEquals(split(row[10]), genres.getOrDefault(titleId, List.of()), row[0]);
+		}
+
+		assertEquals(summary.getCountries(), readData(tempDir.resolve(NormalizedExporter.COUNTRIES_FILE)).size());
+		assertEquals(summary.getCastMembers(), readData(tempDir.resolve(NormalizedExporter.CAST_FILE)).size());
+		assertEquals(summary.getGenres(), readData(tempDir.resolve(NormalizedExporter.GENRES_FILE)).size());
+		assertEquals(summary.getTitleCast(), readData(tempDir.resolve(NormalizedExporter.TITLE_CAST_FILE)).size());
+	}
+
+	@Test
+	public void testSurrogateKeysAndMissingValues() throws IOException {
+		Path csv = tempDir.resolve("wide.csv");
+		Files.writeString(csv, "show_id,type,title,director,cast,country,date_added,release_year,rating,duration,"
+				+ "listed_in,description\n"
+				+ "s1,Movie,\"Quotes \"\"inside\"\"\",,\"Ann, Bob, Ann\",\"India, , United States\","
+				+ "\"January 5, 2020\",2019,R,90 min,Dramas,\"One, two\"\n"
+				+ "s2,TV Show,Plain,Dee,Bob,India,,,TV-MA,1 Season,\"Dramas, Comedies\",Short\n");
+		Path out = tempDir.resolve("tables");
+		ExportSummary summary = NormalizedExporter.export(csv, out);
+
+		assertEquals(2, summary.getTitles());
+		assertEquals(2, summary.getCountries());
+		assertEquals(2, summary.getCastMembers());
+		assertEquals(2, summary.getGenres());
+		assertEquals(3, summary.getTitleCountries());
+		assertEquals(3, summary.getTitleCast());
+		assertEquals(3, summary.getTitleGenres());
+
+		List<String> titles = Files.readAllLines(out.resolve(NormalizedExporter.TITLES_FILE));
+		assertEquals("1,s1,Movie,\"Quotes \"\"inside\"\"\",,2020-01-05,2019,R,90 min,\"One, two\"", titles.get(1));
+		assertEquals("2,s2,TV Show,Plain,Dee,,,TV-MA,1 Season,Short", titles.get(2));
+		assertEquals(List.of("cast_id,name", "1,Ann", "2,Bob"), Files.readAllLines(out.resolve(NormalizedExporter.CAST_FILE)));
+		assertEquals(List.of("title_id,cast_id", "1,1", "1,2", "2,2"),
+				Files.readAllLines(out.resolve(NormalizedExporter.TITLE_CAST_FILE)));
+		assertEquals(List.of("title_id,country_id", "1,1", "1,2", "2,1"),
+				Files.readAllLines(out.resolve(NormalizedExporter.TITLE_COUNTRIES_FILE)));
+	}
+}
@@ -0,0 +1,120 @@
+package com.acs560.HW1_DATA_ANALYZER.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.acs560.HW1_DATA_ANALYZER.CsvFiles;
+import com.acs560.HW1_DATA_ANALYZER.analysis.AnalysisResult;
+import com.acs560.HW1_DATA_ANALYZER.analysis.StreamingAnalyzer;
+
+class DatasetGeneratorTest {
+
+	private static final int ROWS = 40_000;
+
+	@TempDir
+	Path tempDir;
+
+	private static Map<String, Integer> counts(List<String[]> rows, int column) {
+		Map<String, Integer> counts = new HashMap<>();
+		for (String[] row : rows.subList(1, rows.size())) {
+			if (!row[column].isEmpty()) {
+				counts.merge(row[column], 1, Integer::sum);
+			}
+		}
+		return counts;
+	}
+
+	@Test
+	public void testNetflixSchemaParsesWithSkewAndQuoting() throws IOException {
+		Path file = tempDir.resolve("netflix.csv");
+		long bytes = DatasetGenerator.generate(file, new DatasetGenerator.Options().rows(ROWS));
+
+		assertEquals(Files.size(file), bytes);
+		List<String[]> rows = CsvFiles.read(file);
+		assertEquals(ROWS + 1, rows.size());
+		assertEquals(OutputSchema.NETFLIX.getHeader(), String.join(",", rows.get(0)));
+		boolean multiLine = false;
+		for (int i = 1; i < rows.size(); i++) {
+			String[] row = rows.get(i);
+			assertEquals(12, row.length);
+			assertEquals("s" + i, row[0]);
+			assertTrue(row[1].equals("Movie") || row[1].equals("TV Show"));
+			assertTrue(row[7].matches("\\d{4}"), row[7]);
+			multiLine |= row[4].contains("\n") || row[11].contains("\n");
+		}
+		assertTrue(multiLine);
+
+		Map<String, Integer> directors = counts(rows, 3);
+		int top = directors.values().stream().max(Integer::compare).orElse(0);
+		assertTrue(top > 100, "Most frequent director: " + top);
+		assertTrue(directors.size() > 5_000, "Distinct directors: " + directors.size());
+		Map<String, Integer> countries = counts(rows, 5);
+		assertTrue(countries.get("United States") > 4 * countries.getOrDefault("Switzerland", 0));
+
+		AnalysisResult result = StreamingAnalyzer.analyze(file.toString());
+		assertEquals(ROWS, result.getAggregates().getRowCount());
+	}
+
+	@Test
+	public void testMoviesSchema() throws IOException {
+		Path file = tempDir.resolve("movies.csv");
+		DatasetGenerator.generate(file, new DatasetGenerator.Options().rows(1_000).schema(OutputSchema.MOVIES));
+
+		List<String[]> rows = CsvFiles.read(file);
+		assertArrayEquals(new String[] { "id", "title", "director", "type", "countries", "releaseYear" },
+				rows.get(0));
+		assertEquals(1_001, rows.size());
+		for (int i = 1; i < rows.size(); i++) {
+			assertEquals(6, rows.get(i).length);
+			assertEquals(Integer.toString(i), rows.get(i)[0]);
+		}
+	}
+
+	@Test
+	public void testSameSeedGivesSameBytesWhateverTheThreads() throws IOException {
+		Path single = tempDir.resolve("single.csv");
+		Path parallel = tempDir.resolve("parallel.csv");
+		Path reseeded = tempDir.resolve("reseeded.csv");
+		int rows = DatasetGenerator.CHUNK_ROWS * 3 + 17;
+		DatasetGenerator.generate(single, new DatasetGenerator.Options().rows(rows).threads(1));
+		DatasetGenerator.generate(parallel, new DatasetGenerator.Options().rows(rows).threads(4));
+		DatasetGenerator.generate(reseeded, new DatasetGenerator.Options().rows(rows).seed(7));
+
+		assertArrayEquals(Files.readAllBytes(single), Files.readAllBytes(parallel));
+		assertFalse(Files.mismatch(single, reseeded) == -1);
+		assertEquals(rows + 1, CsvFiles.read(parallel).size());
+	}
+
+	@Test
+	public void testZeroRowsWritesHeaderOnly() throws IOException {
+		Path file = tempDir.resolve("empty.csv");
+		DatasetGenerator.generate(file, new DatasetGenerator.Options().rows(0));
+		assertEquals(OutputSchema.NETFLIX.getHeader() + "\n", Files.readString(file));
+	}
+
+	@Test
+	public void testFieldsAreQuotedOnlyWhenNeeded() {
+		RowBuffer buffer = new RowBuffer(4);
+		buffer.field("plain".getBytes(StandardCharsets.UTF_8))
+				.field("a, b".getBytes(StandardCharsets.UTF_8))
+				.field("say \"hi\"".getBytes(StandardCharsets.UTF_8))
+				.field(-42)
+				.field("two\nlines".getBytes(StandardCharsets.UTF_8))
+				.endRow();
+		assertEquals("plain,\"a, b\",\"say \"\"hi\"\"\",-42,\"two\nlines\"\n",
+				StandardCharsets.UTF_8.decode(buffer.toByteBuffer()).toString());
+	}
+}
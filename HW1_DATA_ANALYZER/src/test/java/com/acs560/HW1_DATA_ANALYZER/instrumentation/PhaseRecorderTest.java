@@ -0,0 +1,125 @@
+package com.acs560.HW1_DATA_ANALYZER.instrumentation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.analysis.StreamingAnalyzer;
+
+class PhaseRecorderTest {
+
+	@AfterEach
+	public void tearDown() {
+		PhaseRecorder.get().disable();
+		PhaseRecorder.get().reset();
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		PhaseRecorder recorder = new PhaseRecorder(null);
+		assertFalse(recorder.isEnabled());
+		recorder.enter(Phase.PARSE);
+		recorder.exit(10, 100);
+		assertEquals(0, recorder.stats(Phase.PARSE).getRows());
+		assertEquals(0, recorder.stats(Phase.PARSE).getNanos());
+	}
+
+	@Test
+	public void testModeProperty() {
+		assertTrue(new PhaseRecorder("summary").isEnabled());
+		assertTrue(new PhaseRecorder("jfr").isEnabled());
+		assertFalse(new PhaseRecorder("off").isEnabled());
+	}
+
+	@Test
+	public void testNestedPhasesAreChargedExclusively() throws InterruptedException {
+		PhaseRecorder recorder = new PhaseRecorder("summary");
+		long start = System.nanoTime();
+		recorder.enter(Phase.PARSE);
+		Thread.sleep(20);
+		recorder.enter(Phase.READ);
+		Thread.sleep(30);
+		recorder.exit(0, 4096);
+		recorder.exit(100, 0);
+		long elapsed = System.nanoTime() - start;
+
+		PhaseStats read = recorder.stats(Phase.READ);
+		PhaseStats parse = recorder.stats(Phase.PARSE);
+		assertEquals(4096, read.getBytes());
+		assertEquals(0, read.getRows());
+		assertEquals(100, parse.getRows());
+		assertEquals(0, parse.getBytes());
+		assertTrue(read.getNanos() >= 30_000_000L);
+		assertTrue(parse.getNanos() >= 20_000_000L);
+		assertTrue(read.getNanos() + parse.getNanos() <= elapsed);
+	}
+
+	@Test
+	public void testUnmatchedExitIsIgnored() {
+		PhaseRecorder recorder = new PhaseRecorder("summary");
+		recorder.exit(5, 5);
+		assertEquals(0, recorder.stats(Phase.PARSE).getRows());
+	}
+
+	@Test
+	public void testAllocationIsCharged() {
+		PhaseRecorder recorder = new PhaseRecorder("summary");
+		recorder.enter(Phase.AGGREGATE);
+		long[] garbage = new long[1 << 20];
+		recorder.exit(garbage.length, 0);
+		assertTrue(recorder.stats(Phase.AGGREGATE).getAllocatedBytes() >= 8L << 20);
+	}
+
+	@Test
+	public void testThroughput() {
+		PhaseStats stats = new PhaseStats(Phase.READ, 2_000_000_000L, 1000, 4000, 0);
+		assertEquals(500.0, stats.getRowsPerSecond(), 1e-9);
+		assertEquals(2000.0, stats.getBytesPerSecond(), 1e-9);
+		assertEquals(0.0, new PhaseStats(Phase.READ, 0, 10, 10, 0).getRowsPerSecond(), 1e-9);
+	}
+
+	@Test
+	public void testMeteredInputStreamCountsBytes() throws IOException {
+		PhaseRecorder recorder = new PhaseRecorder("summary");
+		byte[] data = new byte[10_000];
+		try (InputStream in = new MeteredInputStream(new ByteArrayInputStream(data), recorder)) {
+			in.read();
+			in.readAllBytes();
+		}
+		assertEquals(data.length, recorder.stats(Phase.READ).getBytes());
+	}
+
+	@Test
+	public void testStreamingAnalyzerPhases() throws IOException {
+		PhaseRecorder recorder = PhaseRecorder.get();
+		recorder.reset();
+		recorder.enable(true);
+		StreamingAnalyzer.analyze(Application.FILE_NAME);
+
+		assertEquals(8807, recorder.stats(Phase.PARSE).getRows());
+		assertEquals(8807, recorder.stats(Phase.AGGREGATE).getRows());
+		assertEquals(Files.size(Path.of(Application.FILE_NAME)), recorder.stats(Phase.READ).getBytes());
+		assertTrue(recorder.stats(Phase.PARSE).getNanos() > 0);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		recorder.printSummary(new PrintStream(out, true, StandardCharsets.UTF_8));
+		String summary = out.toString(StandardCharsets.UTF_8);
+		assertTrue(summary.startsWith("=== Phase Summary ==="));
+		assertTrue(summary.contains("Parse"));
+		assertTrue(summary.contains("Aggregate"));
+		assertFalse(summary.contains("Render"));
+	}
+}
@@ -0,0 +1,98 @@
+package com.acs560.HW1_DATA_ANALYZER.parsers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class CsvTokenizerTest {
+
+	private static final byte[] MOVIE = "movie".getBytes(StandardCharsets.US_ASCII);
+
+	private static CsvTokenizer tokenizer(String content, int... columns) {
+		return new CsvTokenizer(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)), columns);
+	}
+
+	@Test
+	public void testProjectedColumns() {
+		CsvTokenizer tokenizer = tokenizer("s1,Movie,Title,2020\ns2,TV Show,Other,2021\n", 1, 3);
+
+		assertTrue(tokenizer.next());
+		assertEquals(4, tokenizer.fieldCount());
+		assertTrue(tokenizer.equalsIgnoreCase(1, MOVIE));
+		assertEquals(2020, tokenizer.parseInt(3, -1));
+
+		assertTrue(tokenizer.next());
+		assertFalse(tokenizer.equalsIgnoreCase(1, MOVIE));
+		assertEquals("TV Show", tokenizer.decode(1));
+
+		assertFalse(tokenizer.next());
+	}
+
+	@Test
+	public void testChars() {
+		CsvTokenizer tokenizer = tokenizer("1,\"United States, India\",\"Ünited States\",\"A \"\"B\"\"\"\n", 1, 2, 3);
+
+		assertTrue(tokenizer.next());
+		CharSequence countries = tokenizer.chars(1);
+		assertEquals(20, countries.length());
+		assertEquals('I', countries.charAt(15));
+		assertEquals("United States, India", countries.toString());
+		assertEquals("Ünited States", tokenizer.chars(2).toString());
+		assertEquals("A \"B\"", tokenizer.chars(3).toString());
+	}
+
+	@Test
+	public void testQuotedFields() {
+		CsvTokenizer tokenizer = tokenizer("1,\"Cast, One\nCast \"\"Two\"\"\",\"Ünited States\"\r\n2,,\n", 1, 2);
+
+		assertTrue(tokenizer.next());
+		assertEquals("Cast, One\nCast \"Two\"", tokenizer.decode(1));
+		assertEquals("Ünited States", tokenizer.decode(2));
+
+		assertTrue(tokenizer.next());
+		assertEquals(3, tokenizer.fieldCount());
+		assertTrue(tokenizer.isBlank(1));
+		assertEquals("", tokenizer.decode(2));
+	}
+
+	@Test
+	public void testMissingColumnsAndLastLineWithoutNewline() {
+		CsvTokenizer tokenizer = tokenizer("a,b\r\na,b,\"c\"", 2);
+
+		assertTrue(tokenizer.next());
+		assertTrue(tokenizer.isTerminated());
+		assertFalse(tokenizer.hasField(2));
+		assertNull(tokenizer.decode(2));
+		assertEquals(-1, tokenizer.parseInt(2, -1));
+
+		assertTrue(tokenizer.next());
+		assertFalse(tokenizer.isTerminated());
+		assertEquals("c", tokenizer.decode(2));
+		assertFalse(tokenizer.next());
+	}
+
+	@Test
+	public void testParseIntRejectsNonDigits() {
+		CsvTokenizer tokenizer = tokenizer("20x0, 2020,\n", 0, 1, 2);
+
+		assertTrue(tokenizer.next());
+		assertEquals(-1, tokenizer.parseInt(0, -1));
+		assertEquals(-1, tokenizer.parseInt(1, -1));
+		assertEquals(-1, tokenizer.parseInt(2, -1));
+	}
+
+	@Test
+	public void testUnprojectedColumnIsRejected() {
+		CsvTokenizer tokenizer = tokenizer("a,b\n", 1);
+
+		assertTrue(tokenizer.next());
+		assertThrows(IllegalArgumentException.class, () -> tokenizer.decode(0));
+	}
+}
@@ -0,0 +1,42 @@
+package com.acs560.HW1_DATA_ANALYZER.parsers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+class DateAddedParserTest {
+
+	@Test
+	public void testMatchesLocalDate() {
+		for (LocalDate date = LocalDate.of(1896, 1, 1); date.getYear() < 2105; date = date.plusDays(1)) {
+			String text = date.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + " " + date.getDayOfMonth()
+					+ ", " + date.getYear();
+			assertEquals(date.toEpochDay(), DateAddedParser.parseEpochDay(text), text);
+			assertEquals(date.getYear() * 12 + date.getMonthValue() - 1,
+					DateAddedParser.toEpochMonth((int) date.toEpochDay()), text);
+		}
+	}
+
+	@Test
+	public void testAcceptedVariants() {
+		int expected = (int) LocalDate.of(2021, 9, 25).toEpochDay();
+		assertEquals(expected, DateAddedParser.parseEpochDay("September 25, 2021"));
+		assertEquals(expected, DateAddedParser.parseEpochDay(" September 25, 2021 "));
+		assertEquals(expected, DateAddedParser.parseEpochDay("SEPTEMBER 25,2021"));
+		assertEquals(expected, DateAddedParser.parseEpochDay("x September 25, 2021,", 2, 20));
+		assertEquals(LocalDate.of(2020, 2, 29).toEpochDay(), DateAddedParser.parseEpochDay("February 29, 2020"));
+	}
+
+	@Test
+	public void testRejectedValues() {
+		for (String value : new String[] { null, "", "   ", "Sept 25, 2021", "September 25 2021", "September , 2021",
+				"September 125, 2021", "September 31, 2021", "February 29, 2021", "September 0, 2021",
+				"September 25, 21", "September 25, 20211", "September 25, 2O21", "2021-09-25" }) {
+			assertEquals(DateAddedParser.INVALID, DateAddedParser.parseEpochDay(value), value);
+		}
+	}
+}
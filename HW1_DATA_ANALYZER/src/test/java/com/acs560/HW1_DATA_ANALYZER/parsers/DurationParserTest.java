@@ -0,0 +1,34 @@
+package com.acs560.HW1_DATA_ANALYZER.parsers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DurationParserTest {
+
+	@Test
+	public void testParseMinutes() {
+		assertEquals(90, DurationParser.parseMinutes("90 min"));
+		assertEquals(3, DurationParser.parseMinutes(" 3 min "));
+		assertEquals(312, DurationParser.parseMinutes("312  MIN"));
+		assertEquals(0, DurationParser.parseMinutes("0 min"));
+	}
+
+	@Test
+	public void testParseSeasons() {
+		assertEquals(1, DurationParser.parseSeasons("1 Season"));
+		assertEquals(17, DurationParser.parseSeasons("17 Seasons"));
+		assertEquals(2, DurationParser.parseSeasons(" 2 seasons"));
+	}
+
+	@Test
+	public void testRejectedValues() {
+		for (String value : new String[] { null, "", "  ", "min", "90", "90min", "90 minutes", "9O min", "-5 min",
+				"2 Seasons", "1234567890 min" }) {
+			assertEquals(DurationParser.INVALID, DurationParser.parseMinutes(value), value);
+		}
+		for (String value : new String[] { null, "", "Season", "2 Season s", "2 Seasonss", "90 min" }) {
+			assertEquals(DurationParser.INVALID, DurationParser.parseSeasons(value), value);
+		}
+	}
+}
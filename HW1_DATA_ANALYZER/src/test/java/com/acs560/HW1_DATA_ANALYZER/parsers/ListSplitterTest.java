@@ -0,0 +1,50 @@
+package com.acs560.HW1_DATA_ANALYZER.parsers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class ListSplitterTest {
+
+	private static List<String> items(ListSplitter splitter, String field) {
+		List<String> items = new ArrayList<>();
+		splitter.reset(field);
+		while (splitter.next()) {
+			items.add(field.substring(splitter.start(), splitter.end()));
+		}
+		return items;
+	}
+
+	private static List<String> splitAndTrim(String field) {
+		List<String> items = new ArrayList<>();
+		for (String item : field.split(",")) {
+			items.add(item.trim());
+		}
+		return items;
+	}
+
+	@Test
+	public void testMatchesSplitAndTrim() {
+		ListSplitter splitter = new ListSplitter();
+		for (String field : Arrays.asList("United States", "United States, India", " France ,\tAlgeria ",
+				", South Korea", "Poland,", "a,,b", "a, ,b,,", "x")) {
+			assertEquals(splitAndTrim(field), items(splitter, field), field);
+		}
+	}
+
+	@Test
+	public void testEmptyField() {
+		ListSplitter splitter = new ListSplitter();
+		assertFalse(splitter.reset("").next());
+		assertFalse(splitter.reset(",,").next());
+		assertFalse(splitter.reset(null).next());
+		assertTrue(ListSplitter.isBlank(" \t"));
+		assertFalse(ListSplitter.isBlank(" a "));
+	}
+}
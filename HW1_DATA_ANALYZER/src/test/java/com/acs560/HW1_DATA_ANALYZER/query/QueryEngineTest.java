@@ -0,0 +1,152 @@
+package com.acs560.HW1_DATA_ANALYZER.query;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.function.Predicate;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.columnar.ColumnarDataset;
+import com.acs560.HW1_DATA_ANALYZER.columnar.SnapshotConverter;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+
+class QueryEngineTest {
+
+	private static ColumnarDataset dataset;
+	private static List<String[]> rows;
+
+	@BeforeAll
+	public static void setUp() throws IOException {
+		dataset = SnapshotConverter.convert(Path.of(Application.FILE_NAME));
+		try (CSVReader reader = new CSVReaderBuilder(new FileReader(Application.FILE_NAME, StandardCharsets.UTF_8))
+				.withSkipLines(1).build()) {
+			rows = reader.readAll();
+		}
+	}
+
+	private static Map<String, Long> countBy(int column, Predicate<String[]> filter) {
+		Map<String, Long> counts = new HashMap<>();
+		for (String[] row : rows) {
+			if (filter.test(row)) {
+				counts.merge(row[column].isEmpty() ? "(none)" : row[column], 1L, Long::sum);
+			}
+		}
+		return counts;
+	}
+
+	private static int year(String[] row) {
+		return row[7].isEmpty() ? Integer.MIN_VALUE : Integer.parseInt(row[7]);
+	}
+
+	@Test
+	public void testCountAll() {
+		QueryResult result = new QueryEngine(dataset).execute("count");
+		assertEquals(8807, result.getMatchedRows());
+		assertEquals(8807, result.getTotalRows());
+		assertEquals(0, result.getGroups().size());
+	}
+
+	@Test
+	public void testCountByRatingWhereMovieSince2015() {
+		QueryResult result = new QueryEngine(dataset)
+				.execute("count by rating where type=Movie and release_year>=2015");
+		Map<String, Long> expected = countBy(8, row -> row[1].equals("Movie") && year(row) >= 2015);
+
+		assertEquals(expected.size(), result.getGroups().size());
+		long total = 0;
+		for (int i = 0; i < result.getGroups().size(); i++) {
+			assertEquals(expected.get(result.getGroups().get(i)), result.getCount(i));
+			total += result.getCount(i);
+			if (i > 0) {
+				assertTrue(result.getCount(i - 1) >= result.getCount(i));
+			}
+		}
+		assertEquals(total, result.getMatchedRows());
+	}
+
+	@Test
+	public void testCaseInsensitiveAndNotEqual() {
+		QueryEngine engine = new QueryEngine(dataset);
+		assertEquals(6131, engine.execute("count where type=movie").getMatchedRows());
+		assertEquals(2676, engine.execute("count where type != MOVIE").getMatchedRows());
+		assertEquals(2676, engine.execute("count where type=\"TV Show\"").getMatchedRows());
+	}
+
+	@Test
+	public void testInAndRanges() {
+		QueryEngine engine = new QueryEngine(dataset);
+		long expected = rows.stream().filter(row -> (row[8].equals("R") || row[8].equals("PG-13"))
+				&& year(row) > 2000 && year(row) < 2010).count();
+		assertEquals(expected,
+				engine.execute("count where rating in (R, PG-13) and release_year>2000 and release_year<2010")
+						.getMatchedRows());
+
+		long notYear = rows.stream().filter(row -> year(row) != 2019).count();
+		assertEquals(notYear, engine.execute("count where release_year != 2019").getMatchedRows());
+		assertEquals(rows.size() - notYear, engine.execute("count where release_year in (2019)").getMatchedRows());
+	}
+
+	@Test
+	public void testGroupByIntColumnWithLimit() {
+		QueryResult result = new QueryEngine(dataset).execute("count by release_year where type=Movie limit 3");
+		Map<String, Long> expected = countBy(7, row -> row[1].equals("Movie"));
+		assertEquals(3, result.getGroups().size());
+		assertEquals(6131, result.getMatchedRows());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(expected.get(result.getGroups().get(i)), result.getCount(i));
+		}
+		long top = expected.values().stream().mapToLong(Long::longValue).max().getAsLong();
+		assertEquals(top, result.getCount(0));
+	}
+
+	@Test
+	public void testDateAdded() {
+		QueryEngine engine = new QueryEngine(dataset);
+		QueryResult result = engine.execute("count by date_added where date_added >= 2021-09-24");
+		assertTrue(result.getMatchedRows() > 0);
+		for (String day : result.getGroups()) {
+			assertTrue(day.compareTo("2021-09-24") >= 0);
+		}
+		assertEquals(result.getMatchedRows(), engine.execute("count where date_added>=2021-09-24").getMatchedRows());
+	}
+
+	@Test
+	public void testErrors() {
+		QueryEngine engine = new QueryEngine(dataset);
+		assertThrows(IllegalArgumentException.class, () -> engine.execute("count by title"));
+		assertThrows(IllegalArgumentException.class, () -> engine.execute("count where title=Zodiac"));
+		assertThrows(IllegalArgumentException.class, () -> engine.execute("count where rating > R"));
+		assertThrows(IllegalArgumentException.class, () -> engine.execute("count where release_year=soon"));
+		assertThrows(IllegalArgumentException.class, () -> engine.execute("count where date_added>=yesterday"));
+	}
+
+	@Test
+	public void testRepl() {
+		String input = "\ncount where type=Movie\ncount by nothing\ncolumns\nexit\ncount\n";
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new QueryRepl(dataset).run(new Scanner(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))),
+				new PrintStream(out, true, StandardCharsets.UTF_8));
+		String output = out.toString(StandardCharsets.UTF_8);
+
+		assertTrue(output.contains("Count\n==============================\n6131\n6131 of 8807 rows matched in "));
+		assertTrue(output.contains("Error: Unknown column: nothing"));
+		assertTrue(output.contains("release_year              int"));
+		assertEquals(5, output.split(QueryRepl.PROMPT, -1).length - 1);
+	}
+}
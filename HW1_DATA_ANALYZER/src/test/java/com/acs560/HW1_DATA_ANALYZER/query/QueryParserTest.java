@@ -0,0 +1,68 @@
+package com.acs560.HW1_DATA_ANALYZER.query;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+class QueryParserTest {
+
+	@Test
+	public void testPlainCount() {
+		Query query = QueryParser.parse("count");
+		assertNull(query.getGroupBy());
+		assertEquals(0, query.getConditions().size());
+		assertEquals(Query.NO_LIMIT, query.getLimit());
+	}
+
+	@Test
+	public void testFullQuery() {
+		Query query = QueryParser.parse("COUNT by rating WHERE type=Movie and release_year >= 2015 limit 5");
+		assertEquals("rating", query.getGroupBy());
+		assertEquals(5, query.getLimit());
+		assertEquals(2, query.getConditions().size());
+
+		Query.Condition type = query.getConditions().get(0);
+		assertEquals("type", type.getColumn());
+		assertEquals(Query.Operator.EQUAL, type.getOperator());
+		assertEquals(List.of("Movie"), type.getValues());
+
+		Query.Condition year = query.getConditions().get(1);
+		assertEquals("release_year", year.getColumn());
+		assertEquals(Query.Operator.GREATER_OR_EQUAL, year.getOperator());
+		assertEquals(List.of("2015"), year.getValues());
+	}
+
+	@Test
+	public void testQuotedValuesAndIn() {
+		Query query = QueryParser.parse("count where type = \"TV Show\" and rating in (TV-MA, \"TV-14\",R)");
+		assertEquals(List.of("TV Show"), query.getConditions().get(0).getValues());
+		assertEquals(Query.Operator.IN, query.getConditions().get(1).getOperator());
+		assertEquals(List.of("TV-MA", "TV-14", "R"), query.getConditions().get(1).getValues());
+	}
+
+	@Test
+	public void testOperators() {
+		assertEquals(Query.Operator.NOT_EQUAL, QueryParser.parse("count where a!=1").getConditions().get(0).getOperator());
+		assertEquals(Query.Operator.LESS, QueryParser.parse("count where a<1").getConditions().get(0).getOperator());
+		assertEquals(Query.Operator.LESS_OR_EQUAL,
+				QueryParser.parse("count where a <= 1").getConditions().get(0).getOperator());
+		assertEquals(Query.Operator.GREATER, QueryParser.parse("count where a>1").getConditions().get(0).getOperator());
+	}
+
+	@Test
+	public void testInvalidQueries() {
+		assertThrows(IllegalArgumentException.class, () -> QueryParser.parse(""));
+		assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("sum by rating"));
+		assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("count by"));
+		assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("count where type"));
+		assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("count where type ! Movie"));
+		assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("count where type = \"Movie"));
+		assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("count where rating in (R"));
+		assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("count limit 0"));
+		assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("count by rating extra"));
+	}
+}
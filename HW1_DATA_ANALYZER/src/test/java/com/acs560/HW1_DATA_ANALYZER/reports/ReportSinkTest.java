@@ -0,0 +1,112 @@
+package com.acs560.HW1_DATA_ANALYZER.reports;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+class ReportSinkTest {
+
+	@TempDir
+	Path tempDir;
+
+	private static void sample(ReportSink sink) throws IOException {
+		sink.beginSection("Sample", "Name", "Count", "Share");
+		sink.cell("Côte d'Ivoire").cell(42).cell(0.125, 2).endRow();
+		sink.cell("A, \"B\"").cell(-7).cell(2.0 / 3, 2).endRow();
+		sink.beginSection(null, "Year", "Count");
+		sink.cell(2020).cell(1).endRow();
+	}
+
+	@Test
+	public void testText() throws IOException {
+		Path file = tempDir.resolve("sample.txt");
+		ReportFormat.TEXT.write(file, null, ReportSinkTest::sample);
+
+		String expected = "=== Sample ===\n"
+				+ String.format("%-25s %-10s %s%n", "Name", "Count", "Share")
+				+ "==============================\n"
+				+ String.format("%-25s %-10d %.2f%n", "Côte d'Ivoire", 42, 0.125)
+				+ String.format("%-25s %-10d %.2f%n", "A, \"B\"", -7, 2.0 / 3)
+				+ "\n"
+				+ String.format("%-25s %s%n", "Year", "Count")
+				+ "==============================\n"
+				+ String.format("%-25d %d%n", 2020, 1);
+		assertEquals(expected, Files.readString(file));
+	}
+
+	@Test
+	public void testCsv() throws IOException {
+		Path file = tempDir.resolve("sample.csv");
+		ReportFormat.CSV.write(file, null, ReportSinkTest::sample);
+
+		assertEquals("report,Name,Count,Share\n"
+				+ "Sample,Côte d'Ivoire,42,0.13\n"
+				+ "Sample,\"A, \"\"B\"\"\",-7,0.67\n"
+				+ "report,Year,Count\n"
+				+ "Sample,2020,1\n", Files.readString(file));
+	}
+
+	@Test
+	public void testJsonLines() throws IOException {
+		Path file = tempDir.resolve("sample.jsonl");
+		ReportFormat.JSON_LINES.write(file, null, ReportSinkTest::sample);
+
+		assertEquals("{\"report\": \"Sample\", \"Name\": \"Côte d'Ivoire\", \"Count\": 42, \"Share\": 0.13}\n"
+				+ "{\"report\": \"Sample\", \"Name\": \"A, \\\"B\\\"\", \"Count\": -7, \"Share\": 0.67}\n"
+				+ "{\"report\": \"Sample\", \"Year\": 2020, \"Count\": 1}\n", Files.readString(file));
+	}
+
+	@Test
+	public void testAsyncMatchesSync() throws IOException {
+		ReportSink.Content content = sink -> {
+			sink.beginSection("Large", "Key", "Value");
+			for (int i = 0; i < 200_000; i++) {
+				sink.cell("key" + i).cell(i * 31L).endRow();
+			}
+		};
+		Path sync = tempDir.resolve("sync.csv");
+		Path async = tempDir.resolve("async.csv");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			ReportFormat.CSV.write(sync, null, content);
+			ReportFormat.CSV.write(async, executor, content);
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(Files.readString(sync), Files.readString(async));
+		assertEquals(200_001, Files.readAllLines(async).size());
+	}
+
+	@Test
+	public void testDecimalsMatchFormat() throws IOException {
+		double[] values = { 0, 0.005, 1.005, 2.675, 2.5, 0.994, 0.995, 47.89473684210526, -3.14159, -0.001,
+				123456789.987, 1e20 };
+		Path file = tempDir.resolve("decimals.csv");
+		ReportFormat.CSV.write(file, null, sink -> {
+			sink.beginSection("Decimals", "Value");
+			for (double value : values) {
+				sink.cell(value, 2).endRow();
+			}
+		});
+
+		StringBuilder expected = new StringBuilder("report,Value\n");
+		for (double value : values) {
+			expected.append("Decimals,").append(String.format("%.2f", value)).append('\n');
+		}
+		assertEquals(expected.toString(), Files.readString(file));
+	}
+
+	@Test
+	public void testFileName() {
+		assertEquals("report.jsonl", ReportFormat.JSON_LINES.fileName("report.txt"));
+		assertEquals("report.csv", ReportFormat.CSV.fileName("report"));
+	}
+}
@@ -0,0 +1,106 @@
+package com.acs560.HW1_DATA_ANALYZER.search;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+
+class DescriptionIndexTest {
+
+	private static DescriptionIndex index;
+	private static List<Set<String>> descriptions;
+	private static List<String[]> rows;
+
+	@BeforeAll
+	public static void setUp() throws IOException {
+		index = DescriptionIndexBuilder.build(Path.of(Application.FILE_NAME));
+		try (CSVReader reader = new CSVReaderBuilder(new FileReader(Application.FILE_NAME, StandardCharsets.UTF_8))
+				.withSkipLines(1).build()) {
+			rows = reader.readAll();
+		}
+		descriptions = new ArrayList<>();
+		for (String[] row : rows) {
+			Set<String> terms = new HashSet<>();
+			TermTokenizer.forEach(row[11], terms::add);
+			descriptions.add(terms);
+		}
+	}
+
+	private static int[] scan(Predicate<Set<String>> matches) {
+		return IntStream.range(0, descriptions.size()).filter(i -> matches.test(descriptions.get(i)))
+				.toArray();
+	}
+
+	@Test
+	public void testTokenizer() {
+		List<String> terms = new ArrayList<>();
+		TermTokenizer.forEach("A 19th-century father's  SECRET, revealed!", terms::add);
+		assertEquals(List.of("a", "19th", "century", "father", "s", "secret", "revealed"), terms);
+	}
+
+	@Test
+	public void testRowsAndTitles() {
+		assertEquals(8807, index.getDocumentCount());
+		assertEquals("s1", index.getShowId(0));
+		assertEquals("Dick Johnson Is Dead", index.getTitle(0));
+		assertEquals(rows.get(8806)[0], index.getShowId(8806));
+		assertTrue(index.getTermCount() > 10_000);
+	}
+
+	@Test
+	public void testSingleTerms() {
+		for (String term : new String[] { "father", "love", "detective", "zombie", "the" }) {
+			int[] expected = scan(terms -> terms.contains(term));
+			assertArrayEquals(expected, index.postings(term), term);
+			assertEquals(expected.length, index.documentFrequency(term));
+			assertArrayEquals(expected, index.search(term.toUpperCase()), term);
+		}
+		assertEquals(0, index.search("qwertyuiopasdf").length);
+	}
+
+	@Test
+	public void testAndOr() {
+		assertArrayEquals(scan(terms -> terms.contains("space") && terms.contains("alien")),
+				index.search("space alien"));
+		assertArrayEquals(scan(terms -> terms.contains("space") && terms.contains("alien")),
+				index.search("Space AND alien"));
+		assertArrayEquals(scan(terms -> terms.contains("zombie") || terms.contains("vampire")),
+				index.search("zombie OR vampire"));
+		assertArrayEquals(
+				scan(terms -> terms.contains("space") && terms.contains("alien") || terms.contains("robot")),
+				index.search("space alien OR robot"));
+		assertArrayEquals(scan(terms -> terms.contains("sci") && terms.contains("fi")), index.search("sci-fi"));
+	}
+
+	@Test
+	public void testParallelismDoesNotChangeTheIndex() throws IOException {
+		ForkJoinPool single = new ForkJoinPool(1);
+		try {
+			DescriptionIndex serial = DescriptionIndexBuilder.build(Path.of(Application.FILE_NAME), single);
+			assertEquals(index.getTermCount(), serial.getTermCount());
+			assertArrayEquals(index.terms(), serial.terms());
+			assertArrayEquals(index.offsets(), serial.offsets());
+			assertArrayEquals(index.postingBytes(), serial.postingBytes());
+		} finally {
+			single.shutdown();
+		}
+	}
+}
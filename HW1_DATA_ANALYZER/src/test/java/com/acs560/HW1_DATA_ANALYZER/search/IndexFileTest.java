@@ -0,0 +1,72 @@
+package com.acs560.HW1_DATA_ANALYZER.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+
+class IndexFileTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		DescriptionIndex index = DescriptionIndexBuilder.build(Path.of(Application.FILE_NAME));
+		Path file = tempDir.resolve("netflix.index");
+		IndexFile.write(index, file);
+		DescriptionIndex read = IndexFile.read(file);
+
+		assertEquals(index.getDocumentCount(), read.getDocumentCount());
+		assertEquals(index.getTitle(42), read.getTitle(42));
+		assertEquals(index.getSource().getContentHash(), read.getSource().getContentHash());
+		assertArrayEquals(index.terms(), read.terms());
+		assertArrayEquals(index.documentFrequencies(), read.documentFrequencies());
+		assertArrayEquals(index.offsets(), read.offsets());
+		assertArrayEquals(index.postingBytes(), read.postingBytes());
+		assertArrayEquals(index.search("love OR war"), read.search("love OR war"));
+	}
+
+	@Test
+	public void testLoadSavesIndexNextToCsvUntilItChanges() throws IOException {
+		Path csv = tempDir.resolve("titles.csv");
+		Files.writeString(csv, "show_id,type,title,director,cast,country,date_added,release_year,rating,duration,"
+				+ "listed_in,description\n"
+				+ "s1,Movie,First,,,,,2020,PG,90 min,Dramas,\"A robot learns to love.\"\n"
+				+ "s2,Movie,Second,,,,,2021,PG,95 min,Dramas,\"A detective, a robot and a dog.\"\n");
+		Path file = IndexFile.pathFor(csv);
+		assertEquals(tempDir.resolve("titles.csv.index"), file);
+		assertFalse(IndexFile.isUpToDate(file, csv));
+
+		DescriptionIndex index = KeywordSearch.load(csv);
+		assertTrue(IndexFile.isUpToDate(file, csv));
+		assertArrayEquals(new int[] { 0, 1 }, index.search("robot"));
+		assertArrayEquals(new int[] { 1 }, KeywordSearch.load(csv).search("robot dog"));
+
+		Files.writeString(csv, "s3,Movie,Third,,,,,2022,PG,80 min,Dramas,\"A robot again.\"\n",
+				StandardOpenOption.APPEND);
+		assertFalse(IndexFile.isUpToDate(file, csv));
+		DescriptionIndex rebuilt = KeywordSearch.load(csv);
+		assertArrayEquals(new int[] { 0, 1, 2 }, rebuilt.search("robot"));
+		assertEquals("Third", rebuilt.getTitle(2));
+	}
+
+	@Test
+	public void testRejectsOtherFiles() throws IOException {
+		Path file = tempDir.resolve("bogus.index");
+		Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+		assertThrows(IOException.class, () -> IndexFile.read(file));
+		assertFalse(IndexFile.isUpToDate(file, Path.of(Application.FILE_NAME)));
+	}
+}
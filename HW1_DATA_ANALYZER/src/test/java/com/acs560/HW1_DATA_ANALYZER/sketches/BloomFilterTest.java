@@ -0,0 +1,51 @@
+package com.acs560.HW1_DATA_ANALYZER.sketches;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+	@Test
+	public void testAddedValuesAreAlwaysSeen() {
+		BloomFilter filter = new BloomFilter(1 << 14, BloomFilter.optimalHashCount(1 << 14, 10_000));
+		assertFalse(filter.mightContain(Hashing.hash64("title0")));
+		for (int i = 0; i < 10_000; i++) {
+			filter.add(Hashing.hash64("title" + i));
+		}
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain(Hashing.hash64("title" + i)));
+			assertTrue(filter.add(Hashing.hash64("title" + i)));
+		}
+		assertEquals(1 << 14, filter.sizeInBytes());
+		assertEquals(9, filter.getHashCount());
+	}
+
+	@Test
+	public void testFalsePositivesMatchEstimate() {
+		BloomFilter filter = new BloomFilter(1 << 12, BloomFilter.optimalHashCount(1 << 12, 4_000));
+		for (int i = 0; i < 4_000; i++) {
+			filter.add(Hashing.hash64("title" + i));
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain(Hashing.hash64("other" + i))) {
+				falsePositives++;
+			}
+		}
+		double estimate = filter.falsePositiveProbability();
+		assertTrue(estimate > 0.01 && estimate < 0.05, "Estimate " + estimate);
+		assertEquals(estimate, falsePositives / 100_000.0, estimate / 2);
+	}
+
+	@Test
+	public void testSizeRoundsDownToPowerOfTwo() {
+		assertEquals(1 << 10, new BloomFilter(1_500, 3).sizeInBytes());
+		assertEquals(8, new BloomFilter(15, 1).sizeInBytes());
+		assertEquals(1, BloomFilter.optimalHashCount(8, 1_000_000));
+		assertEquals(16, BloomFilter.optimalHashCount(1 << 20, 1));
+	}
+}
@@ -0,0 +1,71 @@
+package com.acs560.HW1_DATA_ANALYZER.sketches;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+class CountMinSketchTest {
+
+	@Test
+	public void testEstimatesNeverUndercount() {
+		CountMinSketch sketch = new CountMinSketch(1 << 10, 4);
+		for (int i = 0; i < 20_000; i++) {
+			sketch.add(Hashing.hash64("name" + i % 2_000), 1);
+		}
+
+		int withinBound = 0;
+		for (int i = 0; i < 2_000; i++) {
+			long estimate = sketch.estimate(Hashing.hash64("name" + i));
+			assertTrue(estimate >= 10);
+			if (estimate - 10 <= sketch.errorBound()) {
+				withinBound++;
+			}
+		}
+		assertEquals(20_000, sketch.getTotal());
+		assertTrue(withinBound >= 2_000 * sketch.confidence(), withinBound + " within bound");
+	}
+
+	@Test
+	public void testHeavyHittersKeepMostFrequent() {
+		HeavyHitters hitters = new HeavyHitters(3, 1 << 12, 4);
+		String field = "rare,common,frequent,most";
+		for (int i = 0; i < 1_000; i++) {
+			hitters.add("noise" + i, 0, ("noise" + i).length());
+			hitters.add(field, 21, 25);
+			if (i % 2 == 0) {
+				hitters.add(field, 12, 20);
+			}
+			if (i % 4 == 0) {
+				hitters.add(field, 5, 11);
+			}
+		}
+		hitters.add(field, 0, 4);
+
+		Map<String, Long> top = hitters.top();
+		assertEquals(List.of("most", "frequent", "common"), List.copyOf(top.keySet()));
+		assertTrue(top.get("most") >= 1_000 && top.get("most") <= 1_000 + hitters.getSketch().errorBound());
+	}
+
+	@Test
+	public void testHeavyHittersMerge() {
+		HeavyHitters left = new HeavyHitters(2, 1 << 12, 4);
+		HeavyHitters right = new HeavyHitters(2, 1 << 12, 4);
+		for (int i = 0; i < 100; i++) {
+			left.add("a", 0, 1);
+			right.add("b", 0, 1);
+			if (i < 60) {
+				left.add("c", 0, 1);
+				right.add("c", 0, 1);
+			}
+		}
+
+		Map<String, Long> top = left.merge(right).top();
+		assertEquals(List.of("c", "a"), List.copyOf(top.keySet()).subList(0, 2));
+		assertEquals(120, top.get("c"));
+		assertEquals(320, left.getSketch().getTotal());
+	}
+}
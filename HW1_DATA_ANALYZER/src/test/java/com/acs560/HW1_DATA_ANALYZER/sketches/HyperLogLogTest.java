@@ -0,0 +1,47 @@
+package com.acs560.HW1_DATA_ANALYZER.sketches;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+	@Test
+	public void testEstimateWithinErrorBound() {
+		for (int distinct : new int[] { 10, 1_000, 100_000, 1_000_000 }) {
+			HyperLogLog sketch = new HyperLogLog(12);
+			for (int repeat = 0; repeat < 2; repeat++) {
+				for (int i = 0; i < distinct; i++) {
+					sketch.add(Hashing.hash64("name" + i));
+				}
+			}
+			double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+			assertTrue(error < 3 * sketch.relativeStandardError(), distinct + " -> " + sketch.estimate());
+		}
+	}
+
+	@Test
+	public void testMergeEqualsUnion() {
+		HyperLogLog left = new HyperLogLog(10);
+		HyperLogLog right = new HyperLogLog(10);
+		HyperLogLog all = new HyperLogLog(10);
+		for (int i = 0; i < 5_000; i++) {
+			long hash = Hashing.hash64("name" + i);
+			(i % 3 == 0 ? left : right).add(hash);
+			all.add(hash);
+		}
+
+		assertEquals(all.estimate(), left.merge(right).estimate());
+		assertEquals(1024, all.sizeInBytes());
+		assertThrows(IllegalArgumentException.class, () -> left.merge(new HyperLogLog(11)));
+		assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(HyperLogLog.MAX_PRECISION + 1));
+	}
+
+	@Test
+	public void testHashRange() {
+		assertEquals(Hashing.hash64("Anupam Kher"), Hashing.hash64("  Anupam Kher, Om Puri", 2, 13));
+		assertTrue(Hashing.hash64("a") != Hashing.hash64("b"));
+	}
+}
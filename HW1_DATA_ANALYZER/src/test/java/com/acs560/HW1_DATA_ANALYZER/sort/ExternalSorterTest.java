@@ -0,0 +1,130 @@
+package com.acs560.HW1_DATA_ANALYZER.sort;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.CsvFiles;
+
+class ExternalSorterTest {
+
+	@TempDir
+	Path tempDir;
+
+	private static List<String> rows(List<String[]> table) {
+		return table.stream().map(row -> String.join("\u0001", row)).sorted().collect(Collectors.toList());
+	}
+
+	private static int year(String[] row) {
+		return row[ExternalSorter.RELEASE_YEAR_COLUMN].matches("\\d{1,9}")
+				? Integer.parseInt(row[ExternalSorter.RELEASE_YEAR_COLUMN])
+				: Integer.MAX_VALUE;
+	}
+
+	private Path write(String content) throws IOException {
+		Path file = tempDir.resolve("input.csv");
+		Files.writeString(file, content, StandardCharsets.UTF_8);
+		return file;
+	}
+
+	@Test
+	public void testSortsInMemoryByYearThenTitle() throws IOException {
+		Path output = tempDir.resolve("sorted.csv");
+		SortSummary summary = ExternalSorter.sort(Path.of(Application.FILE_NAME), output);
+
+		List<String[]> input = CsvFiles.read(Path.of(Application.FILE_NAME));
+		List<String[]> sorted = CsvFiles.read(output);
+		assertEquals(8807, summary.getRecords());
+		assertEquals(0, summary.getRuns());
+		assertArrayEquals(input.get(0), sorted.get(0));
+		assertEquals(rows(input), rows(sorted));
+
+		for (int i = 2; i < sorted.size(); i++) {
+			String[] previous = sorted.get(i - 1);
+			String[] current = sorted.get(i);
+			assertTrue(year(previous) <= year(current), "Year order at row " + i);
+			if (year(previous) == year(current)) {
+				assertTrue(Arrays.compareUnsigned(previous[ExternalSorter.TITLE_COLUMN].getBytes(StandardCharsets.UTF_8),
+						current[ExternalSorter.TITLE_COLUMN].getBytes(StandardCharsets.UTF_8)) <= 0,
+						"Title order at row " + i);
+			}
+		}
+	}
+
+	@Test
+	public void testSpilledRunsMergeToTheSameOutput() throws IOException {
+		Path inMemory = tempDir.resolve("in-memory.csv");
+		Path external = tempDir.resolve("external.csv");
+		Path runs = Files.createDirectory(tempDir.resolve("runs"));
+		ExternalSorter.sort(Path.of(Application.FILE_NAME), inMemory);
+		SortSummary summary = ExternalSorter.sort(Path.of(Application.FILE_NAME), external,
+				new ExternalSorter.Options().memoryBytes(64 << 10).fanIn(4).tempDir(runs));
+
+		assertEquals(8807, summary.getRecords());
+		assertTrue(summary.getRuns() > 16, "Runs: " + summary.getRuns());
+		assertTrue(summary.getMergePasses() > 2, "Merge passes: " + summary.getMergePasses());
+		assertEquals(Files.size(inMemory), summary.getBytes());
+		assertArrayEquals(Files.readAllBytes(inMemory), Files.readAllBytes(external));
+		try (Stream<Path> left = Files.list(runs)) {
+			assertEquals(0, left.count());
+		}
+	}
+
+	@Test
+	public void testQuotedTitlesMissingYearsAndTies() throws IOException {
+		Path input = write("show_id,type,title,director,cast,country,date_added,release_year\r\n"
+				+ "s1,Movie,Zebra,,,,,2020\r\n"
+				+ "s2,Movie,\"Apple, \"\"Red\"\"\nand green\",,,,,2020\r\n"
+				+ "s3,Movie,Mango,,,,,\r\n"
+				+ "\r\n"
+				+ "s4,Movie,Banana,,,,,1999\r\n"
+				+ "s5,Movie,Zebra,,,,,2020\r\n"
+				+ "s6,Movie,Émile,,,,,2020");
+		Path output = tempDir.resolve("sorted.csv");
+		SortSummary summary = ExternalSorter.sort(input, output);
+
+		assertEquals(6, summary.getRecords());
+		assertEquals("show_id,type,title,director,cast,country,date_added,release_year\r\n"
+				+ "s4,Movie,Banana,,,,,1999\r\n"
+				+ "s2,Movie,\"Apple, \"\"Red\"\"\nand green\",,,,,2020\r\n"
+				+ "s1,Movie,Zebra,,,,,2020\r\n"
+				+ "s5,Movie,Zebra,,,,,2020\r\n"
+				+ "s6,Movie,Émile,,,,,2020\n"
+				+ "s3,Movie,Mango,,,,,\r\n", Files.readString(output, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testHeaderOnlyAndEmptyInput() throws IOException {
+		Path output = tempDir.resolve("sorted.csv");
+		assertEquals(0, ExternalSorter.sort(write("show_id,type,title\n"), output).getRecords());
+		assertEquals("show_id,type,title\n", Files.readString(output));
+
+		assertEquals(0, ExternalSorter.sort(write(""), output).getRecords());
+		assertEquals("", Files.readString(output));
+	}
+
+	@Test
+	public void testParseSize() {
+		assertEquals(512, ExternalSorter.parseSize("512"));
+		assertEquals(64L << 10, ExternalSorter.parseSize("64k"));
+		assertEquals(512L << 20, ExternalSorter.parseSize("512M"));
+		assertEquals(8L << 30, ExternalSorter.parseSize("8g"));
+		for (String size : List.of("", "m", "-1g", "0", "12x")) {
+			assertThrows(NumberFormatException.class, () -> ExternalSorter.parseSize(size), size);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.acs560.HW1_DATA_ANALYZER_BENCHMARKS;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+
+/**
+ * Benchmarks the three list-based analyses in {@link Application} over rows
+ * that are already in memory, isolating aggregation and report writing from
+ * CSV parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Param({ "10000", "1000000", "10000000" })
+    public int rows;
+
+    private List<String[]> data;
+
+    /**
+     * Generates the in-memory rows once per trial.
+     */
+    @Setup(Level.Trial)
+    public void generate() {
+        data = new NetflixDataGenerator(42).rows(rows);
+    }
+
+    @Benchmark
+    public void countMoviesVsTVShows(RowCounter counter) {
+        Application.countMoviesVsTVShows(data);
+        counter.rows += data.size();
+    }
+
+    @Benchmark
+    public void avgMovies(RowCounter counter) {
+        Application.avgMovies(data);
+        counter.rows += data.size();
+    }
+
+    @Benchmark
+    public void countUniqueCountries(RowCounter counter) {
+        Application.countUniqueCountries(data);
+        counter.rows += data.size();
+    }
+}
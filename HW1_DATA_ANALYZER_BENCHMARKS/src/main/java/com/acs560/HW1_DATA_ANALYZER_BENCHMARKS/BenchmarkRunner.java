@@ -0,0 +1,31 @@
+package com.acs560.HW1_DATA_ANALYZER_BENCHMARKS;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the HW1 benchmarks with the GC profiler attached, so every result
+ * reports allocation rate ({@code gc.alloc.rate.norm}) next to throughput.
+ * <p>
+ * Equivalent to {@code java -jar target/benchmarks.jar -prof gc}. Benchmark
+ * name patterns and {@code rows} values can be narrowed with the usual JMH
+ * options when using the jar directly.
+ * </p>
+ */
+public class BenchmarkRunner {
+
+    /**
+     * @param args Optional regular expression selecting the benchmarks to run.
+     * @throws RunnerException if a benchmark fails.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "com.acs560.HW1_DATA_ANALYZER_BENCHMARKS.*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,143 @@
+package com.acs560.HW1_DATA_ANALYZER_BENCHMARKS;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates Netflix-shaped rows with the same 12 columns as netflix_data.csv.
+ * <p>
+ * Values are drawn from small fixed pools with a fixed seed, so the same row
+ * count always produces the same data. Cast and description values contain
+ * commas and are quoted in the CSV, like the real file.
+ * </p>
+ */
+public class NetflixDataGenerator {
+    static final String HEADER = "show_id,type,title,director,cast,country,date_added,release_year,rating,"
+            + "duration,listed_in,description";
+
+    private static final String[] COUNTRIES = { "United States", "India", "United Kingdom", "Canada", "France",
+        "Japan", "Spain", "South Korea", "Germany", "Mexico", "China", "Australia", "Egypt", "Turkey", "Brazil",
+        "Nigeria", "Italy", "Argentina", "Indonesia", "South Africa" };
+    private static final String[] RATINGS = { "TV-MA", "TV-14", "TV-PG", "R", "PG-13", "TV-Y7", "TV-Y", "PG",
+        "TV-G", "NR", "G" };
+    private static final String[] GENRES = { "International Movies", "Dramas", "Comedies", "Documentaries",
+        "Action & Adventure", "International TV Shows", "TV Dramas", "Independent Movies", "Romantic Movies",
+        "Thrillers", "Kids' TV", "Crime TV Shows" };
+    private static final String[] MONTHS = { "January", "February", "March", "April", "May", "June", "July",
+        "August", "September", "October", "November", "December" };
+    private static final int POOL_SIZE = 1024;
+
+    private final SplittableRandom random;
+    private final String[] directors = new String[POOL_SIZE];
+    private final String[] casts = new String[POOL_SIZE];
+    private final String[] countries = new String[POOL_SIZE];
+    private final String[] genres = new String[POOL_SIZE];
+    private final String[] dates = new String[POOL_SIZE];
+    private final String[] descriptions = new String[POOL_SIZE];
+
+    /**
+     * Constructor
+     *
+     * @param seed The random seed; equal seeds generate equal rows.
+     */
+    public NetflixDataGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            directors[i] = "Director " + i;
+            casts[i] = "Actor " + i + ", Actor " + (i * 7 % POOL_SIZE) + ", Actor " + (i * 13 % POOL_SIZE);
+            countries[i] = pick(COUNTRIES) + (random.nextInt(4) == 0 ? ", " + pick(COUNTRIES) : "");
+            genres[i] = pick(GENRES) + ", " + pick(GENRES);
+            dates[i] = pick(MONTHS) + " " + (1 + random.nextInt(28)) + ", " + (2008 + random.nextInt(14));
+            descriptions[i] = "A story number " + i + ", told with twists, turns and a \"surprise\" ending.";
+        }
+    }
+
+    /**
+     * Generates rows in memory. Row arrays share their string values through
+     * the generator's pools, so even millions of rows stay affordable.
+     *
+     * @param rows The number of rows.
+     * @return The rows, without a header.
+     */
+    public List<String[]> rows(int rows) {
+        List<String[]> data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(next(i));
+        }
+        return data;
+    }
+
+    /**
+     * Returns a CSV file with the given number of rows under {@code dataDir},
+     * generating it only if it does not exist yet.
+     *
+     * @param dataDir The directory in which generated files are kept.
+     * @param rows    The number of data rows.
+     * @return The path to the CSV file.
+     * @throws IOException if the file cannot be written.
+     */
+    public Path csvFile(Path dataDir, int rows) throws IOException {
+        Path file = dataDir.resolve("netflix_" + rows + ".csv");
+        if (Files.exists(file)) {
+            return file;
+        }
+
+        Files.createDirectories(dataDir);
+        Path temp = dataDir.resolve(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.write('\n');
+            for (int i = 0; i < rows; i++) {
+                String[] row = next(i);
+                for (int column = 0; column < row.length; column++) {
+                    if (column > 0) {
+                        writer.write(',');
+                    }
+                    writeField(writer, row[column]);
+                }
+                writer.write('\n');
+            }
+        }
+        return Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private String[] next(int index) {
+        boolean movie = random.nextInt(10) < 7;
+        int year = 2021 - (int) Math.min(80, Math.abs(random.nextGaussian() * 12));
+        return new String[] {
+            "s" + (index + 1),
+            movie ? "Movie" : "TV Show",
+            "Title " + index,
+            directors[random.nextInt(POOL_SIZE)],
+            casts[random.nextInt(POOL_SIZE)],
+            countries[random.nextInt(POOL_SIZE)],
+            dates[random.nextInt(POOL_SIZE)],
+            Integer.toString(year),
+            pick(RATINGS),
+            movie ? (60 + random.nextInt(120)) + " min" : (1 + random.nextInt(5)) + " Seasons",
+            genres[random.nextInt(POOL_SIZE)],
+            descriptions[random.nextInt(POOL_SIZE)]
+        };
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static void writeField(BufferedWriter writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,79 @@
+package com.acs560.HW1_DATA_ANALYZER_BENCHMARKS;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.acs560.HW1_DATA_ANALYZER.Application;
+import com.acs560.HW1_DATA_ANALYZER.analysis.NetflixAggregates;
+import com.acs560.HW1_DATA_ANALYZER.analysis.ParallelAnalyzer;
+import com.acs560.HW1_DATA_ANALYZER.analysis.StreamingAnalyzer;
+
+/**
+ * Benchmarks reading a generated Netflix-shaped CSV file from disk, both with
+ * the original {@link Application#readCSV(String)} and with the single-pass
+ * engines, so parser rewrites can be compared against the same inputs.
+ * <p>
+ * At 10M rows {@code readCSV} needs a large heap; pass for example
+ * {@code -jvmArgsAppend -Xmx16g} when running that size.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ReadBenchmark {
+
+    @Param({ "10000", "1000000", "10000000" })
+    public int rows;
+
+    private String file;
+
+    /**
+     * Generates the input file once per trial, or reuses it from an earlier run.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        Path dataDir = Path.of(System.getProperty("benchmark.data.dir", "target/jmh-data"));
+        file = new NetflixDataGenerator(42).csvFile(dataDir, rows).toString();
+    }
+
+    @Benchmark
+    public List<String[]> readCSV(RowCounter counter) {
+        List<String[]> data = Application.readCSV(file);
+        counter.rows += data.size();
+        return data;
+    }
+
+    @Benchmark
+    public NetflixAggregates streamingAnalyze(RowCounter counter) throws IOException {
+        NetflixAggregates aggregates = StreamingAnalyzer.analyze(file).getAggregates();
+        counter.rows += aggregates.getRowCount();
+        return aggregates;
+    }
+
+    @Benchmark
+    public NetflixAggregates parallelAnalyze(RowCounter counter) throws IOException {
+        NetflixAggregates aggregates = ParallelAnalyzer.analyze(file).getAggregates();
+        counter.rows += aggregates.getRowCount();
+        return aggregates;
+    }
+}
@@ -0,0 +1,25 @@
+package com.acs560.HW1_DATA_ANALYZER_BENCHMARKS;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Secondary JMH counter that makes throughput runs also report rows per second
+ * next to operations per second.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class RowCounter {
+    public long rows;
+
+    /**
+     * Clears the counter before every iteration.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        rows = 0;
+    }
+}